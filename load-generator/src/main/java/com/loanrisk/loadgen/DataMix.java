@@ -0,0 +1,143 @@
+package com.loanrisk.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+import java.util.stream.Collectors;
+
+/**
+ * Generates request bodies for {@code POST /customers} and {@code POST /loan/apply} from weighted mixes of
+ * customer and application profiles, so a run exercises the approve, review and decline paths in known proportions.
+ */
+public final class DataMix {
+
+    /** Kinds of applicant, each drawing its fields uniformly from fixed ranges. */
+    public enum CustomerProfile {
+        PRIME("prime", 30, 65, 70_000, 200_000, 720, 850, 0, 20_000, List.of("Employed")),
+        NEAR_PRIME("near-prime", 25, 60, 40_000, 90_000, 640, 719, 5_000, 40_000, List.of("Employed", "Self-employed")),
+        SUBPRIME("subprime", 21, 60, 15_000, 50_000, 500, 639, 10_000, 60_000, List.of("Employed", "Part-time", "Unemployed")),
+        YOUNG("young", 18, 24, 10_000, 40_000, 550, 700, 0, 15_000, List.of("Student", "Part-time", "Employed"));
+
+        private final String key;
+        private final int minAge, maxAge;
+        private final int minIncome, maxIncome;
+        private final int minCreditScore, maxCreditScore;
+        private final int minDebt, maxDebt;
+        private final List<String> employmentStatuses;
+
+        CustomerProfile(String key, int minAge, int maxAge, int minIncome, int maxIncome, int minCreditScore,
+                        int maxCreditScore, int minDebt, int maxDebt, List<String> employmentStatuses) {
+            this.key = key;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+            this.minIncome = minIncome;
+            this.maxIncome = maxIncome;
+            this.minCreditScore = minCreditScore;
+            this.maxCreditScore = maxCreditScore;
+            this.minDebt = minDebt;
+            this.maxDebt = maxDebt;
+            this.employmentStatuses = employmentStatuses;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static CustomerProfile fromKey(String key) {
+            return DataMix.fromKey(values(), key, profile -> profile.key);
+        }
+    }
+
+    /** Kinds of application, by amount, term and purpose. */
+    public enum ApplicationProfile {
+        SMALL("small", 1_000, 10_000, 12, 36, List.of("car", "education", "vacation", "home improvement")),
+        MEDIUM("medium", 10_000, 50_000, 24, 60, List.of("car", "home improvement", "debt consolidation")),
+        LARGE("large", 50_000, 500_000, 120, 360, List.of("home", "business"));
+
+        private final String key;
+        private final int minAmount, maxAmount;
+        private final int minTermMonths, maxTermMonths;
+        private final List<String> purposes;
+
+        ApplicationProfile(String key, int minAmount, int maxAmount, int minTermMonths, int maxTermMonths,
+                           List<String> purposes) {
+            this.key = key;
+            this.minAmount = minAmount;
+            this.maxAmount = maxAmount;
+            this.minTermMonths = minTermMonths;
+            this.maxTermMonths = maxTermMonths;
+            this.purposes = purposes;
+        }
+
+        public String getKey() {
+            return key;
+        }
+
+        public static ApplicationProfile fromKey(String key) {
+            return DataMix.fromKey(values(), key, profile -> profile.key);
+        }
+    }
+
+    private final ObjectMapper objectMapper;
+    private final WeightedChoice<CustomerProfile> customers;
+    private final WeightedChoice<ApplicationProfile> applications;
+
+    public DataMix(ObjectMapper objectMapper, WeightedChoice<CustomerProfile> customers,
+                   WeightedChoice<ApplicationProfile> applications) {
+        this.objectMapper = objectMapper;
+        this.customers = customers;
+        this.applications = applications;
+    }
+
+    /** A body for {@code POST /customers}. */
+    public ObjectNode customer(RandomGenerator random) {
+        CustomerProfile profile = customers.next(random);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("name", "Load Test " + profile.key + " " + Long.toHexString(random.nextLong() >>> 16));
+        body.put("age", between(random, profile.minAge, profile.maxAge));
+        body.put("annualIncome", money(between(random, profile.minIncome, profile.maxIncome)));
+        body.put("creditScore", between(random, profile.minCreditScore, profile.maxCreditScore));
+        body.put("employmentStatus", pick(random, profile.employmentStatuses));
+        body.put("existingDebt", money(between(random, profile.minDebt, profile.maxDebt)));
+        return body;
+    }
+
+    /** A body for {@code POST /loan/apply} by the given customer. */
+    public ObjectNode application(long customerId, RandomGenerator random) {
+        ApplicationProfile profile = applications.next(random);
+        ObjectNode body = objectMapper.createObjectNode();
+        body.put("customerId", customerId);
+        body.put("loanAmount", between(random, profile.minAmount, profile.maxAmount));
+        body.put("loanPurpose", pick(random, profile.purposes));
+        body.put("requestedTermMonths", between(random, profile.minTermMonths, profile.maxTermMonths));
+        return body;
+    }
+
+    private static int between(RandomGenerator random, int min, int max) {
+        return random.nextInt(min, max + 1);
+    }
+
+    private static BigDecimal money(int whole) {
+        return BigDecimal.valueOf(whole).setScale(2, RoundingMode.UNNECESSARY);
+    }
+
+    private static String pick(RandomGenerator random, List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private static <T> T fromKey(T[] values, String key, Function<T, String> keyOf) {
+        for (T value : values) {
+            if (keyOf.apply(value).equals(key)) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Unknown profile '" + key + "', expected one of "
+                + Arrays.stream(values).map(keyOf).collect(Collectors.joining(", ")));
+    }
+}
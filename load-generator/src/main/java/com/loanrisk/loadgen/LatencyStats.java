@@ -0,0 +1,115 @@
+package com.loanrisk.loadgen;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies and outcomes of the measured requests, per operation. Latencies are recorded in microseconds.
+ * <p>
+ * Two latencies are kept per request. The <em>response time</em> runs from when the request was due under the
+ * constant arrival rate, so time spent waiting behind a slow server or a busy client counts against it and stalls
+ * are not hidden (no coordinated omission). The <em>service time</em> runs from when the request was actually sent.
+ * Only successful (2xx) requests are recorded in the histograms; failures are counted by status.
+ */
+public final class LatencyStats {
+
+    /** Recorded results of one operation. */
+    public static final class OperationStats {
+
+        private final Histogram responseTime = new ConcurrentHistogram(3);
+        private final Histogram serviceTime = new ConcurrentHistogram(3);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+        private OperationStats() {
+        }
+
+        public Histogram getResponseTime() {
+            return responseTime;
+        }
+
+        public Histogram getServiceTime() {
+            return serviceTime;
+        }
+
+        /** Requests due during the measurement, including dropped and failed ones. */
+        public long getRequests() {
+            return requests.sum();
+        }
+
+        public long getSucceeded() {
+            return responseTime.getTotalCount();
+        }
+
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        /** Failed requests by HTTP status, or by exception name when no response arrived. */
+        public Map<String, Long> getErrors() {
+            Map<String, Long> counts = new TreeMap<>();
+            errors.forEach((key, count) -> counts.put(key, count.sum()));
+            return counts;
+        }
+
+        public long getErrorCount() {
+            return errors.values().stream().mapToLong(LongAdder::sum).sum();
+        }
+    }
+
+    private final Map<Operation, OperationStats> operations = new EnumMap<>(Operation.class);
+
+    public LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            operations.put(operation, new OperationStats());
+        }
+    }
+
+    public void recordSuccess(Operation operation, long dueNanos, long sentNanos, long completedNanos) {
+        OperationStats stats = operations.get(operation);
+        stats.requests.increment();
+        stats.responseTime.recordValue(micros(completedNanos - dueNanos));
+        stats.serviceTime.recordValue(micros(completedNanos - sentNanos));
+    }
+
+    public void recordError(Operation operation, String error) {
+        OperationStats stats = operations.get(operation);
+        stats.requests.increment();
+        stats.errors.computeIfAbsent(error, key -> new LongAdder()).increment();
+    }
+
+    public void recordDropped(Operation operation) {
+        OperationStats stats = operations.get(operation);
+        stats.requests.increment();
+        stats.dropped.increment();
+    }
+
+    public OperationStats get(Operation operation) {
+        return operations.get(operation);
+    }
+
+    /** All operations together. */
+    public OperationStats total() {
+        OperationStats total = new OperationStats();
+        for (OperationStats stats : operations.values()) {
+            total.responseTime.add(stats.responseTime);
+            total.serviceTime.add(stats.serviceTime);
+            total.requests.add(stats.requests.sum());
+            total.dropped.add(stats.dropped.sum());
+            stats.errors.forEach((error, count) ->
+                    total.errors.computeIfAbsent(error, key -> new LongAdder()).add(count.sum()));
+        }
+        return total;
+    }
+
+    private static long micros(long nanos) {
+        return Math.max(1, nanos / 1_000);
+    }
+}
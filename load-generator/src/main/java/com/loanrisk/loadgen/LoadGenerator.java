@@ -0,0 +1,269 @@
+package com.loanrisk.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * End-to-end load test of {@code POST /customers}, {@code POST /loan/apply} and {@code GET /loan/{id}}.
+ * <p>
+ * A run first creates {@code --customers} customers and makes {@code --seed-loans} applications, then starts
+ * requests at a constant arrival rate: request {@code i} is due at {@code i / rate} seconds, whatever the state of
+ * earlier requests, and is sent on its own virtual thread. Latency is measured from when each request was due, so a
+ * slow server shows up as growing response times rather than as a lower request rate. Operations and request data
+ * are drawn from a random sequence fixed by {@code --seed}, so runs against different releases send the same load.
+ */
+public final class LoadGenerator implements AutoCloseable {
+
+    private static final int LOAN_ID_SLOTS = 4096;
+    private static final int SETUP_CONCURRENCY = 32;
+
+    private final LoadOptions options;
+    private final ObjectMapper objectMapper;
+    private final DataMix dataMix;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final HttpClient client;
+
+    /** Ids of recent loans, read by {@code GET /loan/{id}}; slot 0 is always set once the run has started. */
+    private final AtomicLongArray loanIds = new AtomicLongArray(LOAN_ID_SLOTS);
+    private final AtomicLong loanCount = new AtomicLong();
+
+    public LoadGenerator(LoadOptions options) {
+        this.options = options;
+        this.objectMapper = new ObjectMapper();
+        this.dataMix = new DataMix(objectMapper, options.customerMix(), options.applicationMix());
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(options.timeout())
+                .executor(executor)
+                .build();
+    }
+
+    public static void main(String[] args) {
+        if (List.of(args).contains("--help")) {
+            System.out.print(LoadOptions.USAGE);
+            return;
+        }
+        LoadOptions options;
+        try {
+            options = LoadOptions.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(LoadOptions.USAGE);
+            System.exit(2);
+            return;
+        }
+
+        int status = 0;
+        try (LoadGenerator generator = new LoadGenerator(options)) {
+            Instant startedAt = Instant.now();
+            LatencyStats stats = generator.run();
+            ReportWriter writer = new ReportWriter(generator.objectMapper);
+            writer.printSummary(System.out, options, stats);
+            List<Path> reports = writer.write(options, startedAt, stats);
+            System.out.println("Reports written to " + reports);
+
+            double p99 = ReportWriter.percentile(stats.total().getResponseTime(), 99);
+            if (options.maxP99Millis() != null && p99 > options.maxP99Millis()) {
+                System.err.printf("p99 response time %.3f ms exceeds %.3f ms%n", p99, options.maxP99Millis());
+                status = 1;
+            }
+        } catch (IOException e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            status = 1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 1;
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Creates the customers and seed loans, then runs the warmup and the measurement.
+     *
+     * @throws IOException If the application cannot be reached or rejects a setup request.
+     */
+    public LatencyStats run() throws IOException, InterruptedException {
+        SplittableRandom random = new SplittableRandom(options.seed());
+        long[] customerIds = createCustomers(random);
+        seedLoans(customerIds, random);
+        return measure(customerIds, random);
+    }
+
+    private long[] createCustomers(SplittableRandom random) throws IOException, InterruptedException {
+        List<HttpRequest> requests = new ArrayList<>(options.customers());
+        for (int i = 0; i < options.customers(); i++) {
+            requests.add(post("/customers", dataMix.customer(random)));
+        }
+        return sendAll(requests, "id");
+    }
+
+    private void seedLoans(long[] customerIds, SplittableRandom random) throws IOException, InterruptedException {
+        List<HttpRequest> requests = new ArrayList<>(options.seedLoans());
+        for (int i = 0; i < options.seedLoans() && customerIds.length > 0; i++) {
+            requests.add(post("/loan/apply", dataMix.application(customerIds[i % customerIds.length], random)));
+        }
+        for (long loanId : sendAll(requests, "loanId")) {
+            rememberLoan(loanId);
+        }
+    }
+
+    /** Sends setup requests a few at a time and returns the given id field of each response, in request order. */
+    private long[] sendAll(List<HttpRequest> requests, String idField) throws IOException, InterruptedException {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        List<Future<Long>> responses = new ArrayList<>(requests.size());
+        for (HttpRequest request : requests) {
+            permits.acquire();
+            responses.add(executor.submit(() -> {
+                try {
+                    HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                    if (response.statusCode() / 100 != 2) {
+                        throw new IOException(request.method() + " " + request.uri() + " returned " + response.statusCode()
+                                + ": " + response.body());
+                    }
+                    return objectMapper.readTree(response.body()).path(idField).asLong();
+                } finally {
+                    permits.release();
+                }
+            }));
+        }
+        long[] ids = new long[requests.size()];
+        for (int i = 0; i < ids.length; i++) {
+            try {
+                ids[i] = responses.get(i).get();
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException io ? io : new IOException("Setup request failed", e.getCause());
+            }
+        }
+        return ids;
+    }
+
+    private LatencyStats measure(long[] customerIds, SplittableRandom random) throws InterruptedException {
+        LatencyStats stats = new LatencyStats();
+        Semaphore inFlight = new Semaphore(options.maxInFlight());
+        double nanosPerRequest = 1e9 / options.rate();
+        long warmupNanos = options.warmup().toNanos();
+        long endNanos = warmupNanos + options.duration().toNanos();
+
+        long start = System.nanoTime();
+        for (long i = 0; ; i++) {
+            long offset = (long) (i * nanosPerRequest);
+            if (offset >= endNanos) {
+                break;
+            }
+            long due = start + offset;
+            for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = options.operationMix().next(random);
+            HttpRequest request = request(operation, customerIds, random);
+            LatencyStats recorder = offset >= warmupNanos ? stats : null;
+            if (!inFlight.tryAcquire()) {
+                if (recorder != null) {
+                    recorder.recordDropped(operation);
+                }
+                continue;
+            }
+            executor.execute(() -> {
+                try {
+                    send(operation, request, due, recorder);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Wait for the stragglers; requests still outstanding after their timeout have failed anyway
+        inFlight.tryAcquire(options.maxInFlight(), options.timeout().toMillis() + 1_000, TimeUnit.MILLISECONDS);
+        return stats;
+    }
+
+    private HttpRequest request(Operation operation, long[] customerIds, SplittableRandom random) {
+        return switch (operation) {
+            case CUSTOMER -> post("/customers", dataMix.customer(random));
+            case APPLY -> post("/loan/apply", dataMix.application(customerIds[random.nextInt(customerIds.length)], random));
+            case GET -> get("/loan/" + recentLoan(random));
+        };
+    }
+
+    private void send(Operation operation, HttpRequest request, long due, LatencyStats stats) {
+        long sent = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            long completed = System.nanoTime();
+            if (response.statusCode() / 100 != 2) {
+                if (stats != null) {
+                    stats.recordError(operation, String.valueOf(response.statusCode()));
+                }
+                return;
+            }
+            if (stats != null) {
+                stats.recordSuccess(operation, due, sent, completed);
+            }
+            if (operation == Operation.APPLY) {
+                JsonNode loanId = objectMapper.readTree(response.body()).get("loanId");
+                if (loanId != null) {
+                    rememberLoan(loanId.asLong());
+                }
+            }
+        } catch (IOException e) {
+            if (stats != null) {
+                stats.recordError(operation, e.getClass().getSimpleName());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void rememberLoan(long loanId) {
+        loanIds.set((int) (loanCount.getAndIncrement() % LOAN_ID_SLOTS), loanId);
+    }
+
+    private long recentLoan(SplittableRandom random) {
+        long id = loanIds.get(random.nextInt((int) Math.min(loanCount.get(), LOAN_ID_SLOTS)));
+        return id != 0 ? id : loanIds.get(0); // Slot claimed but not yet written
+    }
+
+    private HttpRequest post(String path, ObjectNode body) {
+        return HttpRequest.newBuilder(uri(path))
+                .timeout(options.timeout())
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(uri(path)).timeout(options.timeout()).GET().build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(options.baseUrl() + path);
+    }
+
+    @Override
+    public void close() {
+        client.close();
+        executor.close();
+    }
+}
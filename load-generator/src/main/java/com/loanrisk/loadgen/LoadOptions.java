@@ -0,0 +1,141 @@
+package com.loanrisk.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Settings of one load test run, parsed from {@code --name value} or {@code --name=value} arguments.
+ *
+ * @param rate         Requests started per second, regardless of how fast responses come back (an open model).
+ * @param warmup       Time at the start of the run whose requests are sent but not reported.
+ * @param customers    Customers created before the run; applications are spread over them.
+ * @param seedLoans    Applications made before the run, so {@code GET /loan/{id}} has loans to read from the start.
+ * @param maxInFlight  Requests outstanding at once; requests due while at the limit are counted as dropped.
+ * @param output       Path prefix of the reports: {@code <output>.json}, {@code <output>.csv} and one
+ *                     {@code <output>-<operation>.hgrm} percentile distribution per operation.
+ * @param maxP99Millis If set, the run fails when the p99 response time over all operations exceeds it.
+ */
+public record LoadOptions(URI baseUrl, double rate, Duration duration, Duration warmup,
+                          WeightedChoice<Operation> operationMix,
+                          WeightedChoice<DataMix.CustomerProfile> customerMix,
+                          WeightedChoice<DataMix.ApplicationProfile> applicationMix,
+                          int customers, int seedLoans, Duration timeout, int maxInFlight, long seed, Path output,
+                          Double maxP99Millis) {
+
+    static final String USAGE = """
+            Usage: java -jar load-generator.jar [options]
+              --base-url URL          Application to test (default http://localhost:8080)
+              --rate N                Requests per second, at a constant arrival rate (default 100)
+              --duration D            Measured time, e.g. 60s, 5m or 500ms (default 60s)
+              --warmup D              Unreported time before the measurement (default 10s)
+              --mix SPEC              Operation weights (default apply=70,get=25,customer=5)
+              --customer-mix SPEC     Customer profile weights (default prime=40,near-prime=30,subprime=20,young=10)
+              --application-mix SPEC  Application profile weights (default small=50,medium=35,large=15)
+              --customers N           Customers created before the run (default 200)
+              --seed-loans N          Applications made before the run (default 100)
+              --timeout D             Per-request timeout (default 5s)
+              --max-in-flight N       Outstanding requests before new ones are dropped (default 10000)
+              --seed N                Random seed for the request sequence and data (default 42)
+              --output PREFIX         Report path prefix (default target/loadgen/report)
+              --max-p99-ms N          Exit with status 1 if the overall p99 response time exceeds N ms
+            """;
+
+    private static final Set<String> NAMES = Set.of("base-url", "rate", "duration", "warmup", "mix", "customer-mix",
+            "application-mix", "customers", "seed-loans", "timeout", "max-in-flight", "seed", "output", "max-p99-ms");
+
+    /**
+     * @throws IllegalArgumentException If an option is unknown, has no value or has an invalid value.
+     */
+    public static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument '" + arg + "'");
+            }
+            String name = arg.substring(2);
+            String value;
+            int equals = name.indexOf('=');
+            if (equals >= 0) {
+                value = name.substring(equals + 1);
+                name = name.substring(0, equals);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Option --" + name + " needs a value");
+            }
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --" + name);
+            }
+            values.put(name, value);
+        }
+
+        LoadOptions options = new LoadOptions(
+                URI.create(stripTrailingSlash(values.getOrDefault("base-url", "http://localhost:8080"))),
+                Double.parseDouble(values.getOrDefault("rate", "100")),
+                parseDuration(values.getOrDefault("duration", "60s")),
+                parseDuration(values.getOrDefault("warmup", "10s")),
+                WeightedChoice.parse(values.getOrDefault("mix", "apply=70,get=25,customer=5"), Operation::fromKey),
+                WeightedChoice.parse(values.getOrDefault("customer-mix", "prime=40,near-prime=30,subprime=20,young=10"),
+                        DataMix.CustomerProfile::fromKey),
+                WeightedChoice.parse(values.getOrDefault("application-mix", "small=50,medium=35,large=15"),
+                        DataMix.ApplicationProfile::fromKey),
+                Integer.parseInt(values.getOrDefault("customers", "200")),
+                Integer.parseInt(values.getOrDefault("seed-loans", "100")),
+                parseDuration(values.getOrDefault("timeout", "5s")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "10000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Path.of(values.getOrDefault("output", "target/loadgen/report")),
+                values.containsKey("max-p99-ms") ? Double.valueOf(values.get("max-p99-ms")) : null);
+        options.validate();
+        return options;
+    }
+
+    private void validate() {
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException("--rate must be positive");
+        }
+        if (duration.isZero() || duration.isNegative() || warmup.isNegative() || timeout.isZero() || timeout.isNegative()) {
+            throw new IllegalArgumentException("--duration and --timeout must be positive and --warmup not negative");
+        }
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("--max-in-flight must be at least 1");
+        }
+        if (seedLoans < 0) {
+            throw new IllegalArgumentException("--seed-loans must not be negative");
+        }
+        boolean needsCustomers = operationMix.contains(Operation.APPLY) || operationMix.contains(Operation.GET);
+        if (needsCustomers && customers < 1) {
+            throw new IllegalArgumentException("--customers must be at least 1 when the mix applies for or reads loans");
+        }
+        if (operationMix.contains(Operation.GET) && seedLoans < 1) {
+            throw new IllegalArgumentException("--seed-loans must be at least 1 when the mix reads loans");
+        }
+    }
+
+    /** Parses {@code 500ms}, {@code 30s}, {@code 5m} or a plain number of seconds. */
+    static Duration parseDuration(String value) {
+        try {
+            if (value.endsWith("ms")) {
+                return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+            }
+            if (value.endsWith("s")) {
+                return Duration.ofSeconds(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            if (value.endsWith("m")) {
+                return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+            }
+            return Duration.ofSeconds(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid duration '" + value + "', expected e.g. 500ms, 30s or 5m");
+        }
+    }
+
+    private static String stripTrailingSlash(String url) {
+        return url.endsWith("/") ? url.substring(0, url.length() - 1) : url;
+    }
+}
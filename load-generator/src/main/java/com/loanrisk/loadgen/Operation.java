@@ -0,0 +1,43 @@
+package com.loanrisk.loadgen;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * The requests the load generator issues.
+ */
+public enum Operation {
+
+    CUSTOMER("customer", "POST /customers"),
+    APPLY("apply", "POST /loan/apply"),
+    GET("get", "GET /loan/{id}");
+
+    private final String key;
+    private final String endpoint;
+
+    Operation(String key, String endpoint) {
+        this.key = key;
+        this.endpoint = endpoint;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * @throws IllegalArgumentException If no operation has the given key.
+     */
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equals(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '" + key + "', expected one of "
+                + Arrays.stream(values()).map(Operation::getKey).collect(Collectors.joining(", ")));
+    }
+}
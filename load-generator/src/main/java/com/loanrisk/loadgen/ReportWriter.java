@@ -0,0 +1,164 @@
+package com.loanrisk.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes the results of a run as JSON (the full picture), CSV (one row per operation and latency kind, for
+ * comparing runs across releases) and HdrHistogram percentile distributions ({@code .hgrm}, for plotting).
+ * Latencies are reported in milliseconds.
+ */
+public final class ReportWriter {
+
+    static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+    static final String TOTAL = "all";
+    static final String CSV_HEADER = "operation,latency,requests,succeeded,errors,dropped,throughput_per_s,"
+            + "mean_ms,p50_ms,p90_ms,p99_ms,p99_9_ms,p99_99_ms,max_ms";
+
+    private static final double MICROS_PER_MILLI = 1_000.0;
+
+    private final ObjectMapper objectMapper;
+
+    public ReportWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /** Writes the JSON, CSV and {@code .hgrm} reports next to each other and returns the JSON and CSV paths. */
+    public List<Path> write(LoadOptions options, Instant startedAt, LatencyStats stats) throws IOException {
+        Path json = sibling(options.output(), ".json");
+        Path csv = sibling(options.output(), ".csv");
+        if (json.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(json.toAbsolutePath().getParent());
+        }
+        Map<String, LatencyStats.OperationStats> rows = rows(options, stats);
+
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(json.toFile(), toJson(options, startedAt, rows));
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(csv, StandardCharsets.UTF_8))) {
+            out.println(CSV_HEADER);
+            rows.forEach((operation, row) -> {
+                writeCsvRow(out, options, operation, "response", row, row.getResponseTime());
+                writeCsvRow(out, options, operation, "service", row, row.getServiceTime());
+            });
+        }
+        for (Operation operation : options.operationMix().getWeights().keySet()) {
+            Path hgrm = sibling(options.output(), "-" + operation.getKey() + ".hgrm");
+            try (PrintStream out = new PrintStream(Files.newOutputStream(hgrm), false, StandardCharsets.UTF_8)) {
+                stats.get(operation).getResponseTime().outputPercentileDistribution(out, MICROS_PER_MILLI);
+            }
+        }
+        return List.of(json, csv);
+    }
+
+    /** A one-line-per-operation summary for the console. */
+    public void printSummary(PrintStream out, LoadOptions options, LatencyStats stats) {
+        out.printf(Locale.ROOT, "%-9s %9s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n", "operation", "requests", "succeeded",
+                "errors", "dropped", "per_s", "p50_ms", "p99_ms", "p99.9_ms", "max_ms", "svc_p99");
+        rows(options, stats).forEach((operation, row) -> out.printf(Locale.ROOT,
+                "%-9s %9d %9d %7d %7d %9.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n", operation, row.getRequests(),
+                row.getSucceeded(), row.getErrorCount(), row.getDropped(), throughput(options, row),
+                percentile(row.getResponseTime(), 50), percentile(row.getResponseTime(), 99),
+                percentile(row.getResponseTime(), 99.9), millis(row.getResponseTime().getMaxValue()),
+                percentile(row.getServiceTime(), 99)));
+    }
+
+    static Path sibling(Path prefix, String suffix) {
+        return prefix.resolveSibling(prefix.getFileName() + suffix);
+    }
+
+    static double percentile(Histogram histogram, double percentile) {
+        return millis(histogram.getValueAtPercentile(percentile));
+    }
+
+    /** The operations in the mix, in mix order, followed by their total. */
+    private static Map<String, LatencyStats.OperationStats> rows(LoadOptions options, LatencyStats stats) {
+        Map<String, LatencyStats.OperationStats> rows = new LinkedHashMap<>();
+        options.operationMix().getWeights().keySet().forEach(operation -> rows.put(operation.getKey(), stats.get(operation)));
+        rows.put(TOTAL, stats.total());
+        return rows;
+    }
+
+    private ObjectNode toJson(LoadOptions options, Instant startedAt, Map<String, LatencyStats.OperationStats> rows) {
+        ObjectNode root = objectMapper.createObjectNode();
+        root.put("baseUrl", options.baseUrl().toString());
+        root.put("startedAt", startedAt.toString());
+        root.put("targetRatePerSecond", options.rate());
+        root.put("durationSeconds", options.duration().toMillis() / 1000.0);
+        root.put("warmupSeconds", options.warmup().toMillis() / 1000.0);
+        root.put("seed", options.seed());
+        ObjectNode operationMix = root.putObject("mix");
+        options.operationMix().getWeights().forEach((operation, weight) -> operationMix.put(operation.getKey(), weight));
+        ObjectNode customerMix = root.putObject("customerMix");
+        options.customerMix().getWeights().forEach((profile, weight) -> customerMix.put(profile.getKey(), weight));
+        ObjectNode applicationMix = root.putObject("applicationMix");
+        options.applicationMix().getWeights().forEach((profile, weight) -> applicationMix.put(profile.getKey(), weight));
+
+        ObjectNode operations = root.putObject("operations");
+        rows.forEach((operation, row) -> {
+            ObjectNode node = operations.putObject(operation);
+            if (!TOTAL.equals(operation)) {
+                node.put("endpoint", Operation.fromKey(operation).getEndpoint());
+            }
+            node.put("requests", row.getRequests());
+            node.put("succeeded", row.getSucceeded());
+            node.put("dropped", row.getDropped());
+            ObjectNode errors = node.putObject("errors");
+            row.getErrors().forEach(errors::put);
+            node.put("throughputPerSecond", throughput(options, row));
+            putLatency(node.putObject("responseTimeMs"), row.getResponseTime());
+            putLatency(node.putObject("serviceTimeMs"), row.getServiceTime());
+        });
+        return root;
+    }
+
+    private static void putLatency(ObjectNode node, Histogram histogram) {
+        node.put("mean", mean(histogram));
+        for (double percentile : PERCENTILES) {
+            node.put("p" + label(percentile), percentile(histogram, percentile));
+        }
+        node.put("max", millis(histogram.getMaxValue()));
+    }
+
+    private static void writeCsvRow(PrintWriter out, LoadOptions options, String operation, String latency,
+                                    LatencyStats.OperationStats row, Histogram histogram) {
+        StringBuilder line = new StringBuilder()
+                .append(operation).append(',').append(latency).append(',')
+                .append(row.getRequests()).append(',').append(row.getSucceeded()).append(',')
+                .append(row.getErrorCount()).append(',').append(row.getDropped()).append(',')
+                .append(String.format(Locale.ROOT, "%.1f", throughput(options, row))).append(',')
+                .append(String.format(Locale.ROOT, "%.3f", mean(histogram)));
+        for (double percentile : PERCENTILES) {
+            line.append(',').append(percentile(histogram, percentile));
+        }
+        line.append(',').append(millis(histogram.getMaxValue()));
+        out.println(line);
+    }
+
+    private static double throughput(LoadOptions options, LatencyStats.OperationStats row) {
+        return row.getSucceeded() / (options.duration().toNanos() / 1e9);
+    }
+
+    private static double mean(Histogram histogram) {
+        return histogram.getTotalCount() > 0 ? histogram.getMean() / MICROS_PER_MILLI : 0;
+    }
+
+    private static double millis(long micros) {
+        return micros / MICROS_PER_MILLI;
+    }
+
+    private static String label(double percentile) {
+        return percentile == Math.rint(percentile) ? String.valueOf((long) percentile) : String.valueOf(percentile);
+    }
+}
@@ -0,0 +1,82 @@
+package com.loanrisk.loadgen;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+ * Picks values at random in proportion to integer weights, e.g. {@code apply=70,get=25,customer=5}.
+ */
+public final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final int[] cumulativeWeights;
+    private final Map<T, Integer> weights;
+
+    private WeightedChoice(Map<T, Integer> weights) {
+        this.weights = Collections.unmodifiableMap(new LinkedHashMap<>(weights));
+        this.values = List.copyOf(weights.keySet());
+        this.cumulativeWeights = new int[values.size()];
+        int total = 0;
+        for (int i = 0; i < values.size(); i++) {
+            total += weights.get(values.get(i));
+            cumulativeWeights[i] = total;
+        }
+    }
+
+    /**
+     * Parses a comma-separated list of {@code name=weight} pairs. Weights are relative and need not add up to 100.
+     *
+     * @throws IllegalArgumentException If the list is empty, malformed, names an unknown value, names a value twice
+     *                                  or has a negative weight or no positive one.
+     */
+    public static <T> WeightedChoice<T> parse(String spec, Function<String, T> valueOf) {
+        Map<T, Integer> weights = new LinkedHashMap<>();
+        for (String pair : spec.split(",")) {
+            String[] parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected name=weight but got '" + pair.trim() + "' in '" + spec + "'");
+            }
+            T value = valueOf.apply(parts[0].trim());
+            int weight;
+            try {
+                weight = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Weight of '" + parts[0].trim() + "' is not an integer: " + parts[1].trim());
+            }
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of '" + parts[0].trim() + "' is negative");
+            }
+            if (weights.put(value, weight) != null) {
+                throw new IllegalArgumentException("'" + parts[0].trim() + "' appears more than once in '" + spec + "'");
+            }
+        }
+        weights.values().removeIf(weight -> weight == 0);
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("No positive weight in '" + spec + "'");
+        }
+        return new WeightedChoice<>(weights);
+    }
+
+    public T next(RandomGenerator random) {
+        int point = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (point < cumulativeWeights[i]) {
+                return values.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /** The values with a positive weight, with their weights. */
+    public Map<T, Integer> getWeights() {
+        return weights;
+    }
+
+    public boolean contains(T value) {
+        return weights.containsKey(value);
+    }
+}
@@ -0,0 +1,139 @@
+package com.loanrisk.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LoadGenerator, run against a stub of the application's endpoints.
+ */
+class LoadGeneratorTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private final AtomicLong ids = new AtomicLong();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/customers", exchange -> respond(exchange, 201, "{\"id\":" + ids.incrementAndGet() + "}"));
+        server.createContext("/loan/apply", exchange -> {
+            JsonNode body = objectMapper.readTree(exchange.getRequestBody());
+            boolean valid = body.path("customerId").asLong() > 0 && body.path("loanAmount").asInt() > 0;
+            respond(exchange, valid ? 201 : 400, "{\"loanId\":" + ids.incrementAndGet() + "}");
+        });
+        server.createContext("/loan/", exchange -> {
+            boolean found = Long.parseLong(exchange.getRequestURI().getPath().substring("/loan/".length())) > 0;
+            respond(exchange, found ? 200 : 404, "{}");
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+        exchange.close();
+    }
+
+    private LoadOptions options(String... extra) {
+        List<String> args = new ArrayList<>(List.of("--base-url", "http://localhost:" + server.getAddress().getPort(),
+                "--rate", "200", "--warmup", "200ms", "--duration", "1s", "--customers", "10", "--seed-loans", "5",
+                "--output", dir.resolve("run").toString()));
+        args.addAll(List.of(extra));
+        return LoadOptions.parse(args.toArray(String[]::new));
+    }
+
+    @Test
+    void run_constantArrivalRate_measuresEveryDueRequest() throws Exception {
+        LoadOptions options = options();
+        LatencyStats stats;
+        try (LoadGenerator generator = new LoadGenerator(options)) {
+            stats = generator.run();
+        }
+
+        LatencyStats.OperationStats total = stats.total();
+        assertEquals(200, total.getRequests()); // 1 s at 200/s; warmup requests are not reported
+        assertEquals(200, total.getSucceeded(), () -> "errors " + total.getErrors() + ", dropped " + total.getDropped());
+        assertTrue(stats.get(Operation.APPLY).getRequests() > stats.get(Operation.GET).getRequests());
+        assertTrue(stats.get(Operation.GET).getSucceeded() > 0);
+        assertTrue(total.getResponseTime().getValueAtPercentile(50) >= total.getServiceTime().getValueAtPercentile(50));
+    }
+
+    @Test
+    void write_reports_areReadableJsonCsvAndHgrm() throws Exception {
+        LoadOptions options = options("--mix", "apply=1,get=1");
+        LatencyStats stats = new LatencyStats();
+        long now = System.nanoTime();
+        stats.recordSuccess(Operation.APPLY, now - 3_000_000, now - 2_000_000, now);
+        stats.recordError(Operation.APPLY, "503");
+        stats.recordDropped(Operation.GET);
+
+        List<Path> reports = new ReportWriter(objectMapper).write(options, Instant.now(), stats);
+
+        JsonNode json = objectMapper.readTree(reports.get(0).toFile());
+        JsonNode apply = json.path("operations").path("apply");
+        assertEquals(2, apply.path("requests").asLong());
+        assertEquals(1, apply.path("errors").path("503").asLong());
+        assertEquals(3.0, apply.path("responseTimeMs").path("p99").asDouble(), 0.01);
+        assertEquals(2.0, apply.path("serviceTimeMs").path("p99").asDouble(), 0.01);
+        assertEquals(3, json.path("operations").path("all").path("requests").asLong());
+        assertFalse(json.path("operations").has("customer"));
+
+        List<String> csv = Files.readAllLines(reports.get(1));
+        assertEquals(ReportWriter.CSV_HEADER, csv.get(0));
+        assertEquals(1 + 2 * 3, csv.size()); // Response and service rows for apply, get and all
+        assertTrue(csv.get(1).startsWith("apply,response,2,1,1,0,"));
+        assertTrue(Files.exists(dir.resolve("run-apply.hgrm")));
+        assertTrue(Files.exists(dir.resolve("run-get.hgrm")));
+    }
+
+    @Test
+    void weightedChoice_followsWeightsAndRejectsBadSpecs() {
+        WeightedChoice<Operation> mix = WeightedChoice.parse("apply=3, get=1, customer=0", Operation::fromKey);
+        SplittableRandom random = new SplittableRandom(1);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertFalse(counts.containsKey(Operation.CUSTOMER));
+        assertEquals(3.0, counts.get(Operation.APPLY) / (double) counts.get(Operation.GET), 0.15);
+        assertThrows(IllegalArgumentException.class, () -> WeightedChoice.parse("apply", Operation::fromKey));
+        assertThrows(IllegalArgumentException.class, () -> WeightedChoice.parse("apply=1,update=1", Operation::fromKey));
+        assertThrows(IllegalArgumentException.class, () -> WeightedChoice.parse("apply=0", Operation::fromKey));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--rate", "0"));
+        assertThrows(IllegalArgumentException.class, () -> LoadOptions.parse("--mix", "get=1", "--seed-loans", "0"));
+    }
+}
@@ -0,0 +1,25 @@
+#!/usr/bin/env bash
+#
+# Extracts the packaged application and records a class data sharing (CDS) archive for it with a training
+# run that starts the prod profile and exits once the context is refreshed.
+#
+# Usage: scripts/build-cds-archive.sh [jar] [destination]
+#   Build the jar first with: ./mvnw -Pprod package
+#   Then start it from the destination directory (the archive only matches the same relative class path):
+#     cd <destination> && java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+#         -jar engine-0.0.1-SNAPSHOT.jar --spring.profiles.active=prod
+#
+set -euo pipefail
+
+JAR=${1:-target/engine-0.0.1-SNAPSHOT.jar}
+DEST=${2:-target/application}
+
+rm -rf "$DEST"
+java -Djarmode=tools -jar "$JAR" extract --destination "$DEST"
+
+# The training run needs no database: Hibernate does not query it at boot under the prod profile
+cd "$DEST"
+java -XX:ArchiveClassesAtExit=application.jsa -Dspring.context.exit=onRefresh -Dspring.aot.enabled=true \
+     -jar "$(basename "$JAR")" --spring.profiles.active=prod
+
+echo "CDS archive written to $DEST/application.jsa"
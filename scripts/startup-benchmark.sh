@@ -0,0 +1,93 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-successful POST /loan/apply: from launching the JVM until the first loan
+# application is accepted (HTTP 201). Each run starts a fresh process with an empty in-memory database,
+# creates a customer as soon as the server answers, then applies for a loan.
+#
+# Usage: scripts/startup-benchmark.sh <jar> [runs]
+#   JAVA_OPTS  JVM options, e.g. "-XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true"
+#   APP_ARGS   Application arguments, e.g. "--spring.profiles.active=prod"
+#   PORT       HTTP port (default 18080)
+#   MAX_MS     Fail (exit 1) if the median exceeds this many milliseconds
+#   MAX_WAIT_MS  Fail (exit 1) if a run has not applied successfully after this many milliseconds (default 120000),
+#                e.g. because the schema does not exist (the prod profile needs --spring.jpa.hibernate.ddl-auto=create)
+#
+set -euo pipefail
+
+JAR=${1:?Usage: $0 <jar> [runs]}
+RUNS=${2:-5}
+PORT=${PORT:-18080}
+MAX_WAIT_MS=${MAX_WAIT_MS:-120000}
+BASE="http://localhost:${PORT}"
+LOG=$(mktemp)
+trap 'rm -f "$LOG"' EXIT
+
+now_ms() { echo $(( $(date +%s%N) / 1000000 )); }
+
+# Fails the run if the application exited or the run is past its deadline; stops the application in the latter case
+check_run() {
+  local pid=$1 start=$2 waiting_for=$3
+  if ! kill -0 "$pid" 2>/dev/null; then
+    echo "Application exited while waiting for $waiting_for; see its output:" >&2
+    cat "$LOG" >&2
+    return 1
+  fi
+  if [ $(( $(now_ms) - start )) -gt "$MAX_WAIT_MS" ]; then
+    echo "No $waiting_for within MAX_WAIT_MS=${MAX_WAIT_MS} ms (last status: ${4:-none}); see the application output:" >&2
+    cat "$LOG" >&2
+    kill "$pid" 2>/dev/null || true
+    wait "$pid" 2>/dev/null || true
+    return 1
+  fi
+}
+
+run_once() {
+  local start pid customer_id status elapsed
+  start=$(now_ms)
+  # shellcheck disable=SC2086 # Options are deliberately word-split
+  java ${JAVA_OPTS:-} -jar "$JAR" --server.port="$PORT" ${APP_ARGS:-} > "$LOG" 2>&1 &
+  pid=$!
+
+  customer_id=""
+  while [ -z "$customer_id" ]; do
+    check_run "$pid" "$start" "a created customer" || return 1
+    customer_id=$(curl -s -X POST "$BASE/customers" -H 'Content-Type: application/json' \
+      -d '{"name":"Startup Benchmark","age":35,"annualIncome":60000,"creditScore":700,"employmentStatus":"Employed","existingDebt":5000}' \
+      | sed -n 's/.*"id":\([0-9]*\).*/\1/p' || true)
+    [ -n "$customer_id" ] || sleep 0.01
+  done
+
+  status=""
+  until [ "$status" = "201" ]; do
+    check_run "$pid" "$start" "an accepted loan application" "$status" || return 1
+    status=$(curl -s -o /dev/null -w '%{http_code}' -X POST "$BASE/loan/apply" -H 'Content-Type: application/json' \
+      -d "{\"customerId\":${customer_id},\"loanAmount\":10000,\"loanPurpose\":\"Car\",\"requestedTermMonths\":36}" || true)
+    [ "$status" = "201" ] || sleep 0.01
+  done
+  elapsed=$(( $(now_ms) - start ))
+
+  kill "$pid"
+  wait "$pid" 2>/dev/null || true
+  echo "$elapsed"
+}
+
+results=()
+for i in $(seq 1 "$RUNS"); do
+  if ! ms=$(run_once); then
+    echo "run $i failed" >&2
+    exit 1
+  fi
+  echo "run $i: ${ms} ms" >&2
+  results+=("$ms")
+done
+
+sorted=$(printf '%s\n' "${results[@]}" | sort -n)
+min=$(echo "$sorted" | head -1)
+max=$(echo "$sorted" | tail -1)
+median=$(echo "$sorted" | sed -n "$(( (RUNS + 1) / 2 ))p")
+echo "time_to_first_apply_ms runs=$RUNS min=$min median=$median max=$max"
+
+if [ -n "${MAX_MS:-}" ] && [ "$median" -gt "$MAX_MS" ]; then
+  echo "Median time to first apply ${median} ms exceeds MAX_MS=${MAX_MS}" >&2
+  exit 1
+fi
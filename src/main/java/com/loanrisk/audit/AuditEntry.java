@@ -0,0 +1,30 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.RulesetCodec;
+
+/**
+ * A decoded audit log record.
+ */
+public sealed interface AuditEntry {
+
+    /**
+     * The definition of a compiled ruleset, written before the first decision made with it in each segment.
+     *
+     * @param version The {@link com.loanrisk.engine.CompiledRuleset#getVersion() compilation version}; unique
+     *                within one run of the application, so it only identifies a ruleset together with the
+     *                definitions that precede it in the log.
+     */
+    record Ruleset(long version, RulesetCodec.Definition definition) implements AuditEntry {
+    }
+
+    /**
+     * One decision: the inputs exactly as scored and the outcome.
+     * The customer's row version is not recorded, so a decoded customer has none.
+     */
+    record Decision(long timestampMillis, long rulesetVersion, CustomerInput customer, ApplicationInput application,
+                    ScoringResult result) implements AuditEntry {
+    }
+}
@@ -0,0 +1,216 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.config.AuditLogProperties;
+import com.loanrisk.config.AuditLogProperties.FsyncPolicy;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only log of every decision, written to memory-mapped segment files (see {@link AuditLogFormat}).
+ * <p>
+ * The caller encodes its record outside the lock; under the lock an append is only a chain hash and a copy
+ * into the mapped segment, a few microseconds. The record's length is written last, so a reader or a crash
+ * never sees a partly written record as valid. Forcing segments to disk follows the
+ * {@link FsyncPolicy}. Each start of the application begins a new segment that continues the hash chain
+ * of the existing log.
+ */
+@Component
+@Slf4j
+public class AuditLog implements DisposableBean {
+
+    private final AuditLogProperties properties;
+    private final Path directory;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final MessageDigest digest = AuditLogFormat.sha256();
+    private final Timer appendTimer;
+    private final Counter failures;
+    private ScheduledExecutorService fsync;
+
+    // Guarded by lock
+    private MappedByteBuffer segment;
+    private Path segmentPath;
+    private long sequence;
+    private int position;
+    private byte[] chainHash;
+    private long segmentRulesetVersion; // Ruleset most recently written to the current segment, 0 if none
+    private boolean closed;
+
+    private volatile boolean dirty;
+
+    public AuditLog(AuditLogProperties properties, MeterRegistry meterRegistry) throws IOException {
+        this.properties = properties;
+        this.directory = Path.of(properties.getDirectory());
+        this.appendTimer = Timer.builder("loanrisk.audit.append")
+                .description("Time spent appending a decision to the audit log")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.failures = Counter.builder("loanrisk.audit.failures")
+                .description("Decisions that could not be written to the audit log")
+                .register(meterRegistry);
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (properties.getSegmentSizeBytes() < AuditLogFormat.HEADER_SIZE + 4096) {
+            throw new IllegalArgumentException("loanrisk.audit.segment-size-bytes must be at least " + (AuditLogFormat.HEADER_SIZE + 4096));
+        }
+
+        Files.createDirectories(directory);
+        AuditLogReader.Result existing = AuditLogReader.read(directory, entry -> { });
+        if (!existing.isIntact()) {
+            log.warn("Audit log in {} has problems, continuing from its last valid record: {}", directory, existing.problems());
+        }
+        this.sequence = existing.lastSequence();
+        this.chainHash = existing.lastHash();
+        openSegment();
+
+        if (properties.getFsyncPolicy() == FsyncPolicy.INTERVAL) {
+            this.fsync = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "audit-log-fsync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            fsync.scheduleWithFixedDelay(this::forceIfDirty, properties.getFsyncIntervalMs(), properties.getFsyncIntervalMs(),
+                    TimeUnit.MILLISECONDS);
+        }
+        log.info("Audit log writing to {} (fsync {}).", segmentPath, properties.getFsyncPolicy());
+    }
+
+    /**
+     * Records one decision. A failure to write is logged and counted, never thrown: an audit outage must not
+     * take down scoring, and the gap is visible as {@code loanrisk.audit.failures}.
+     */
+    public void append(CompiledRuleset ruleset, ApplicationInput application, CustomerInput customer, ScoringResult result) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        byte[] decision = AuditLogFormat.encodeDecision(System.currentTimeMillis(), ruleset.getVersion(), customer, application, result);
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Audit log is closed");
+            }
+            if (segmentRulesetVersion != ruleset.getVersion()) {
+                byte[] definition = AuditLogFormat.encodeRuleset(ruleset);
+                if (!fits(definition.length + decision.length + 2 * AuditLogFormat.RECORD_OVERHEAD)) {
+                    rollover(); // Keep the definition in the same segment as the decisions that use it
+                }
+                write(definition);
+                segmentRulesetVersion = ruleset.getVersion();
+            } else if (!fits(decision.length + AuditLogFormat.RECORD_OVERHEAD)) {
+                rollover();
+                write(AuditLogFormat.encodeRuleset(ruleset)); // Each segment can be replayed on its own
+                segmentRulesetVersion = ruleset.getVersion();
+            }
+            write(decision);
+            if (properties.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+                segment.force();
+            } else {
+                dirty = true;
+            }
+        } catch (IOException | RuntimeException e) {
+            failures.increment();
+            log.error("Failed to write decision for customer {} to the audit log: {}", customer.id(), e.getMessage());
+        } finally {
+            lock.unlock();
+            appendTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private boolean fits(int bytes) {
+        return position + bytes + 4 <= segment.capacity(); // Leave room for the terminating zero length
+    }
+
+    private void write(byte[] body) {
+        if (!fits(body.length + AuditLogFormat.RECORD_OVERHEAD)) {
+            throw new IllegalStateException("Record of " + body.length + " bytes does not fit an audit segment");
+        }
+        byte[] hash = AuditLogFormat.chainHash(digest, chainHash, body, 0, body.length);
+        segment.putInt(position + 4, AuditLogFormat.crc(body, 0, body.length, hash));
+        segment.put(position + 8, body);
+        segment.put(position + 8 + body.length, hash);
+        segment.putInt(position, body.length); // Last: publishes the record
+        position += AuditLogFormat.RECORD_OVERHEAD + body.length;
+        chainHash = hash;
+    }
+
+    private void openSegment() throws IOException {
+        sequence++;
+        segmentPath = AuditLogFormat.segmentPath(directory, sequence);
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, properties.getSegmentSizeBytes());
+        }
+        AuditLogFormat.writeHeader(segment, sequence, chainHash);
+        position = AuditLogFormat.HEADER_SIZE;
+        segmentRulesetVersion = 0;
+    }
+
+    private void rollover() throws IOException {
+        seal();
+        openSegment();
+        log.info("Audit log rolled over to {}.", segmentPath);
+    }
+
+    /** Forces the current segment to disk and trims its unused tail. */
+    private void seal() throws IOException {
+        segment.force();
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.WRITE)) {
+            channel.truncate(position + 4L); // Keep the terminating zero length
+        }
+        log.info("Sealed audit segment {} at {} bytes, chain head {}.", segmentPath.getFileName(), position,
+                HexFormat.of().formatHex(chainHash));
+    }
+
+    private void forceIfDirty() {
+        if (!dirty) {
+            return;
+        }
+        dirty = false;
+        MappedByteBuffer current;
+        lock.lock();
+        try {
+            current = segment;
+        } finally {
+            lock.unlock();
+        }
+        current.force(); // Outside the lock: appends continue while the pages are written
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        if (fsync != null) {
+            fsync.shutdownNow();
+        }
+        lock.lock();
+        try {
+            if (segment != null && !closed) {
+                closed = true;
+                seal();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+}
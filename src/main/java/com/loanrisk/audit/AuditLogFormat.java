@@ -0,0 +1,213 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.RulesetCodec;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * On-disk layout of the audit log.
+ * <p>
+ * A segment file starts with a {@value #HEADER_SIZE}-byte header: magic, format version, segment sequence number
+ * and the chain hash the segment continues from. Records follow back to back as
+ * {@code [int length][int crc32c][body][32-byte chain hash]}, where the chain hash is SHA-256 of the previous
+ * record's chain hash followed by the body, and the CRC covers body and hash. A length of 0 (the zero-filled
+ * remainder of a mapped segment) ends the segment. Editing, removing or reordering any record changes every
+ * later chain hash, so a log whose latest hash was recorded elsewhere cannot be altered unnoticed.
+ */
+final class AuditLogFormat {
+
+    static final int MAGIC = 0x4C52414C; // "LRAL"
+    static final int FORMAT_VERSION = 1;
+    static final int HASH_SIZE = 32;
+    static final int HEADER_SIZE = 4 + 4 + 8 + HASH_SIZE;
+    static final int RECORD_OVERHEAD = 4 + 4 + HASH_SIZE;
+    static final byte[] GENESIS_HASH = new byte[HASH_SIZE];
+
+    private static final byte RULESET = 1;
+    private static final byte DECISION = 2; // Written before applications carried the customer's exposure; still read
+    private static final byte DECISION_WITH_EXPOSURE = 3;
+
+    private AuditLogFormat() {
+    }
+
+    static Path segmentPath(Path directory, long sequence) {
+        return directory.resolve(String.format("audit-%016d.log", sequence));
+    }
+
+    /** Sequence number of a segment file, or -1 if the name is not that of a segment. */
+    static long segmentSequence(Path file) {
+        String name = file.getFileName().toString();
+        if (!name.matches("audit-\\d{16}\\.log")) {
+            return -1;
+        }
+        return Long.parseLong(name.substring(6, 22));
+    }
+
+    static void writeHeader(ByteBuffer segment, long sequence, byte[] previousHash) {
+        segment.putInt(0, MAGIC);
+        segment.putInt(4, FORMAT_VERSION);
+        segment.putLong(8, sequence);
+        segment.put(16, previousHash);
+    }
+
+    static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e); // Required of every Java platform
+        }
+    }
+
+    static byte[] chainHash(MessageDigest digest, byte[] previousHash, byte[] body, int offset, int length) {
+        digest.update(previousHash);
+        digest.update(body, offset, length);
+        return digest.digest();
+    }
+
+    static int crc(byte[] body, int offset, int length, byte[] hash) {
+        CRC32C crc = new CRC32C();
+        crc.update(body, offset, length);
+        crc.update(hash);
+        return (int) crc.getValue();
+    }
+
+    static byte[] encodeRuleset(CompiledRuleset ruleset) {
+        return encode(out -> {
+            out.writeByte(RULESET);
+            out.writeLong(ruleset.getVersion());
+            RulesetCodec.write(out, ruleset);
+        });
+    }
+
+    static byte[] encodeDecision(long timestampMillis, long rulesetVersion, CustomerInput customer, ApplicationInput application,
+                                 ScoringResult result) {
+        return encode(out -> {
+            out.writeByte(DECISION_WITH_EXPOSURE);
+            out.writeLong(timestampMillis);
+            out.writeLong(rulesetVersion);
+            out.writeLong(customer.id() != null ? customer.id() : -1);
+            writeString(out, customer.name());
+            writeInteger(out, customer.age());
+            writeDecimal(out, customer.annualIncome());
+            writeInteger(out, customer.creditScore());
+            writeString(out, customer.employmentStatus());
+            writeDecimal(out, customer.existingDebt());
+            writeDecimal(out, application.loanAmount());
+            writeString(out, application.loanPurpose());
+            writeInteger(out, application.requestedTermMonths());
+            writeInteger(out, application.recentApplications());
+            writeDecimal(out, application.outstandingAmount());
+            out.writeInt(result.getRiskScore());
+            writeString(out, result.getRiskLevel());
+            writeString(out, result.getDecision());
+            out.writeBoolean(result.isPartial());
+            List<String> explanation = result.getExplanation() != null ? result.getExplanation() : List.of();
+            out.writeInt(explanation.size());
+            for (String ruleName : explanation) {
+                writeString(out, ruleName);
+            }
+        });
+    }
+
+    /**
+     * Decodes a record body.
+     *
+     * @throws IllegalArgumentException If the body is not a valid record.
+     */
+    static AuditEntry decode(byte[] body, int offset, int length) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(body, offset, length))) {
+            byte type = in.readByte();
+            if (type == RULESET) {
+                long version = in.readLong();
+                RulesetCodec.Definition definition = RulesetCodec.read(in);
+                return new AuditEntry.Ruleset(version, definition);
+            }
+            if (type == DECISION || type == DECISION_WITH_EXPOSURE) {
+                long timestamp = in.readLong();
+                long rulesetVersion = in.readLong();
+                long customerId = in.readLong();
+                CustomerInput customer = new CustomerInput(customerId >= 0 ? customerId : null, null, readString(in),
+                        readInteger(in), readDecimal(in), readInteger(in), readString(in), readDecimal(in));
+                ApplicationInput application = type == DECISION
+                        ? new ApplicationInput(readDecimal(in), readString(in), readInteger(in))
+                        : new ApplicationInput(readDecimal(in), readString(in), readInteger(in), readInteger(in), readDecimal(in));
+                int score = in.readInt();
+                String level = readString(in);
+                String decision = readString(in);
+                boolean partial = in.readBoolean();
+                int explanationSize = in.readInt();
+                List<String> explanation = new ArrayList<>(explanationSize);
+                for (int i = 0; i < explanationSize; i++) {
+                    explanation.add(readString(in));
+                }
+                return new AuditEntry.Decision(timestamp, rulesetVersion, customer, application,
+                        new ScoringResult(score, level, decision, explanation, partial));
+            }
+            throw new IllegalArgumentException("Unknown record type " + type);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Truncated record", e);
+        }
+    }
+
+    private interface Writer {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private static byte[] encode(Writer writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writer.write(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // Not thrown by in-memory streams
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeDecimal(DataOutputStream out, BigDecimal value) throws IOException {
+        writeString(out, value != null ? value.toString() : null); // Keeps the scale, so the value replays exactly
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static BigDecimal readDecimal(DataInputStream in) throws IOException {
+        String value = readString(in);
+        return value != null ? new BigDecimal(value) : null;
+    }
+}
@@ -0,0 +1,119 @@
+package com.loanrisk.audit;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the segments of an audit log in order, verifying each record's checksum and the hash chain
+ * within and across segments. Reading a segment stops at its first invalid record.
+ */
+public final class AuditLogReader {
+
+    /**
+     * Outcome of reading a log.
+     *
+     * @param lastSequence Sequence number of the last segment, or -1 if there is none.
+     * @param lastHash     Chain hash of the last valid record, from which a writer continues the chain.
+     * @param problems     Checksum failures, chain breaks and undecodable records, in log order.
+     */
+    public record Result(int segments, long records, long lastSequence, byte[] lastHash, List<String> problems) {
+
+        public boolean isIntact() {
+            return problems.isEmpty();
+        }
+    }
+
+    private AuditLogReader() {
+    }
+
+    /** Segment files of the log in sequence order. */
+    static List<Path> segments(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> AuditLogFormat.segmentSequence(file) >= 0)
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /**
+     * Reads every record of the log in {@code directory}, passing the decoded entries to {@code consumer}.
+     */
+    public static Result read(Path directory, Consumer<AuditEntry> consumer) throws IOException {
+        MessageDigest digest = AuditLogFormat.sha256();
+        List<String> problems = new ArrayList<>();
+        byte[] hash = AuditLogFormat.GENESIS_HASH;
+        long records = 0;
+        long lastSequence = -1;
+        List<Path> segments = segments(directory);
+
+        for (Path segment : segments) {
+            long sequence = AuditLogFormat.segmentSequence(segment);
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+                if (channel.size() < AuditLogFormat.HEADER_SIZE) {
+                    problems.add(segment.getFileName() + ": truncated header");
+                    continue;
+                }
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buffer.getInt(0) != AuditLogFormat.MAGIC || buffer.getInt(4) != AuditLogFormat.FORMAT_VERSION
+                        || buffer.getLong(8) != sequence) {
+                    problems.add(segment.getFileName() + ": invalid header");
+                    continue;
+                }
+                byte[] previousHash = new byte[AuditLogFormat.HASH_SIZE];
+                buffer.get(16, previousHash);
+                if (lastSequence >= 0 && !Arrays.equals(previousHash, hash)) {
+                    problems.add(segment.getFileName() + ": does not continue the chain of the previous segment");
+                }
+                hash = previousHash;
+                lastSequence = sequence;
+
+                int position = AuditLogFormat.HEADER_SIZE;
+                int limit = buffer.capacity();
+                while (position + AuditLogFormat.RECORD_OVERHEAD <= limit) {
+                    int length = buffer.getInt(position);
+                    if (length == 0) {
+                        break; // End of the segment
+                    }
+                    if (length < 0 || length > limit - position - AuditLogFormat.RECORD_OVERHEAD) {
+                        problems.add(segment.getFileName() + " at " + position + ": invalid record length " + length);
+                        break;
+                    }
+                    byte[] body = new byte[length];
+                    byte[] storedHash = new byte[AuditLogFormat.HASH_SIZE];
+                    buffer.get(position + 8, body);
+                    buffer.get(position + 8 + length, storedHash);
+                    if (AuditLogFormat.crc(body, 0, length, storedHash) != buffer.getInt(position + 4)) {
+                        problems.add(segment.getFileName() + " at " + position + ": checksum mismatch");
+                        break;
+                    }
+                    if (!Arrays.equals(AuditLogFormat.chainHash(digest, hash, body, 0, length), storedHash)) {
+                        problems.add(segment.getFileName() + " at " + position + ": chain hash mismatch");
+                        break;
+                    }
+                    hash = storedHash;
+                    records++;
+                    try {
+                        consumer.accept(AuditLogFormat.decode(body, 0, length));
+                    } catch (IllegalArgumentException e) {
+                        problems.add(segment.getFileName() + " at " + position + ": " + e.getMessage());
+                    }
+                    position += AuditLogFormat.RECORD_OVERHEAD + length;
+                }
+            }
+        }
+        return new Result(segments.size(), records, lastSequence, hash, problems);
+    }
+}
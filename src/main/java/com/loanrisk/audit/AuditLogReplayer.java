@@ -0,0 +1,88 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.CompiledRuleset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Re-scores every decision in an audit log with the ruleset definition recorded before it and compares
+ * the outcome, verifying that scoring is deterministic and that the log is intact.
+ * Decisions made in decision-only mode are replayed in that mode, since their scores are partial.
+ */
+public final class AuditLogReplayer {
+
+    private static final int MAX_REPORTED_MISMATCHES = 100;
+
+    /**
+     * Outcome of a replay.
+     *
+     * @param problems Integrity problems of the log itself (see {@link AuditLogReader.Result#problems()}).
+     * @param mismatches Up to {@value #MAX_REPORTED_MISMATCHES} descriptions of decisions that scored differently.
+     */
+    public record Report(int segments, long records, long decisions, long mismatchCount, List<String> mismatches,
+                         List<String> problems) {
+
+        public boolean isVerified() {
+            return mismatchCount == 0 && problems.isEmpty();
+        }
+    }
+
+    private AuditLogReplayer() {
+    }
+
+    public static Report replay(Path directory) throws IOException {
+        Map<Long, CompiledRuleset> rulesets = new HashMap<>(); // Latest definition per version
+        List<String> mismatches = new ArrayList<>();
+        long[] counts = new long[2]; // Decisions, mismatches
+        List<String> unknownRulesets = new ArrayList<>();
+
+        AuditLogReader.Result result = AuditLogReader.read(directory, entry -> {
+            if (entry instanceof AuditEntry.Ruleset definition) {
+                rulesets.put(definition.version(), definition.definition().compile());
+                return;
+            }
+            AuditEntry.Decision decision = (AuditEntry.Decision) entry;
+            counts[0]++;
+            CompiledRuleset ruleset = rulesets.get(decision.rulesetVersion());
+            if (ruleset == null) {
+                unknownRulesets.add("Decision at " + decision.timestampMillis() + " references unknown ruleset version "
+                        + decision.rulesetVersion());
+                return;
+            }
+            ScoringResult recorded = decision.result();
+            ScoringResult replayed = recorded.isPartial()
+                    ? ruleset.evaluateDecision(decision.application(), decision.customer())
+                    : ruleset.evaluate(decision.application(), decision.customer());
+            if (!sameOutcome(recorded, replayed)) {
+                counts[1]++;
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                    mismatches.add("Decision at " + decision.timestampMillis() + " for customer " + decision.customer().id()
+                            + ": recorded " + describe(recorded) + ", replayed " + describe(replayed));
+                }
+            }
+        });
+
+        List<String> problems = new ArrayList<>(result.problems());
+        problems.addAll(unknownRulesets);
+        return new Report(result.segments(), result.records(), counts[0], counts[1], mismatches, problems);
+    }
+
+    private static boolean sameOutcome(ScoringResult recorded, ScoringResult replayed) {
+        return recorded.getRiskScore() == replayed.getRiskScore()
+                && Objects.equals(recorded.getRiskLevel(), replayed.getRiskLevel())
+                && Objects.equals(recorded.getDecision(), replayed.getDecision())
+                && recorded.isPartial() == replayed.isPartial()
+                && Objects.equals(recorded.getExplanation(), replayed.getExplanation());
+    }
+
+    private static String describe(ScoringResult result) {
+        return result.getRiskScore() + "/" + result.getRiskLevel() + "/" + result.getDecision() + " " + result.getExplanation();
+    }
+}
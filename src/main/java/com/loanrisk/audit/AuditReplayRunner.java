@@ -0,0 +1,41 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.config.AuditLogProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Replays the audit log in {@code loanrisk.audit.replay-directory} at startup, logs the report and exits
+ * with status 0 if every decision replayed identically and the log is intact, 3 otherwise.
+ */
+@Component
+@ConditionalOnProperty(prefix = "loanrisk.audit", name = "replay-directory")
+@Slf4j
+public class AuditReplayRunner implements ApplicationRunner {
+
+    private final AuditLogProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public AuditReplayRunner(AuditLogProperties properties, ConfigurableApplicationContext context) {
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        AuditLogReplayer.Report report = AuditLogReplayer.replay(Path.of(properties.getReplayDirectory()));
+        log.info("Replayed {} decisions from {} records in {} segments: {} mismatches, {} integrity problems.",
+                report.decisions(), report.records(), report.segments(), report.mismatchCount(), report.problems().size());
+        report.problems().forEach(problem -> log.error("Audit log problem: {}", problem));
+        report.mismatches().forEach(mismatch -> log.error("Replay mismatch: {}", mismatch));
+
+        System.exit(SpringApplication.exit(context, () -> report.isVerified() ? 0 : 3));
+    }
+}
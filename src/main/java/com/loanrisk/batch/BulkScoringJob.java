@@ -0,0 +1,267 @@
+package com.loanrisk.batch;
+
+import com.loanrisk.config.BulkScoringProperties;
+import com.loanrisk.engine.BatchEvaluator;
+import com.loanrisk.engine.ColumnarBatch;
+import com.loanrisk.engine.CompiledRule;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.RiskBandTable;
+import com.loanrisk.engine.RuleField;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Scores a file of customer and application records with a compiled ruleset.
+ * <p>
+ * The input is memory-mapped in regions of up to {@value #REGION_SIZE} bytes. Each region is cut at line
+ * boundaries into chunks of roughly {@code chunkSizeBytes}, and each chunk is parsed and scored on a worker
+ * thread straight from the mapped bytes, {@value #BATCH_ROWS} records per {@link BatchEvaluator} pass.
+ * Results are written in input order; at most {@code maxChunksInFlight} chunks are pending at once,
+ * so the heap used depends on the chunk size, not on the size of the file.
+ * <p>
+ * Output lines are {@code id,riskScore,riskLevel,decision}; a record with a malformed number is
+ * written as {@code id,,,INVALID} and counted, rather than failing the job.
+ */
+@Slf4j
+public class BulkScoringJob {
+
+    static final String OUTPUT_HEADER = "id,riskScore,riskLevel,decision";
+    static final String INVALID = "INVALID";
+
+    private static final int REGION_SIZE = 1 << 30;
+    private static final int BATCH_ROWS = 4096;
+
+    /** Totals of one run, and why its scores may not reflect how the ruleset scores live. */
+    public record Result(long records, long invalid, long elapsedMillis, List<String> warnings) {
+
+        public double recordsPerSecond() {
+            return elapsedMillis > 0 ? records * 1000.0 / elapsedMillis : records;
+        }
+    }
+
+    private final CompiledRuleset ruleset;
+    private final BatchEvaluator batchEvaluator;
+    private final BulkScoringProperties properties;
+
+    public BulkScoringJob(CompiledRuleset ruleset, BulkScoringProperties properties) {
+        this.ruleset = ruleset;
+        this.batchEvaluator = new BatchEvaluator(ruleset);
+        this.properties = properties;
+    }
+
+    /**
+     * Scores every record of {@code input} into {@code output}, replacing it if it exists.
+     *
+     * @throws IllegalArgumentException If the input layout is invalid or a line is longer than a mapped region.
+     */
+    public Result run(Path input, Path output) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        int maxInFlight = properties.getMaxChunksInFlight() > 0 ? properties.getMaxChunksInFlight() : threads * 2;
+        int chunkSize = Math.max(1, properties.getChunkSizeBytes());
+        long records = 0;
+        long invalid = 0;
+        List<String> warnings = List.of();
+
+        ExecutorService workers = Executors.newFixedThreadPool(threads, namedDaemonThreads("bulk-scoring-worker"));
+        ThreadLocal<Worker> worker = ThreadLocal.withInitial(Worker::new);
+        Deque<Future<Chunk>> pending = new ArrayDeque<>();
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, (OUTPUT_HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+
+            long size = in.size();
+            long position = 0;
+            RecordLayout layout = null;
+            while (position < size) {
+                MappedByteBuffer region = in.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position));
+                boolean last = position + region.capacity() == size;
+                int end = last ? region.capacity() : lastLineEnd(region);
+                if (end == 0) {
+                    throw new IllegalArgumentException("Line at offset " + position + " is longer than " + REGION_SIZE + " bytes");
+                }
+
+                int start = 0;
+                if (layout == null) {
+                    if (properties.getFormat() == BulkScoringProperties.Format.CSV) {
+                        int headerEnd = lineEnd(region, 0, end);
+                        layout = RecordLayout.delimited(text(region, 0, headerEnd), properties.getDelimiter());
+                        start = Math.min(headerEnd + 1, end);
+                    } else {
+                        layout = RecordLayout.fixedWidth(properties.getColumns());
+                    }
+                    log.info("Bulk scoring {} ({} bytes) with ruleset {} and layout {}.", input, size, ruleset, layout);
+                    warnings = exposureWarnings(layout);
+                }
+
+                while (start < end) {
+                    int chunkEnd = start + chunkSize >= end ? end : Math.min(lineEnd(region, start + chunkSize, end) + 1, end);
+                    ByteBuffer chunk = region.slice(start, chunkEnd - start);
+                    RecordLayout chunkLayout = layout;
+                    if (pending.size() >= maxInFlight) {
+                        Chunk done = await(pending.removeFirst()); // Back-pressure: write the oldest before reading on
+                        write(out, done.output);
+                        records += done.records;
+                        invalid += done.invalid;
+                    }
+                    pending.addLast(workers.submit(() -> worker.get().score(chunk, chunkLayout)));
+                    start = chunkEnd;
+                }
+                position += end;
+            }
+            while (!pending.isEmpty()) {
+                Chunk done = await(pending.removeFirst());
+                write(out, done.output);
+                records += done.records;
+                invalid += done.invalid;
+            }
+        } finally {
+            pending.forEach(future -> future.cancel(true));
+            workers.shutdownNow();
+        }
+        return new Result(records, invalid, (System.nanoTime() - started) / 1_000_000, warnings);
+    }
+
+    /** Names the rules reading exposure fields the input has no column for: they are scored as if the values were missing. */
+    private List<String> exposureWarnings(RecordLayout layout) {
+        List<String> warnings = new ArrayList<>();
+        for (CompiledRule rule : ruleset.getRules()) {
+            List<String> missing = rule.getFields().stream()
+                    .filter(field -> field.isExposure() && !layout.has(field)).map(RuleField::getKey).sorted().toList();
+            if (!missing.isEmpty()) {
+                warnings.add("Rule '" + rule.getName() + "' reads " + String.join(", ", missing)
+                        + ", which the input has no column for: it only matches records it matches without it.");
+            }
+        }
+        return warnings;
+    }
+
+    private static Chunk await(Future<Chunk> future) throws IOException, InterruptedException {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IOException("Bulk scoring chunk failed", e.getCause());
+        }
+    }
+
+    private static void write(FileChannel out, byte[] bytes) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    /** Offset just past the last newline of the region, or 0 if it has none. */
+    private static int lastLineEnd(ByteBuffer region) {
+        for (int i = region.capacity() - 1; i >= 0; i--) {
+            if (region.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    /** Offset of the first newline at or after {@code from}, or {@code end} if there is none. */
+    private static int lineEnd(ByteBuffer buffer, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (buffer.get(i) == '\n') {
+                return i;
+            }
+        }
+        return end;
+    }
+
+    private static String text(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Chunk(byte[] output, int records, int invalid) {
+    }
+
+    /** Per-thread parsing and scoring state, reused across chunks. */
+    private final class Worker {
+
+        private final Object[] values = new Object[RuleField.values().length];
+        private final ColumnarBatch batch = batchEvaluator.newBatch(BATCH_ROWS);
+        private final int[] scores = new int[BATCH_ROWS];
+        private final String[] ids = new String[BATCH_ROWS];
+        private final char[] scratch = new char[64];
+
+        Chunk score(ByteBuffer chunk, RecordLayout layout) {
+            StringBuilder output = new StringBuilder(chunk.capacity() / 4);
+            int records = 0;
+            int invalid = 0;
+            int limit = chunk.capacity();
+            int start = 0;
+            while (start < limit) {
+                int end = lineEnd(chunk, start, limit);
+                int recordEnd = end > start && chunk.get(end - 1) == '\r' ? end - 1 : end;
+                if (recordEnd > start) {
+                    records++;
+                    try {
+                        ids[batch.size()] = layout.parse(chunk, start, recordEnd, scratch, values);
+                        batch.add(RuleField.customer(values), RuleField.application(values));
+                    } catch (NumberFormatException e) {
+                        invalid++;
+                        flush(output); // Keep the output in input order
+                        output.append(layout.id(chunk, start, recordEnd)).append(",,,").append(INVALID).append('\n');
+                    }
+                    if (batch.size() == BATCH_ROWS) {
+                        flush(output);
+                    }
+                }
+                start = end + 1;
+            }
+            flush(output);
+            return new Chunk(output.toString().getBytes(StandardCharsets.UTF_8), records, invalid);
+        }
+
+        private void flush(StringBuilder output) {
+            int size = batch.size();
+            if (size == 0) {
+                return;
+            }
+            batch.seal();
+            batchEvaluator.evaluate(batch, scores, null);
+            RiskBandTable bands = ruleset.getBands();
+            for (int i = 0; i < size; i++) {
+                RiskBandTable.Band band = bands.band(scores[i]);
+                output.append(ids[i]).append(',').append(scores[i]).append(',')
+                        .append(band.levelLabel()).append(',').append(band.decisionName()).append('\n');
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.loanrisk.batch;
+
+import com.loanrisk.config.BulkScoringProperties;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.service.RuleLoadingService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/**
+ * Runs a {@link BulkScoringJob} over {@code loanrisk.bulk.input} at startup with the live ruleset,
+ * compiled exactly as {@code ScoringServiceImpl} compiles it, then exits unless
+ * {@code loanrisk.bulk.exit-when-done} is false.
+ */
+@Component
+@ConditionalOnProperty(prefix = "loanrisk.bulk", name = "input")
+@Slf4j
+public class BulkScoringRunner implements ApplicationRunner {
+
+    private final RuleLoadingService ruleLoadingService;
+    private final BulkScoringProperties properties;
+    private final ConfigurableApplicationContext context;
+
+    public BulkScoringRunner(RuleLoadingService ruleLoadingService, BulkScoringProperties properties,
+                             ConfigurableApplicationContext context) {
+        this.ruleLoadingService = ruleLoadingService;
+        this.properties = properties;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (properties.getOutput() == null || properties.getOutput().isBlank()) {
+            throw new IllegalStateException("loanrisk.bulk.output must be set when loanrisk.bulk.input is");
+        }
+        CompiledRuleset ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET,
+                ruleLoadingService.getActiveRules(), ruleLoadingService.getRiskBands());
+
+        BulkScoringJob.Result result = new BulkScoringJob(ruleset, properties)
+                .run(Path.of(properties.getInput()), Path.of(properties.getOutput()));
+        result.warnings().forEach(log::warn);
+        log.info("Bulk scored {} records ({} invalid) into {} in {} ms ({} records/s).", result.records(), result.invalid(),
+                properties.getOutput(), result.elapsedMillis(), Math.round(result.recordsPerSecond()));
+
+        if (properties.isExitWhenDone()) {
+            System.exit(SpringApplication.exit(context, () -> result.invalid() > 0 ? 2 : 0));
+        }
+    }
+}
@@ -0,0 +1,241 @@
+package com.loanrisk.batch;
+
+import com.loanrisk.engine.RuleField;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Maps the bytes of one input record onto a customer and loan application.
+ * A record is either delimiter-separated (columns named by a header line) or fixed-width
+ * (columns given as {@code name:width} pairs). Columns other than {@code id} and the stored
+ * rule fields are ignored; empty values are treated as missing.
+ */
+final class RecordLayout {
+
+    static final String ID_COLUMN = "id";
+
+    private static final Set<RuleField> INTEGER_FIELDS = EnumSet.of(RuleField.AGE, RuleField.CREDIT_SCORE, RuleField.REQUESTED_TERM_MONTHS,
+            RuleField.RECENT_APPLICATIONS);
+
+    private final boolean fixedWidth;
+    private final byte delimiter;
+    private final int idColumn;
+    private final RuleField[] fieldsByColumn; // null for ignored columns
+    private final int[] offsets;           // Fixed-width only: start of each column, plus the record width at the end
+
+    private RecordLayout(boolean fixedWidth, byte delimiter, int idColumn, RuleField[] fieldsByColumn, int[] offsets) {
+        this.fixedWidth = fixedWidth;
+        this.delimiter = delimiter;
+        this.idColumn = idColumn;
+        this.fieldsByColumn = fieldsByColumn;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Builds the layout of a delimited file from its header line.
+     *
+     * @throws IllegalArgumentException If the delimiter is not a single-byte character or there is no id column.
+     */
+    static RecordLayout delimited(String headerLine, char delimiter) {
+        if (delimiter > 0x7F) {
+            throw new IllegalArgumentException("Delimiter must be an ASCII character");
+        }
+        String[] names = headerLine.split(Pattern.quote(String.valueOf(delimiter)), -1);
+        RuleField[] fields = new RuleField[names.length];
+        int idColumn = -1;
+        for (int i = 0; i < names.length; i++) {
+            String name = names[i].trim();
+            if (name.equalsIgnoreCase(ID_COLUMN)) {
+                idColumn = i;
+            } else {
+                fields[i] = storedField(name);
+            }
+        }
+        return new RecordLayout(false, (byte) delimiter, requireId(idColumn), fields, null);
+    }
+
+    /**
+     * Builds a fixed-width layout from {@code name:width} pairs.
+     *
+     * @throws IllegalArgumentException If the specification is malformed or has no id column.
+     */
+    static RecordLayout fixedWidth(String columns) {
+        if (columns == null || columns.isBlank()) {
+            throw new IllegalArgumentException("Fixed-width input needs loanrisk.bulk.columns");
+        }
+        String[] specs = columns.split(",");
+        List<RuleField> fields = new ArrayList<>();
+        int[] offsets = new int[specs.length + 1];
+        int idColumn = -1;
+        for (int i = 0; i < specs.length; i++) {
+            String[] parts = specs[i].trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Malformed fixed-width column '" + specs[i] + "', expected name:width");
+            }
+            int width;
+            try {
+                width = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed width in fixed-width column '" + specs[i] + "'");
+            }
+            if (width <= 0) {
+                throw new IllegalArgumentException("Width of fixed-width column '" + specs[i] + "' must be positive");
+            }
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(ID_COLUMN)) {
+                idColumn = i;
+            }
+            fields.add(name.equalsIgnoreCase(ID_COLUMN) ? null : storedField(name));
+            offsets[i + 1] = offsets[i] + width;
+        }
+        return new RecordLayout(true, (byte) 0, requireId(idColumn), fields.toArray(new RuleField[0]), offsets);
+    }
+
+    private static int requireId(int idColumn) {
+        if (idColumn < 0) {
+            throw new IllegalArgumentException("Input has no '" + ID_COLUMN + "' column");
+        }
+        return idColumn;
+    }
+
+    private static RuleField storedField(String name) {
+        RuleField field = RuleField.fromName(name);
+        return field == null || field.isDerived() ? null : field;
+    }
+
+    /** Whether the records have a column for the field. */
+    boolean has(RuleField field) {
+        return Arrays.asList(fieldsByColumn).contains(field);
+    }
+
+    /**
+     * Parses the record in {@code buffer[start, end)} (without its line terminator) into {@code values},
+     * indexed by {@link RuleField#ordinal()}, clearing every field the record does not set.
+     *
+     * @return The record's id.
+     * @throws NumberFormatException If a numeric field is malformed.
+     */
+    String parse(ByteBuffer buffer, int start, int end, char[] scratch, Object[] values) {
+        Arrays.fill(values, null);
+        String id = null;
+        if (fixedWidth) {
+            for (int column = 0; column < fieldsByColumn.length; column++) {
+                int from = Math.min(start + offsets[column], end);
+                int to = Math.min(start + offsets[column + 1], end);
+                id = column(buffer, from, to, column, scratch, values, id);
+            }
+        } else {
+            int column = 0;
+            int from = start;
+            for (int i = start; i <= end && column < fieldsByColumn.length; i++) {
+                if (i == end || buffer.get(i) == delimiter) {
+                    id = column(buffer, from, i, column++, scratch, values, id);
+                    from = i + 1;
+                }
+            }
+        }
+        return id != null ? id : "";
+    }
+
+    /** Reads only the id of the record in {@code buffer[start, end)}, for reporting records that fail to parse. */
+    String id(ByteBuffer buffer, int start, int end) {
+        int from;
+        int to;
+        if (fixedWidth) {
+            from = Math.min(start + offsets[idColumn], end);
+            to = Math.min(start + offsets[idColumn + 1], end);
+        } else {
+            from = start;
+            for (int column = 0; column < idColumn && from <= end; from++) {
+                if (from == end || buffer.get(from) == delimiter) {
+                    column++;
+                }
+            }
+            from = Math.min(from, end);
+            to = from;
+            while (to < end && buffer.get(to) != delimiter) {
+                to++;
+            }
+        }
+        return column(buffer, from, to, idColumn, null, null, null);
+    }
+
+    private String column(ByteBuffer buffer, int from, int to, int column, char[] scratch,
+                          Object[] values, String id) {
+        while (from < to && buffer.get(from) == ' ') {
+            from++;
+        }
+        while (to > from && (buffer.get(to - 1) == ' ' || buffer.get(to - 1) == '\r')) {
+            to--;
+        }
+        if (column == idColumn) {
+            return text(buffer, from, to);
+        }
+        RuleField field = fieldsByColumn[column];
+        if (field == null || from == to) {
+            return id;
+        }
+        Object value;
+        if (INTEGER_FIELDS.contains(field)) {
+            value = parseInt(buffer, from, to);
+        } else if (field.isNumeric()) {
+            int length = to - from;
+            if (length > scratch.length) {
+                scratch = new char[length];
+            }
+            for (int i = 0; i < length; i++) {
+                scratch[i] = (char) (buffer.get(from + i) & 0xFF);
+            }
+            value = new BigDecimal(scratch, 0, length);
+        } else {
+            value = text(buffer, from, to);
+        }
+        values[field.ordinal()] = value;
+        return id;
+    }
+
+    private static Integer parseInt(ByteBuffer buffer, int from, int to) {
+        boolean negative = buffer.get(from) == '-';
+        int i = negative || buffer.get(from) == '+' ? from + 1 : from;
+        if (i == to) {
+            throw new NumberFormatException("Malformed integer");
+        }
+        long value = 0;
+        for (; i < to; i++) {
+            int digit = buffer.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Malformed integer '" + text(buffer, from, to) + "'");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new NumberFormatException("Integer out of range '" + text(buffer, from, to) + "'");
+            }
+        }
+        return Math.toIntExact(negative ? -value : value);
+    }
+
+    private static String text(ByteBuffer buffer, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buffer.get(from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder(fixedWidth ? "fixed-width[" : "delimited[");
+        for (int i = 0; i < fieldsByColumn.length; i++) {
+            description.append(i == 0 ? "" : ", ")
+                    .append(i == idColumn ? ID_COLUMN : fieldsByColumn[i] == null ? "-" : fieldsByColumn[i].getKey().toLowerCase(Locale.ROOT));
+        }
+        return description.append(']').toString();
+    }
+}
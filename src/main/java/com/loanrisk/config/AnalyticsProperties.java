@@ -0,0 +1,24 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the decision analytics aggregates behind {@code GET /analytics/decisions} ({@code loanrisk.analytics.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.analytics")
+public class AnalyticsProperties {
+
+    /** Count every persisted decision and flush the counts to the {@code decision_summary} table. */
+    private boolean enabled = false;
+
+    /** How often the counts gathered since the last flush are added to the summary table. */
+    private long flushIntervalMs = 10000;
+
+    /** Applications fetched per round trip while rebuilding the summary table from {@code loan_application}. */
+    private int rebuildFetchSize = 10000;
+
+    /** When true, the summary table is rebuilt from {@code loan_application} at startup, and the application exits. */
+    private boolean rebuild = false;
+}
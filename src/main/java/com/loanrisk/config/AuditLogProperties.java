@@ -0,0 +1,38 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the append-only decision audit log ({@code loanrisk.audit.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.audit")
+public class AuditLogProperties {
+
+    /** When segments are forced to disk. */
+    public enum FsyncPolicy {
+        /** Left to the operating system; a crash of the host can lose recent records. */
+        NONE,
+        /** Every {@code fsyncIntervalMs} on a background thread. */
+        INTERVAL,
+        /** After every record, on the request thread. */
+        ALWAYS
+    }
+
+    /** Record every decision in the audit log. */
+    private boolean enabled = false;
+
+    /** Directory holding the segment files. */
+    private String directory = "audit";
+
+    /** Size each segment file is mapped with; a new segment is started when a record does not fit. */
+    private int segmentSizeBytes = 64 * 1024 * 1024;
+
+    private FsyncPolicy fsyncPolicy = FsyncPolicy.INTERVAL;
+
+    private long fsyncIntervalMs = 1000;
+
+    /** When set, the log in this directory is replayed and verified at startup, and the application exits. */
+    private String replayDirectory;
+}
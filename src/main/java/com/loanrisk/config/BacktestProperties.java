@@ -0,0 +1,27 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for backtest jobs ({@code loanrisk.backtest.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.backtest")
+public class BacktestProperties {
+
+    /** Rows fetched per keyset chunk. */
+    private int chunkSize = 2000;
+
+    /** Scoring threads per job; 0 means one per available processor. */
+    private int threads = 0;
+
+    /** Chunks fetched ahead of the scoring threads; bounds the memory held by a job. */
+    private int maxChunksInFlight = 8;
+
+    /** Width of the score histogram buckets. */
+    private int scoreBucketWidth = 10;
+
+    /** Finished jobs kept for inspection before the oldest are forgotten. */
+    private int retainedJobs = 20;
+}
@@ -0,0 +1,44 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for offline bulk scoring of files ({@code loanrisk.bulk.*}).
+ * Bulk scoring runs at startup when {@code loanrisk.bulk.input} is set.
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.bulk")
+public class BulkScoringProperties {
+
+    public enum Format { CSV, FIXED_WIDTH }
+
+    /** File of customer and application fields to score. */
+    private String input;
+
+    /** File the results are written to; replaced if it exists. */
+    private String output;
+
+    private Format format = Format.CSV;
+
+    /** CSV field separator. The first line of a CSV file names its columns. */
+    private char delimiter = ',';
+
+    /**
+     * Fixed-width layout as {@code name:width} pairs in record order, e.g. {@code id:10,age:3,creditScore:3}.
+     * Names are {@code id} or rule field names; a column named {@code -} is skipped.
+     */
+    private String columns;
+
+    /** Approximate bytes of input per parallel chunk. */
+    private int chunkSizeBytes = 8 * 1024 * 1024;
+
+    /** Scoring threads; 0 means one per available processor. */
+    private int threads = 0;
+
+    /** Chunks parsed or scored ahead of the writer; bounds the heap used. 0 means twice the threads. */
+    private int maxChunksInFlight = 0;
+
+    /** Whether the application exits once the file is scored. */
+    private boolean exitWhenDone = true;
+}
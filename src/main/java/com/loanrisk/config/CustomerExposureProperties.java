@@ -0,0 +1,25 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-customer exposure fields {@code recentApplications} and {@code outstandingAmount}
+ * ({@code loanrisk.exposure.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.exposure")
+public class CustomerExposureProperties {
+
+    /** Whether applications are tracked; when disabled the exposure fields are missing and rules on them do not match. */
+    private boolean enabled = true;
+
+    /** Length of the sliding window the exposure is counted over. */
+    private int windowDays = 30;
+
+    /** Independently locked partitions of the customers; rounded up to a power of two. */
+    private int stripes = 64;
+
+    /** How often customers whose applications all left the window are dropped. */
+    private long sweepIntervalMs = 60_000;
+}
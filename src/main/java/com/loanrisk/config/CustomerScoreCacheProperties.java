@@ -0,0 +1,18 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the cache of customer-only rule scores ({@code loanrisk.customer-score-cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.customer-score-cache")
+public class CustomerScoreCacheProperties {
+
+    /** Whether repeat applications reuse the customer's cached partial score. */
+    private boolean enabled = true;
+
+    /** Customers whose partial score is kept; the least recently used beyond this are evicted. */
+    private long maxSize = 10_000;
+}
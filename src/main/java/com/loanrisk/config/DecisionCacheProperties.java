@@ -0,0 +1,18 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the cache of live decisions by quantized features ({@code loanrisk.decision-cache.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.decision-cache")
+public class DecisionCacheProperties {
+
+    /** Whether applications that the live rules cannot tell apart reuse one evaluation. */
+    private boolean enabled = false;
+
+    /** Distinct feature combinations kept; beyond this the least valuable are evicted. */
+    private long maxSize = 100_000;
+}
@@ -0,0 +1,38 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the server-sent events stream of live decisions, {@code GET /loan/stream}
+ * ({@code loanrisk.decision-stream.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.decision-stream")
+public class DecisionStreamProperties {
+
+    /** What happens to a decision that does not fit in a subscriber's buffer. */
+    public enum OverflowPolicy {
+        /** The subscriber's oldest buffered decision is dropped to make room; the event ids show the gap. */
+        DROP_OLDEST,
+        /** The subscriber is disconnected and has to reconnect. */
+        DISCONNECT
+    }
+
+    /** Serve {@code GET /loan/stream}. */
+    private boolean enabled = true;
+
+    /** Concurrent subscribers; further subscriptions are refused with 503. */
+    private int maxSubscribers = 32;
+
+    /** Decisions buffered per subscriber while it is being written to. */
+    private int bufferSize = 256;
+
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+    /** How often an idle subscriber is sent a comment, which keeps proxies from closing it and detects dead clients. */
+    private long heartbeatIntervalMs = 15000;
+
+    /** How long a subscription may stay open; 0 for no limit. */
+    private long timeoutMs = 0;
+}
@@ -0,0 +1,33 @@
+package com.loanrisk.config;
+
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.metrics.TimedJacksonHttpMessageConverter;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Swaps the JSON converter for one that records the serialization stage of the apply pipeline.
+ */
+@Configuration
+public class MetricsWebConfig implements WebMvcConfigurer {
+
+    private final ScoringMetrics scoringMetrics;
+
+    public MetricsWebConfig(ScoringMetrics scoringMetrics) {
+        this.scoringMetrics = scoringMetrics;
+    }
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter jackson
+                    && !(jackson instanceof TimedJacksonHttpMessageConverter)) {
+                converters.set(i, new TimedJacksonHttpMessageConverter(jackson.getObjectMapper(), scoringMetrics));
+            }
+        }
+    }
+}
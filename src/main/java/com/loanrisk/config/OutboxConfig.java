@@ -0,0 +1,23 @@
+package com.loanrisk.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.service.DecisionSink;
+import com.loanrisk.service.FileDecisionSink;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Fallback;
+
+import java.nio.file.Path;
+
+/**
+ * The sink of the decision outbox relay, used unless the application declares another {@link DecisionSink}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OutboxConfig {
+
+    @Bean
+    @Fallback // Any other DecisionSink bean is injected instead, wherever it is declared
+    FileDecisionSink fileDecisionSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileDecisionSink(Path.of(properties.getFile()), objectMapper);
+    }
+}
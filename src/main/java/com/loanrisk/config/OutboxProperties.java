@@ -0,0 +1,24 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the transactional outbox of decision events and its relay ({@code loanrisk.outbox.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.outbox")
+public class OutboxProperties {
+
+    /** Write a decision event with every application, and relay the events to the sink. */
+    private boolean enabled = false;
+
+    /** Events claimed, delivered and deleted per relay transaction. */
+    private int batchSize = 500;
+
+    /** How long the relay waits after finding the outbox empty, or failing, before it looks again. */
+    private long pollIntervalMs = 200;
+
+    /** File the default sink appends delivered events to, one JSON object per line. */
+    private String file = "outbox/decisions.jsonl";
+}
@@ -0,0 +1,18 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the local snapshot of the live ruleset ({@code loanrisk.snapshot.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.snapshot")
+public class RulesetSnapshotProperties {
+
+    /** Write each newly compiled live ruleset to the snapshot file and warm-start from it. */
+    private boolean enabled = false;
+
+    /** Snapshot file; replaced atomically on every write. */
+    private String path = "snapshot/live-ruleset.bin";
+}
@@ -0,0 +1,24 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for keeping the cached rulesets of several instances coherent ({@code loanrisk.ruleset-sync.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.ruleset-sync")
+public class RulesetSyncProperties {
+
+    /**
+     * Serve the compiled live ruleset until the {@code ruleset_version} table shows a new version, instead of
+     * loading the rules for every evaluation.
+     */
+    private boolean enabled = false;
+
+    /** How often the version table is polled; with the reload time, bounds how long an instance serves an old ruleset. */
+    private long pollIntervalMs = 1000;
+
+    /** PostgreSQL channel to LISTEN on for an immediate poll when a ruleset changes; blank to rely on polling alone. */
+    private String notifyChannel = "";
+}
@@ -0,0 +1,30 @@
+package com.loanrisk.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for shadow scoring of a candidate ruleset ({@code loanrisk.shadow.*}).
+ */
+@Data
+@ConfigurationProperties(prefix = "loanrisk.shadow")
+public class ShadowScoringProperties {
+
+    /** Mirror live evaluations to the candidate ruleset. */
+    private boolean enabled = false;
+
+    /** Name of the candidate ruleset (value of the {@code ruleset} column on scoring rules). */
+    private String ruleset = "candidate";
+
+    /** Worker threads for shadow evaluations. */
+    private int threads = 1;
+
+    /** Pending shadow evaluations; submissions beyond this are dropped. */
+    private int queueCapacity = 1024;
+
+    /** Number of most recent divergent evaluations kept for inspection. */
+    private int sampleSize = 100;
+
+    /** How often the candidate ruleset is reloaded from the database. */
+    private long refreshIntervalMs = 30000;
+}
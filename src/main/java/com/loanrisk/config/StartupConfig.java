@@ -0,0 +1,42 @@
+package com.loanrisk.config;
+
+import com.loanrisk.audit.AuditLog;
+import com.loanrisk.controller.LoanController;
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.repository.CustomerRepository;
+import com.loanrisk.repository.LoanApplicationRepository;
+import com.loanrisk.service.CustomerExposureTracker;
+import com.loanrisk.service.CustomerScoreCache;
+import com.loanrisk.service.DecisionAnalytics;
+import com.loanrisk.service.DecisionCache;
+import com.loanrisk.service.DecisionStream;
+import com.loanrisk.service.RuleLoadingService;
+import com.loanrisk.service.RulesetChangeListener;
+import com.loanrisk.service.RulesetSnapshotStore;
+import com.loanrisk.service.RulesetVersionPoller;
+import com.loanrisk.service.ScoringService;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup behaviour under {@code spring.main.lazy-initialization=true} (the {@code prod} profile).
+ */
+@Configuration(proxyBeanMethods = false)
+public class StartupConfig {
+
+    /**
+     * Keeps the beans that serve {@code POST /loan/apply} eager, so their cost (including the JPA setup behind
+     * the repositories, loading the ruleset snapshot and rebuilding customer exposure) is paid before the instance reports ready rather than
+     * by its first application; the ruleset version poller and listener keep that path's ruleset current.
+     * Everything else, such as backtests and admin endpoints, is created on first use.
+     */
+    @Bean
+    static LazyInitializationExcludeFilter eagerApplyPath() {
+        return LazyInitializationExcludeFilter.forBeanTypes(LoanController.class, ScoringService.class,
+                RuleLoadingService.class, CustomerScoreCache.class, DecisionCache.class, CustomerExposureTracker.class,
+                DecisionStream.class, DecisionAnalytics.class, RulesetSnapshotStore.class, AuditLog.class,
+                ScoringMetrics.class, CustomerRepository.class, LoanApplicationRepository.class,
+                RulesetVersionPoller.class, RulesetChangeListener.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.loanrisk.controller;
+
+import com.loanrisk.dto.DecisionAnalyticsRow;
+import com.loanrisk.service.DecisionAnalytics;
+import com.loanrisk.service.DecisionAnalytics.Dimension;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/analytics")
+@RequiredArgsConstructor
+public class AnalyticsController {
+
+    private static final int DEFAULT_DAYS = 30;
+
+    private final DecisionAnalytics decisionAnalytics;
+
+    /**
+     * Decision volume, approval rate and average score from the incrementally maintained aggregates.
+     * GET /analytics/decisions?from=2025-10-01&to=2025-10-31&groupBy=day&groupBy=loanPurpose
+     *
+     * @param from    First day included; defaults to 29 days before {@code to}.
+     * @param to      Last day included; defaults to today.
+     * @param groupBy Any of {@code day}, {@code riskLevel} and {@code loanPurpose}; defaults to {@code day}.
+     */
+    @GetMapping("/decisions")
+    public List<DecisionAnalyticsRow> getDecisionAnalytics(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) List<String> groupBy) {
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusDays(DEFAULT_DAYS - 1);
+        if (first.isAfter(last)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        return decisionAnalytics.report(first, last, dimensions(groupBy));
+    }
+
+    // Helper method to map groupBy values such as "loanPurpose" to dimensions
+    private static Set<Dimension> dimensions(List<String> groupBy) {
+        if (groupBy == null || groupBy.isEmpty()) {
+            return EnumSet.of(Dimension.DAY);
+        }
+        Set<Dimension> dimensions = EnumSet.noneOf(Dimension.class);
+        for (String value : groupBy) {
+            String name = value.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+            try {
+                dimensions.add(Dimension.valueOf(name));
+            } catch (IllegalArgumentException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown groupBy " + value
+                        + "; use day, riskLevel or loanPurpose");
+            }
+        }
+        return dimensions;
+    }
+}
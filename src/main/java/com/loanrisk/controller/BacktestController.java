@@ -0,0 +1,59 @@
+package com.loanrisk.controller;
+
+import com.loanrisk.dto.BacktestReport;
+import com.loanrisk.dto.BacktestRequest;
+import com.loanrisk.service.BacktestService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/backtests")
+@RequiredArgsConstructor
+public class BacktestController {
+
+    private final BacktestService backtestService;
+
+    /**
+     * Starts re-scoring stored applications against a proposed ruleset.
+     * POST /backtests
+     *
+     * @return The queued job with HTTP status 202 (Accepted); poll GET /backtests/{id} for progress.
+     */
+    @PostMapping
+    public ResponseEntity<BacktestReport> startBacktest(@Valid @RequestBody BacktestRequest request) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backtestService.startBacktest(request));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @GetMapping
+    public List<BacktestReport> getBacktests() {
+        return backtestService.getBacktests();
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<BacktestReport> getBacktest(@PathVariable long id) {
+        BacktestReport report = backtestService.getBacktest(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Backtest not found with ID: " + id));
+        return ResponseEntity.ok(report);
+    }
+
+    /**
+     * Cancels a running backtest; results gathered so far remain available.
+     * DELETE /backtests/{id}
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<BacktestReport> cancelBacktest(@PathVariable long id) {
+        BacktestReport report = backtestService.cancelBacktest(id)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Backtest not found with ID: " + id));
+        return ResponseEntity.ok(report);
+    }
+}
@@ -1,23 +1,38 @@
 package com.loanrisk.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.dto.CustomerSearchCriteria;
+import com.loanrisk.dto.CustomerSearchCriteria.Sort;
 import com.loanrisk.model.Customer;
 import com.loanrisk.service.CustomerService;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException; // For handling not found
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
 
 @RestController
 @RequestMapping("/customers")
 public class CustomerController {
 
+    private static final int MAX_LIMIT = 1000;
+
     private final CustomerService customerService;
+    private final ObjectMapper objectMapper;
 
     // Constructor injection
-    public CustomerController(CustomerService customerService) {
+    public CustomerController(CustomerService customerService, ObjectMapper objectMapper) {
         this.customerService = customerService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -54,4 +69,102 @@ public class CustomerController {
             // throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found with id: " + id);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Searches customers with range filters, one keyset page at a time. Customers are written to the response as
+     * they are read, followed by {@code next}: pass it as {@code after} with the same filters and sort for the
+     * next page, or null after the last page.
+     * GET /customers?maxCreditScore=599&sort=creditScore&limit=100
+     *
+     * @param employmentStatus Any of these exact values.
+     * @param sort             {@code id} (default), {@code age}, {@code creditScore} or {@code annualIncome}; sorting
+     *                         by a range-filtered column keeps deep pages as fast as the first one.
+     * @param limit            Customers per page, at most 1000.
+     */
+    @GetMapping
+    public void searchCustomers(@RequestParam(required = false) Integer minAge,
+                                @RequestParam(required = false) Integer maxAge,
+                                @RequestParam(required = false) Integer minCreditScore,
+                                @RequestParam(required = false) Integer maxCreditScore,
+                                @RequestParam(required = false) BigDecimal minAnnualIncome,
+                                @RequestParam(required = false) BigDecimal maxAnnualIncome,
+                                @RequestParam(required = false) List<String> employmentStatus,
+                                @RequestParam(defaultValue = "id") String sort,
+                                @RequestParam(required = false) String after,
+                                @RequestParam(defaultValue = "100") int limit,
+                                HttpServletResponse response) throws IOException {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit must be between 1 and " + MAX_LIMIT);
+        }
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria();
+        criteria.setMinAge(minAge);
+        criteria.setMaxAge(maxAge);
+        criteria.setMinCreditScore(minCreditScore);
+        criteria.setMaxCreditScore(maxCreditScore);
+        criteria.setMinAnnualIncome(minAnnualIncome);
+        criteria.setMaxAnnualIncome(maxAnnualIncome);
+        criteria.setEmploymentStatuses(employmentStatus);
+        criteria.setSort(sort(sort));
+        criteria.setLimit(limit);
+        if (after != null) {
+            setAfter(criteria, after);
+        }
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        try (JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("customers");
+            Customer[] last = {null};
+            int count = customerService.searchCustomers(criteria, customer -> {
+                try {
+                    generator.writeObject(customer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                last[0] = customer;
+            });
+            generator.writeEndArray();
+            generator.writeStringField("next", count == limit ? cursor(criteria.getSort(), last[0]) : null);
+            generator.writeEndObject();
+        }
+    }
+
+    // Helper method to map sort values such as "creditScore" to the search order
+    private static Sort sort(String value) {
+        try {
+            return Sort.valueOf(value.trim().replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown sort " + value
+                    + "; use id, age, creditScore or annualIncome");
+        }
+    }
+
+    // The keyset position after a customer: its id, preceded by its sort value unless sorting by id
+    private static String cursor(Sort sort, Customer customer) {
+        return switch (sort) {
+            case ID -> String.valueOf(customer.getId());
+            case AGE -> customer.getAge() + "," + customer.getId();
+            case CREDIT_SCORE -> customer.getCreditScore() + "," + customer.getId();
+            case ANNUAL_INCOME -> customer.getAnnualIncome().toPlainString() + "," + customer.getId();
+        };
+    }
+
+    private static void setAfter(CustomerSearchCriteria criteria, String cursor) {
+        try {
+            if (criteria.getSort() == Sort.ID) {
+                criteria.setAfterId(Long.parseLong(cursor));
+                return;
+            }
+            int comma = cursor.lastIndexOf(',');
+            if (comma < 0) {
+                throw new NumberFormatException();
+            }
+            String value = cursor.substring(0, comma);
+            criteria.setAfterValue(criteria.getSort() == Sort.ANNUAL_INCOME ? new BigDecimal(value) : Integer.valueOf(value));
+            criteria.setAfterId(Long.parseLong(cursor.substring(comma + 1)));
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid after " + cursor
+                    + "; pass the next value of the previous page, with the same sort");
+        }
+    }
+}
@@ -2,22 +2,41 @@ package com.loanrisk.controller;
 
 import com.loanrisk.dto.LoanApplicationRequest;
 import com.loanrisk.dto.LoanApplicationResponse;
+import com.loanrisk.dto.PreCheckRequest;
+import com.loanrisk.dto.PreCheckResponse;
 import com.loanrisk.dto.ScoringResult;
-import com.loanrisk.model.Customer;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.metrics.ScoringMetrics.ApplyStage;
+import com.loanrisk.metrics.TimedJacksonHttpMessageConverter;
+import com.loanrisk.model.Decision;
 import com.loanrisk.model.LoanApplication;
+import com.loanrisk.model.RiskLevel;
 import com.loanrisk.repository.CustomerRepository;
 import com.loanrisk.repository.LoanApplicationRepository;
+import com.loanrisk.service.CustomerExposureTracker;
+import com.loanrisk.service.CustomerExposureTracker.Exposure;
+import com.loanrisk.service.CustomerExposureTracker.Reservation;
+import com.loanrisk.service.DecisionAnalytics;
+import com.loanrisk.service.DecisionStream;
 import com.loanrisk.service.ScoringService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal; // Add import for BigDecimal
 import java.time.LocalDateTime;
 import java.util.List; // Add import for List
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/loan")
@@ -27,40 +46,103 @@ public class LoanController {
     private final ScoringService scoringService;
     private final CustomerRepository customerRepository;
     private final LoanApplicationRepository loanApplicationRepository;
+    private final ScoringMetrics scoringMetrics;
+    private final CustomerExposureTracker exposureTracker;
+    private final DecisionStream decisionStream;
+    private final DecisionAnalytics decisionAnalytics;
 
     @PostMapping("/apply")
     public ResponseEntity<LoanApplicationResponse> applyForLoan(@Valid @RequestBody LoanApplicationRequest request) {
-        // Fetch Customer
-        Customer customer = customerRepository.findById(request.getCustomerId())
+        // Fetch Customer: a read-only projection, nothing is managed or dirty-checked
+        long lookupStart = System.nanoTime();
+        CustomerInput customer = customerRepository.findScoringInputById(request.getCustomerId())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found with ID: " + request.getCustomerId()));
+        scoringMetrics.recordStage(ApplyStage.CUSTOMER_LOOKUP, lookupStart);
 
-        // Create Entity
-        LoanApplication loanApplication = new LoanApplication();
-        loanApplication.setCustomer(customer);
-        // Convert Double to BigDecimal
-        loanApplication.setLoanAmount(BigDecimal.valueOf(request.getLoanAmount()));
-        loanApplication.setLoanPurpose(request.getLoanPurpose());
-        loanApplication.setRequestedTermMonths(request.getRequestedTermMonths());
-        // createdAt is handled by @CreationTimestamp, no need to set applicationDate or initial status
+        // Count the application in the customer's exposure first, so concurrent applications see each other
+        BigDecimal loanAmount = BigDecimal.valueOf(request.getLoanAmount()); // Converted from Double once
+        Reservation reservation = exposureTracker.reserve(customer.id(), loanAmount, System.currentTimeMillis());
+        LoanApplication loanApplication;
+        try {
+            ApplicationInput application = application(loanAmount, request.getLoanPurpose(),
+                    request.getRequestedTermMonths(), reservation.exposure());
+            ScoringResult scoringResult = scoringService.evaluate(application, customer);
 
-        // Evaluate
-        ScoringResult scoringResult = scoringService.evaluate(loanApplication, customer);
+            // Create Entity, detached: it is only written, never managed
+            loanApplication = new LoanApplication();
+            loanApplication.setLoanAmount(application.loanAmount());
+            loanApplication.setLoanPurpose(application.loanPurpose());
+            loanApplication.setRequestedTermMonths(application.requestedTermMonths());
+            loanApplication.setRiskScore(scoringResult.getRiskScore());
+            loanApplication.setRiskLevel(scoringResult.getRiskLevel());
+            loanApplication.setDecision(scoringResult.getDecision());
+            loanApplication.setExplanation(scoringResult.getExplanation()); // Set the List<String> directly
+            // No status field, decision field holds the outcome
 
-        // Update Entity
-        loanApplication.setRiskScore(scoringResult.getRiskScore());
-        loanApplication.setRiskLevel(scoringResult.getRiskLevel());
-        loanApplication.setDecision(scoringResult.getDecision());
-        loanApplication.setExplanation(scoringResult.getExplanation()); // Set the List<String> directly
-        // No status field, decision field holds the outcome
-
-        // Save
-        LoanApplication savedApplication = loanApplicationRepository.save(loanApplication);
+            // Save: the only transaction of the request, one insert and one explanation batch
+            long persistenceStart = System.nanoTime();
+            loanApplicationRepository.insert(loanApplication, customer.id());
+            scoringMetrics.recordStage(ApplyStage.PERSISTENCE, persistenceStart);
+        } catch (RuntimeException e) {
+            exposureTracker.release(reservation); // Not persisted, so not part of the customer's exposure
+            throw e;
+        }
+        exposureTracker.confirm(reservation, loanApplication.getDecision());
+        decisionStream.publish(loanApplication, customer.id()); // Only buffered; subscribers are written to elsewhere
+        decisionAnalytics.record(loanApplication); // In memory; flushed to the summary table periodically
 
         // Return Response
-        LoanApplicationResponse response = mapToResponse(savedApplication);
+        LoanApplicationResponse response = mapToResponse(loanApplication);
+        TimedJacksonHttpMessageConverter.timeApplyResponse(); // Serialized after this returns
         return ResponseEntity.status(HttpStatus.CREATED).body(response); // Use 201 Created for new resource
     }
 
+    /**
+     * Pre-qualifies an applicant without persisting anything.
+     * POST /loan/precheck
+     *
+     * @return Only the risk score, level and decision, with HTTP status 200 (OK).
+     */
+    @PostMapping("/precheck")
+    public PreCheckResponse preCheck(@Valid @RequestBody PreCheckRequest request) {
+        CustomerInput customer;
+        Exposure exposure = null; // Unknown for inline attributes
+        if (request.getCustomerId() != null) {
+            customer = customerRepository.findScoringInputById(request.getCustomerId())
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Customer not found with ID: " + request.getCustomerId()));
+            exposure = exposureTracker.current(customer.id(), System.currentTimeMillis());
+        } else {
+            customer = new CustomerInput(null, null, null, request.getAge(), request.getAnnualIncome(), request.getCreditScore(),
+                                         request.getEmploymentStatus(), request.getExistingDebt());
+        }
+
+        // Nothing is saved, so no entity is created
+        ApplicationInput application = application(BigDecimal.valueOf(request.getLoanAmount()), request.getLoanPurpose(),
+                request.getRequestedTermMonths(), exposure);
+
+        ScoringResult result = scoringService.preCheck(application, customer);
+        return new PreCheckResponse(result.getRiskScore(), result.getRiskLevel(), result.getDecision());
+    }
+
+    /**
+     * Streams every new decision as a server-sent {@code decision} event, optionally only some decisions or risk levels.
+     * GET /loan/stream?decision=DECLINED&riskLevel=High
+     *
+     * @return An open event stream, or HTTP status 503 if the stream is disabled or has its maximum of subscribers.
+     */
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDecisions(@RequestParam(required = false) List<String> decision,
+                                      @RequestParam(required = false) List<String> riskLevel) {
+        DecisionStream.Filter filter = new DecisionStream.Filter(
+                parse(decision, value -> Decision.valueOf(value).name(), "decision"),
+                parse(riskLevel, value -> RiskLevel.valueOf(value).getLabel(), "riskLevel"));
+        try {
+            return decisionStream.subscribe(filter);
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @GetMapping("/{id}")
     public ResponseEntity<LoanApplicationResponse> getLoanApplication(@PathVariable Long id) {
         // Fetch Application
@@ -72,6 +154,28 @@ public class LoanController {
         return ResponseEntity.ok(response);
     }
 
+    // Helper method to turn filter values, in any case, into the names stored on applications
+    private static Set<String> parse(List<String> values, Function<String, String> name, String parameter) {
+        if (values == null) {
+            return Set.of();
+        }
+        try {
+            return values.stream().map(value -> name.apply(value.trim().toUpperCase(Locale.ROOT))).collect(Collectors.toSet());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown " + parameter + " in " + values);
+        }
+    }
+
+    // Helper method to add the customer's exposure, if tracked, to the application's fields
+    private static ApplicationInput application(BigDecimal loanAmount, String loanPurpose, Integer requestedTermMonths,
+                                                Exposure exposure) {
+        if (exposure == null) {
+            return new ApplicationInput(loanAmount, loanPurpose, requestedTermMonths);
+        }
+        return new ApplicationInput(loanAmount, loanPurpose, requestedTermMonths, exposure.recentApplications(),
+                exposure.outstandingAmount());
+    }
+
     // Helper method to map entity to response DTO
     // Helper method to map entity to response DTO
     private LoanApplicationResponse mapToResponse(LoanApplication application) {
@@ -1,11 +1,17 @@
 package com.loanrisk.controller;
 
+import com.loanrisk.dto.RuleStatsReport;
+import com.loanrisk.dto.ServedRuleset;
 import com.loanrisk.model.ScoringRule;
 import com.loanrisk.repository.ScoringRuleRepository;
+import com.loanrisk.service.ScoringService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
 
@@ -14,14 +20,48 @@ import java.util.List;
 public class RuleController {
 
     private final ScoringRuleRepository scoringRuleRepository;
+    private final ScoringService scoringService;
 
     @Autowired
-    public RuleController(ScoringRuleRepository scoringRuleRepository) {
+    public RuleController(ScoringRuleRepository scoringRuleRepository, ScoringService scoringService) {
         this.scoringRuleRepository = scoringRuleRepository;
+        this.scoringService = scoringService;
     }
 
     @GetMapping
     public List<ScoringRule> getActiveRules() {
         return scoringRuleRepository.findByEnabledTrueOrderByPriorityAsc();
     }
-}
\ No newline at end of file
+
+    /**
+     * Reports the live ruleset this instance serves, so instances behind a load balancer can be compared.
+     * GET /rules/version
+     */
+    @GetMapping("/version")
+    public ServedRuleset getServedRuleset() {
+        return scoringService.getServedRuleset();
+    }
+
+    /**
+     * Reports how often each live rule was evaluated and matched, and its sampled cost, tagged with the ruleset
+     * version, so rules that never fire can be pruned and expensive ones reordered.
+     * GET /rules/stats
+     */
+    @GetMapping("/stats")
+    public RuleStatsReport getRuleStats() {
+        return scoringService.getRuleStats()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rule statistics are disabled"));
+    }
+
+    /**
+     * Starts the rule statistics over.
+     * DELETE /rules/stats
+     *
+     * @return The statistics up to the reset.
+     */
+    @DeleteMapping("/stats")
+    public RuleStatsReport resetRuleStats() {
+        return scoringService.resetRuleStats()
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Rule statistics are disabled"));
+    }
+}
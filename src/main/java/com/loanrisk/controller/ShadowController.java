@@ -0,0 +1,28 @@
+package com.loanrisk.controller;
+
+import com.loanrisk.dto.ShadowScoringReport;
+import com.loanrisk.service.ShadowScoringService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/shadow")
+public class ShadowController {
+
+    private final ShadowScoringService shadowScoringService;
+
+    // Constructor injection
+    public ShadowController(ShadowScoringService shadowScoringService) {
+        this.shadowScoringService = shadowScoringService;
+    }
+
+    /**
+     * Reports how the candidate ruleset diverges from the live ruleset on live traffic.
+     * GET /shadow
+     */
+    @GetMapping
+    public ShadowScoringReport getShadowReport() {
+        return shadowScoringService.getReport();
+    }
+}
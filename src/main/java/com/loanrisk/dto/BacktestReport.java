@@ -0,0 +1,43 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Progress and (partial, while running) results of a backtest job.
+ */
+@Data
+public class BacktestReport {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, CANCELLED, FAILED }
+
+    private long id;
+    private String ruleset;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private State state;
+    private String error;
+    private List<String> warnings; // Why results may not reflect how the ruleset would score live, e.g. rules on exposure
+
+    // Progress
+    private long totalRows;
+    private long processedRows;
+    private double progressPercent;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private double rowsPerSecond;
+
+    // Results
+    private long decisionChanges; // Rows whose proposed decision differs from the stored one
+    private Map<String, Long> decisionTransitions; // e.g. "APPROVED->MANUAL_REVIEW"
+    private double meanStoredScore;
+    private double meanProposedScore;
+    private int scoreBucketWidth;
+    private Map<Integer, Long> storedScoreHistogram;   // Bucket lower bound -> rows
+    private Map<Integer, Long> proposedScoreHistogram; // Bucket lower bound -> rows
+    private List<RuleHitRate> ruleHits;
+}
@@ -0,0 +1,16 @@
+package com.loanrisk.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class BacktestRequest {
+
+    @NotBlank(message = "Ruleset cannot be blank")
+    private String ruleset; // Proposed ruleset to re-score with, e.g. "candidate"
+
+    private LocalDateTime from; // Inclusive; defaults to all history
+    private LocalDateTime to;   // Exclusive; defaults to the job start time
+}
@@ -0,0 +1,31 @@
+package com.loanrisk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Flat, read-only projection of a stored loan application and its customer,
+ * as streamed by a backtest. Not a managed entity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BacktestRow {
+
+    private Long applicationId;
+    private Long customerId;
+    private String customerName;
+    private Integer age;
+    private BigDecimal annualIncome;
+    private Integer creditScore;
+    private String employmentStatus;
+    private BigDecimal existingDebt;
+    private BigDecimal loanAmount;
+    private String loanPurpose;
+    private Integer requestedTermMonths;
+    private Integer storedRiskScore;
+    private String storedDecision;
+}
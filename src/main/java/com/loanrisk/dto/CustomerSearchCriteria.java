@@ -0,0 +1,31 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Filters and keyset position of one page of a customer search. Bounds are inclusive; null means unbounded.
+ */
+@Data
+public class CustomerSearchCriteria {
+
+    /** Page order; ties, and the {@code ID} order itself, are broken by customer id. */
+    public enum Sort {
+        ID, AGE, CREDIT_SCORE, ANNUAL_INCOME
+    }
+
+    private Integer minAge;
+    private Integer maxAge;
+    private Integer minCreditScore;
+    private Integer maxCreditScore;
+    private BigDecimal minAnnualIncome;
+    private BigDecimal maxAnnualIncome;
+    private List<String> employmentStatuses; // Any of these exact values; null or empty for any status
+
+    private Sort sort = Sort.ID;
+    private Object afterValue; // Sort value of the last customer of the previous page; unused when sorting by id
+    private Long afterId;      // Id of the last customer of the previous page; null for the first page
+    private int limit = 100;
+}
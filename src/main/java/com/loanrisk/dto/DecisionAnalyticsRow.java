@@ -0,0 +1,22 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * Decision volume and outcomes of one group of applications; dimensions not grouped by are null.
+ */
+@Data
+public class DecisionAnalyticsRow {
+
+    private LocalDate day;
+    private String riskLevel;
+    private String loanPurpose;
+    private long applications;
+    private long approved;
+    private long manualReview;
+    private long declined;
+    private double approvalRate; // approved / applications
+    private Double averageScore; // Null without applications
+}
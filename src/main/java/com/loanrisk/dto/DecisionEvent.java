@@ -0,0 +1,23 @@
+package com.loanrisk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One persisted decision, as pushed to subscribers of {@code GET /loan/stream}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionEvent {
+
+    private Long loanId;
+    private Long customerId;
+    private Integer riskScore;
+    private String riskLevel;
+    private String decision;
+    private LocalDateTime createdAt;
+}
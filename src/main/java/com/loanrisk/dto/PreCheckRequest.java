@@ -0,0 +1,44 @@
+package com.loanrisk.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.math.BigDecimal;
+
+/**
+ * Pre-qualification request: either an existing customer's ID or the customer's attributes inline.
+ */
+@Data
+public class PreCheckRequest {
+
+    private Long customerId; // Takes precedence over the inline attributes
+
+    // Inline customer attributes, used when customerId is not given
+    private Integer age;
+    private BigDecimal annualIncome;
+    private Integer creditScore;
+    private String employmentStatus;
+    private BigDecimal existingDebt;
+
+    @NotNull(message = "Loan amount cannot be null")
+    @Min(value = 1, message = "Loan amount must be positive")
+    private Double loanAmount;
+
+    @NotBlank(message = "Loan purpose cannot be blank")
+    private String loanPurpose;
+
+    @NotNull(message = "Requested term cannot be null")
+    @Min(value = 1, message = "Requested term must be at least 1 month")
+    private Integer requestedTermMonths;
+
+    @JsonIgnore
+    @AssertTrue(message = "Either a customer ID or inline customer attributes must be given")
+    public boolean isCustomerSpecified() {
+        return customerId != null || age != null || annualIncome != null || creditScore != null
+                || employmentStatus != null || existingDebt != null;
+    }
+}
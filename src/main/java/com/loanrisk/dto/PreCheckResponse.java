@@ -0,0 +1,15 @@
+package com.loanrisk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PreCheckResponse {
+
+    private int riskScore;
+    private String riskLevel;
+    private String decision;
+}
@@ -0,0 +1,19 @@
+package com.loanrisk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RuleHitRate {
+
+    private Long ruleId;
+    private String name;
+    private long hits;
+    private double hitRate; // hits / rows scored
+    private List<String> missingFields; // Fields the rule reads that the rows have no values for, e.g. exposure; its hits understate it
+}
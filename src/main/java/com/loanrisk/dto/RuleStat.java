@@ -0,0 +1,20 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+/**
+ * How often one rule of the live ruleset was evaluated and matched, and what it cost.
+ */
+@Data
+public class RuleStat {
+
+    private Long ruleId;
+    private String name;
+    private int riskPoints;
+    private long evaluations;
+    private long matches;
+    private long errors;          // Evaluations that threw; the rule was skipped as not matched
+    private double matchRate;     // matches / evaluations
+    private long samples;         // Timed evaluations
+    private Double averageNanos;  // Per timed evaluation; null until one was timed
+}
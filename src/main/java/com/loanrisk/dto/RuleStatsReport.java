@@ -0,0 +1,22 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Per-rule evaluation statistics of the live ruleset an instance serves.
+ * <p>
+ * Only rules actually run are counted: decision cache hits, customer-only rules served from the customer score
+ * cache, and rules a decision-only evaluation did not need to run are excluded from evaluations and matches.
+ */
+@Data
+public class RuleStatsReport {
+
+    private String ruleset;
+    private Long version;           // Value of the ruleset_version table the rules reflect; null if sync is disabled or not synced yet
+    private LocalDateTime since;    // When collection started: the last reset, or when these rules were compiled
+    private int sampleInterval;     // One evaluation in this many is timed
+    private List<RuleStat> rules;   // In priority order; rules that failed to compile are not evaluated and not listed
+}
@@ -18,5 +18,10 @@ public class ScoringResult {
     private String riskLevel;
     private String decision;
     private List<String> explanation;
+    private boolean partial; // True when evaluation stopped early; score and explanation cover only the rules evaluated
+
+    public ScoringResult(int riskScore, String riskLevel, String decision, List<String> explanation) {
+        this(riskScore, riskLevel, decision, explanation, false);
+    }
 
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+/**
+ * The live ruleset an instance is serving.
+ */
+@Data
+public class ServedRuleset {
+
+    private String ruleset;
+    private boolean syncEnabled;
+    private Long version;        // Value of the ruleset_version table it reflects; null until synced or if sync is disabled
+    private int ruleCount;       // Compiled rules
+    private boolean fallback;    // The database was unreachable at the last load
+}
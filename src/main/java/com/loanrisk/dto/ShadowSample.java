@@ -0,0 +1,27 @@
+package com.loanrisk.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * One live evaluation whose outcome differed under the candidate ruleset.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ShadowSample {
+
+    private Long customerId;
+    private BigDecimal loanAmount;
+    private String loanPurpose;
+    private Integer requestedTermMonths;
+    private int liveScore;
+    private int shadowScore;
+    private String liveDecision;
+    private String shadowDecision;
+    private Instant evaluatedAt;
+}
@@ -0,0 +1,31 @@
+package com.loanrisk.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregated divergence between the live and the candidate ruleset.
+ */
+@Data
+public class ShadowScoringReport {
+
+    private boolean enabled;
+    private String candidateRuleset;
+    private int candidateRuleCount;
+
+    private long submitted;  // Live evaluations handed to the shadow executor
+    private long dropped;    // Shed because the shadow queue was full
+    private long completed;
+    private long failed;
+
+    private long scoreChanges;   // Completed evaluations whose score differed
+    private long decisionFlips;  // Completed evaluations whose decision differed
+    private double meanScoreDelta;    // Mean of (candidate - live)
+    private double meanAbsScoreDelta;
+    private long maxAbsScoreDelta;
+    private Map<String, Long> flipsByTransition; // e.g. "MANUAL_REVIEW->DECLINED"
+
+    private List<ShadowSample> samples; // Most recent divergent evaluations, newest first
+}
@@ -0,0 +1,19 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * The loan application fields a ruleset reads, detached from persistence. Any field may be null,
+ * and a rule reading a missing value does not match.
+ *
+ * @param recentApplications The customer's applications within the exposure window before this one.
+ * @param outstandingAmount  The amount those applications requested, except the declined ones.
+ */
+public record ApplicationInput(BigDecimal loanAmount, String loanPurpose, Integer requestedTermMonths,
+                               Integer recentApplications, BigDecimal outstandingAmount) {
+
+    /** An application without the customer's exposure, e.g. one that is not scored against live traffic. */
+    public ApplicationInput(BigDecimal loanAmount, String loanPurpose, Integer requestedTermMonths) {
+        this(loanAmount, loanPurpose, requestedTermMonths, null, null);
+    }
+}
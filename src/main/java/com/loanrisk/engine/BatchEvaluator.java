@@ -0,0 +1,178 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Scores a {@link ColumnarBatch} against a {@link CompiledRuleset} one rule at a time: each rule runs
+ * over its whole column in a single branch-free loop and adds its points into an {@code int} score array.
+ * Scores and rule hits are identical to {@link CompiledRuleset#evaluate(ApplicationInput, CustomerInput)}; no explanation is built.
+ * <p>
+ * A numeric rule is reduced to a closed range of unscaled longs (or its complement for {@code !=}),
+ * which is exact because every value in the column is an integer at the column's scale.
+ * A string rule is evaluated once per distinct value in the batch. Rules with a compound condition are
+ * tested row by row against the stored fields rebuilt into a customer and an application per row.
+ */
+public final class BatchEvaluator {
+
+    private static final BigInteger MIN = BigInteger.valueOf(Long.MIN_VALUE);
+    private static final BigInteger MAX = BigInteger.valueOf(Long.MAX_VALUE);
+
+    private final CompiledRuleset ruleset;
+    private final Set<RuleField> fields;
+
+    public BatchEvaluator(CompiledRuleset ruleset) {
+        this.ruleset = ruleset;
+        Set<RuleField> referenced = EnumSet.noneOf(RuleField.class);
+        for (CompiledRule rule : ruleset.getRules()) {
+            if (rule.hasCondition()) {
+                for (RuleField field : RuleField.values()) {
+                    if (!field.isDerived()) {
+                        referenced.add(field); // Conditions need every input of the fields they read
+                    }
+                }
+            } else {
+                referenced.add(rule.getField());
+            }
+        }
+        this.fields = referenced;
+    }
+
+    /** Creates an empty batch holding the fields this ruleset reads. */
+    public ColumnarBatch newBatch(int capacity) {
+        return new ColumnarBatch(fields, capacity);
+    }
+
+    /**
+     * Scores every row of the batch.
+     *
+     * @param batch    A sealed batch created by {@link #newBatch(int)}.
+     * @param scores   Receives the risk score of each row; at least {@code batch.size()} long.
+     * @param ruleHits Per-rule match counters indexed like {@link CompiledRuleset#getRules()}, or null.
+     */
+    public void evaluate(ColumnarBatch batch, int[] scores, long[] ruleHits) {
+        if (!batch.isSealed()) {
+            throw new IllegalStateException("Batch must be sealed before evaluation");
+        }
+        int size = batch.size();
+        Arrays.fill(scores, 0, size, CompiledRuleset.BASE_SCORE);
+
+        List<CompiledRule> rules = ruleset.getRules();
+        for (int r = 0; r < rules.size(); r++) {
+            CompiledRule rule = rules.get(r);
+            long hits;
+            if (rule.hasCondition()) {
+                hits = evaluateCondition(rule, batch, size, scores);
+            } else if (rule.getField().isNumeric()) {
+                hits = evaluateNumeric(rule, batch.numeric(rule.getField()), size, scores);
+            } else {
+                hits = evaluateString(rule, batch.strings(rule.getField()), size, scores);
+            }
+            if (ruleHits != null) {
+                ruleHits[r] += hits;
+            }
+        }
+    }
+
+    private static long evaluateCondition(CompiledRule rule, ColumnarBatch batch, int size, int[] scores) {
+        int points = rule.getRiskPoints();
+        long hits = 0;
+        for (int i = 0; i < size; i++) {
+            if (rule.test(batch.customer(i), batch.application(i))) {
+                scores[i] += points;
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    private static long evaluateNumeric(CompiledRule rule, ColumnarBatch.NumericColumn column, int size, int[] scores) {
+        int points = rule.getRiskPoints();
+        boolean[] present = column.present;
+        long hits = 0;
+
+        if (!column.exact) {
+            Object[] raw = column.raw; // Values too large for a long: compare the originals
+            for (int i = 0; i < size; i++) {
+                if (present[i] && rule.matches(raw[i])) {
+                    scores[i] += points;
+                    hits++;
+                }
+            }
+            return hits;
+        }
+
+        long[] range = range(rule.getOperator(), rule.getNumericValue(), column.scale);
+        long lo = range[0];
+        long hi = range[1];
+        boolean negate = range[2] != 0;
+        long[] values = column.values;
+        for (int i = 0; i < size; i++) {
+            long value = values[i];
+            boolean hit = present[i] & ((value >= lo & value <= hi) != negate);
+            scores[i] += hit ? points : 0;
+            hits += hit ? 1 : 0;
+        }
+        return hits;
+    }
+
+    private static long evaluateString(CompiledRule rule, ColumnarBatch.StringColumn column, int size, int[] scores) {
+        int points = rule.getRiskPoints();
+        String[] distinct = column.distinct;
+        boolean[] matchesCode = new boolean[distinct.length];
+        for (int c = 0; c < distinct.length; c++) {
+            matchesCode[c] = rule.matches(distinct[c]);
+        }
+
+        int[] codes = column.codes;
+        long hits = 0;
+        for (int i = 0; i < size; i++) {
+            int code = codes[i];
+            boolean hit = code >= 0 && matchesCode[code];
+            scores[i] += hit ? points : 0;
+            hits += hit ? 1 : 0;
+        }
+        return hits;
+    }
+
+    /**
+     * Translates {@code value <op> threshold} on integers at the given scale into
+     * {@code lo <= value <= hi}, negated if the third element is 1. An empty range has {@code lo > hi}.
+     */
+    static long[] range(RuleOperator operator, BigDecimal threshold, int scale) {
+        BigDecimal scaled = threshold.movePointRight(scale);
+        BigInteger floor = scaled.setScale(0, RoundingMode.FLOOR).toBigIntegerExact();
+        boolean exact = scaled.compareTo(new BigDecimal(floor)) == 0;
+        BigInteger aboveFloor = floor.add(BigInteger.ONE);
+
+        switch (operator) {
+            case LT: return upTo(exact ? floor.subtract(BigInteger.ONE) : floor);
+            case LE: return upTo(floor);
+            case GT: return from(aboveFloor);
+            case GE: return from(exact ? floor : aboveFloor);
+            case EQ: return exact ? between(floor, floor, false) : new long[] {1, 0, 0};
+            case NE: return exact ? between(floor, floor, true) : new long[] {Long.MIN_VALUE, Long.MAX_VALUE, 0};
+            default: throw new IllegalArgumentException("Unsupported operator " + operator);
+        }
+    }
+
+    private static long[] upTo(BigInteger hi) {
+        return between(MIN, hi, false);
+    }
+
+    private static long[] from(BigInteger lo) {
+        return between(lo, MAX, false);
+    }
+
+    private static long[] between(BigInteger lo, BigInteger hi, boolean negate) {
+        if (lo.compareTo(MAX) > 0 || hi.compareTo(MIN) < 0) {
+            return new long[] {1, 0, negate ? 1 : 0}; // No long lies in the range
+        }
+        return new long[] {lo.max(MIN).longValueExact(), hi.min(MAX).longValueExact(), negate ? 1 : 0};
+    }
+}
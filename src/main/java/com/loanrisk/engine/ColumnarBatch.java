@@ -0,0 +1,206 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A block of applications laid out as one primitive column per rule field, for {@link BatchEvaluator}.
+ * <p>
+ * Numeric fields are stored as {@code long} unscaled values at a common scale per column (e.g. cents
+ * for amounts with two decimals), so comparing a column against a rule threshold is a pair of long
+ * comparisons. String fields are dictionary-encoded. Only the fields the ruleset reads are loaded.
+ * Rows are added with {@link #add(CustomerInput, ApplicationInput)} and the batch is {@link #seal() sealed}
+ * before evaluation; it can then be {@link #clear() cleared} and refilled.
+ */
+public final class ColumnarBatch {
+
+    private final int capacity;
+    private final RuleField[] fields;
+    private final Object[][] staged; // Raw values per field, indexed like fields; kept for condition rules
+    private final NumericColumn[] numericColumns = new NumericColumn[RuleField.values().length];
+    private final StringColumn[] stringColumns = new StringColumn[RuleField.values().length];
+    private final CustomerInput[] customers; // Rebuilt from the staged values on first use, for condition rules
+    private final ApplicationInput[] applications;
+    private int size;
+    private boolean sealed;
+
+    ColumnarBatch(Set<RuleField> fields, int capacity) {
+        this.capacity = capacity;
+        this.fields = fields.toArray(new RuleField[0]);
+        this.staged = new Object[this.fields.length][capacity];
+        this.customers = new CustomerInput[capacity];
+        this.applications = new ApplicationInput[capacity];
+        for (RuleField field : this.fields) {
+            if (field.isNumeric()) {
+                numericColumns[field.ordinal()] = new NumericColumn(capacity);
+            } else {
+                stringColumns[field.ordinal()] = new StringColumn(capacity);
+            }
+        }
+    }
+
+    /**
+     * Appends one application. Values are extracted exactly as the row-by-row path extracts them,
+     * so derived fields such as ratios are identical.
+     *
+     * @throws IllegalStateException If the batch is full or already sealed.
+     */
+    public void add(CustomerInput customer, ApplicationInput application) {
+        if (sealed || size == capacity) {
+            throw new IllegalStateException("Batch is " + (sealed ? "sealed" : "full (" + capacity + " rows)"));
+        }
+        for (int f = 0; f < fields.length; f++) {
+            staged[f][size] = fields[f].extract(customer, application);
+        }
+        size++;
+    }
+
+    /** Converts the added rows into columns. */
+    public void seal() {
+        for (int f = 0; f < fields.length; f++) {
+            RuleField field = fields[f];
+            if (field.isNumeric()) {
+                numericColumns[field.ordinal()].load(staged[f], size);
+            } else {
+                stringColumns[field.ordinal()].load(staged[f], size);
+            }
+        }
+        sealed = true;
+    }
+
+    /** Empties the batch so it can be refilled; the column arrays are reused. */
+    public void clear() {
+        for (Object[] values : staged) {
+            Arrays.fill(values, 0, size, null);
+        }
+        Arrays.fill(customers, 0, size, null);
+        Arrays.fill(applications, 0, size, null);
+        size = 0;
+        sealed = false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    /**
+     * The stored (non-derived) fields of one row as a customer, for rules that can only be evaluated
+     * against a customer and an application. Built once per row and shared by every such rule.
+     */
+    CustomerInput customer(int row) {
+        if (customers[row] == null) {
+            materialize(row);
+        }
+        return customers[row];
+    }
+
+    /** The stored fields of one row as an application; see {@link #customer(int)}. */
+    ApplicationInput application(int row) {
+        if (applications[row] == null) {
+            materialize(row);
+        }
+        return applications[row];
+    }
+
+    private void materialize(int row) {
+        Object[] values = new Object[RuleField.values().length];
+        for (int f = 0; f < fields.length; f++) {
+            if (!fields[f].isDerived()) {
+                values[fields[f].ordinal()] = staged[f][row];
+            }
+        }
+        customers[row] = RuleField.customer(values);
+        applications[row] = RuleField.application(values);
+    }
+
+    NumericColumn numeric(RuleField field) {
+        return numericColumns[field.ordinal()];
+    }
+
+    StringColumn strings(RuleField field) {
+        return stringColumns[field.ordinal()];
+    }
+
+    /**
+     * Integer and BigDecimal values as unscaled longs at the largest scale in the column.
+     * If a value does not fit a long at that scale the column is not {@link #exact}, and
+     * the evaluator compares the original values instead.
+     */
+    static final class NumericColumn {
+        final long[] values;
+        final boolean[] present;
+        Object[] raw; // The original values, for the inexact fallback
+        int scale;
+        boolean exact;
+
+        NumericColumn(int capacity) {
+            this.values = new long[capacity];
+            this.present = new boolean[capacity];
+        }
+
+        void load(Object[] source, int size) {
+            raw = source;
+            scale = 0;
+            for (int i = 0; i < size; i++) {
+                if (source[i] instanceof BigDecimal decimal) {
+                    scale = Math.max(scale, decimal.scale());
+                }
+            }
+            exact = true;
+            try {
+                for (int i = 0; i < size; i++) {
+                    Object value = source[i];
+                    present[i] = value != null;
+                    if (value == null) {
+                        values[i] = 0;
+                    } else if (value instanceof BigDecimal decimal) {
+                        values[i] = decimal.movePointRight(scale).longValueExact(); // scale >= decimal.scale(): never rounds
+                    } else if (scale == 0) {
+                        values[i] = ((Number) value).longValue();
+                    } else {
+                        values[i] = BigDecimal.valueOf(((Number) value).longValue()).movePointRight(scale).longValueExact();
+                    }
+                }
+            } catch (ArithmeticException e) {
+                exact = false;
+                for (int i = 0; i < size; i++) {
+                    present[i] = source[i] != null;
+                }
+            }
+        }
+    }
+
+    /**
+     * String values as codes into a per-batch dictionary of distinct values; -1 for null.
+     */
+    static final class StringColumn {
+        final int[] codes;
+        final Map<String, Integer> dictionary = new HashMap<>();
+        String[] distinct = new String[0];
+
+        StringColumn(int capacity) {
+            this.codes = new int[capacity];
+        }
+
+        void load(Object[] source, int size) {
+            dictionary.clear();
+            for (int i = 0; i < size; i++) {
+                String value = (String) source[i];
+                codes[i] = value == null ? -1 : dictionary.computeIfAbsent(value, v -> dictionary.size());
+            }
+            distinct = new String[dictionary.size()];
+            dictionary.forEach((value, code) -> distinct[code] = value);
+        }
+    }
+}
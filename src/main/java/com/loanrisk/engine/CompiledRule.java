@@ -0,0 +1,205 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.model.ScoringRule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * A single {@link ScoringRule} with its field, operator and value resolved and parsed up front,
+ * or with its compound condition compiled. Instances are immutable and safe to share between threads.
+ */
+@Slf4j
+public final class CompiledRule {
+
+    private final Long id;
+    private final String name;
+    private final RuleField field;
+    private final RuleOperator operator;
+    private final BigDecimal numericValue; // Set for numeric fields
+    private final String stringValue;      // Set for string fields (trimmed)
+    private final int riskPoints;
+    private final ConditionPredicate condition; // Set for rules with a compound condition, instead of field/operator/value
+    private final Set<RuleField> conditionFields;
+
+    // Integer thresholds compared against Integer fields without allocating a BigDecimal
+    private final boolean integralValue;
+    private final long longValue;
+
+    private CompiledRule(Long id, String name, RuleField field, RuleOperator operator,
+                         BigDecimal numericValue, String stringValue, int riskPoints) {
+        this.id = id;
+        this.name = name;
+        this.field = field;
+        this.operator = operator;
+        this.numericValue = numericValue;
+        this.stringValue = stringValue;
+        this.riskPoints = riskPoints;
+        this.condition = null;
+        this.conditionFields = null;
+
+        boolean integral = false;
+        long asLong = 0;
+        if (numericValue != null && numericValue.stripTrailingZeros().scale() <= 0) {
+            try {
+                asLong = numericValue.longValueExact();
+                integral = true;
+            } catch (ArithmeticException e) {
+                // Out of long range; compare as BigDecimal
+            }
+        }
+        this.integralValue = integral;
+        this.longValue = asLong;
+    }
+
+    private CompiledRule(Long id, String name, ConditionCompiler.CompiledCondition condition, int riskPoints) {
+        this.id = id;
+        this.name = name;
+        this.field = null;
+        this.operator = null;
+        this.numericValue = null;
+        this.stringValue = null;
+        this.riskPoints = riskPoints;
+        this.condition = condition.predicate();
+        this.conditionFields = condition.fields();
+        this.integralValue = false;
+        this.longValue = 0;
+    }
+
+    /**
+     * Compiles a rule, validating its field, operator and value, or its condition if it has one.
+     *
+     * @param rule The rule as stored in the database.
+     * @return The compiled rule, or null if the rule can never match and should be skipped.
+     */
+    public static CompiledRule compile(ScoringRule rule) {
+        if (rule.getCondition() != null && !rule.getCondition().isBlank()) {
+            return compileCondition(rule);
+        }
+        RuleField field = RuleField.fromName(rule.getField());
+        if (field == null) {
+            log.warn("Field '{}' not found in Customer or LoanApplication or derived fields. Skipping rule '{}'.", rule.getField(), rule.getName());
+            return null;
+        }
+        RuleOperator operator = RuleOperator.fromSymbol(rule.getOperator());
+        if (operator == null || rule.getValue() == null) {
+            log.warn("Cannot compile rule '{}': unsupported operator or missing value (operator={}, value={}).", rule.getName(), rule.getOperator(), rule.getValue());
+            return null;
+        }
+        if (rule.getRiskPoints() == null) {
+            log.warn("Cannot compile rule '{}': risk points are not set.", rule.getName());
+            return null;
+        }
+
+        if (!field.isNumeric()) {
+            if (!operator.supportsStrings()) {
+                log.warn("Unsupported operator '{}' for String comparison. Skipping rule '{}'.", rule.getOperator(), rule.getName());
+                return null;
+            }
+            return new CompiledRule(rule.getId(), rule.getName(), field, operator, null, rule.getValue().trim(), rule.getRiskPoints());
+        }
+
+        try {
+            BigDecimal numericValue = new BigDecimal(rule.getValue().trim());
+            return new CompiledRule(rule.getId(), rule.getName(), field, operator, numericValue, null, rule.getRiskPoints());
+        } catch (NumberFormatException e) {
+            log.error("Error parsing rule value '{}' as a number for field '{}'. Skipping rule '{}' (ID: {}).",
+                      rule.getValue(), rule.getField(), rule.getName(), rule.getId());
+            return null;
+        }
+    }
+
+    private static CompiledRule compileCondition(ScoringRule rule) {
+        if (rule.getRiskPoints() == null) {
+            log.warn("Cannot compile rule '{}': risk points are not set.", rule.getName());
+            return null;
+        }
+        try {
+            return new CompiledRule(rule.getId(), rule.getName(), ConditionCompiler.compile(rule.getCondition()), rule.getRiskPoints());
+        } catch (IllegalArgumentException e) {
+            log.warn("Cannot compile condition of rule '{}' (ID: {}): {}. Skipping rule.", rule.getName(), rule.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Tests the rule against the customer and application. A rule whose field has no value does not match.
+     */
+    public boolean test(CustomerInput customer, ApplicationInput application) {
+        if (condition != null) {
+            return condition.test(customer, application);
+        }
+        Object actualValue = field.extract(customer, application);
+        return actualValue != null && matches(actualValue);
+    }
+
+    /**
+     * Tests a single-field rule against an already extracted, non-null field value.
+     */
+    public boolean matches(Object actualValue) {
+        if (stringValue != null) {
+            boolean equal = ((String) actualValue).equalsIgnoreCase(stringValue); // Case-insensitive comparison for strings
+            return operator == RuleOperator.EQ ? equal : !equal;
+        }
+        if (integralValue && actualValue instanceof Integer) {
+            return operator.test(Long.compare((Integer) actualValue, longValue));
+        }
+        BigDecimal actualNum = actualValue instanceof BigDecimal
+                ? (BigDecimal) actualValue
+                : BigDecimal.valueOf(((Number) actualValue).longValue());
+        return operator.test(actualNum.compareTo(numericValue));
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /** The field a single-field rule reads; null for rules with a condition. */
+    public RuleField getField() {
+        return field;
+    }
+
+    /** The operator of a single-field rule; null for rules with a condition. */
+    public RuleOperator getOperator() {
+        return operator;
+    }
+
+    public boolean hasCondition() {
+        return condition != null;
+    }
+
+    /** The fields a rule with a condition reads; null for single-field rules. */
+    Set<RuleField> getConditionFields() {
+        return conditionFields;
+    }
+
+    /** The fields the rule reads. */
+    public Set<RuleField> getFields() {
+        return condition != null ? conditionFields : Set.of(field);
+    }
+
+    /** Whether the rule reads only customer fields, so its outcome is the same for every application of a customer. */
+    public boolean isCustomerOnly() {
+        if (condition != null) {
+            return conditionFields.stream().allMatch(RuleField::isCustomerOnly);
+        }
+        return field.isCustomerOnly();
+    }
+
+    public int getRiskPoints() {
+        return riskPoints;
+    }
+
+    BigDecimal getNumericValue() {
+        return numericValue;
+    }
+
+    String getStringValue() {
+        return stringValue;
+    }
+}
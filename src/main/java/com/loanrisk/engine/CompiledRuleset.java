@@ -0,0 +1,451 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.ScoringRule;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+/**
+ * An immutable, pre-validated set of scoring rules in priority order.
+ * Compiling once lets the same ruleset be evaluated many times (and from several threads)
+ * without re-parsing rule values or re-resolving field names. The only mutable state is the
+ * optional {@link RuleStats} of its evaluations.
+ */
+@Slf4j
+public final class CompiledRuleset {
+
+    public static final int BASE_SCORE = 500; // Define a base score
+
+    private static final AtomicLong VERSIONS = new AtomicLong();
+
+    private final long version = VERSIONS.incrementAndGet(); // Unique per compilation
+    private final String name;
+    private final List<CompiledRule> rules;
+    private final List<ScoringRule> source; // Detached copies of the rules this set was compiled from
+    private final RiskBandTable bands;
+    private final List<RiskBand> bandSource; // Detached copies of the band rows, empty for the default bands
+
+    // Decision-only evaluation: rules by descending |riskPoints|, with the least and the most the
+    // rules from position i onwards can still add to the score (suffixMin[n] = suffixMax[n] = 0)
+    private final CompiledRule[] decisionOrder;
+    private final int[] decisionRules; // Index into rules of each rule in decisionOrder
+    private final int[] suffixMin;
+    private final int[] suffixMax;
+
+    // Indexes into rules of the rules that read only customer fields, and of the remaining ones
+    private final int[] customerRules;
+    private final int[] applicationRules;
+
+    private volatile RuleStats stats; // Null unless collecting
+
+    private CompiledRuleset(String name, List<CompiledRule> rules, List<ScoringRule> source,
+                            RiskBandTable bands, List<RiskBand> bandSource) {
+        this.name = name;
+        this.rules = rules;
+        this.source = source;
+        this.bands = bands;
+        this.bandSource = bandSource;
+
+        this.customerRules = indexesWhere(rules, true);
+        this.applicationRules = indexesWhere(rules, false);
+
+        this.decisionRules = IntStream.range(0, rules.size()).boxed()
+                .sorted(Comparator.comparingInt((Integer i) -> Math.abs(rules.get(i).getRiskPoints())).reversed())
+                .mapToInt(Integer::intValue).toArray();
+        this.decisionOrder = new CompiledRule[decisionRules.length];
+        for (int i = 0; i < decisionRules.length; i++) {
+            decisionOrder[i] = rules.get(decisionRules[i]);
+        }
+        this.suffixMin = new int[decisionOrder.length + 1];
+        this.suffixMax = new int[decisionOrder.length + 1];
+        for (int i = decisionOrder.length - 1; i >= 0; i--) {
+            int points = decisionOrder[i].getRiskPoints();
+            suffixMin[i] = suffixMin[i + 1] + Math.min(0, points);
+            suffixMax[i] = suffixMax[i + 1] + Math.max(0, points);
+        }
+    }
+
+    /**
+     * Compiles the given rules with the {@link RiskBandTable#DEFAULT default risk bands}.
+     *
+     * @param name  The ruleset the rules belong to.
+     * @param rules The enabled rules, already ordered by priority.
+     */
+    public static CompiledRuleset compile(String name, List<ScoringRule> rules) {
+        return compile(name, rules, List.of());
+    }
+
+    /**
+     * Compiles the given rules and risk bands. Rules that can never match (unknown field, unsupported
+     * operator, unparseable value) are logged and left out. Invalid bands are logged and replaced
+     * by the default bands.
+     *
+     * @param name  The ruleset the rules belong to.
+     * @param rules The enabled rules, already ordered by priority.
+     * @param bands The ruleset's risk band rows; empty for the default bands.
+     */
+    public static CompiledRuleset compile(String name, List<ScoringRule> rules, List<RiskBand> bands) {
+        List<CompiledRule> compiled = new ArrayList<>(rules.size());
+        List<ScoringRule> source = new ArrayList<>(rules.size());
+        for (ScoringRule rule : rules) {
+            CompiledRule compiledRule = CompiledRule.compile(rule);
+            if (compiledRule != null) {
+                compiled.add(compiledRule);
+            }
+            source.add(new ScoringRule(rule.getId(), rule.getName(), rule.getField(), rule.getOperator(), rule.getValue(),
+                    rule.getRiskPoints(), rule.getPriority(), rule.getEnabled(), rule.getRuleset(), rule.getCondition()));
+        }
+
+        RiskBandTable bandTable;
+        try {
+            bandTable = RiskBandTable.compile(bands);
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid risk bands for ruleset '{}': {}. Using the default bands.", name, e.getMessage());
+            bandTable = RiskBandTable.DEFAULT;
+        }
+        List<RiskBand> bandSource = new ArrayList<>(bands.size());
+        for (RiskBand band : bands) {
+            bandSource.add(new RiskBand(band.getId(), band.getRuleset(), band.getMinScore(), band.getRiskLevel(), band.getDecision()));
+        }
+        return new CompiledRuleset(name, List.copyOf(compiled), List.copyOf(source), bandTable, List.copyOf(bandSource));
+    }
+
+    private static int[] indexesWhere(List<CompiledRule> rules, boolean customerOnly) {
+        int[] indexes = new int[rules.size()];
+        int count = 0;
+        for (int i = 0; i < rules.size(); i++) {
+            if (rules.get(i).isCustomerOnly() == customerOnly) {
+                indexes[count++] = i;
+            }
+        }
+        return Arrays.copyOf(indexes, count);
+    }
+
+    /**
+     * Whether this set was compiled from rules equal to the given ones, in which case it can be
+     * reused instead of compiling them again.
+     */
+    public boolean isCompiledFrom(List<ScoringRule> rules) {
+        return isCompiledFrom(rules, List.of());
+    }
+
+    /**
+     * Whether this set was compiled from rules and risk bands equal to the given ones.
+     */
+    public boolean isCompiledFrom(List<ScoringRule> rules, List<RiskBand> bands) {
+        return source.equals(rules) && bandSource.equals(bands);
+    }
+
+    /**
+     * Evaluates the application against every rule in the set.
+     *
+     * @return A ScoringResult containing the risk score, level, decision, and explanation.
+     */
+    public ScoringResult evaluate(ApplicationInput application, CustomerInput customer) {
+        return evaluate(application, customer, (long[]) null);
+    }
+
+    /**
+     * Evaluates the application and counts which rules matched.
+     *
+     * @param ruleHits Per-rule match counters indexed like {@link #getRules()}, or null.
+     */
+    public ScoringResult evaluate(ApplicationInput application, CustomerInput customer, long[] ruleHits) {
+        int riskScore = BASE_SCORE; // Initialize with base score
+        List<String> explanation = new ArrayList<>();
+        RuleStats stats = this.stats;
+        boolean sampled = stats != null && stats.sample();
+        if (stats != null) {
+            stats.recordFullPass();
+        }
+
+        for (int i = 0; i < rules.size(); i++) {
+            CompiledRule rule = rules.get(i);
+            if (stats == null ? matches(rule, customer, application) : matches(stats, sampled, i, true, customer, application)) {
+                riskScore += rule.getRiskPoints();
+                explanation.add(rule.getName());
+                if (ruleHits != null) {
+                    ruleHits[i]++;
+                }
+                log.debug("Rule '{}' matched. Added {} points. Current score: {}", rule.getName(), rule.getRiskPoints(), riskScore);
+            }
+        }
+
+        return result(riskScore, explanation);
+    }
+
+    /**
+     * Evaluates only the rules that depend on nothing but the customer. The result can be reused for
+     * every application from the same customer, as long as neither the customer nor this ruleset changes.
+     */
+    public CustomerPartialScore evaluateCustomer(CustomerInput customer) {
+        int riskPoints = 0;
+        int[] matched = new int[customerRules.length];
+        int count = 0;
+        RuleStats stats = this.stats;
+        boolean sampled = stats != null && stats.sample();
+        if (stats != null) {
+            stats.recordCustomerPass();
+        }
+
+        for (int i : customerRules) {
+            CompiledRule rule = rules.get(i);
+            if (stats == null ? matches(rule, customer, null) : matches(stats, sampled, i, true, customer, null)) {
+                riskPoints += rule.getRiskPoints();
+                matched[count++] = i;
+            }
+        }
+        return new CustomerPartialScore(version, riskPoints, Arrays.copyOf(matched, count));
+    }
+
+    /**
+     * Evaluates the application against the application-dependent rules only, taking the outcome of
+     * the customer-only rules from {@code customerScore}. The result is identical to
+     * {@link #evaluate(ApplicationInput, CustomerInput)}, explanation order included.
+     *
+     * @param customerScore The customer's partial score, computed by this ruleset.
+     * @throws IllegalArgumentException If the partial score was computed by a different ruleset.
+     */
+    public ScoringResult evaluate(ApplicationInput application, CustomerInput customer, CustomerPartialScore customerScore) {
+        if (customerScore.getRulesetVersion() != version) {
+            throw new IllegalArgumentException("Partial score of ruleset version " + customerScore.getRulesetVersion()
+                    + " cannot be combined with version " + version);
+        }
+        int riskScore = BASE_SCORE + customerScore.getRiskPoints();
+        int[] customerMatches = customerScore.matchedRules();
+        List<String> explanation = new ArrayList<>();
+        int next = 0; // Next customer match to merge into the explanation, keeping priority order
+        RuleStats stats = this.stats;
+        boolean sampled = stats != null && stats.sample();
+        if (stats != null) {
+            stats.recordApplicationPass();
+        }
+
+        for (int i : applicationRules) {
+            while (next < customerMatches.length && customerMatches[next] < i) {
+                explanation.add(rules.get(customerMatches[next++]).getName());
+            }
+            CompiledRule rule = rules.get(i);
+            if (stats == null ? matches(rule, customer, application) : matches(stats, sampled, i, true, customer, application)) {
+                riskScore += rule.getRiskPoints();
+                explanation.add(rule.getName());
+                log.debug("Rule '{}' matched. Added {} points. Current score: {}", rule.getName(), rule.getRiskPoints(), riskScore);
+            }
+        }
+        while (next < customerMatches.length) {
+            explanation.add(rules.get(customerMatches[next++]).getName());
+        }
+
+        return result(riskScore, explanation);
+    }
+
+    private ScoringResult result(int riskScore, List<String> explanation) {
+        RiskBandTable.Band band = bands.band(riskScore);
+        return new ScoringResult(riskScore, band.levelLabel(), band.decisionName(), explanation);
+    }
+
+    /**
+     * Tests a rule, logging single-field rules that are skipped because their field has no value. A rule whose
+     * test throws is logged and skipped, so one faulty rule cannot fail the evaluation.
+     */
+    private static boolean matches(CompiledRule rule, CustomerInput customer, ApplicationInput application) {
+        try {
+            return matchesOrThrow(rule, customer, application);
+        } catch (RuntimeException e) {
+            logFailure(rule, e);
+            return false;
+        }
+    }
+
+    /** Tests a rule like {@link CompiledRule#test}, skipping it if its test throws. */
+    private static boolean test(CompiledRule rule, CustomerInput customer, ApplicationInput application) {
+        try {
+            return rule.test(customer, application);
+        } catch (RuntimeException e) {
+            logFailure(rule, e);
+            return false;
+        }
+    }
+
+    private static void logFailure(CompiledRule rule, RuntimeException e) {
+        log.error("Error evaluating rule '{}' (ID: {}): {}. Skipping rule.", rule.getName(), rule.getId(), e.getMessage(), e);
+    }
+
+    private static boolean matchesOrThrow(CompiledRule rule, CustomerInput customer, ApplicationInput application) {
+        if (rule.hasCondition()) {
+            return rule.test(customer, application);
+        }
+        Object actualValue = rule.getField().extract(customer, application);
+        if (actualValue == null) {
+            log.warn("Actual value for field '{}' is null for rule '{}'. Skipping comparison.", rule.getField().getKey(), rule.getName());
+            return false; // Skip rule if field value is null
+        }
+        return rule.matches(actualValue);
+    }
+
+    /**
+     * Tests the rule at the given index, counting the match or error, and timing the test if the evaluation is sampled.
+     * Like the other tests, a rule whose test throws is counted as an error, logged and skipped.
+     *
+     * @param logSkipped Test like {@link #matches(CompiledRule, CustomerInput, ApplicationInput)} rather than
+     *                   {@link CompiledRule#test}.
+     */
+    private boolean matches(RuleStats stats, boolean sampled, int index, boolean logSkipped,
+                            CustomerInput customer, ApplicationInput application) {
+        long start = sampled ? System.nanoTime() : 0;
+        boolean matched;
+        CompiledRule rule = rules.get(index);
+        try {
+            matched = logSkipped ? matchesOrThrow(rule, customer, application) : rule.test(customer, application);
+        } catch (RuntimeException e) {
+            stats.recordError(index);
+            logFailure(rule, e);
+            matched = false;
+        }
+        if (sampled) {
+            stats.recordSample(index, System.nanoTime() - start);
+        }
+        if (matched) {
+            stats.recordMatch(index);
+        }
+        return matched;
+    }
+
+    /**
+     * Computes only the risk score: no explanation is built and nothing is logged per rule,
+     * so evaluation allocates nothing beyond what the field extraction itself needs.
+     */
+    public int score(ApplicationInput application, CustomerInput customer) {
+        RuleStats stats = this.stats;
+        if (stats != null) {
+            return score(stats, application, customer);
+        }
+        int riskScore = BASE_SCORE;
+        for (CompiledRule rule : decisionOrder) {
+            if (test(rule, customer, application)) {
+                riskScore += rule.getRiskPoints();
+            }
+        }
+        return riskScore;
+    }
+
+    private int score(RuleStats stats, ApplicationInput application, CustomerInput customer) {
+        int riskScore = BASE_SCORE;
+        boolean sampled = stats.sample();
+        stats.recordFullPass();
+        for (int i : decisionRules) {
+            if (matches(stats, sampled, i, false, customer, application)) {
+                riskScore += rules.get(i).getRiskPoints();
+            }
+        }
+        return riskScore;
+    }
+
+    /**
+     * Evaluates only as many rules as needed to settle the decision. Rules are tried in order of
+     * descending |riskPoints|; as soon as the lowest and highest score still reachable fall into the
+     * same risk band, the remaining rules cannot change the outcome and are skipped.
+     *
+     * @return A ScoringResult with the final risk level and decision. If rules were skipped it is
+     *         marked partial: the score and explanation then only cover the rules that were evaluated.
+     */
+    public ScoringResult evaluateDecision(ApplicationInput application, CustomerInput customer) {
+        int riskScore = BASE_SCORE;
+        List<String> explanation = new ArrayList<>();
+        RuleStats stats = this.stats;
+        boolean sampled = stats != null && stats.sample();
+
+        for (int i = 0; i < decisionOrder.length; i++) {
+            // Compared by position: every reachable score lies between the bounds, so both must be in the same band,
+            // not merely in bands with the same outcome (a band in between may decide otherwise)
+            int lowestIndex = bands.indexOf(riskScore + suffixMin[i]);
+            if (lowestIndex == bands.indexOf(riskScore + suffixMax[i])) {
+                RiskBandTable.Band lowest = bands.bandAt(lowestIndex);
+                log.debug("Decision settled after {} of {} rules in ruleset '{}'.", i, decisionOrder.length, name);
+                if (stats != null) {
+                    stats.recordDecisionPass(i);
+                }
+                return new ScoringResult(riskScore, lowest.levelLabel(), lowest.decisionName(), explanation, true);
+            }
+
+            CompiledRule rule = decisionOrder[i];
+            if (stats == null ? test(rule, customer, application) : matches(stats, sampled, decisionRules[i], false, customer, application)) {
+                riskScore += rule.getRiskPoints();
+                explanation.add(rule.getName());
+            }
+        }
+
+        if (stats != null) {
+            stats.recordDecisionPass(decisionOrder.length);
+        }
+        return result(riskScore, explanation);
+    }
+
+    /**
+     * Starts collecting {@link RuleStats} of the evaluations of this ruleset, or starts over if already collecting.
+     *
+     * @return The statistics collected until now, or null if none were.
+     */
+    public RuleStats collectStats() {
+        boolean[] customerOnly = new boolean[rules.size()];
+        for (int i : customerRules) {
+            customerOnly[i] = true;
+        }
+        int[] decisionPosition = new int[rules.size()];
+        for (int position = 0; position < decisionRules.length; position++) {
+            decisionPosition[decisionRules[position]] = position;
+        }
+        RuleStats previous = stats;
+        stats = new RuleStats(customerOnly, decisionPosition);
+        return previous;
+    }
+
+    /** Statistics of the evaluations since collection started; null if not collecting. */
+    public RuleStats getStats() {
+        return stats;
+    }
+
+    /** Identifies this compilation; a ruleset compiled again, even from the same rules, gets a new version. */
+    public long getVersion() {
+        return version;
+    }
+
+    /** The risk bands scores of this ruleset are mapped with. */
+    public RiskBandTable getBands() {
+        return bands;
+    }
+
+    /** Detached copies of the rules this set was compiled from, including any that were left out as invalid. */
+    public List<ScoringRule> getSourceRules() {
+        return source;
+    }
+
+    /** Detached copies of the band rows this set was compiled from; empty for the default bands. */
+    public List<RiskBand> getSourceBands() {
+        return bandSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public List<CompiledRule> getRules() {
+        return rules;
+    }
+
+    public int size() {
+        return rules.size();
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledRuleset{name='" + name + "', version=" + version + ", rules=" + rules.size() + "}";
+    }
+}
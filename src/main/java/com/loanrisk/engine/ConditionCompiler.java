@@ -0,0 +1,321 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.engine.ConditionNode.And;
+import com.loanrisk.engine.ConditionNode.Arithmetic;
+import com.loanrisk.engine.ConditionNode.Between;
+import com.loanrisk.engine.ConditionNode.Comparison;
+import com.loanrisk.engine.ConditionNode.Field;
+import com.loanrisk.engine.ConditionNode.In;
+import com.loanrisk.engine.ConditionNode.Negate;
+import com.loanrisk.engine.ConditionNode.Not;
+import com.loanrisk.engine.ConditionNode.NumberLiteral;
+import com.loanrisk.engine.ConditionNode.Or;
+import com.loanrisk.engine.ConditionNode.StringLiteral;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.asm.ClassWriter;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.Opcodes;
+import org.springframework.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+import static java.lang.invoke.MethodType.methodType;
+
+/**
+ * Compiles rule conditions into {@link ConditionPredicate}s.
+ * <p>
+ * The syntax tree is type-checked and assembled into a single {@link MethodHandle} of type
+ * {@code (CustomerInput, ApplicationInput) -> boolean}, with AND/OR short-circuiting through
+ * {@link MethodHandles#guardWithTest}. The handle is then bound as a constant into a generated hidden
+ * class implementing {@link ConditionPredicate}, so the JIT can inline the whole tree into
+ * {@code test} instead of walking it on every evaluation.
+ * <p>
+ * {@code NOT} is pushed down to the tests it applies to ({@code NOT a < b} becomes {@code a >= b}, {@code NOT (x AND y)}
+ * becomes {@code NOT x OR NOT y}), so a test on a missing value stays false under it, as in three-valued logic where
+ * an unknown result does not match: {@code NOT creditScore BETWEEN 600 AND 700} agrees with
+ * {@code creditScore NOT BETWEEN 600 AND 700}.
+ */
+@Slf4j
+final class ConditionCompiler {
+
+    /** A compiled condition and the fields it reads. */
+    record CompiledCondition(ConditionPredicate predicate, Set<RuleField> fields) {
+    }
+
+    private enum ValueType { NUMBER, STRING, BOOLEAN }
+
+    private record Typed(MethodHandle handle, ValueType type) {
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Class<?>[] INPUTS = {CustomerInput.class, ApplicationInput.class};
+    private static final MethodType PREDICATE_TYPE = methodType(boolean.class, INPUTS);
+    private static final String GENERATED_NAME = "com/loanrisk/engine/GeneratedCondition";
+
+    private static final MethodHandle EXTRACT = virtual(RuleField.class, "extract", methodType(Object.class, INPUTS));
+    private static final MethodHandle TO_NUMBER = runtime("number", BigDecimal.class, Object.class);
+    private static final MethodHandle TO_STRING = runtime("string", String.class, Object.class);
+    private static final MethodHandle NEGATE = runtime("negate", BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle ADD = runtime("add", BigDecimal.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle SUBTRACT = runtime("subtract", BigDecimal.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle MULTIPLY = runtime("multiply", BigDecimal.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle DIVIDE = runtime("divide", BigDecimal.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle COMPARE_NUMBERS = runtime("compareNumbers", boolean.class, RuleOperator.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle COMPARE_STRINGS = runtime("compareStrings", boolean.class, RuleOperator.class, String.class, String.class);
+    private static final MethodHandle IN_NUMBERS = runtime("inNumbers", boolean.class, BigDecimal[].class, boolean.class, BigDecimal.class);
+    private static final MethodHandle IN_STRINGS = runtime("inStrings", boolean.class, String[].class, boolean.class, String.class);
+    private static final MethodHandle BETWEEN = runtime("between", boolean.class, boolean.class, BigDecimal.class, BigDecimal.class, BigDecimal.class);
+    private static final MethodHandle TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, INPUTS);
+    private static final MethodHandle FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, INPUTS);
+
+    private final Set<RuleField> fields = EnumSet.noneOf(RuleField.class);
+
+    private ConditionCompiler() {
+    }
+
+    /**
+     * Parses, type-checks and compiles a condition.
+     *
+     * @throws IllegalArgumentException If the condition is malformed or mixes incompatible types.
+     */
+    static CompiledCondition compile(String condition) {
+        ConditionCompiler compiler = new ConditionCompiler();
+        Typed root = compiler.compile(ConditionParser.parse(condition));
+        if (root.type() != ValueType.BOOLEAN) {
+            throw new IllegalArgumentException("Condition '" + condition + "' is not a true/false test");
+        }
+        return new CompiledCondition(spin(root.handle()), Collections.unmodifiableSet(compiler.fields));
+    }
+
+    private Typed compile(ConditionNode node) {
+        return switch (node) {
+            case NumberLiteral literal -> constant(BigDecimal.class, literal.value(), ValueType.NUMBER);
+            case StringLiteral literal -> constant(String.class, literal.value(), ValueType.STRING);
+            case Field field -> {
+                fields.add(field.field());
+                MethodHandle extract = EXTRACT.bindTo(field.field());
+                yield field.field().isNumeric()
+                        ? new Typed(MethodHandles.filterReturnValue(extract, TO_NUMBER), ValueType.NUMBER)
+                        : new Typed(MethodHandles.filterReturnValue(extract, TO_STRING), ValueType.STRING);
+            }
+            case Negate negate -> new Typed(MethodHandles.filterReturnValue(number(negate.operand(), "-"), NEGATE), ValueType.NUMBER);
+            case Arithmetic arithmetic -> {
+                MethodHandle operation = switch (arithmetic.operator()) {
+                    case '+' -> ADD;
+                    case '-' -> SUBTRACT;
+                    case '*' -> MULTIPLY;
+                    default -> DIVIDE;
+                };
+                String symbol = String.valueOf(arithmetic.operator());
+                yield new Typed(combine(operation, number(arithmetic.left(), symbol), number(arithmetic.right(), symbol)), ValueType.NUMBER);
+            }
+            case Comparison comparison -> compileComparison(comparison);
+            case In in -> compileIn(in);
+            case Between between -> {
+                MethodHandle test = MethodHandles.insertArguments(BETWEEN, 0, between.negated());
+                yield new Typed(combine(test, number(between.value(), "BETWEEN"), number(between.low(), "BETWEEN"),
+                        number(between.high(), "BETWEEN")), ValueType.BOOLEAN);
+            }
+            case And and -> new Typed(MethodHandles.guardWithTest(test(and.left(), "AND"), test(and.right(), "AND"), FALSE), ValueType.BOOLEAN);
+            case Or or -> new Typed(MethodHandles.guardWithTest(test(or.left(), "OR"), TRUE, test(or.right(), "OR")), ValueType.BOOLEAN);
+            case Not not -> {
+                ConditionNode negated = negation(not.operand());
+                yield negated != null ? compile(negated) : new Typed(test(not.operand(), "NOT"), ValueType.BOOLEAN); // test() rejects it
+            }
+        };
+    }
+
+    /** The test that holds where the given one is false, not where it is unknown; null if the node is not a test. */
+    private static ConditionNode negation(ConditionNode node) {
+        return switch (node) {
+            case Comparison comparison -> new Comparison(comparison.operator().negate(), comparison.left(), comparison.right());
+            case In in -> new In(in.value(), in.items(), !in.negated());
+            case Between between -> new Between(between.value(), between.low(), between.high(), !between.negated());
+            case And and -> {
+                ConditionNode left = negation(and.left());
+                ConditionNode right = negation(and.right());
+                yield left == null || right == null ? null : new Or(left, right);
+            }
+            case Or or -> {
+                ConditionNode left = negation(or.left());
+                ConditionNode right = negation(or.right());
+                yield left == null || right == null ? null : new And(left, right);
+            }
+            case Not not -> not.operand();
+            default -> null;
+        };
+    }
+
+    private Typed compileComparison(Comparison comparison) {
+        Typed left = compile(comparison.left());
+        Typed right = compile(comparison.right());
+        if (left.type() == ValueType.NUMBER && right.type() == ValueType.NUMBER) {
+            MethodHandle test = MethodHandles.insertArguments(COMPARE_NUMBERS, 0, comparison.operator());
+            return new Typed(combine(test, left.handle(), right.handle()), ValueType.BOOLEAN);
+        }
+        if (left.type() == ValueType.STRING && right.type() == ValueType.STRING) {
+            if (!comparison.operator().supportsStrings()) {
+                throw new IllegalArgumentException("Operator '" + comparison.operator().getSymbol() + "' cannot compare strings");
+            }
+            MethodHandle test = MethodHandles.insertArguments(COMPARE_STRINGS, 0, comparison.operator());
+            return new Typed(combine(test, left.handle(), right.handle()), ValueType.BOOLEAN);
+        }
+        throw new IllegalArgumentException("Operator '" + comparison.operator().getSymbol() + "' needs two numbers or two strings");
+    }
+
+    private Typed compileIn(In in) {
+        Typed value = compile(in.value());
+        int count = in.items().size();
+        if (value.type() == ValueType.NUMBER) {
+            BigDecimal[] items = new BigDecimal[count];
+            for (int i = 0; i < count; i++) {
+                if (!(in.items().get(i) instanceof NumberLiteral literal)) {
+                    throw new IllegalArgumentException("IN list of a number must only contain numbers");
+                }
+                items[i] = literal.value();
+            }
+            MethodHandle test = MethodHandles.insertArguments(IN_NUMBERS, 0, items, in.negated());
+            return new Typed(MethodHandles.filterReturnValue(value.handle(), test), ValueType.BOOLEAN);
+        }
+        if (value.type() == ValueType.STRING) {
+            String[] items = new String[count];
+            for (int i = 0; i < count; i++) {
+                if (!(in.items().get(i) instanceof StringLiteral literal)) {
+                    throw new IllegalArgumentException("IN list of a string must only contain strings");
+                }
+                items[i] = literal.value();
+            }
+            MethodHandle test = MethodHandles.insertArguments(IN_STRINGS, 0, items, in.negated());
+            return new Typed(MethodHandles.filterReturnValue(value.handle(), test), ValueType.BOOLEAN);
+        }
+        throw new IllegalArgumentException("IN needs a number or a string");
+    }
+
+    private MethodHandle number(ConditionNode node, String operator) {
+        return typed(node, ValueType.NUMBER, operator);
+    }
+
+    private MethodHandle test(ConditionNode node, String operator) {
+        return typed(node, ValueType.BOOLEAN, operator);
+    }
+
+    private MethodHandle typed(ConditionNode node, ValueType expected, String operator) {
+        Typed typed = compile(node);
+        if (typed.type() != expected) {
+            throw new IllegalArgumentException("Operand of '" + operator + "' must be a "
+                    + (expected == ValueType.BOOLEAN ? "true/false test" : "number") + ", not a " + typed.type().name().toLowerCase());
+        }
+        return typed.handle();
+    }
+
+    private static Typed constant(Class<?> type, Object value, ValueType valueType) {
+        return new Typed(MethodHandles.dropArguments(MethodHandles.constant(type, value), 0, INPUTS), valueType);
+    }
+
+    /**
+     * Feeds each (CustomerInput, ApplicationInput) -> X handle into the matching parameter of the operation,
+     * giving a handle of type (CustomerInput, ApplicationInput) -> R.
+     */
+    private static MethodHandle combine(MethodHandle operation, MethodHandle... operands) {
+        MethodHandle spread = operation;
+        for (int i = 0; i < operands.length; i++) {
+            spread = MethodHandles.collectArguments(spread, i * INPUTS.length, operands[i]); // (C, A, C, A, ...) -> R
+        }
+        int[] reorder = new int[operands.length * INPUTS.length];
+        for (int i = 0; i < reorder.length; i++) {
+            reorder[i] = i % INPUTS.length;
+        }
+        return MethodHandles.permuteArguments(spread, methodType(operation.type().returnType(), INPUTS), reorder);
+    }
+
+    /**
+     * Defines a hidden class whose {@code test} method invokes the handle held in a static final field,
+     * which the JIT treats as a constant.
+     */
+    private static ConditionPredicate spin(MethodHandle handle) {
+        MethodHandle predicate = handle.asType(PREDICATE_TYPE);
+        try {
+            MethodHandles.Lookup hidden = LOOKUP.defineHiddenClassWithClassData(generatePredicateClass(), predicate, true);
+            return (ConditionPredicate) hidden.findConstructor(hidden.lookupClass(), methodType(void.class)).invoke();
+        } catch (Throwable e) {
+            log.warn("Could not generate a class for a rule condition, invoking its method handle directly: {}", e.toString());
+            return (customer, application) -> {
+                try {
+                    return (boolean) predicate.invokeExact(customer, application);
+                } catch (RuntimeException | Error rethrown) {
+                    throw rethrown;
+                } catch (Throwable unexpected) {
+                    throw new IllegalStateException(unexpected);
+                }
+            };
+        }
+    }
+
+    private static byte[] generatePredicateClass() {
+        String handleDescriptor = Type.getDescriptor(MethodHandle.class);
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
+        writer.visit(Opcodes.V17, Opcodes.ACC_FINAL | Opcodes.ACC_SUPER, GENERATED_NAME, null, "java/lang/Object",
+                new String[] {Type.getInternalName(ConditionPredicate.class)});
+        writer.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "HANDLE", handleDescriptor, null, null).visitEnd();
+
+        // static { HANDLE = MethodHandles.classData(MethodHandles.lookup(), "_", MethodHandle.class); }
+        MethodVisitor init = writer.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+        init.visitCode();
+        init.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "lookup",
+                "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+        init.visitLdcInsn("_");
+        init.visitLdcInsn(Type.getType(MethodHandle.class));
+        init.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/invoke/MethodHandles", "classData",
+                "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)Ljava/lang/Object;", false);
+        init.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(MethodHandle.class));
+        init.visitFieldInsn(Opcodes.PUTSTATIC, GENERATED_NAME, "HANDLE", handleDescriptor);
+        init.visitInsn(Opcodes.RETURN);
+        init.visitMaxs(0, 0);
+        init.visitEnd();
+
+        MethodVisitor constructor = writer.visitMethod(0, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        // public boolean test(CustomerInput customer, ApplicationInput application) { return HANDLE.invokeExact(customer, application); }
+        String testDescriptor = PREDICATE_TYPE.toMethodDescriptorString();
+        MethodVisitor test = writer.visitMethod(Opcodes.ACC_PUBLIC, "test", testDescriptor, null, null);
+        test.visitCode();
+        test.visitFieldInsn(Opcodes.GETSTATIC, GENERATED_NAME, "HANDLE", handleDescriptor);
+        test.visitVarInsn(Opcodes.ALOAD, 1);
+        test.visitVarInsn(Opcodes.ALOAD, 2);
+        test.visitMethodInsn(Opcodes.INVOKEVIRTUAL, Type.getInternalName(MethodHandle.class), "invokeExact", testDescriptor, false);
+        test.visitInsn(Opcodes.IRETURN);
+        test.visitMaxs(0, 0);
+        test.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    private static MethodHandle runtime(String name, Class<?> returnType, Class<?>... parameterTypes) {
+        try {
+            return LOOKUP.findStatic(ConditionRuntime.class, name, methodType(returnType, parameterTypes));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing condition operation " + name, e);
+        }
+    }
+
+    private static MethodHandle virtual(Class<?> owner, String name, MethodType type) {
+        try {
+            return LOOKUP.findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Missing method " + name, e);
+        }
+    }
+}
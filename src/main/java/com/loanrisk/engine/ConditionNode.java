@@ -0,0 +1,46 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Syntax tree of a rule condition, as produced by {@link ConditionParser}.
+ */
+sealed interface ConditionNode {
+
+    record NumberLiteral(BigDecimal value) implements ConditionNode {
+    }
+
+    record StringLiteral(String value) implements ConditionNode {
+    }
+
+    record Field(RuleField field) implements ConditionNode {
+    }
+
+    record Negate(ConditionNode operand) implements ConditionNode {
+    }
+
+    /** {@code left op right} with op one of + - * /. */
+    record Arithmetic(char operator, ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    record Comparison(RuleOperator operator, ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    /** {@code value [NOT] IN (item, ...)}; items are literals. */
+    record In(ConditionNode value, List<ConditionNode> items, boolean negated) implements ConditionNode {
+    }
+
+    /** {@code value [NOT] BETWEEN low AND high}, bounds inclusive. */
+    record Between(ConditionNode value, ConditionNode low, ConditionNode high, boolean negated) implements ConditionNode {
+    }
+
+    record And(ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    record Or(ConditionNode left, ConditionNode right) implements ConditionNode {
+    }
+
+    record Not(ConditionNode operand) implements ConditionNode {
+    }
+}
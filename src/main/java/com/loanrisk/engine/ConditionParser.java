@@ -0,0 +1,242 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.engine.ConditionNode.And;
+import com.loanrisk.engine.ConditionNode.Arithmetic;
+import com.loanrisk.engine.ConditionNode.Between;
+import com.loanrisk.engine.ConditionNode.Comparison;
+import com.loanrisk.engine.ConditionNode.Field;
+import com.loanrisk.engine.ConditionNode.In;
+import com.loanrisk.engine.ConditionNode.Negate;
+import com.loanrisk.engine.ConditionNode.Not;
+import com.loanrisk.engine.ConditionNode.NumberLiteral;
+import com.loanrisk.engine.ConditionNode.Or;
+import com.loanrisk.engine.ConditionNode.StringLiteral;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recursive-descent parser for rule conditions. Grammar, loosest binding first:
+ * <pre>
+ * condition  := and ( OR and )*
+ * and        := not ( AND not )*
+ * not        := NOT not | comparison
+ * comparison := sum [ ( &lt; | &lt;= | &gt; | &gt;= | == | != ) sum
+ *                   | [NOT] IN ( literal, ... )
+ *                   | [NOT] BETWEEN sum AND sum ]
+ * sum        := product ( ( + | - ) product )*
+ * product    := unary ( ( * | / ) unary )*
+ * unary      := - unary | number | 'string' | field | ( condition )
+ * </pre>
+ * Keywords are case-insensitive; fields are the names accepted by {@link RuleField#fromName(String)}.
+ * Whether operands have the right types is checked by {@link ConditionCompiler}.
+ */
+final class ConditionParser {
+
+    private final String text;
+    private int pos;
+
+    private ConditionParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @throws IllegalArgumentException If the text is not a well-formed condition.
+     */
+    static ConditionNode parse(String text) {
+        ConditionParser parser = new ConditionParser(text);
+        ConditionNode node = parser.or();
+        parser.skipWhitespace();
+        if (parser.pos < text.length()) {
+            throw parser.error("Unexpected '" + text.substring(parser.pos) + "'");
+        }
+        return node;
+    }
+
+    private ConditionNode or() {
+        ConditionNode node = and();
+        while (keyword("OR")) {
+            node = new Or(node, and());
+        }
+        return node;
+    }
+
+    private ConditionNode and() {
+        ConditionNode node = not();
+        while (keyword("AND")) {
+            node = new And(node, not());
+        }
+        return node;
+    }
+
+    private ConditionNode not() {
+        if (keyword("NOT")) {
+            return new Not(not());
+        }
+        return comparison();
+    }
+
+    private ConditionNode comparison() {
+        ConditionNode left = sum();
+        for (String symbol : new String[] {"<=", ">=", "==", "!=", "<", ">"}) { // Two-character symbols first
+            if (symbol(symbol)) {
+                return new Comparison(RuleOperator.fromSymbol(symbol), left, sum());
+            }
+        }
+        int mark = pos;
+        boolean negated = keyword("NOT");
+        if (keyword("IN")) {
+            expect("(");
+            List<ConditionNode> items = new ArrayList<>();
+            do {
+                items.add(literal());
+            } while (symbol(","));
+            expect(")");
+            return new In(left, List.copyOf(items), negated);
+        }
+        if (keyword("BETWEEN")) {
+            ConditionNode low = sum();
+            if (!keyword("AND")) {
+                throw error("Expected AND in BETWEEN");
+            }
+            return new Between(left, low, sum(), negated);
+        }
+        pos = mark; // A plain NOT belongs to the caller
+        return left;
+    }
+
+    private ConditionNode sum() {
+        ConditionNode node = product();
+        while (true) {
+            if (symbol("+")) {
+                node = new Arithmetic('+', node, product());
+            } else if (symbol("-")) {
+                node = new Arithmetic('-', node, product());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ConditionNode product() {
+        ConditionNode node = unary();
+        while (true) {
+            if (symbol("*")) {
+                node = new Arithmetic('*', node, unary());
+            } else if (symbol("/")) {
+                node = new Arithmetic('/', node, unary());
+            } else {
+                return node;
+            }
+        }
+    }
+
+    private ConditionNode unary() {
+        if (symbol("-")) {
+            return new Negate(unary());
+        }
+        if (symbol("(")) {
+            ConditionNode node = or();
+            expect(")");
+            return node;
+        }
+        skipWhitespace();
+        if (pos < text.length() && Character.isLetter(text.charAt(pos))) {
+            int start = pos;
+            String name = identifier();
+            RuleField field = RuleField.fromName(name);
+            if (field == null) {
+                pos = start;
+                throw error("Unknown field '" + name + "'");
+            }
+            return new Field(field);
+        }
+        return literal();
+    }
+
+    private ConditionNode literal() {
+        skipWhitespace();
+        if (pos < text.length() && text.charAt(pos) == '\'') {
+            return new StringLiteral(string());
+        }
+        boolean negative = symbol("-");
+        skipWhitespace();
+        int start = pos;
+        while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+            pos++;
+        }
+        if (start == pos) {
+            throw error("Expected a number, a string or a field");
+        }
+        try {
+            BigDecimal value = new BigDecimal(text.substring(start, pos));
+            return new NumberLiteral(negative ? value.negate() : value);
+        } catch (NumberFormatException e) {
+            pos = start;
+            throw error("Malformed number");
+        }
+    }
+
+    private String string() {
+        StringBuilder value = new StringBuilder();
+        pos++; // Opening quote
+        while (pos < text.length()) {
+            char c = text.charAt(pos++);
+            if (c != '\'') {
+                value.append(c);
+            } else if (pos < text.length() && text.charAt(pos) == '\'') {
+                value.append('\''); // '' escapes a quote
+                pos++;
+            } else {
+                return value.toString();
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private String identifier() {
+        int start = pos;
+        while (pos < text.length() && (Character.isLetterOrDigit(text.charAt(pos)) || text.charAt(pos) == '_')) {
+            pos++;
+        }
+        return text.substring(start, pos);
+    }
+
+    private boolean keyword(String keyword) {
+        skipWhitespace();
+        int end = pos + keyword.length();
+        if (end <= text.length() && text.substring(pos, end).toUpperCase(Locale.ROOT).equals(keyword)
+                && (end == text.length() || !Character.isLetterOrDigit(text.charAt(end)))) {
+            pos = end;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean symbol(String symbol) {
+        skipWhitespace();
+        if (text.startsWith(symbol, pos)) {
+            pos += symbol.length();
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String symbol) {
+        if (!symbol(symbol)) {
+            throw error("Expected '" + symbol + "'");
+        }
+    }
+
+    private void skipWhitespace() {
+        while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+            pos++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at position " + pos + " in condition '" + text + "'");
+    }
+}
@@ -0,0 +1,12 @@
+package com.loanrisk.engine;
+
+/**
+ * A compiled rule condition. Implementations are generated by {@link ConditionCompiler}.
+ */
+public interface ConditionPredicate {
+
+    /**
+     * @return Whether the condition holds. A comparison involving a missing value never holds.
+     */
+    boolean test(CustomerInput customer, ApplicationInput application);
+}
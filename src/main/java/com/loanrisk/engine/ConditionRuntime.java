@@ -0,0 +1,90 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+/**
+ * Operations that compiled conditions are assembled from. Every operation is null-safe:
+ * arithmetic on a missing value yields a missing value, and a test on a missing value is false.
+ * There is no {@code not}: the compiler negates the tests themselves, which stay false on a missing value.
+ */
+final class ConditionRuntime {
+
+    private ConditionRuntime() {
+    }
+
+    static BigDecimal number(Object value) {
+        if (value == null || value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return BigDecimal.valueOf(((Number) value).longValue());
+    }
+
+    static String string(Object value) {
+        return (String) value;
+    }
+
+    static BigDecimal negate(BigDecimal value) {
+        return value == null ? null : value.negate();
+    }
+
+    static BigDecimal add(BigDecimal left, BigDecimal right) {
+        return left == null || right == null ? null : left.add(right);
+    }
+
+    static BigDecimal subtract(BigDecimal left, BigDecimal right) {
+        return left == null || right == null ? null : left.subtract(right);
+    }
+
+    static BigDecimal multiply(BigDecimal left, BigDecimal right) {
+        return left == null || right == null ? null : left.multiply(right);
+    }
+
+    /** Divides to 16 significant digits; division by zero yields a missing value. */
+    static BigDecimal divide(BigDecimal left, BigDecimal right) {
+        if (left == null || right == null || right.signum() == 0) {
+            return null;
+        }
+        return left.divide(right, MathContext.DECIMAL64);
+    }
+
+    static boolean compareNumbers(RuleOperator operator, BigDecimal left, BigDecimal right) {
+        return left != null && right != null && operator.test(left.compareTo(right));
+    }
+
+    /** Strings only support == and != and compare ignoring case, like single-field rules. */
+    static boolean compareStrings(RuleOperator operator, String left, String right) {
+        return left != null && right != null && left.equalsIgnoreCase(right) == (operator == RuleOperator.EQ);
+    }
+
+    static boolean inNumbers(BigDecimal[] items, boolean negated, BigDecimal value) {
+        if (value == null) {
+            return false;
+        }
+        for (BigDecimal item : items) {
+            if (item.compareTo(value) == 0) {
+                return !negated;
+            }
+        }
+        return negated;
+    }
+
+    static boolean inStrings(String[] items, boolean negated, String value) {
+        if (value == null) {
+            return false;
+        }
+        for (String item : items) {
+            if (item.equalsIgnoreCase(value)) {
+                return !negated;
+            }
+        }
+        return negated;
+    }
+
+    static boolean between(boolean negated, BigDecimal value, BigDecimal low, BigDecimal high) {
+        if (value == null || low == null || high == null) {
+            return false;
+        }
+        return (value.compareTo(low) >= 0 && value.compareTo(high) <= 0) != negated;
+    }
+}
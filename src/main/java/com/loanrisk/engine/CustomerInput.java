@@ -0,0 +1,16 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+
+/**
+ * The customer fields a ruleset reads, detached from persistence. Built once per request and shared
+ * between threads (audit, shadow scoring) as is; any field may be null, and a rule reading a missing
+ * value does not match.
+ *
+ * @param id      The customer's id, or null for a transient customer (pre-check, bulk scoring).
+ * @param version The customer row's version, or null if it was not loaded from the database;
+ *                with {@code id} it keys cached customer partial scores.
+ */
+public record CustomerInput(Long id, Long version, String name, Integer age, BigDecimal annualIncome,
+                            Integer creditScore, String employmentStatus, BigDecimal existingDebt) {
+}
@@ -0,0 +1,42 @@
+package com.loanrisk.engine;
+
+/**
+ * The outcome of the customer-only rules of a {@link CompiledRuleset} for one customer: the points they
+ * add and which of them matched. It holds no reference to the customer, so it can be cached and
+ * combined with any later application from the same customer.
+ */
+public final class CustomerPartialScore {
+
+    private final long rulesetVersion;
+    private final int riskPoints;
+    private final int[] matchedRules; // Ascending indexes into CompiledRuleset.getRules()
+
+    CustomerPartialScore(long rulesetVersion, int riskPoints, int[] matchedRules) {
+        this.rulesetVersion = rulesetVersion;
+        this.riskPoints = riskPoints;
+        this.matchedRules = matchedRules;
+    }
+
+    /** The {@link CompiledRuleset#getVersion() version} of the ruleset this was computed with. */
+    public long getRulesetVersion() {
+        return rulesetVersion;
+    }
+
+    public int getRiskPoints() {
+        return riskPoints;
+    }
+
+    int[] matchedRules() {
+        return matchedRules;
+    }
+
+    public int getMatchedRuleCount() {
+        return matchedRules.length;
+    }
+
+    @Override
+    public String toString() {
+        return "CustomerPartialScore{rulesetVersion=" + rulesetVersion + ", riskPoints=" + riskPoints
+                + ", matchedRules=" + matchedRules.length + "}";
+    }
+}
@@ -0,0 +1,13 @@
+package com.loanrisk.engine;
+
+/**
+ * How much of a ruleset an evaluation has to run.
+ */
+public enum EvaluationMode {
+
+    /** Evaluate every rule; the score and explanation are complete. */
+    FULL,
+
+    /** Stop as soon as the decision can no longer change; the score and explanation may be partial. */
+    DECISION_ONLY
+}
@@ -0,0 +1,218 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reduces an application to the feature values one ruleset can tell apart: exactly the fields its rules read,
+ * each at the precision the rules use. Applications with equal {@link Key keys} match the same rules, so they
+ * get the same score, risk level, decision and explanation.
+ * <ul>
+ *   <li>A numeric field read only by single-field rules becomes its position among the rules' thresholds
+ *       (below, equal to or above each of them).</li>
+ *   <li>A string field read only by single-field rules becomes the set of rule values it equals, ignoring case.</li>
+ *   <li>A field read by a condition is kept as is, since a condition can compute with it.</li>
+ * </ul>
+ * A missing value is kept apart from every other value. Instances are immutable and safe to share between threads.
+ */
+public final class FeatureQuantizer {
+
+    /** The quantized features of one application under one ruleset version. */
+    public static final class Key {
+
+        private final long rulesetVersion;
+        private final Object[] values;
+        private final int hash;
+
+        private Key(long rulesetVersion, Object[] values) {
+            this.rulesetVersion = rulesetVersion;
+            this.values = values;
+            this.hash = 31 * Long.hashCode(rulesetVersion) + Arrays.hashCode(values);
+        }
+
+        public long getRulesetVersion() {
+            return rulesetVersion;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key other && hash == other.hash && rulesetVersion == other.rulesetVersion
+                    && Arrays.equals(values, other.values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{rulesetVersion=" + rulesetVersion + ", values=" + Arrays.toString(values) + "}";
+        }
+    }
+
+    private static final int MAX_STRING_VALUES = Long.SIZE - 1; // One bit each in a non-negative mask
+
+    private final long rulesetVersion;
+    private final RuleField[] fields;
+    private final Quantization[] quantizations; // Indexed like fields; null to keep the value as is
+
+    private FeatureQuantizer(long rulesetVersion, RuleField[] fields, Quantization[] quantizations) {
+        this.rulesetVersion = rulesetVersion;
+        this.fields = fields;
+        this.quantizations = quantizations;
+    }
+
+    /** Derives the quantization of every field the ruleset's rules read. */
+    public static FeatureQuantizer of(CompiledRuleset ruleset) {
+        Map<RuleField, List<CompiledRule>> singleFieldRules = new EnumMap<>(RuleField.class);
+        Map<RuleField, Boolean> readByCondition = new EnumMap<>(RuleField.class);
+        for (CompiledRule rule : ruleset.getRules()) {
+            if (rule.hasCondition()) {
+                rule.getConditionFields().forEach(field -> readByCondition.put(field, true));
+            } else {
+                singleFieldRules.computeIfAbsent(rule.getField(), f -> new ArrayList<>()).add(rule);
+            }
+        }
+
+        List<RuleField> fields = new ArrayList<>();
+        List<Quantization> quantizations = new ArrayList<>();
+        for (RuleField field : RuleField.values()) {
+            if (readByCondition.containsKey(field)) {
+                fields.add(field);
+                quantizations.add(null);
+            } else if (singleFieldRules.containsKey(field)) {
+                fields.add(field);
+                quantizations.add(field.isNumeric()
+                        ? Thresholds.of(singleFieldRules.get(field))
+                        : StringValues.of(singleFieldRules.get(field)));
+            }
+        }
+        return new FeatureQuantizer(ruleset.getVersion(), fields.toArray(new RuleField[0]),
+                quantizations.toArray(new Quantization[0]));
+    }
+
+    /** The version of the ruleset this quantizer was derived from. */
+    public long getRulesetVersion() {
+        return rulesetVersion;
+    }
+
+    /** The key of an application; equal keys get equal results from the ruleset. */
+    public Key key(CustomerInput customer, ApplicationInput application) {
+        Object[] values = new Object[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+            Object value = fields[i].extract(customer, application);
+            values[i] = value == null || quantizations[i] == null ? value : quantizations[i].quantize(value);
+        }
+        return new Key(rulesetVersion, values);
+    }
+
+    private interface Quantization {
+        Object quantize(Object value);
+    }
+
+    /**
+     * A numeric value as 2 * (thresholds below it) + (1 if it equals a threshold), which decides every
+     * comparison a single-field rule can make with any of the thresholds.
+     */
+    private static final class Thresholds implements Quantization {
+
+        private final BigDecimal[] thresholds; // Ascending, without duplicates by compareTo
+        private final long[] longThresholds; // The same, when all are integral, so Integer values need no BigDecimal
+
+        private Thresholds(BigDecimal[] thresholds, long[] longThresholds) {
+            this.thresholds = thresholds;
+            this.longThresholds = longThresholds;
+        }
+
+        static Quantization of(List<CompiledRule> rules) {
+            BigDecimal[] sorted = rules.stream().map(CompiledRule::getNumericValue).sorted().toArray(BigDecimal[]::new);
+            List<BigDecimal> distinct = new ArrayList<>();
+            for (BigDecimal threshold : sorted) {
+                if (distinct.isEmpty() || distinct.get(distinct.size() - 1).compareTo(threshold) != 0) {
+                    distinct.add(threshold);
+                }
+            }
+            long[] longs = new long[distinct.size()];
+            try {
+                for (int i = 0; i < longs.length; i++) {
+                    longs[i] = distinct.get(i).longValueExact();
+                }
+            } catch (ArithmeticException e) {
+                longs = null; // A fraction or out of long range; compare as BigDecimal
+            }
+            return new Thresholds(distinct.toArray(new BigDecimal[0]), longs);
+        }
+
+        @Override
+        public Object quantize(Object value) {
+            int low = 0;
+            int high = thresholds.length;
+            int equal = 0;
+            if (longThresholds != null && value instanceof Integer integer) {
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    int comparison = Long.compare(integer, longThresholds[mid]);
+                    if (comparison == 0) {
+                        low = mid;
+                        equal = 1;
+                        break;
+                    }
+                    if (comparison > 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+            } else {
+                BigDecimal number = value instanceof BigDecimal decimal ? decimal : BigDecimal.valueOf(((Number) value).longValue());
+                while (low < high) {
+                    int mid = (low + high) >>> 1;
+                    int comparison = number.compareTo(thresholds[mid]);
+                    if (comparison == 0) {
+                        low = mid;
+                        equal = 1;
+                        break;
+                    }
+                    if (comparison > 0) {
+                        low = mid + 1;
+                    } else {
+                        high = mid;
+                    }
+                }
+            }
+            return 2 * low + equal;
+        }
+    }
+
+    /** A string value as a bit mask of the rule values it equals, ignoring case. */
+    private static final class StringValues implements Quantization {
+
+        private final String[] values;
+
+        private StringValues(String[] values) {
+            this.values = values;
+        }
+
+        static Quantization of(List<CompiledRule> rules) {
+            String[] values = rules.stream().map(CompiledRule::getStringValue).distinct().toArray(String[]::new);
+            return values.length <= MAX_STRING_VALUES ? new StringValues(values) : null; // Too many: kept as is
+        }
+
+        @Override
+        public Object quantize(Object value) {
+            String string = (String) value;
+            long mask = 0;
+            for (int i = 0; i < values.length; i++) {
+                if (string.equalsIgnoreCase(values[i])) {
+                    mask |= 1L << i;
+                }
+            }
+            return mask;
+        }
+    }
+}
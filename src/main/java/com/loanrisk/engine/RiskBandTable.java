@@ -0,0 +1,99 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A ruleset's risk bands compiled into a sorted array of lower bounds, so mapping a score to its
+ * risk level and decision is one binary search with no string comparisons.
+ */
+public final class RiskBandTable {
+
+    /** A score range's outcome. The labels are computed once, so results share the same strings. */
+    public record Band(RiskLevel level, Decision decision, String levelLabel, String decisionName) {
+
+        Band(RiskLevel level, Decision decision) {
+            this(level, decision, level.getLabel(), decision.name());
+        }
+    }
+
+    /** The bands used when a ruleset defines none: High below 450, Medium below 650, Low above. */
+    public static final RiskBandTable DEFAULT = new RiskBandTable(
+            new int[] {Integer.MIN_VALUE, 450, 650},
+            new Band[] {new Band(RiskLevel.HIGH, Decision.DECLINED),
+                        new Band(RiskLevel.MEDIUM, Decision.MANUAL_REVIEW),
+                        new Band(RiskLevel.LOW, Decision.APPROVED)});
+
+    private final int[] lowerBounds; // Ascending; lowerBounds[0] is Integer.MIN_VALUE
+    private final Band[] bands;
+
+    private RiskBandTable(int[] lowerBounds, Band[] bands) {
+        this.lowerBounds = lowerBounds;
+        this.bands = bands;
+    }
+
+    /**
+     * Compiles a ruleset's band rows. The lowest band also covers every score below its minimum. Adjacent rows
+     * with the same outcome are merged into one band; outcomes need not be monotonic, so the same outcome may
+     * still occur as separate, non-adjacent bands.
+     *
+     * @return The compiled table, or {@link #DEFAULT} if there are no rows.
+     * @throws IllegalArgumentException If a row is incomplete or two bands start at the same score.
+     */
+    public static RiskBandTable compile(List<RiskBand> rows) {
+        if (rows.isEmpty()) {
+            return DEFAULT;
+        }
+        List<RiskBand> sorted = new ArrayList<>(rows);
+        sorted.sort(Comparator.comparing(RiskBand::getMinScore, Comparator.nullsFirst(Comparator.naturalOrder())));
+
+        int[] lowerBounds = new int[sorted.size()];
+        Band[] bands = new Band[sorted.size()];
+        int count = 0;
+        for (int i = 0; i < sorted.size(); i++) {
+            RiskBand row = sorted.get(i);
+            if (row.getRiskLevel() == null || row.getDecision() == null) {
+                throw new IllegalArgumentException("Risk band starting at " + row.getMinScore() + " has no risk level or decision");
+            }
+            if (i > 0 && (row.getMinScore() == null || row.getMinScore().equals(sorted.get(i - 1).getMinScore()))) {
+                throw new IllegalArgumentException("Two risk bands start at " + row.getMinScore());
+            }
+            Band band = new Band(row.getRiskLevel(), row.getDecision());
+            if (count > 0 && bands[count - 1].equals(band)) {
+                continue; // Extends the band below
+            }
+            lowerBounds[count] = i == 0 ? Integer.MIN_VALUE : row.getMinScore();
+            bands[count++] = band;
+        }
+        return new RiskBandTable(Arrays.copyOf(lowerBounds, count), Arrays.copyOf(bands, count));
+    }
+
+    /** Returns the band the score falls into. */
+    public Band band(int score) {
+        return bands[indexOf(score)];
+    }
+
+    /**
+     * Returns the position of the band the score falls into. Two scores fall into the same band, and so does
+     * every score between them, only if their positions are equal: equal outcomes may belong to separate bands.
+     */
+    public int indexOf(int score) {
+        int index = Arrays.binarySearch(lowerBounds, score);
+        return index >= 0 ? index : -index - 2; // Not found: the band below the insertion point
+    }
+
+    /** Returns the band at a position returned by {@link #indexOf(int)}. */
+    public Band bandAt(int index) {
+        return bands[index];
+    }
+
+    public int size() {
+        return bands.length;
+    }
+}
@@ -0,0 +1,144 @@
+package com.loanrisk.engine;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * The set of fields a {@link com.loanrisk.model.ScoringRule} can reference, resolved once at compile time
+ * so that evaluation does not repeat string comparisons on the field name for every application.
+ */
+public enum RuleField {
+
+    // Customer fields
+    AGE("age", true, true),
+    ANNUAL_INCOME("annualIncome", true, true),
+    CREDIT_SCORE("creditScore", true, true),
+    EMPLOYMENT_STATUS("employmentStatus", false, true),
+    EXISTING_DEBT("existingDebt", true, true),
+    NAME("name", false, true), // Less likely for rules, but possible
+
+    // LoanApplication fields
+    LOAN_AMOUNT("loanAmount", true, false),
+    LOAN_PURPOSE("loanPurpose", false, false),
+    REQUESTED_TERM_MONTHS("requestedTermMonths", true, false),
+
+    // Customer exposure at the time of the application; it changes with every application, so it is not customer-only
+    RECENT_APPLICATIONS("recentApplications", true, false),
+    OUTSTANDING_AMOUNT("outstandingAmount", true, false),
+
+    // Derived fields
+    LOAN_RATIO("loanRatio", true, false),               // loanAmount / annualIncome
+    EXISTING_DEBT_RATIO("existingDebtRatio", true, true); // existingDebt / annualIncome
+
+    /** Scale used for the derived ratio fields. */
+    public static final int RATIO_SCALE = 4;
+
+    private static final Map<String, RuleField> BY_KEY = Stream.of(values())
+            .collect(Collectors.toUnmodifiableMap(f -> f.key.toLowerCase(Locale.ROOT), Function.identity()));
+
+    private final String key;
+    private final boolean numeric;
+    private final boolean customerOnly;
+
+    RuleField(String key, boolean numeric, boolean customerOnly) {
+        this.key = key;
+        this.numeric = numeric;
+        this.customerOnly = customerOnly;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /** Whether the field is the customer's exposure, which stored applications do not record. */
+    public boolean isExposure() {
+        return this == RECENT_APPLICATIONS || this == OUTSTANDING_AMOUNT;
+    }
+
+    /** Whether the value depends only on the customer, not on the loan application. */
+    public boolean isCustomerOnly() {
+        return customerOnly;
+    }
+
+    /**
+     * Resolves a rule's field name, ignoring case.
+     *
+     * @param fieldName The field name as stored on the rule.
+     * @return The matching field, or null if the name is blank or unknown.
+     */
+    public static RuleField fromName(String fieldName) {
+        if (fieldName == null || fieldName.trim().isEmpty()) {
+            return null;
+        }
+        return BY_KEY.get(fieldName.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * Extracts this field's value from the customer or application.
+     *
+     * @return The value (String, Integer or BigDecimal), or null if it is missing or cannot be derived.
+     */
+    public Object extract(CustomerInput customer, ApplicationInput application) {
+        switch (this) {
+            case AGE: return customer.age();
+            case ANNUAL_INCOME: return customer.annualIncome();
+            case CREDIT_SCORE: return customer.creditScore();
+            case EMPLOYMENT_STATUS: return customer.employmentStatus();
+            case EXISTING_DEBT: return customer.existingDebt();
+            case NAME: return customer.name();
+            case LOAN_AMOUNT: return application.loanAmount();
+            case LOAN_PURPOSE: return application.loanPurpose();
+            case REQUESTED_TERM_MONTHS: return application.requestedTermMonths();
+            case RECENT_APPLICATIONS: return application.recentApplications();
+            case OUTSTANDING_AMOUNT: return application.outstandingAmount();
+            case LOAN_RATIO: return ratio(application.loanAmount(), customer.annualIncome());
+            case EXISTING_DEBT_RATIO: return ratio(customer.existingDebt(), customer.annualIncome());
+            default: return null;
+        }
+    }
+
+    /** Whether the value is computed from other fields rather than stored. */
+    public boolean isDerived() {
+        return this == LOAN_RATIO || this == EXISTING_DEBT_RATIO;
+    }
+
+    /**
+     * Builds a transient customer from stored field values, the inverse of {@link #extract}.
+     *
+     * @param values Values indexed by {@link #ordinal()}; entries of application and derived fields are ignored.
+     * @throws ClassCastException If a value is not of the field's type.
+     */
+    public static CustomerInput customer(Object[] values) {
+        return new CustomerInput(null, null, (String) values[NAME.ordinal()], (Integer) values[AGE.ordinal()],
+                (BigDecimal) values[ANNUAL_INCOME.ordinal()], (Integer) values[CREDIT_SCORE.ordinal()],
+                (String) values[EMPLOYMENT_STATUS.ordinal()], (BigDecimal) values[EXISTING_DEBT.ordinal()]);
+    }
+
+    /**
+     * Builds an application from stored field values, the inverse of {@link #extract}.
+     *
+     * @param values Values indexed by {@link #ordinal()}; entries of customer and derived fields are ignored.
+     * @throws ClassCastException If a value is not of the field's type.
+     */
+    public static ApplicationInput application(Object[] values) {
+        return new ApplicationInput((BigDecimal) values[LOAN_AMOUNT.ordinal()], (String) values[LOAN_PURPOSE.ordinal()],
+                (Integer) values[REQUESTED_TERM_MONTHS.ordinal()], (Integer) values[RECENT_APPLICATIONS.ordinal()],
+                (BigDecimal) values[OUTSTANDING_AMOUNT.ordinal()]);
+    }
+
+    private static BigDecimal ratio(BigDecimal numerator, BigDecimal annualIncome) {
+        if (annualIncome == null || annualIncome.compareTo(BigDecimal.ZERO) <= 0 || numerator == null) {
+            return null;
+        }
+        return numerator.divide(annualIncome, RATIO_SCALE, RoundingMode.HALF_UP);
+    }
+}
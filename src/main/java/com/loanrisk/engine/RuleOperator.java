@@ -0,0 +1,68 @@
+package com.loanrisk.engine;
+
+import java.util.Arrays;
+
+/**
+ * Comparison operators supported by scoring rules.
+ */
+public enum RuleOperator {
+
+    LT("<"),
+    GT(">"),
+    EQ("=="),
+    LE("<="),
+    GE(">="),
+    NE("!=");
+
+    private final String symbol;
+
+    RuleOperator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * @return The operator for the given symbol, or null if it is not supported.
+     */
+    public static RuleOperator fromSymbol(String symbol) {
+        if (symbol == null) {
+            return null;
+        }
+        return Arrays.stream(values()).filter(op -> op.symbol.equals(symbol)).findFirst().orElse(null);
+    }
+
+    /** Whether the operator can be applied to string values. */
+    public boolean supportsStrings() {
+        return this == EQ || this == NE;
+    }
+
+    /** The operator that holds exactly where this one does not, e.g. {@code >=} for {@code <}. */
+    public RuleOperator negate() {
+        switch (this) {
+            case LT: return GE;
+            case GT: return LE;
+            case EQ: return NE;
+            case LE: return GT;
+            case GE: return LT;
+            default: return EQ;
+        }
+    }
+
+    /**
+     * Applies the operator to the result of a {@code compareTo} call.
+     */
+    public boolean test(int comparisonResult) {
+        switch (this) {
+            case LT: return comparisonResult < 0;
+            case GT: return comparisonResult > 0;
+            case EQ: return comparisonResult == 0;
+            case LE: return comparisonResult <= 0;
+            case GE: return comparisonResult >= 0;
+            case NE: return comparisonResult != 0;
+            default: return false;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.loanrisk.engine;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How often each rule of a {@link CompiledRuleset} was evaluated and matched, and what it cost, since
+ * collection started. Counters are {@link LongAdder}s, so concurrent evaluations do not contend on them.
+ * <p>
+ * Evaluations are not counted per rule: each evaluation counts the pass it made (all rules, the customer-only
+ * rules, the application-dependent rules, or the first {@code k} rules of a decision-only evaluation), and a
+ * rule's evaluations are derived from the passes that included it. Matches and errors are counted per rule; a rule
+ * that throws is counted as an error and skipped, so the evaluation goes on without it.
+ * One evaluation in {@link #SAMPLE_INTERVAL} also times each rule it runs.
+ */
+public final class RuleStats {
+
+    public static final int SAMPLE_INTERVAL = 1024;
+
+    private final LocalDateTime since = LocalDateTime.now();
+    private final boolean[] customerOnly;  // By rule index
+    private final int[] decisionPosition;  // By rule index: position in the decision-only evaluation order
+
+    private final LongAdder fullPasses = new LongAdder();
+    private final LongAdder customerPasses = new LongAdder();
+    private final LongAdder applicationPasses = new LongAdder();
+    private final LongAdder[] decisionPasses; // [k]: decision-only evaluations that ran exactly k rules
+
+    private final LongAdder[] matches;
+    private final LongAdder[] errors;
+    private final LongAdder[] samples;
+    private final LongAdder[] sampledNanos;
+
+    RuleStats(boolean[] customerOnly, int[] decisionPosition) {
+        this.customerOnly = customerOnly;
+        this.decisionPosition = decisionPosition;
+        int rules = customerOnly.length;
+        this.decisionPasses = adders(rules + 1);
+        this.matches = adders(rules);
+        this.errors = adders(rules);
+        this.samples = adders(rules);
+        this.sampledNanos = adders(rules);
+    }
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /** Whether the evaluation about to start should time its rules. */
+    boolean sample() {
+        return ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0;
+    }
+
+    void recordFullPass() {
+        fullPasses.increment();
+    }
+
+    void recordCustomerPass() {
+        customerPasses.increment();
+    }
+
+    void recordApplicationPass() {
+        applicationPasses.increment();
+    }
+
+    /** Records a decision-only evaluation that ran the first {@code rules} rules of its order. */
+    void recordDecisionPass(int rules) {
+        decisionPasses[rules].increment();
+    }
+
+    void recordMatch(int rule) {
+        matches[rule].increment();
+    }
+
+    void recordError(int rule) {
+        errors[rule].increment();
+    }
+
+    void recordSample(int rule, long nanos) {
+        samples[rule].increment();
+        sampledNanos[rule].add(nanos);
+    }
+
+    /** When collection started. */
+    public LocalDateTime getSince() {
+        return since;
+    }
+
+    /** Number of rules, indexed like {@link CompiledRuleset#getRules()}. */
+    public int size() {
+        return matches.length;
+    }
+
+    /** How often the rule was evaluated. */
+    public long evaluations(int rule) {
+        long evaluations = fullPasses.sum() + (customerOnly[rule] ? customerPasses.sum() : applicationPasses.sum());
+        for (int k = decisionPosition[rule] + 1; k < decisionPasses.length; k++) {
+            evaluations += decisionPasses[k].sum();
+        }
+        return evaluations;
+    }
+
+    public long matches(int rule) {
+        return matches[rule].sum();
+    }
+
+    /** Evaluations of the rule that threw, and skipped it as not matched. */
+    public long errors(int rule) {
+        return errors[rule].sum();
+    }
+
+    /** Evaluations of the rule that were timed. */
+    public long samples(int rule) {
+        return samples[rule].sum();
+    }
+
+    /** Total time of the timed evaluations of the rule. */
+    public long sampledNanos(int rule) {
+        return sampledNanos[rule].sum();
+    }
+}
@@ -0,0 +1,127 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+import com.loanrisk.model.ScoringRule;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary form of the rules and risk bands a {@link CompiledRuleset} was compiled from.
+ * Every column of the rows is kept, so a decoded ruleset compiles to one that
+ * {@link CompiledRuleset#isCompiledFrom(List, List) is compiled from} the same database rows.
+ */
+public final class RulesetCodec {
+
+    /** The rows of a ruleset as decoded. */
+    public record Definition(String name, List<ScoringRule> rules, List<RiskBand> bands) {
+
+        public CompiledRuleset compile() {
+            return CompiledRuleset.compile(name, rules, bands);
+        }
+    }
+
+    private RulesetCodec() {
+    }
+
+    public static void write(DataOutput out, CompiledRuleset ruleset) throws IOException {
+        out.writeUTF(ruleset.getName());
+        out.writeInt(ruleset.getSourceRules().size());
+        for (ScoringRule rule : ruleset.getSourceRules()) {
+            writeLong(out, rule.getId());
+            writeString(out, rule.getName());
+            writeString(out, rule.getField());
+            writeString(out, rule.getOperator());
+            writeString(out, rule.getValue());
+            writeInteger(out, rule.getRiskPoints());
+            writeInteger(out, rule.getPriority());
+            out.writeByte(rule.getEnabled() == null ? -1 : rule.getEnabled() ? 1 : 0);
+            writeString(out, rule.getRuleset());
+            writeString(out, rule.getCondition());
+        }
+        out.writeInt(ruleset.getSourceBands().size());
+        for (RiskBand band : ruleset.getSourceBands()) {
+            writeLong(out, band.getId());
+            writeString(out, band.getRuleset());
+            writeInteger(out, band.getMinScore());
+            writeString(out, band.getRiskLevel() != null ? band.getRiskLevel().name() : null);
+            writeString(out, band.getDecision() != null ? band.getDecision().name() : null);
+        }
+    }
+
+    /**
+     * Reads a definition written by {@link #write}.
+     *
+     * @throws IllegalArgumentException If a risk level or decision is unknown.
+     */
+    public static Definition read(DataInput in) throws IOException {
+        String name = in.readUTF();
+        int ruleCount = in.readInt();
+        List<ScoringRule> rules = new ArrayList<>(ruleCount);
+        for (int i = 0; i < ruleCount; i++) {
+            ScoringRule rule = new ScoringRule();
+            rule.setId(readLong(in));
+            rule.setName(readString(in));
+            rule.setField(readString(in));
+            rule.setOperator(readString(in));
+            rule.setValue(readString(in));
+            rule.setRiskPoints(readInteger(in));
+            rule.setPriority(readInteger(in));
+            byte enabled = in.readByte();
+            rule.setEnabled(enabled < 0 ? null : enabled == 1);
+            rule.setRuleset(readString(in));
+            rule.setCondition(readString(in));
+            rules.add(rule);
+        }
+        int bandCount = in.readInt();
+        List<RiskBand> bands = new ArrayList<>(bandCount);
+        for (int i = 0; i < bandCount; i++) {
+            Long id = readLong(in);
+            String ruleset = readString(in);
+            Integer minScore = readInteger(in);
+            String level = readString(in);
+            String decision = readString(in);
+            bands.add(new RiskBand(id, ruleset, minScore, level != null ? RiskLevel.valueOf(level) : null,
+                    decision != null ? Decision.valueOf(decision) : null));
+        }
+        return new Definition(name, rules, bands);
+    }
+
+    private static void writeString(DataOutput out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static void writeInteger(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static void writeLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Integer readInteger(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static Long readLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+}
@@ -0,0 +1,115 @@
+package com.loanrisk.metrics;
+
+import com.loanrisk.dto.ScoringResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency and throughput meters for the loan application pipeline.
+ * All timers are registered up front, so recording is a wait-free histogram update with no
+ * meter lookup or tag allocation on the request path; nothing is sampled. Timers publish histogram buckets rather
+ * than percentiles of one instance, so Prometheus can aggregate them across instances with {@code histogram_quantile}.
+ */
+@Component
+public class ScoringMetrics {
+
+    /** Stages of {@code POST /loan/apply}. */
+    public enum ApplyStage {
+        CUSTOMER_LOOKUP("customer_lookup"),
+        RULE_LOADING("rule_loading"),
+        EVALUATION("evaluation"),
+        PERSISTENCE("persistence"),
+        SERIALIZATION("serialization");
+
+        private final String tag;
+
+        ApplyStage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private static final Duration MINIMUM_EXPECTED = Duration.ofNanos(10_000); // Evaluations take microseconds
+
+    private final MeterRegistry registry;
+    private final Map<ApplyStage, Timer> stageTimers = new EnumMap<>(ApplyStage.class);
+    private final Timer evaluateTimer;
+    private final Timer preCheckTimer;
+    private final Counter ruleLoadingFallbacks;
+    private final Map<String, Counter> decisionCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> riskLevelCounters = new ConcurrentHashMap<>();
+
+    public ScoringMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (ApplyStage stage : ApplyStage.values()) {
+            stageTimers.put(stage, Timer.builder("loanrisk.apply.stage")
+                    .description("Time spent in each stage of POST /loan/apply")
+                    .tag("stage", stage.tag)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(MINIMUM_EXPECTED)
+                    .register(registry));
+        }
+        this.evaluateTimer = Timer.builder("loanrisk.scoring.evaluate")
+                .description("Time spent in ScoringService.evaluate")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED)
+                .register(registry);
+        this.preCheckTimer = Timer.builder("loanrisk.scoring.precheck")
+                .description("Time spent scoring POST /loan/precheck requests")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MINIMUM_EXPECTED)
+                .register(registry);
+        this.ruleLoadingFallbacks = Counter.builder("loanrisk.rules.fallback")
+                .description("Evaluations served with the last known ruleset because the database was unreachable")
+                .register(registry);
+    }
+
+    /**
+     * Records the duration of one apply stage.
+     *
+     * @param startNanos The {@link System#nanoTime()} reading taken when the stage started.
+     */
+    public void recordStage(ApplyStage stage, long startNanos) {
+        stageTimers.get(stage).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one call of {@code ScoringService.evaluate} and counts its decision and risk level.
+     *
+     * @param startNanos The {@link System#nanoTime()} reading taken when the evaluation started.
+     */
+    public void recordEvaluation(long startNanos, ScoringResult result) {
+        evaluateTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        counter(decisionCounters, "loanrisk.decisions", "decision", result.getDecision()).increment();
+        counter(riskLevelCounters, "loanrisk.risk.levels", "level", result.getRiskLevel()).increment();
+    }
+
+    /**
+     * Records one pre-check. Pre-checks are not counted as decisions.
+     *
+     * @param startNanos The {@link System#nanoTime()} reading taken when the pre-check started.
+     */
+    public void recordPreCheck(long startNanos) {
+        preCheckTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** Counts one load of the live rules that fell back to the last known ruleset. */
+    public void recordRuleLoadingFallback() {
+        ruleLoadingFallbacks.increment();
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String tagKey, String tagValue) {
+        Counter counter = counters.get(tagValue); // Plain get: no locking once the counter exists
+        if (counter == null) {
+            counter = counters.computeIfAbsent(tagValue, value -> Counter.builder(name).tag(tagKey, value).register(registry));
+        }
+        return counter;
+    }
+}
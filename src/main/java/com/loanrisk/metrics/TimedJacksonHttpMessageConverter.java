@@ -0,0 +1,56 @@
+package com.loanrisk.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.dto.LoanApplicationResponse;
+import com.loanrisk.metrics.ScoringMetrics.ApplyStage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Jackson converter that times the serialization of loan application responses,
+ * the last stage of the apply pipeline, which runs after the controller method has returned.
+ * Only responses of requests marked with {@link #timeApplyResponse()} are timed, so the same DTO returned
+ * by {@code GET /loan/{id}} is not counted as apply traffic.
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private static final String APPLY_RESPONSE = TimedJacksonHttpMessageConverter.class.getName() + ".APPLY_RESPONSE";
+
+    private final ScoringMetrics scoringMetrics;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, ScoringMetrics scoringMetrics) {
+        super(objectMapper);
+        this.scoringMetrics = scoringMetrics;
+    }
+
+    /** Marks the response of the current request, if any, as the serialization stage of {@code POST /loan/apply}. */
+    public static void timeApplyResponse() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(APPLY_RESPONSE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    private static boolean isApplyResponse() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(APPLY_RESPONSE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        if (!(object instanceof LoanApplicationResponse) || !isApplyResponse()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        long start = System.nanoTime();
+        super.writeInternal(object, type, outputMessage);
+        scoringMetrics.recordStage(ApplyStage.SERIALIZATION, start);
+    }
+}
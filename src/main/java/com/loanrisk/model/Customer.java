@@ -1,16 +1,27 @@
 package com.loanrisk.model;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.math.BigDecimal; // Using BigDecimal for precision as discussed
 
 @Entity
+@Table(indexes = { // Customer search: each filter or sort column, then the id for keyset pagination
+        @Index(name = "idx_customer_age", columnList = "age, id"),
+        @Index(name = "idx_customer_credit_score", columnList = "creditScore, id"),
+        @Index(name = "idx_customer_annual_income", columnList = "annualIncome, id"),
+        @Index(name = "idx_customer_employment_status", columnList = "employmentStatus, id")
+})
 @Data // Lombok will generate getters, setters, toString, equals, hashCode
 @NoArgsConstructor // Lombok generates no-args constructor
 @AllArgsConstructor // Lombok generates all-args constructor
@@ -27,4 +38,15 @@ public class Customer {
     private String employmentStatus; // Reverted field (String for simplicity, requirements mention enum)
     private BigDecimal existingDebt; // Reverted field, using BigDecimal
 
-}
\ No newline at end of file
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0") // Existing rows get version 0 when the column is added, so they are not taken for new ones
+    private Long version; // Bumped by JPA on every update; keys the cached customer-only rule scores
+
+    // Constructor for customers without a version (new or not loaded through JPA)
+    public Customer(Long id, String name, Integer age, BigDecimal annualIncome, Integer creditScore,
+                    String employmentStatus, BigDecimal existingDebt) {
+        this(id, name, age, annualIncome, creditScore, employmentStatus, existingDebt, null);
+    }
+
+}
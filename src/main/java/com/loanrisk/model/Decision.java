@@ -0,0 +1,11 @@
+package com.loanrisk.model;
+
+/**
+ * Outcome of a loan application, as stored on the application and reported by the API.
+ */
+public enum Decision {
+    APPROVED,
+    MANUAL_REVIEW,
+    DECLINED,
+    ERROR // No decision is configured for the risk level
+}
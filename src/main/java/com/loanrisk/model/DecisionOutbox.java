@@ -0,0 +1,36 @@
+package com.loanrisk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A decision event not delivered downstream yet. Written in the transaction that inserts the application,
+ * so an event exists exactly when its application does; the relay deletes it once the sink has it.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id; // Delivery order
+
+    @Column(nullable = false)
+    private Long loanApplicationId;
+
+    private Long customerId;
+    private Integer riskScore;
+    private String riskLevel;
+    private String decision;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,46 @@
+package com.loanrisk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Decision counts of the applications created on one day with one risk level and loan purpose.
+ * Rows are only ever incremented, by each instance's flush, or replaced as a whole by a rebuild.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_decision_summary_key",
+        columnNames = {"decisionDate", "riskLevel", "loanPurpose"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DecisionSummary {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate decisionDate;
+
+    @Column(nullable = false)
+    private String riskLevel; // Empty when missing
+
+    @Column(nullable = false)
+    private String loanPurpose; // Trimmed and lower case; empty when missing
+
+    private long applications;
+    private long approved;
+    private long manualReview;
+    private long declined;
+    private long scoreSum; // Of the risk scores, for the average
+}
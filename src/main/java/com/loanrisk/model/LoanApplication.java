@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@Table(indexes = @Index(name = "idx_loan_application_created_at", columnList = "createdAt")) // Exposure rebuild at startup
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
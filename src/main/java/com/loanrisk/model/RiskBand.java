@@ -0,0 +1,40 @@
+package com.loanrisk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row of a ruleset's band table: scores from {@code minScore} up to the next band's
+ * {@code minScore} get this risk level and decision.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RiskBand {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private String ruleset; // Same names as ScoringRule.ruleset
+
+    private Integer minScore; // Inclusive lower bound; the lowest band also covers every score below it
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RiskLevel riskLevel;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Decision decision;
+}
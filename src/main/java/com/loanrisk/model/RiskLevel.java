@@ -0,0 +1,21 @@
+package com.loanrisk.model;
+
+/**
+ * Risk level of a scored application.
+ */
+public enum RiskLevel {
+    HIGH("High"),
+    MEDIUM("Medium"),
+    LOW("Low");
+
+    private final String label;
+
+    RiskLevel(String label) {
+        this.label = label;
+    }
+
+    /** The name reported in API responses and stored on applications, e.g. "Medium". */
+    public String getLabel() {
+        return label;
+    }
+}
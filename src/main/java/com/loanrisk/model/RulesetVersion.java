@@ -0,0 +1,25 @@
+package com.loanrisk.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The current version of a ruleset. Every change to a ruleset's rules or bands must increment it, in the same
+ * transaction; instances poll this table to notice changes made through any instance or directly in the database.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RulesetVersion {
+
+    @Id
+    private String ruleset; // Same names as ScoringRule.ruleset
+
+    @Column(nullable = false)
+    private Long version;
+}
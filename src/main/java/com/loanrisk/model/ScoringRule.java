@@ -8,6 +8,7 @@ import jakarta.persistence.Id;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 @Data
@@ -15,6 +16,9 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 public class ScoringRule {
 
+    /** Ruleset name of the rules applied to live applications. */
+    public static final String LIVE_RULESET = "live";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -28,4 +32,23 @@ public class ScoringRule {
     private Integer priority;
     private Boolean enabled;
 
-}
\ No newline at end of file
+    @Column(nullable = false)
+    @ColumnDefault("'" + LIVE_RULESET + "'")
+    private String ruleset = LIVE_RULESET; // Ruleset this rule belongs to, e.g. "live" or a candidate under evaluation
+
+    @Column(name = "rule_condition", length = 1000)
+    private String condition; // Compound condition, e.g. "age < 25 AND loanRatio > 0.4"; replaces field/operator/value when set
+
+    // Constructor for rules in the live ruleset
+    public ScoringRule(Long id, String name, String field, String operator, String value,
+                       Integer riskPoints, Integer priority, Boolean enabled) {
+        this(id, name, field, operator, value, riskPoints, priority, enabled, LIVE_RULESET);
+    }
+
+    // Constructor for single field/operator/value rules
+    public ScoringRule(Long id, String name, String field, String operator, String value,
+                       Integer riskPoints, Integer priority, Boolean enabled, String ruleset) {
+        this(id, name, field, operator, value, riskPoints, priority, enabled, ruleset, null);
+    }
+
+}
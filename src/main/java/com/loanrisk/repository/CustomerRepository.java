@@ -1,9 +1,19 @@
 package com.loanrisk.repository;
 
+import com.loanrisk.engine.CustomerInput;
 import com.loanrisk.model.Customer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, Long> {
-}
\ No newline at end of file
+public interface CustomerRepository extends JpaRepository<Customer, Long>, CustomerSearch {
+
+    // Constructor expression: the customer is read straight into scoring input, never managed or dirty-checked
+    @Query("SELECT new com.loanrisk.engine.CustomerInput(c.id, c.version, c.name, c.age, c.annualIncome, c.creditScore, c.employmentStatus, c.existingDebt) " +
+           "FROM Customer c WHERE c.id = :id")
+    Optional<CustomerInput> findScoringInputById(@Param("id") Long id);
+}
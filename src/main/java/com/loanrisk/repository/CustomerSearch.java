@@ -0,0 +1,21 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.dto.CustomerSearchCriteria;
+import com.loanrisk.model.Customer;
+
+import java.util.function.Consumer;
+
+/**
+ * Keyset-paginated customer search, read row by row with nothing added to the persistence context.
+ */
+public interface CustomerSearch {
+
+    /**
+     * Passes the customers of one page to {@code consumer} in page order, as they are read. A page starts right
+     * after the criteria's keyset position, so reading a deep page costs the same as reading the first one.
+     * When sorting by a column other than the id, customers without a value in it are not returned.
+     *
+     * @return The number of customers passed; fewer than the limit on the last page.
+     */
+    int search(CustomerSearchCriteria criteria, Consumer<Customer> consumer);
+}
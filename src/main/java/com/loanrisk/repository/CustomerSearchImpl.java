@@ -0,0 +1,103 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.dto.CustomerSearchCriteria;
+import com.loanrisk.model.Customer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Plain JDBC implementation of {@link CustomerSearch}, mixed into {@link CustomerRepository}.
+ * The indexes of {@link Customer} lead with each sortable column and end with the id, so a page is one index
+ * range scan starting at the keyset position, whatever the page's depth.
+ */
+@RequiredArgsConstructor
+class CustomerSearchImpl implements CustomerSearch {
+
+    private static final String SELECT = "SELECT id, name, age, annual_income, credit_score, employment_status, "
+            + "existing_debt, version FROM customer";
+    private static final int MAX_FETCH_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int search(CustomerSearchCriteria criteria, Consumer<Customer> consumer) {
+        List<Object> args = new ArrayList<>();
+        String sql = sql(criteria, args);
+        int[] count = {0};
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Math.min(criteria.getLimit(), MAX_FETCH_SIZE));
+            for (int i = 0; i < args.size(); i++) {
+                statement.setObject(i + 1, args.get(i));
+            }
+            return statement;
+        }, (RowCallbackHandler) resultSet -> {
+            consumer.accept(new Customer(resultSet.getLong(1), resultSet.getString(2), resultSet.getObject(3, Integer.class),
+                    resultSet.getBigDecimal(4), resultSet.getObject(5, Integer.class), resultSet.getString(6),
+                    resultSet.getBigDecimal(7), resultSet.getObject(8, Long.class)));
+            count[0]++;
+        });
+        return count[0];
+    }
+
+    /** The page's statement, adding its parameters to {@code args}. */
+    static String sql(CustomerSearchCriteria criteria, List<Object> args) {
+        List<String> conditions = new ArrayList<>();
+        range(conditions, args, "age", criteria.getMinAge(), criteria.getMaxAge());
+        range(conditions, args, "credit_score", criteria.getMinCreditScore(), criteria.getMaxCreditScore());
+        range(conditions, args, "annual_income", criteria.getMinAnnualIncome(), criteria.getMaxAnnualIncome());
+        List<String> statuses = criteria.getEmploymentStatuses();
+        if (statuses != null && !statuses.isEmpty()) {
+            conditions.add("employment_status IN (" + String.join(", ", statuses.stream().map(status -> "?").toList()) + ")");
+            args.addAll(statuses);
+        }
+
+        String column = column(criteria.getSort());
+        if (column != null) {
+            conditions.add(column + " IS NOT NULL");
+        }
+        if (criteria.getAfterId() != null) {
+            if (column == null) {
+                conditions.add("id > ?");
+                args.add(criteria.getAfterId());
+            } else {
+                // The leading bound is what an index range scan can start from; the rest drops ties already returned
+                conditions.add(column + " >= ? AND (" + column + " > ? OR id > ?)");
+                args.add(criteria.getAfterValue());
+                args.add(criteria.getAfterValue());
+                args.add(criteria.getAfterId());
+            }
+        }
+
+        args.add(criteria.getLimit());
+        return SELECT + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+                + " ORDER BY " + (column != null ? column + ", id" : "id") + " LIMIT ?";
+    }
+
+    private static void range(List<String> conditions, List<Object> args, String column, Object min, Object max) {
+        if (min != null) {
+            conditions.add(column + " >= ?");
+            args.add(min);
+        }
+        if (max != null) {
+            conditions.add(column + " <= ?");
+            args.add(max);
+        }
+    }
+
+    private static String column(CustomerSearchCriteria.Sort sort) {
+        return switch (sort) {
+            case ID -> null;
+            case AGE -> "age";
+            case CREDIT_SCORE -> "credit_score";
+            case ANNUAL_INCOME -> "annual_income";
+        };
+    }
+}
@@ -0,0 +1,20 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.model.LoanApplication;
+
+/**
+ * Write path for new, already scored applications, bypassing the persistence context.
+ */
+public interface LoanApplicationInserts {
+
+    /**
+     * Inserts a scored application and its explanation in one transaction: one statement for the row
+     * and one JDBC batch for the explanation, with nothing snapshotted, dirty-checked or flushed.
+     * With {@code loanrisk.outbox.enabled}, its decision event is added to the outbox in the same transaction.
+     * Sets the generated id and the creation time on the given object, which stays detached.
+     *
+     * @param application The application; its {@code customer} and {@code id} are ignored.
+     * @param customerId  The id of an existing customer.
+     */
+    void insert(LoanApplication application, long customerId);
+}
@@ -0,0 +1,68 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.model.LoanApplication;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Plain JDBC implementation of {@link LoanApplicationInserts}, mixed into {@link LoanApplicationRepository}.
+ * The tables and columns are the ones Hibernate maps {@link LoanApplication} to.
+ */
+@RequiredArgsConstructor
+class LoanApplicationInsertsImpl implements LoanApplicationInserts {
+
+    private static final String INSERT_APPLICATION = "INSERT INTO loan_application (customer_id, loan_amount, loan_purpose, "
+            + "requested_term_months, risk_score, risk_level, decision, created_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_EXPLANATION = "INSERT INTO loan_explanation (loan_application_id, explanation_text) VALUES (?, ?)";
+    private static final String INSERT_OUTBOX = "INSERT INTO decision_outbox (loan_application_id, customer_id, risk_score, "
+            + "risk_level, decision, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${loanrisk.outbox.enabled:false}") // A property, not OutboxProperties, so repository test slices need no more
+    private boolean outboxEnabled;
+
+    @Override
+    @Transactional
+    public void insert(LoanApplication application, long customerId) {
+        LocalDateTime createdAt = LocalDateTime.now(); // As @CreationTimestamp would set it
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.update(connection -> {
+            PreparedStatement statement = connection.prepareStatement(INSERT_APPLICATION, new String[] {"id"});
+            statement.setLong(1, customerId);
+            statement.setBigDecimal(2, application.getLoanAmount());
+            statement.setString(3, application.getLoanPurpose());
+            statement.setObject(4, application.getRequestedTermMonths(), Types.INTEGER);
+            statement.setObject(5, application.getRiskScore(), Types.INTEGER);
+            statement.setString(6, application.getRiskLevel());
+            statement.setString(7, application.getDecision());
+            statement.setTimestamp(8, Timestamp.valueOf(createdAt));
+            return statement;
+        }, keyHolder);
+        long id = keyHolder.getKeyAs(Number.class).longValue();
+
+        List<String> explanation = application.getExplanation();
+        if (explanation != null && !explanation.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_EXPLANATION, explanation, explanation.size(), (statement, text) -> {
+                statement.setLong(1, id);
+                statement.setString(2, text);
+            });
+        }
+        if (outboxEnabled) { // Committed with the application, or not at all
+            jdbcTemplate.update(INSERT_OUTBOX, id, customerId, application.getRiskScore(), application.getRiskLevel(),
+                    application.getDecision(), Timestamp.valueOf(createdAt));
+        }
+        application.setId(id);
+        application.setCreatedAt(createdAt);
+    }
+}
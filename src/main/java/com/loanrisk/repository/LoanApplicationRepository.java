@@ -1,9 +1,30 @@
 package com.loanrisk.repository;
 
+import com.loanrisk.dto.BacktestRow;
 import com.loanrisk.model.LoanApplication;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
-public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long> {
-}
\ No newline at end of file
+public interface LoanApplicationRepository extends JpaRepository<LoanApplication, Long>, LoanApplicationInserts {
+
+    /**
+     * Keyset-paginated chunk of applications joined with their customers, as DTO projections
+     * so nothing is added to the persistence context. Pass the last application ID of the
+     * previous chunk as {@code afterId} (0 for the first chunk).
+     */
+    @Query("SELECT new com.loanrisk.dto.BacktestRow(a.id, c.id, c.name, c.age, c.annualIncome, c.creditScore, c.employmentStatus, c.existingDebt, " +
+           "a.loanAmount, a.loanPurpose, a.requestedTermMonths, a.riskScore, a.decision) " +
+           "FROM LoanApplication a JOIN a.customer c " +
+           "WHERE a.id > :afterId AND a.createdAt >= :from AND a.createdAt < :to ORDER BY a.id ASC")
+    List<BacktestRow> findBacktestChunk(@Param("afterId") long afterId, @Param("from") LocalDateTime from,
+                                        @Param("to") LocalDateTime to, Limit limit);
+
+    long countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(LocalDateTime from, LocalDateTime to);
+}
@@ -0,0 +1,13 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.model.RiskBand;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface RiskBandRepository extends JpaRepository<RiskBand, Long> {
+
+    List<RiskBand> findByRulesetOrderByMinScoreAsc(String ruleset);
+}
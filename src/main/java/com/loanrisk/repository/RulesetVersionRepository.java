@@ -0,0 +1,15 @@
+package com.loanrisk.repository;
+
+import com.loanrisk.model.RulesetVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface RulesetVersionRepository extends JpaRepository<RulesetVersion, String> {
+
+    // Primary key lookup: cheap enough for every instance to run on every poll
+    List<RulesetVersion> findByRulesetIn(Collection<String> rulesets);
+}
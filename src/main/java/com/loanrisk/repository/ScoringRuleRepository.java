@@ -2,11 +2,17 @@ package com.loanrisk.repository;
 
 import com.loanrisk.model.ScoringRule;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
 public interface ScoringRuleRepository extends JpaRepository<ScoringRule, Long> {
+
+    // Enabled rules of the live ruleset only; candidate rulesets are loaded by name
+    @Query("SELECT r FROM ScoringRule r WHERE r.enabled = true AND r.ruleset = '" + ScoringRule.LIVE_RULESET + "' ORDER BY r.priority ASC")
     List<ScoringRule> findByEnabledTrueOrderByPriorityAsc();
-}
\ No newline at end of file
+
+    List<ScoringRule> findByRulesetAndEnabledTrueOrderByPriorityAsc(String ruleset);
+}
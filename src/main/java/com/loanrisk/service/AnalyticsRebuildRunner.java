@@ -0,0 +1,33 @@
+package com.loanrisk.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the decision summary table from {@code loan_application} at startup when
+ * {@code loanrisk.analytics.rebuild} is true, then exits.
+ */
+@Component
+@ConditionalOnProperty(prefix = "loanrisk.analytics", name = "rebuild", havingValue = "true")
+@Slf4j
+public class AnalyticsRebuildRunner implements ApplicationRunner {
+
+    private final DecisionAnalytics decisionAnalytics;
+    private final ConfigurableApplicationContext context;
+
+    public AnalyticsRebuildRunner(DecisionAnalytics decisionAnalytics, ConfigurableApplicationContext context) {
+        this.decisionAnalytics = decisionAnalytics;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        decisionAnalytics.rebuild();
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+}
@@ -0,0 +1,44 @@
+package com.loanrisk.service;
+
+import com.loanrisk.dto.BacktestReport;
+import com.loanrisk.dto.BacktestRequest;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for re-scoring stored loan applications against a proposed ruleset.
+ * Backtests only read from the database; stored decisions are never modified.
+ */
+public interface BacktestService {
+
+    /**
+     * Starts a backtest in the background.
+     *
+     * @param request The proposed ruleset and the creation-time window of applications to re-score.
+     * @return The initial state of the job, including its ID.
+     * @throws IllegalArgumentException if the ruleset has no enabled rules.
+     */
+    BacktestReport startBacktest(BacktestRequest request);
+
+    /**
+     * Retrieves the progress and (partial) results of a backtest.
+     *
+     * @param id The ID of the job.
+     * @return An Optional containing the report if the job is known, or empty otherwise.
+     */
+    Optional<BacktestReport> getBacktest(long id);
+
+    /**
+     * @return Reports of all retained jobs, newest first.
+     */
+    List<BacktestReport> getBacktests();
+
+    /**
+     * Requests cancellation of a running backtest. Results gathered so far are kept.
+     *
+     * @param id The ID of the job.
+     * @return An Optional containing the report if the job is known, or empty otherwise.
+     */
+    Optional<BacktestReport> cancelBacktest(long id);
+}
@@ -0,0 +1,373 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.BacktestProperties;
+import com.loanrisk.dto.BacktestReport;
+import com.loanrisk.dto.BacktestRequest;
+import com.loanrisk.dto.BacktestRow;
+import com.loanrisk.dto.RuleHitRate;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.BatchEvaluator;
+import com.loanrisk.engine.ColumnarBatch;
+import com.loanrisk.engine.CompiledRule;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.RiskBandTable;
+import com.loanrisk.engine.RuleField;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.LoanApplicationRepository;
+import com.loanrisk.repository.RiskBandRepository;
+import com.loanrisk.repository.ScoringRuleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streams stored applications in keyset-paginated chunks of DTO projections and re-scores them
+ * on a pool of worker threads, one columnar {@link BatchEvaluator} pass per chunk. At most {@code maxChunksInFlight} chunks are held at once, so memory
+ * stays constant regardless of the number of rows; each worker tallies a chunk locally and merges
+ * the tally into the job once per chunk.
+ */
+@Service
+@Slf4j
+public class BacktestServiceImpl implements BacktestService, DisposableBean {
+
+    private static final LocalDateTime ALL_HISTORY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final LoanApplicationRepository loanApplicationRepository;
+    private final ScoringRuleRepository scoringRuleRepository;
+    private final RiskBandRepository riskBandRepository;
+    private final BacktestProperties properties;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(namedDaemonThreads("backtest-coordinator"));
+    private final ConcurrentNavigableMap<Long, BacktestJob> jobs = new ConcurrentSkipListMap<>();
+    private final AtomicLong jobIds = new AtomicLong();
+
+    public BacktestServiceImpl(LoanApplicationRepository loanApplicationRepository,
+                               ScoringRuleRepository scoringRuleRepository,
+                               RiskBandRepository riskBandRepository,
+                               BacktestProperties properties) {
+        this.loanApplicationRepository = loanApplicationRepository;
+        this.scoringRuleRepository = scoringRuleRepository;
+        this.riskBandRepository = riskBandRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public BacktestReport startBacktest(BacktestRequest request) {
+        List<ScoringRule> rules = scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc(request.getRuleset());
+        if (rules.isEmpty()) {
+            throw new IllegalArgumentException("Ruleset '" + request.getRuleset() + "' has no enabled rules");
+        }
+        CompiledRuleset ruleset = CompiledRuleset.compile(request.getRuleset(), rules,
+                riskBandRepository.findByRulesetOrderByMinScoreAsc(request.getRuleset()));
+        LocalDateTime from = request.getFrom() != null ? request.getFrom() : ALL_HISTORY;
+        LocalDateTime to = request.getTo() != null ? request.getTo() : LocalDateTime.now();
+
+        BacktestJob job = new BacktestJob(jobIds.incrementAndGet(), ruleset, from, to, properties.getScoreBucketWidth());
+        jobs.put(job.id, job);
+        pruneFinishedJobs();
+        coordinator.execute(() -> run(job));
+        log.info("Queued backtest {} of ruleset '{}' over applications created in [{}, {}).", job.id, ruleset.getName(), from, to);
+        job.warnings.forEach(warning -> log.warn("Backtest {}: {}", job.id, warning));
+        return job.toReport();
+    }
+
+    @Override
+    public Optional<BacktestReport> getBacktest(long id) {
+        return Optional.ofNullable(jobs.get(id)).map(BacktestJob::toReport);
+    }
+
+    @Override
+    public List<BacktestReport> getBacktests() {
+        List<BacktestReport> reports = new ArrayList<>();
+        jobs.descendingMap().values().forEach(job -> reports.add(job.toReport()));
+        return reports;
+    }
+
+    @Override
+    public Optional<BacktestReport> cancelBacktest(long id) {
+        BacktestJob job = jobs.get(id);
+        if (job == null) {
+            return Optional.empty();
+        }
+        job.cancelled = true;
+        return Optional.of(job.toReport());
+    }
+
+    private void run(BacktestJob job) {
+        if (job.cancelled) {
+            job.finish(BacktestReport.State.CANCELLED, null);
+            return;
+        }
+        job.start(loanApplicationRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(job.from, job.to));
+
+        int threads = properties.getThreads() > 0 ? properties.getThreads() : Runtime.getRuntime().availableProcessors();
+        ExecutorService workers = Executors.newFixedThreadPool(threads, namedDaemonThreads("backtest-" + job.id + "-worker"));
+        Semaphore chunksInFlight = new Semaphore(Math.max(1, properties.getMaxChunksInFlight()));
+        int chunkSize = Math.max(1, properties.getChunkSize());
+
+        try {
+            long afterId = 0;
+            while (!job.cancelled && job.error == null) {
+                List<BacktestRow> chunk = loanApplicationRepository.findBacktestChunk(afterId, job.from, job.to, Limit.of(chunkSize));
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                afterId = chunk.get(chunk.size() - 1).getApplicationId();
+
+                chunksInFlight.acquire(); // Back-pressure: never hold more than maxChunksInFlight chunks
+                workers.execute(() -> {
+                    try {
+                        if (!job.cancelled) {
+                            job.merge(scoreChunk(job, chunk));
+                        }
+                    } catch (Exception e) {
+                        log.error("Backtest {} failed while scoring a chunk: {}", job.id, e.getMessage(), e);
+                        job.error = e.getMessage();
+                    } finally {
+                        chunksInFlight.release();
+                    }
+                });
+
+                if (chunk.size() < chunkSize) {
+                    break; // Last chunk
+                }
+            }
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+
+            if (job.error != null) {
+                job.finish(BacktestReport.State.FAILED, job.error);
+            } else {
+                job.finish(job.cancelled ? BacktestReport.State.CANCELLED : BacktestReport.State.COMPLETED, null);
+            }
+            log.info("Backtest {} finished: {} of {} rows, state {}.", job.id, job.processed.get(), job.totalRows, job.state);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.finish(BacktestReport.State.CANCELLED, "Interrupted");
+        } catch (Exception e) {
+            log.error("Backtest {} failed: {}", job.id, e.getMessage(), e);
+            job.finish(BacktestReport.State.FAILED, e.getMessage());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private Tally scoreChunk(BacktestJob job, List<BacktestRow> chunk) {
+        Tally tally = new Tally(job.ruleset.size());
+        ColumnarBatch batch = job.batchEvaluator.newBatch(chunk.size());
+        for (BacktestRow row : chunk) {
+            batch.add(new CustomerInput(null, null, row.getCustomerName(), row.getAge(), row.getAnnualIncome(),
+                            row.getCreditScore(), row.getEmploymentStatus(), row.getExistingDebt()),
+                    new ApplicationInput(row.getLoanAmount(), row.getLoanPurpose(), row.getRequestedTermMonths()));
+        }
+        batch.seal();
+
+        int[] scores = new int[chunk.size()];
+        job.batchEvaluator.evaluate(batch, scores, tally.ruleHits);
+        for (int i = 0; i < scores.length; i++) {
+            tally.add(chunk.get(i), scores[i], job.ruleset.getBands(), job.bucketWidth);
+        }
+        return tally;
+    }
+
+    private void pruneFinishedJobs() {
+        for (BacktestJob job : jobs.values()) {
+            if (jobs.size() <= properties.getRetainedJobs()) {
+                return;
+            }
+            if (job.finishedAt != null) {
+                jobs.remove(job.id);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        jobs.values().forEach(job -> job.cancelled = true);
+        coordinator.shutdownNow();
+    }
+
+    private static ThreadFactory namedDaemonThreads(String prefix) {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Results of scoring some rows; merged into the job's running total.
+     */
+    private static final class Tally {
+        long rows;
+        long decisionChanges;
+        long storedScoreSum;
+        long storedScoreRows;
+        long proposedScoreSum;
+        final long[] ruleHits;
+        final Map<String, Long> transitions = new HashMap<>();
+        final Map<Integer, Long> storedHistogram = new HashMap<>();
+        final Map<Integer, Long> proposedHistogram = new HashMap<>();
+
+        Tally(int ruleCount) {
+            this.ruleHits = new long[ruleCount];
+        }
+
+        void add(BacktestRow row, int proposedScore, RiskBandTable bands, int bucketWidth) {
+            rows++;
+            proposedScoreSum += proposedScore;
+            proposedHistogram.merge(Math.floorDiv(proposedScore, bucketWidth) * bucketWidth, 1L, Long::sum);
+            if (row.getStoredRiskScore() != null) {
+                storedScoreRows++;
+                storedScoreSum += row.getStoredRiskScore();
+                storedHistogram.merge(Math.floorDiv(row.getStoredRiskScore(), bucketWidth) * bucketWidth, 1L, Long::sum);
+            }
+            String storedDecision = row.getStoredDecision() != null ? row.getStoredDecision() : "NONE";
+            String proposedDecision = bands.band(proposedScore).decisionName();
+            if (!storedDecision.equals(proposedDecision)) {
+                decisionChanges++;
+                transitions.merge(storedDecision + "->" + proposedDecision, 1L, Long::sum);
+            }
+        }
+
+        void merge(Tally other) {
+            rows += other.rows;
+            decisionChanges += other.decisionChanges;
+            storedScoreSum += other.storedScoreSum;
+            storedScoreRows += other.storedScoreRows;
+            proposedScoreSum += other.proposedScoreSum;
+            for (int i = 0; i < ruleHits.length; i++) {
+                ruleHits[i] += other.ruleHits[i];
+            }
+            other.transitions.forEach((k, v) -> transitions.merge(k, v, Long::sum));
+            other.storedHistogram.forEach((k, v) -> storedHistogram.merge(k, v, Long::sum));
+            other.proposedHistogram.forEach((k, v) -> proposedHistogram.merge(k, v, Long::sum));
+        }
+    }
+
+    /**
+     * Mutable state of one backtest. The running total is guarded by the job's monitor.
+     */
+    private static final class BacktestJob {
+        final long id;
+        final CompiledRuleset ruleset;
+        final BatchEvaluator batchEvaluator;
+        final LocalDateTime from;
+        final LocalDateTime to;
+        final int bucketWidth;
+        final AtomicLong processed = new AtomicLong();
+        final Tally total;
+        final List<List<String>> missingFields = new ArrayList<>(); // By rule index
+        final List<String> warnings = new ArrayList<>();
+
+        volatile boolean cancelled;
+        volatile BacktestReport.State state = BacktestReport.State.QUEUED;
+        volatile String error;
+        volatile long totalRows;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+
+        BacktestJob(long id, CompiledRuleset ruleset, LocalDateTime from, LocalDateTime to, int bucketWidth) {
+            this.id = id;
+            this.ruleset = ruleset;
+            this.batchEvaluator = new BatchEvaluator(ruleset);
+            this.from = from;
+            this.to = to;
+            this.bucketWidth = Math.max(1, bucketWidth);
+            this.total = new Tally(ruleset.size());
+
+            // Stored applications do not record the customer's exposure, so rules reading it are scored without it
+            List<String> exposureRules = new ArrayList<>();
+            for (CompiledRule rule : ruleset.getRules()) {
+                List<String> missing = rule.getFields().stream().filter(RuleField::isExposure).map(RuleField::getKey).sorted().toList();
+                missingFields.add(missing);
+                if (!missing.isEmpty()) {
+                    exposureRules.add("'" + rule.getName() + "'");
+                }
+            }
+            if (!exposureRules.isEmpty()) {
+                warnings.add("Rules " + String.join(", ", exposureRules) + " read the customer's exposure, which backtests have"
+                        + " no values for: they only match rows they match without it, so their hits understate them.");
+            }
+        }
+
+        void start(long totalRows) {
+            this.totalRows = totalRows;
+            this.startedAt = Instant.now();
+            this.state = BacktestReport.State.RUNNING;
+        }
+
+        void finish(BacktestReport.State finalState, String message) {
+            this.error = message;
+            this.finishedAt = Instant.now();
+            this.state = finalState;
+        }
+
+        synchronized void merge(Tally tally) {
+            total.merge(tally);
+            processed.addAndGet(tally.rows);
+        }
+
+        synchronized BacktestReport toReport() {
+            BacktestReport report = new BacktestReport();
+            report.setId(id);
+            report.setRuleset(ruleset.getName());
+            report.setFrom(from);
+            report.setTo(to);
+            report.setState(state);
+            report.setError(error);
+            report.setWarnings(List.copyOf(warnings));
+
+            long rows = processed.get();
+            report.setTotalRows(totalRows);
+            report.setProcessedRows(rows);
+            report.setProgressPercent(totalRows > 0 ? Math.min(100.0, 100.0 * rows / totalRows) : (finishedAt != null ? 100.0 : 0.0));
+            report.setStartedAt(startedAt);
+            report.setFinishedAt(finishedAt);
+            if (startedAt != null) {
+                long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+                report.setRowsPerSecond(millis > 0 ? rows * 1000.0 / millis : 0.0);
+            }
+
+            report.setDecisionChanges(total.decisionChanges);
+            report.setDecisionTransitions(new TreeMap<>(total.transitions));
+            report.setMeanStoredScore(total.storedScoreRows > 0 ? (double) total.storedScoreSum / total.storedScoreRows : 0.0);
+            report.setMeanProposedScore(rows > 0 ? (double) total.proposedScoreSum / rows : 0.0);
+            report.setScoreBucketWidth(bucketWidth);
+            report.setStoredScoreHistogram(new TreeMap<>(total.storedHistogram));
+            report.setProposedScoreHistogram(new TreeMap<>(total.proposedHistogram));
+
+            List<RuleHitRate> ruleHits = new ArrayList<>();
+            List<CompiledRule> rules = ruleset.getRules();
+            for (int i = 0; i < rules.size(); i++) {
+                CompiledRule rule = rules.get(i);
+                ruleHits.add(new RuleHitRate(rule.getId(), rule.getName(), total.ruleHits[i],
+                        rows > 0 ? (double) total.ruleHits[i] / rows : 0.0, missingFields.get(i)));
+            }
+            report.setRuleHits(ruleHits);
+            return report;
+        }
+    }
+}
@@ -0,0 +1,295 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.CustomerExposureProperties;
+import com.loanrisk.model.Decision;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Each customer's applications over a sliding window of {@code loanrisk.exposure.window-days}, kept in memory so
+ * the exposure fields of a new application cost no query: {@code recentApplications}, the customer's applications
+ * in the window, and {@code outstandingAmount}, the amount they requested except the declined ones.
+ * <p>
+ * Customers are spread over independently locked stripes, so only applications of customers in the same stripe
+ * contend. An application is {@link #reserve reserved} before it is scored: it sees every application reserved
+ * before it, including concurrent ones of the same customer that are not persisted yet, and stays counted until
+ * it is {@link #confirm confirmed} with its decision or {@link #release released} because it was not persisted.
+ * The window is rebuilt from {@code loan_application} at startup; if the database cannot be reached then, the
+ * exposure fields are missing until a later sweep rebuilds it.
+ */
+@Component
+@Slf4j
+public class CustomerExposureTracker implements SmartInitializingSingleton {
+
+    private static final String SELECT_RECENT = "SELECT customer_id, created_at, loan_amount, decision FROM loan_application "
+            + "WHERE created_at >= ? ORDER BY created_at";
+
+    /** A customer's exposure as seen by an application. */
+    public record Exposure(int recentApplications, BigDecimal outstandingAmount) {
+    }
+
+    /** An application counted in its customer's window until it is confirmed or released. */
+    public static final class Reservation {
+
+        private static final Reservation UNTRACKED = new Reservation(0, null, null);
+
+        private final long customerId;
+        private final Entry entry;
+        private final Exposure exposure;
+
+        private Reservation(long customerId, Entry entry, Exposure exposure) {
+            this.customerId = customerId;
+            this.entry = entry;
+            this.exposure = exposure;
+        }
+
+        /** The exposure before this application, or null if applications are not tracked. */
+        public Exposure exposure() {
+            return exposure;
+        }
+    }
+
+    private static final class Entry {
+
+        final long createdAt; // Epoch milliseconds
+        final long amountCents;
+        boolean outstanding; // Not declined
+        boolean counted = true; // Still in the window's totals
+
+        Entry(long createdAt, long amountCents, boolean outstanding) {
+            this.createdAt = createdAt;
+            this.amountCents = amountCents;
+            this.outstanding = outstanding;
+        }
+    }
+
+    /** One customer's applications, oldest first, with running totals. */
+    private static final class Window {
+
+        final ArrayDeque<Entry> entries = new ArrayDeque<>();
+        int count;
+        long outstandingCents;
+
+        void add(Entry entry) {
+            entries.addLast(entry);
+            count++;
+            if (entry.outstanding) {
+                outstandingCents += entry.amountCents;
+            }
+        }
+
+        void remove(Entry entry) {
+            if (entry.counted) {
+                entries.remove(entry);
+                uncount(entry);
+            }
+        }
+
+        void evictBefore(long cutoff) {
+            while (!entries.isEmpty() && entries.peekFirst().createdAt < cutoff) {
+                uncount(entries.pollFirst());
+            }
+        }
+
+        Exposure exposure() {
+            return new Exposure(count, BigDecimal.valueOf(outstandingCents, 2));
+        }
+
+        private void uncount(Entry entry) {
+            entry.counted = false;
+            count--;
+            if (entry.outstanding) {
+                outstandingCents -= entry.amountCents;
+            }
+        }
+    }
+
+    /** A partition of the customers; its map and windows are guarded by the stripe itself. */
+    private static final class Stripe {
+        final Map<Long, Window> windows = new HashMap<>();
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean enabled;
+    private final long windowMillis;
+    private final Stripe[] stripes;
+    private volatile boolean loaded; // The window was rebuilt from the database
+
+    public CustomerExposureTracker(JdbcTemplate jdbcTemplate, CustomerExposureProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.enabled = properties.isEnabled();
+        this.windowMillis = TimeUnit.DAYS.toMillis(properties.getWindowDays());
+        int stripeCount = Integer.highestOneBit(Math.max(1, properties.getStripes() * 2 - 1)); // Next power of two
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    /** Rebuilds the window once every bean is created, so before the instance serves applications. */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (enabled) {
+            tryRebuild(System.currentTimeMillis());
+        }
+    }
+
+    /**
+     * Counts an application of the customer, created now, and returns the exposure it sees.
+     * The caller must {@link #confirm} or {@link #release} the reservation.
+     */
+    public Reservation reserve(long customerId, BigDecimal loanAmount, long nowMillis) {
+        if (!enabled || !loaded) {
+            return Reservation.UNTRACKED;
+        }
+        Stripe stripe = stripe(customerId);
+        synchronized (stripe) {
+            Window window = stripe.windows.computeIfAbsent(customerId, id -> new Window());
+            window.evictBefore(nowMillis - windowMillis);
+            Exposure exposure = window.exposure();
+            Entry entry = new Entry(nowMillis, cents(loanAmount), true);
+            window.add(entry);
+            return new Reservation(customerId, entry, exposure);
+        }
+    }
+
+    /** Records the decision of a persisted application; a declined one no longer counts as outstanding. */
+    public void confirm(Reservation reservation, String decision) {
+        Entry entry = reservation.entry;
+        if (entry == null || !Decision.DECLINED.name().equals(decision)) {
+            return;
+        }
+        Stripe stripe = stripe(reservation.customerId);
+        synchronized (stripe) {
+            if (entry.counted && entry.outstanding) {
+                stripe.windows.get(reservation.customerId).outstandingCents -= entry.amountCents;
+            }
+            entry.outstanding = false;
+        }
+    }
+
+    /** Stops counting an application that was not persisted. */
+    public void release(Reservation reservation) {
+        if (reservation.entry == null) {
+            return;
+        }
+        Stripe stripe = stripe(reservation.customerId);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(reservation.customerId);
+            if (window != null) {
+                window.remove(reservation.entry);
+                if (window.entries.isEmpty()) {
+                    stripe.windows.remove(reservation.customerId);
+                }
+            }
+        }
+    }
+
+    /** The customer's current exposure, without counting an application, or null if applications are not tracked. */
+    public Exposure current(long customerId, long nowMillis) {
+        if (!enabled || !loaded) {
+            return null;
+        }
+        Stripe stripe = stripe(customerId);
+        synchronized (stripe) {
+            Window window = stripe.windows.get(customerId);
+            if (window == null) {
+                return new Exposure(0, BigDecimal.ZERO.setScale(2));
+            }
+            window.evictBefore(nowMillis - windowMillis);
+            return window.exposure();
+        }
+    }
+
+    /**
+     * Drops applications that left the window and customers left without any, so memory follows the number of
+     * customers who applied within the window. Retries the rebuild if it failed at startup.
+     */
+    @Scheduled(fixedDelayString = "${loanrisk.exposure.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        if (!loaded) {
+            tryRebuild(now);
+            return;
+        }
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.windows.values().removeIf(window -> {
+                    window.evictBefore(now - windowMillis);
+                    return window.entries.isEmpty();
+                });
+            }
+        }
+    }
+
+    /**
+     * Replaces the window with the applications stored in the last {@code window-days}.
+     * Applications persisted while it runs may be missed, so it runs before the instance serves any.
+     */
+    void rebuild(long nowMillis) {
+        long start = System.nanoTime();
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                stripe.windows.clear();
+            }
+        }
+        int[] applications = {0};
+        jdbcTemplate.query(SELECT_RECENT, resultSet -> {
+            long customerId = resultSet.getLong(1);
+            Entry entry = new Entry(resultSet.getTimestamp(2).getTime(), cents(resultSet.getBigDecimal(3)),
+                    !Decision.DECLINED.name().equals(resultSet.getString(4)));
+            Stripe stripe = stripe(customerId);
+            synchronized (stripe) {
+                stripe.windows.computeIfAbsent(customerId, id -> new Window()).add(entry);
+            }
+            applications[0]++;
+        }, new Timestamp(nowMillis - windowMillis));
+        loaded = true;
+        log.info("Rebuilt the exposure of {} customers from {} applications in {} ms.", customers(), applications[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /** Customers with applications in the window. */
+    public int customers() {
+        int customers = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                customers += stripe.windows.size();
+            }
+        }
+        return customers;
+    }
+
+    private void tryRebuild(long nowMillis) {
+        try {
+            rebuild(nowMillis);
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Cannot rebuild customer exposure ({}); exposure fields are missing until it can.", e.getMessage());
+        }
+    }
+
+    private Stripe stripe(long customerId) {
+        int hash = Long.hashCode(customerId);
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount != null ? amount.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue() : 0;
+    }
+}
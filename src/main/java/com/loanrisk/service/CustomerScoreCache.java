@@ -0,0 +1,59 @@
+package com.loanrisk.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loanrisk.config.CustomerScoreCacheProperties;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.CustomerPartialScore;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the outcome of the customer-only rules per (customer id, customer version, ruleset version),
+ * so repeat applications from a customer only evaluate the rules that read the application.
+ * <p>
+ * Entries never go stale: updating a customer through JPA bumps its version, and recompiling the rules
+ * produces a new ruleset version, so either change leads to a different key. Entries for old keys
+ * are simply no longer read and age out of the bounded cache.
+ */
+@Component
+public class CustomerScoreCache {
+
+    private record Key(long customerId, long customerVersion, long rulesetVersion) {
+    }
+
+    private final boolean enabled;
+    private final Cache<Key, CustomerPartialScore> cache;
+
+    public CustomerScoreCache(CustomerScoreCacheProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "customerPartialScores");
+    }
+
+    /**
+     * Returns the customer's partial score under the given ruleset, evaluating it on a miss.
+     * Customers without an id or version (not loaded through JPA) are always evaluated.
+     */
+    public CustomerPartialScore get(CompiledRuleset ruleset, CustomerInput customer) {
+        if (!enabled || customer.id() == null || customer.version() == null) {
+            return ruleset.evaluateCustomer(customer);
+        }
+        Key key = new Key(customer.id(), customer.version(), ruleset.getVersion());
+        return cache.get(key, k -> ruleset.evaluateCustomer(customer));
+    }
+
+    /** Drops every entry, e.g. after the rules changed and the old entries can no longer be hit. */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+}
@@ -1,8 +1,10 @@
 package com.loanrisk.service;
 
+import com.loanrisk.dto.CustomerSearchCriteria;
 import com.loanrisk.model.Customer;
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface CustomerService {
 
@@ -21,4 +23,13 @@ public interface CustomerService {
      * @return An Optional containing the customer if found, or empty otherwise.
      */
     Optional<Customer> getCustomerById(Long id);
-}
\ No newline at end of file
+
+    /**
+     * Searches customers one keyset page at a time, passing each to the consumer as it is read.
+     *
+     * @param criteria The filters, order, page size and the position after which the page starts.
+     * @param consumer Receives the customers of the page in order.
+     * @return The number of customers in the page; fewer than the limit on the last page.
+     */
+    int searchCustomers(CustomerSearchCriteria criteria, Consumer<Customer> consumer);
+}
@@ -1,11 +1,13 @@
 package com.loanrisk.service;
 
+import com.loanrisk.dto.CustomerSearchCriteria;
 import com.loanrisk.model.Customer;
 import com.loanrisk.repository.CustomerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional; // Added for potential future complexity
 
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class CustomerServiceImpl implements CustomerService {
@@ -29,4 +31,10 @@ public class CustomerServiceImpl implements CustomerService {
     public Optional<Customer> getCustomerById(Long id) {
         return customerRepository.findById(id);
     }
-}
\ No newline at end of file
+
+    @Override
+    @Transactional(readOnly = true)
+    public int searchCustomers(CustomerSearchCriteria criteria, Consumer<Customer> consumer) {
+        return customerRepository.search(criteria, consumer);
+    }
+}
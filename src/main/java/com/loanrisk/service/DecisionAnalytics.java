@@ -0,0 +1,288 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.AnalyticsProperties;
+import com.loanrisk.dto.DecisionAnalyticsRow;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.LoanApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decision volume, outcomes and scores by day, risk level and loan purpose, maintained incrementally instead of
+ * grouping {@code loan_application} for every report.
+ * <p>
+ * Each persisted decision increments in-memory counters of its (day, risk level, loan purpose) cell, locking only
+ * that cell's hash bin. Every {@code flush-interval-ms} the counts gathered since the last flush are added to the
+ * matching rows of {@code decision_summary} with one batched {@code MERGE}; increments from several instances add up.
+ * Reports read the summary rows of the requested days plus the counts not flushed yet, so their cost depends on
+ * the number of days, levels and purposes, not on the number of applications. {@link #rebuild} recomputes the
+ * table from {@code loan_application} in one streaming pass.
+ */
+@Component
+@Slf4j
+public class DecisionAnalytics {
+
+    /** Dimensions a report can be grouped by; the others are summed over. */
+    public enum Dimension {
+        DAY, RISK_LEVEL, LOAN_PURPOSE
+    }
+
+    private static final String SELECT_RANGE = "SELECT decision_date, risk_level, loan_purpose, applications, approved, "
+            + "manual_review, declined, score_sum FROM decision_summary WHERE decision_date >= ? AND decision_date <= ?";
+    private static final String MERGE = "MERGE INTO decision_summary t USING (VALUES (CAST(? AS DATE), CAST(? AS VARCHAR(255)), "
+            + "CAST(? AS VARCHAR(255)), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT), CAST(? AS BIGINT))) "
+            + "AS s (decision_date, risk_level, loan_purpose, applications, approved, manual_review, declined, score_sum) "
+            + "ON t.decision_date = s.decision_date AND t.risk_level = s.risk_level AND t.loan_purpose = s.loan_purpose "
+            + "WHEN MATCHED THEN UPDATE SET applications = t.applications + s.applications, approved = t.approved + s.approved, "
+            + "manual_review = t.manual_review + s.manual_review, declined = t.declined + s.declined, "
+            + "score_sum = t.score_sum + s.score_sum "
+            + "WHEN NOT MATCHED THEN INSERT (decision_date, risk_level, loan_purpose, applications, approved, manual_review, "
+            + "declined, score_sum) VALUES (s.decision_date, s.risk_level, s.loan_purpose, s.applications, s.approved, "
+            + "s.manual_review, s.declined, s.score_sum)";
+    private static final String SELECT_APPLICATIONS = "SELECT created_at, risk_level, loan_purpose, decision, risk_score FROM loan_application";
+    private static final String DELETE_ALL = "DELETE FROM decision_summary";
+    private static final String INSERT = "INSERT INTO decision_summary (decision_date, risk_level, loan_purpose, applications, "
+            + "approved, manual_review, declined, score_sum) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /** A summary cell. Risk level and purpose are normalized and never null, so they compare in SQL too. */
+    record Key(LocalDate day, String riskLevel, String loanPurpose) {
+
+        static Key of(LocalDate day, String riskLevel, String loanPurpose) {
+            return new Key(day, riskLevel != null ? riskLevel : "",
+                    loanPurpose != null ? loanPurpose.trim().toLowerCase(Locale.ROOT) : "");
+        }
+    }
+
+    /** Counts of one cell; drained by subtracting what was read, so increments made meanwhile are not lost. */
+    private static final class Counts {
+
+        final LongAdder applications = new LongAdder();
+        final LongAdder approved = new LongAdder();
+        final LongAdder manualReview = new LongAdder();
+        final LongAdder declined = new LongAdder();
+        final LongAdder scoreSum = new LongAdder();
+
+        void record(String decision, Integer riskScore) {
+            applications.increment();
+            if (Decision.APPROVED.name().equals(decision)) {
+                approved.increment();
+            } else if (Decision.MANUAL_REVIEW.name().equals(decision)) {
+                manualReview.increment();
+            } else if (Decision.DECLINED.name().equals(decision)) {
+                declined.increment();
+            }
+            if (riskScore != null) {
+                scoreSum.add(riskScore);
+            }
+        }
+
+        void add(long[] totals) {
+            applications.add(totals[0]);
+            approved.add(totals[1]);
+            manualReview.add(totals[2]);
+            declined.add(totals[3]);
+            scoreSum.add(totals[4]);
+        }
+
+        boolean isEmpty() {
+            return applications.sum() == 0 && approved.sum() == 0 && manualReview.sum() == 0 && declined.sum() == 0
+                    && scoreSum.sum() == 0;
+        }
+
+        long[] sum() {
+            return new long[] {applications.sum(), approved.sum(), manualReview.sum(), declined.sum(), scoreSum.sum()};
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final AnalyticsProperties properties;
+    private final Map<Key, Counts> pending = new ConcurrentHashMap<>(); // Not flushed yet
+
+    private boolean failing; // The last flush could not reach the database
+
+    public DecisionAnalytics(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, AnalyticsProperties properties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+    }
+
+    /** Counts a persisted application's decision. */
+    public void record(LoanApplication application) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Key key = Key.of(application.getCreatedAt().toLocalDate(), application.getRiskLevel(), application.getLoanPurpose());
+        String decision = application.getDecision();
+        Integer riskScore = application.getRiskScore();
+        pending.compute(key, (k, counts) -> { // Atomic with removing a drained cell, so no increment lands in a removed one
+            Counts cell = counts != null ? counts : new Counts();
+            cell.record(decision, riskScore);
+            return cell;
+        });
+    }
+
+    /**
+     * Adds the counts gathered since the last flush to the summary table in one transaction. If it fails they are
+     * kept for the next flush; the failure is logged once until a flush succeeds.
+     */
+    @Scheduled(fixedDelayString = "${loanrisk.analytics.flush-interval-ms:10000}")
+    public synchronized void flush() {
+        Map<Key, long[]> deltas = new HashMap<>();
+        pending.forEach((key, counts) -> {
+            if (!counts.isEmpty()) {
+                long[] totals = counts.sum();
+                counts.add(negate(totals)); // Increments made meanwhile stay for the next flush
+                deltas.put(key, totals);
+            }
+        });
+        for (Key key : pending.keySet()) { // Drained cells; the next decision of a cell adds it again
+            pending.computeIfPresent(key, (k, counts) -> counts.isEmpty() ? null : counts);
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+        try {
+            List<Map.Entry<Key, long[]>> rows = new ArrayList<>(deltas.entrySet());
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(MERGE, rows, rows.size(), (statement, row) -> bind(statement, row.getKey(), row.getValue())));
+            if (failing) {
+                failing = false;
+                log.info("Decision analytics can be flushed again.");
+            }
+        } catch (DataAccessException | TransactionException e) {
+            deltas.forEach((key, totals) -> pending.computeIfAbsent(key, k -> new Counts()).add(totals));
+            if (!failing) {
+                failing = true;
+                log.warn("Cannot flush decision analytics ({}); counts are kept until a flush succeeds.", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Decision volume and outcomes of the applications created from {@code from} to {@code to} (both included),
+     * grouped by the given dimensions, including counts not flushed yet.
+     */
+    public synchronized List<DecisionAnalyticsRow> report(LocalDate from, LocalDate to, Set<Dimension> groupBy) {
+        Map<Key, long[]> cells = new HashMap<>();
+        jdbcTemplate.query(SELECT_RANGE, resultSet -> {
+            Key key = new Key(resultSet.getDate(1).toLocalDate(), resultSet.getString(2), resultSet.getString(3));
+            cells.merge(key, new long[] {resultSet.getLong(4), resultSet.getLong(5), resultSet.getLong(6),
+                    resultSet.getLong(7), resultSet.getLong(8)}, DecisionAnalytics::plus);
+        }, Date.valueOf(from), Date.valueOf(to));
+        pending.forEach((key, counts) -> {
+            if (!key.day().isBefore(from) && !key.day().isAfter(to)) {
+                cells.merge(key, counts.sum(), DecisionAnalytics::plus);
+            }
+        });
+
+        Map<Key, long[]> groups = new HashMap<>();
+        cells.forEach((key, totals) -> groups.merge(new Key(
+                groupBy.contains(Dimension.DAY) ? key.day() : null,
+                groupBy.contains(Dimension.RISK_LEVEL) ? key.riskLevel() : null,
+                groupBy.contains(Dimension.LOAN_PURPOSE) ? key.loanPurpose() : null), totals, DecisionAnalytics::plus));
+        return groups.entrySet().stream()
+                .filter(group -> group.getValue()[0] > 0)
+                .map(group -> row(group.getKey(), group.getValue()))
+                .sorted(Comparator.comparing(DecisionAnalyticsRow::getDay, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(DecisionAnalyticsRow::getRiskLevel, Comparator.nullsFirst(Comparator.naturalOrder()))
+                        .thenComparing(DecisionAnalyticsRow::getLoanPurpose, Comparator.nullsFirst(Comparator.naturalOrder())))
+                .toList();
+    }
+
+    /**
+     * Replaces the summary table with counts recomputed from every stored application, read in one streaming pass,
+     * in one transaction. Counts of running instances not flushed yet are counted twice once flushed, so the
+     * summary should be rebuilt while no instance serves applications. Returns the number of applications read.
+     */
+    public synchronized long rebuild() {
+        long start = System.nanoTime();
+        long[] applications = {0};
+        Map<Key, long[]> cells = new HashMap<>();
+        transactionTemplate.executeWithoutResult(status -> { // A cursor needs a transaction on PostgreSQL
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(SELECT_APPLICATIONS,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                statement.setFetchSize(properties.getRebuildFetchSize());
+                return statement;
+            }, resultSet -> {
+                String decision = resultSet.getString(4);
+                long[] totals = cells.computeIfAbsent(Key.of(resultSet.getTimestamp(1).toLocalDateTime().toLocalDate(),
+                        resultSet.getString(2), resultSet.getString(3)), k -> new long[5]);
+                totals[0]++;
+                totals[1] += Decision.APPROVED.name().equals(decision) ? 1 : 0;
+                totals[2] += Decision.MANUAL_REVIEW.name().equals(decision) ? 1 : 0;
+                totals[3] += Decision.DECLINED.name().equals(decision) ? 1 : 0;
+                totals[4] += resultSet.getInt(5); // 0 when missing
+                applications[0]++;
+            });
+            List<Map.Entry<Key, long[]>> rows = new ArrayList<>(cells.entrySet());
+            jdbcTemplate.update(DELETE_ALL);
+            jdbcTemplate.batchUpdate(INSERT, rows, 1000, (statement, row) -> bind(statement, row.getKey(), row.getValue()));
+        });
+        pending.clear(); // Counted by the scan
+        log.info("Rebuilt {} decision summary rows from {} applications in {} ms.", cells.size(), applications[0],
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return applications[0];
+    }
+
+    private static void bind(PreparedStatement statement, Key key, long[] totals) throws SQLException {
+        statement.setDate(1, Date.valueOf(key.day()));
+        statement.setString(2, key.riskLevel());
+        statement.setString(3, key.loanPurpose());
+        for (int i = 0; i < totals.length; i++) {
+            statement.setLong(4 + i, totals[i]);
+        }
+    }
+
+    private static DecisionAnalyticsRow row(Key key, long[] totals) {
+        DecisionAnalyticsRow row = new DecisionAnalyticsRow();
+        row.setDay(key.day());
+        row.setRiskLevel(key.riskLevel() == null || key.riskLevel().isEmpty() ? null : key.riskLevel());
+        row.setLoanPurpose(key.loanPurpose() == null || key.loanPurpose().isEmpty() ? null : key.loanPurpose());
+        row.setApplications(totals[0]);
+        row.setApproved(totals[1]);
+        row.setManualReview(totals[2]);
+        row.setDeclined(totals[3]);
+        row.setApprovalRate((double) totals[1] / totals[0]);
+        row.setAverageScore((double) totals[4] / totals[0]);
+        return row;
+    }
+
+    private static long[] plus(long[] a, long[] b) {
+        long[] sum = new long[a.length];
+        for (int i = 0; i < a.length; i++) {
+            sum[i] = a[i] + b[i];
+        }
+        return sum;
+    }
+
+    private static long[] negate(long[] totals) {
+        long[] negated = new long[totals.length];
+        for (int i = 0; i < totals.length; i++) {
+            negated[i] = -totals[i];
+        }
+        return negated;
+    }
+}
@@ -0,0 +1,80 @@
+package com.loanrisk.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.loanrisk.config.DecisionCacheProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.FeatureQuantizer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Caches complete live decisions by the {@link FeatureQuantizer quantized features} of the application plus the
+ * ruleset version, so applications the rules cannot tell apart (same credit band, same purpose, ratios on the same
+ * side of every threshold) are evaluated once.
+ * <p>
+ * A result is never served under another ruleset: the ruleset version is part of every key, so entries of an old
+ * ruleset can no longer be hit, and they are dropped when the live ruleset is recompiled.
+ */
+@Component
+public class DecisionCache {
+
+    private final DecisionCacheProperties properties;
+    private final Cache<FeatureQuantizer.Key, ScoringResult> cache;
+    private volatile FeatureQuantizer quantizer; // Of the live ruleset last seen
+
+    public DecisionCache(DecisionCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxSize())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "decisions");
+    }
+
+    /** The key of an application under the ruleset, or null if the cache is disabled. */
+    public FeatureQuantizer.Key key(CompiledRuleset ruleset, ApplicationInput application, CustomerInput customer) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        FeatureQuantizer current = quantizer;
+        if (current == null || current.getRulesetVersion() != ruleset.getVersion()) {
+            current = FeatureQuantizer.of(ruleset);
+            quantizer = current;
+        }
+        return current.key(customer, application);
+    }
+
+    /** A copy of the cached result for the key, or null on a miss. */
+    public ScoringResult get(FeatureQuantizer.Key key) {
+        ScoringResult cached = cache.getIfPresent(key);
+        return cached != null ? copy(cached) : null; // Results are mutable; callers must not share one
+    }
+
+    /** Caches a complete result; partial ones only cover the rules that were evaluated and are ignored. */
+    public void put(FeatureQuantizer.Key key, ScoringResult result) {
+        if (!result.isPartial()) {
+            cache.put(key, copy(result));
+        }
+    }
+
+    /** Drops every entry, e.g. after the rules changed and the old entries can no longer be hit. */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    private static ScoringResult copy(ScoringResult result) {
+        return new ScoringResult(result.getRiskScore(), result.getRiskLevel(), result.getDecision(),
+                result.getExplanation() != null ? List.copyOf(result.getExplanation()) : null, false);
+    }
+}
@@ -0,0 +1,23 @@
+package com.loanrisk.service;
+
+import com.loanrisk.dto.DecisionEvent;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Where the outbox relay delivers decision events. Declare a bean of this type to replace the default,
+ * {@link FileDecisionSink}, e.g. with a message broker producer.
+ * <p>
+ * Delivery is at least once: a batch whose delivery succeeded is delivered again if deleting it from the outbox
+ * fails, so consumers should deduplicate by {@link DecisionEvent#getLoanId() loan id}.
+ */
+public interface DecisionSink {
+
+    /**
+     * Delivers a batch of events, oldest first; returns only once they are durably handed over.
+     *
+     * @throws IOException If the batch was not delivered; it stays in the outbox and is retried.
+     */
+    void deliver(List<DecisionEvent> events) throws IOException;
+}
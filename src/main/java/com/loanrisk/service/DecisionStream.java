@@ -0,0 +1,250 @@
+package com.loanrisk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.config.DecisionStreamProperties;
+import com.loanrisk.config.DecisionStreamProperties.OverflowPolicy;
+import com.loanrisk.dto.DecisionEvent;
+import com.loanrisk.model.LoanApplication;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pushes every persisted decision to the subscribers of {@code GET /loan/stream} as server-sent events.
+ * <p>
+ * The apply path only offers the decision to each matching subscriber's bounded buffer, which never blocks:
+ * writing to subscribers happens on sender threads, at most one per subscriber at a time. When a buffer is full
+ * the {@link OverflowPolicy overflow policy} drops the oldest decision or disconnects the subscriber, so a slow
+ * client costs neither latency on {@code POST /loan/apply} nor more than {@code buffer-size} decisions of heap.
+ * Dropped decisions are announced to the subscriber with a {@code dropped} event carrying their number.
+ */
+@Component
+@Slf4j
+public class DecisionStream implements DisposableBean {
+
+    /** Which decisions a subscriber receives; an empty set accepts every value. */
+    public record Filter(Set<String> decisions, Set<String> riskLevels) {
+
+        public static final Filter ALL = new Filter(Set.of(), Set.of());
+
+        boolean accepts(String decision, String riskLevel) {
+            return (decisions.isEmpty() || decisions.contains(decision))
+                    && (riskLevels.isEmpty() || riskLevels.contains(riskLevel));
+        }
+    }
+
+    /** A published decision, serialized at most once however many subscribers receive it. */
+    private final class Event {
+
+        final DecisionEvent decision;
+        private volatile String json;
+
+        Event(DecisionEvent decision) {
+            this.decision = decision;
+        }
+
+        String json() throws IOException {
+            String serialized = json;
+            if (serialized == null) {
+                serialized = objectMapper.writeValueAsString(decision); // Racing senders may both serialize; harmless
+                json = serialized;
+            }
+            return serialized;
+        }
+    }
+
+    private static final class Subscriber {
+
+        final SseEmitter emitter;
+        final Filter filter;
+        final ArrayBlockingQueue<Event> buffer;
+        final AtomicBoolean sending = new AtomicBoolean(); // A sender thread owns the emitter
+        final AtomicLong dropped = new AtomicLong(); // Not announced yet
+        volatile boolean closed; // The emitter is to be completed, or already was
+        volatile boolean heartbeatDue;
+
+        Subscriber(SseEmitter emitter, Filter filter, int bufferSize) {
+            this.emitter = emitter;
+            this.filter = filter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        boolean hasWork() {
+            return closed || heartbeatDue || dropped.get() > 0 || !buffer.isEmpty();
+        }
+    }
+
+    private final DecisionStreamProperties properties;
+    private final ObjectMapper objectMapper;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final ExecutorService senders;
+    private final Counter droppedDecisions;
+    private final Counter overflowDisconnects;
+
+    public DecisionStream(DecisionStreamProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senders = Executors.newCachedThreadPool(runnable -> { // Threads only while subscribers are written to
+            Thread thread = new Thread(runnable, "decision-stream-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("loanrisk.decision.stream.subscribers", subscribers, List::size)
+                .description("Open subscriptions to GET /loan/stream")
+                .register(meterRegistry);
+        this.droppedDecisions = Counter.builder("loanrisk.decision.stream.dropped")
+                .description("Decisions not delivered to a subscriber because its buffer was full")
+                .register(meterRegistry);
+        this.overflowDisconnects = Counter.builder("loanrisk.decision.stream.disconnects")
+                .description("Subscribers disconnected because their buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a subscription to the decisions the filter accepts.
+     *
+     * @throws IllegalStateException If the stream is disabled or has {@code max-subscribers} already.
+     */
+    public SseEmitter subscribe(Filter filter) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("The decision stream is disabled");
+        }
+        SseEmitter emitter = new SseEmitter(properties.getTimeoutMs());
+        register(emitter, filter);
+        return emitter;
+    }
+
+    /** Adds a subscriber writing to the emitter. */
+    synchronized void register(SseEmitter emitter, Filter filter) {
+        if (subscribers.size() >= properties.getMaxSubscribers()) {
+            throw new IllegalStateException("The decision stream has " + subscribers.size() + " subscribers already");
+        }
+        Subscriber subscriber = new Subscriber(emitter, filter, Math.max(1, properties.getBufferSize()));
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        subscribers.add(subscriber);
+        log.debug("Decision stream subscriber added ({} open).", subscribers.size());
+    }
+
+    /** Offers a persisted application's decision to every matching subscriber, without waiting for any of them. */
+    public void publish(LoanApplication application, Long customerId) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        Event event = null;
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.closed && subscriber.filter.accepts(application.getDecision(), application.getRiskLevel())) {
+                if (event == null) {
+                    event = new Event(new DecisionEvent(application.getId(), customerId, application.getRiskScore(),
+                            application.getRiskLevel(), application.getDecision(), application.getCreatedAt()));
+                }
+                offer(subscriber, event);
+            }
+        }
+    }
+
+    /** Open subscriptions. */
+    public int subscribers() {
+        return subscribers.size();
+    }
+
+    /** Sends idle subscribers a comment; a client that went away is noticed when it fails. */
+    @Scheduled(fixedDelayString = "${loanrisk.decision-stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            schedule(subscriber);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter.complete();
+        }
+        senders.shutdownNow();
+    }
+
+    private void offer(Subscriber subscriber, Event event) {
+        while (!subscriber.buffer.offer(event)) {
+            if (properties.getOverflowPolicy() == OverflowPolicy.DISCONNECT) {
+                droppedDecisions.increment();
+                overflowDisconnects.increment();
+                remove(subscriber); // Its sender completes the emitter
+                log.debug("Disconnected a decision stream subscriber whose buffer was full.");
+                break;
+            }
+            if (subscriber.buffer.poll() != null) { // Make room; other publishers may be doing so too
+                subscriber.dropped.incrementAndGet();
+                droppedDecisions.increment();
+            }
+        }
+        schedule(subscriber);
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> send(subscriber));
+        }
+    }
+
+    /** Writes the subscriber's buffer until it is empty; only one thread at a time does so for a subscriber. */
+    private void send(Subscriber subscriber) {
+        SseEmitter emitter = subscriber.emitter;
+        try {
+            do {
+                if (subscriber.closed) {
+                    subscriber.buffer.clear();
+                    emitter.complete();
+                    return; // Stays marked as sending, so it is never scheduled again
+                }
+                long dropped = subscriber.dropped.getAndSet(0);
+                if (dropped > 0) {
+                    emitter.send(SseEmitter.event().name("dropped").data(dropped));
+                }
+                Event event;
+                while (!subscriber.closed && (event = subscriber.buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event()
+                            .id(String.valueOf(event.decision.getLoanId()))
+                            .name("decision")
+                            .data(event.json(), MediaType.APPLICATION_JSON));
+                    subscriber.heartbeatDue = false; // It just heard from us
+                }
+                if (subscriber.heartbeatDue) {
+                    subscriber.heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                subscriber.sending.set(false);
+            } while (subscriber.hasWork() && subscriber.sending.compareAndSet(false, true)); // Published meanwhile
+        } catch (IOException | IllegalStateException e) {
+            // The client went away, or the emitter completed or timed out
+            remove(subscriber);
+            log.debug("Decision stream subscriber gone: {}", e.getMessage());
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscriber.closed = true;
+        subscribers.remove(subscriber);
+    }
+}
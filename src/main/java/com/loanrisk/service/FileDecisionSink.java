@@ -0,0 +1,74 @@
+package com.loanrisk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.dto.DecisionEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * The default {@link DecisionSink}: appends each event as one line of JSON to a local file. Each batch is forced
+ * to the storage device before it counts as delivered, since the relay then deletes it from the outbox; a batch
+ * that fails half-way is cut off again, so the file only ever holds whole lines.
+ */
+@Slf4j
+public class FileDecisionSink implements DecisionSink, Closeable {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+    private final ByteArrayOutputStream batch = new ByteArrayOutputStream();
+    private FileChannel channel; // Opened on the first batch
+
+    public FileDecisionSink(Path file, ObjectMapper objectMapper) {
+        this.file = file;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void deliver(List<DecisionEvent> events) throws IOException {
+        if (channel == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            log.info("Delivering decision events to {}.", file.toAbsolutePath());
+        }
+        batch.reset();
+        for (DecisionEvent event : events) {
+            objectMapper.writeValue(batch, event);
+            batch.write('\n');
+        }
+        long size = channel.size();
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(batch.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false); // Durable before the relay deletes the batch from the outbox
+        } catch (IOException e) {
+            try {
+                channel.truncate(size); // Drop a partly written batch; it is written again on retry
+            } catch (IOException truncateFailure) {
+                e.addSuppressed(truncateFailure);
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.OutboxProperties;
+import com.loanrisk.dto.DecisionEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delivers the decision events of the {@code decision_outbox} table to the {@link DecisionSink}, in batches:
+ * each transaction claims the oldest {@code batch-size} events with {@code FOR UPDATE SKIP LOCKED}, delivers them
+ * and deletes them with one JDBC batch. Events claimed by another transaction are skipped rather than waited for,
+ * so every instance can relay at once without delivering an event twice. A batch the sink rejects is rolled
+ * back and retried on the next poll.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private static final String CLAIM_BATCH = "SELECT id, loan_application_id, customer_id, risk_score, risk_level, "
+            + "decision, created_at FROM decision_outbox ORDER BY id LIMIT ? FOR UPDATE SKIP LOCKED";
+    private static final String DELETE = "DELETE FROM decision_outbox WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DecisionSink sink;
+    private final OutboxProperties properties;
+    private final Counter delivered;
+    private final Counter failures;
+
+    private boolean failing; // The last batch could not be relayed
+
+    public OutboxRelay(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate, DecisionSink sink,
+                       OutboxProperties properties, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.sink = sink;
+        this.properties = properties;
+        this.delivered = Counter.builder("loanrisk.outbox.delivered")
+                .description("Decision events delivered to the sink and deleted from the outbox")
+                .register(meterRegistry);
+        this.failures = Counter.builder("loanrisk.outbox.failures")
+                .description("Outbox batches rolled back because the sink or the database failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Relays batches until one is not full, so a backlog is drained without waiting for the next poll.
+     * A failure is logged once until a batch is relayed again; its events stay in the outbox.
+     */
+    @Scheduled(fixedDelayString = "${loanrisk.outbox.poll-interval-ms:200}")
+    public synchronized void relay() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int batchSize = Math.max(1, properties.getBatchSize());
+            while (relayBatch() == batchSize) {
+                // More may be waiting
+            }
+            if (failing) {
+                failing = false;
+                log.info("Decision events are relayed again.");
+            }
+        } catch (RuntimeException e) { // Database or sink; the transaction was rolled back
+            failures.increment();
+            if (!failing) {
+                failing = true;
+                log.warn("Cannot relay decision events ({}); retrying every poll.", e.getMessage());
+            }
+        }
+    }
+
+    /** Claims, delivers and deletes one batch of the oldest events in one transaction; returns their number. */
+    public int relayBatch() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        Integer relayed = transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>(batchSize);
+            List<DecisionEvent> events = new ArrayList<>(batchSize);
+            jdbcTemplate.query(CLAIM_BATCH, resultSet -> {
+                ids.add(resultSet.getLong(1));
+                Timestamp createdAt = resultSet.getTimestamp(7);
+                events.add(new DecisionEvent(resultSet.getLong(2), resultSet.getObject(3, Long.class),
+                        resultSet.getObject(4, Integer.class), resultSet.getString(5), resultSet.getString(6),
+                        createdAt != null ? createdAt.toLocalDateTime() : null));
+            }, batchSize);
+            if (events.isEmpty()) {
+                return 0;
+            }
+            try {
+                sink.deliver(events);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            jdbcTemplate.batchUpdate(DELETE, ids, ids.size(), (statement, id) -> statement.setLong(1, id));
+            return events.size();
+        });
+        delivered.increment(relayed);
+        return relayed;
+    }
+}
@@ -1,5 +1,6 @@
 package com.loanrisk.service;
 
+import com.loanrisk.model.RiskBand;
 import com.loanrisk.model.ScoringRule;
 import java.util.List;
 
@@ -14,4 +15,11 @@ public interface RuleLoadingService {
      * @return A list of active ScoringRule objects.
      */
     List<ScoringRule> getActiveRules();
+
+    /**
+     * Retrieves the risk bands of the live ruleset, ordered by minimum score.
+     *
+     * @return The band rows; empty if the live ruleset uses the default bands.
+     */
+    List<RiskBand> getRiskBands();
 }
\ No newline at end of file
@@ -1,6 +1,8 @@
 package com.loanrisk.service;
 
+import com.loanrisk.model.RiskBand;
 import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.RiskBandRepository;
 import com.loanrisk.repository.ScoringRuleRepository;
 import org.springframework.stereotype.Service;
 import java.util.List;
@@ -12,10 +14,12 @@ import java.util.List;
 public class RuleLoadingServiceImpl implements RuleLoadingService {
 
     private final ScoringRuleRepository scoringRuleRepository;
+    private final RiskBandRepository riskBandRepository;
 
-    // Constructor injection for the repository
-    public RuleLoadingServiceImpl(ScoringRuleRepository scoringRuleRepository) {
+    // Constructor injection for the repositories
+    public RuleLoadingServiceImpl(ScoringRuleRepository scoringRuleRepository, RiskBandRepository riskBandRepository) {
         this.scoringRuleRepository = scoringRuleRepository;
+        this.riskBandRepository = riskBandRepository;
     }
 
     /**
@@ -28,4 +32,9 @@ public class RuleLoadingServiceImpl implements RuleLoadingService {
         // Delegate the call to the repository method
         return scoringRuleRepository.findByEnabledTrueOrderByPriorityAsc();
     }
+
+    @Override
+    public List<RiskBand> getRiskBands() {
+        return riskBandRepository.findByRulesetOrderByMinScoreAsc(ScoringRule.LIVE_RULESET);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.RulesetSyncProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.regex.Pattern;
+
+/**
+ * Optional push path for ruleset changes on PostgreSQL: holds one connection that {@code LISTEN}s on
+ * {@code loanrisk.ruleset-sync.notify-channel} and polls the version table as soon as a notification arrives,
+ * so instances converge in milliseconds rather than within the poll interval. Polling remains the safety net:
+ * notifications sent while the connection is down are covered by the poll made on reconnecting.
+ */
+@Component
+@Slf4j
+public class RulesetChangeListener implements DisposableBean {
+
+    private static final Pattern CHANNEL = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+    private static final int NOTIFICATION_WAIT_MS = 5000;
+
+    private final DataSource dataSource;
+    private final RulesetSyncProperties properties;
+    private final RulesetVersionPoller poller;
+
+    private volatile boolean running;
+    private Thread thread;
+
+    public RulesetChangeListener(DataSource dataSource, RulesetSyncProperties properties, RulesetVersionPoller poller) {
+        this.dataSource = dataSource;
+        this.properties = properties;
+        this.poller = poller;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        String channel = properties.getNotifyChannel();
+        if (!properties.isEnabled() || channel == null || channel.isBlank()) {
+            return;
+        }
+        if (!CHANNEL.matcher(channel).matches()) {
+            throw new IllegalArgumentException("Invalid notify channel '" + channel + "': expected an unquoted SQL identifier");
+        }
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("ruleset-notify").start(() -> listen(channel));
+    }
+
+    private void listen(String channel) {
+        while (running) {
+            try (Connection connection = dataSource.getConnection()) {
+                if (!connection.isWrapperFor(PGConnection.class)) {
+                    log.warn("Ruleset change notifications need PostgreSQL; relying on polling every {} ms.", properties.getPollIntervalMs());
+                    return;
+                }
+                PGConnection notifications = connection.unwrap(PGConnection.class);
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                log.info("Listening for ruleset changes on channel '{}'.", channel);
+                poller.poll(); // Changes committed before LISTEN took effect
+                while (running) {
+                    PGNotification[] received = notifications.getNotifications(NOTIFICATION_WAIT_MS);
+                    if (received != null && received.length > 0) {
+                        poller.poll();
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Ruleset change listener failed ({}); reconnecting in {} ms.", e.getMessage(), properties.getPollIntervalMs());
+                    try {
+                        Thread.sleep(properties.getPollIntervalMs());
+                    } catch (InterruptedException interrupted) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.RulesetSnapshotProperties;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.RulesetCodec;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.zip.CRC32C;
+
+/**
+ * Keeps the most recently compiled live ruleset in a local binary file, so an instance can start
+ * scoring before its first database query and keep scoring while the database is unavailable.
+ * <p>
+ * The file is {@code [int magic][int format version][int crc32c][int length][payload]} with the payload in
+ * {@link RulesetCodec} form. It is written to a temporary file, forced and renamed over the previous snapshot,
+ * so a crash never leaves a partial snapshot behind; a snapshot that fails its checksum is ignored. A temporary file
+ * whose write fails is deleted.
+ */
+@Component
+@Slf4j
+public class RulesetSnapshotStore {
+
+    private static final int MAGIC = 0x4C525253; // "LRRS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+
+    private final RulesetSnapshotProperties properties;
+    private final Path path;
+
+    public RulesetSnapshotStore(RulesetSnapshotProperties properties) {
+        this.properties = properties;
+        this.path = Path.of(properties.getPath());
+    }
+
+    /**
+     * Replaces the snapshot with the given ruleset. Failures are logged, not thrown: scoring does not depend on
+     * the snapshot being current.
+     */
+    public void save(CompiledRuleset ruleset) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            ByteArrayOutputStream payload = new ByteArrayOutputStream(4096);
+            try (DataOutputStream out = new DataOutputStream(payload)) {
+                RulesetCodec.write(out, ruleset);
+            }
+            byte[] bytes = payload.toByteArray();
+            CRC32C crc = new CRC32C();
+            crc.update(bytes);
+            ByteBuffer file = ByteBuffer.allocate(HEADER_SIZE + bytes.length)
+                    .putInt(MAGIC).putInt(FORMAT_VERSION).putInt((int) crc.getValue()).putInt(bytes.length).put(bytes)
+                    .flip();
+
+            Path directory = path.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    while (file.hasRemaining()) {
+                        channel.write(file);
+                    }
+                    channel.force(true);
+                }
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException deleteFailure) {
+                    e.addSuppressed(deleteFailure);
+                }
+                throw e;
+            }
+            log.info("Wrote snapshot of ruleset {} to {} ({} bytes) in {} us.", ruleset, path, HEADER_SIZE + bytes.length,
+                    (System.nanoTime() - start) / 1000);
+        } catch (IOException e) {
+            log.warn("Could not write ruleset snapshot to {}: {}", path, e.getMessage());
+        }
+    }
+
+    /**
+     * Compiles the ruleset in the snapshot.
+     *
+     * @return The ruleset, or empty if snapshots are disabled or there is no valid snapshot.
+     */
+    public Optional<CompiledRuleset> load() {
+        if (!properties.isEnabled() || !Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            ByteBuffer file = ByteBuffer.wrap(Files.readAllBytes(path));
+            if (file.remaining() < HEADER_SIZE || file.getInt() != MAGIC || file.getInt() != FORMAT_VERSION) {
+                log.warn("Ignoring ruleset snapshot {}: not a snapshot of this format.", path);
+                return Optional.empty();
+            }
+            int expectedCrc = file.getInt();
+            int length = file.getInt();
+            if (length != file.remaining()) {
+                log.warn("Ignoring ruleset snapshot {}: truncated.", path);
+                return Optional.empty();
+            }
+            CRC32C crc = new CRC32C();
+            crc.update(file.array(), HEADER_SIZE, length);
+            if ((int) crc.getValue() != expectedCrc) {
+                log.warn("Ignoring ruleset snapshot {}: checksum mismatch.", path);
+                return Optional.empty();
+            }
+            CompiledRuleset ruleset;
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(file.array(), HEADER_SIZE, length))) {
+                ruleset = RulesetCodec.read(in).compile();
+            }
+            log.info("Loaded ruleset {} from snapshot {} in {} us.", ruleset, path, (System.nanoTime() - start) / 1000);
+            return Optional.of(ruleset);
+        } catch (IOException | IllegalArgumentException e) {
+            log.warn("Ignoring ruleset snapshot {}: {}", path, e.getMessage());
+            return Optional.empty();
+        }
+    }
+}
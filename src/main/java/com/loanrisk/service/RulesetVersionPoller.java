@@ -0,0 +1,86 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.RulesetSyncProperties;
+import com.loanrisk.config.ShadowScoringProperties;
+import com.loanrisk.model.RulesetVersion;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.RulesetVersionRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps this instance's cached rulesets coherent with the other instances: polls the {@code ruleset_version}
+ * table with one primary key query and reloads a ruleset whose version changed. An instance therefore serves
+ * an old ruleset for at most the poll interval plus the time to reload it. {@link RulesetChangeListener} can
+ * trigger a poll as soon as a change is committed.
+ */
+@Component
+@Slf4j
+public class RulesetVersionPoller {
+
+    private final RulesetVersionRepository rulesetVersionRepository;
+    private final ScoringService scoringService;
+    private final ShadowScoringService shadowScoringService;
+    private final RulesetSyncProperties properties;
+    private final ShadowScoringProperties shadowProperties;
+
+    private long candidateVersion = -1;
+    private boolean failing; // The last poll could not reach the database
+
+    public RulesetVersionPoller(RulesetVersionRepository rulesetVersionRepository, ScoringService scoringService,
+                                ShadowScoringService shadowScoringService, RulesetSyncProperties properties,
+                                ShadowScoringProperties shadowProperties, MeterRegistry meterRegistry) {
+        this.rulesetVersionRepository = rulesetVersionRepository;
+        this.scoringService = scoringService;
+        this.shadowScoringService = shadowScoringService;
+        this.properties = properties;
+        this.shadowProperties = shadowProperties;
+        Gauge.builder("loanrisk.ruleset.version", scoringService, service -> {
+                    Long version = service.getServedRuleset().getVersion();
+                    return version != null ? version : Double.NaN;
+                })
+                .description("Version of the live ruleset this instance serves, from the ruleset_version table")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reads the current versions and reloads the rulesets that changed. A database outage is logged once;
+     * the rulesets already loaded keep being served.
+     */
+    @Scheduled(fixedDelayString = "${loanrisk.ruleset-sync.poll-interval-ms:1000}")
+    public synchronized void poll() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            Map<String, Long> versions = rulesetVersionRepository
+                    .findByRulesetIn(List.of(ScoringRule.LIVE_RULESET, shadowProperties.getRuleset())).stream()
+                    .collect(Collectors.toMap(RulesetVersion::getRuleset, RulesetVersion::getVersion));
+            scoringService.syncLiveRuleset(versions.getOrDefault(ScoringRule.LIVE_RULESET, 0L)); // No row: never changed
+
+            long candidate = versions.getOrDefault(shadowProperties.getRuleset(), 0L);
+            if (shadowProperties.isEnabled() && candidate != candidateVersion) {
+                shadowScoringService.refreshCandidate();
+                candidateVersion = candidate;
+            }
+            if (failing) {
+                failing = false;
+                log.info("Ruleset versions can be read again.");
+            }
+        } catch (DataAccessException | TransactionException e) {
+            if (!failing) {
+                failing = true;
+                log.warn("Cannot read ruleset versions ({}); serving the rulesets already loaded.", e.getMessage());
+            }
+        }
+    }
+}
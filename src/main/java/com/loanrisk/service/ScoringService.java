@@ -1,11 +1,17 @@
 package com.loanrisk.service;
 
 import com.loanrisk.dto.ScoringResult;
-import com.loanrisk.model.Customer;
-import com.loanrisk.model.LoanApplication;
+import com.loanrisk.dto.RuleStatsReport;
+import com.loanrisk.dto.ServedRuleset;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.EvaluationMode;
+
+import java.util.Optional;
 
 /**
  * Service interface for evaluating loan applications based on scoring rules.
+ * Inputs are immutable snapshots, built once per request; scoring never reads or touches persistent entities.
  */
 public interface ScoringService {
 
@@ -16,6 +22,57 @@ public interface ScoringService {
      * @param customer    The customer details.
      * @return A ScoringResult containing the risk score, level, decision, and explanation.
      */
-    ScoringResult evaluate(LoanApplication application, Customer customer);
+    ScoringResult evaluate(ApplicationInput application, CustomerInput customer);
+
+    /**
+     * Evaluates a loan application in the given mode.
+     * In {@link EvaluationMode#DECISION_ONLY} mode the risk level and decision are exact, but the
+     * result is marked partial when rules were skipped: its score and explanation then only cover
+     * the rules that were evaluated.
+     *
+     * @param application The loan application details.
+     * @param customer    The customer details.
+     * @param mode        How much of the ruleset to evaluate.
+     * @return A ScoringResult containing the risk score, level, decision, and explanation.
+     */
+    ScoringResult evaluate(ApplicationInput application, CustomerInput customer, EvaluationMode mode);
+
+    /**
+     * Scores an application for pre-qualification. Nothing is persisted or mirrored to shadow
+     * scoring, no explanation is built, and the compiled live ruleset may be reused for a short,
+     * configurable time instead of being reloaded for every call.
+     *
+     * @param application Transient loan application details.
+     * @param customer    Transient customer details.
+     * @return A ScoringResult with the risk score, level and decision, and an empty explanation.
+     */
+    ScoringResult preCheck(ApplicationInput application, CustomerInput customer);
+
+    /**
+     * Brings the live ruleset up to the given version of the {@code ruleset_version} table, reloading it if this
+     * instance serves another version. Once synced, and while ruleset sync is enabled, evaluations and pre-checks
+     * use the compiled ruleset without loading rules.
+     *
+     * @param version The live ruleset's current version in the database.
+     */
+    void syncLiveRuleset(long version);
+
+    /**
+     * @return The live ruleset this instance is serving and the version it reflects.
+     */
+    ServedRuleset getServedRuleset();
+
+    /**
+     * @return How often each live rule was evaluated and matched, and what it cost, since the live ruleset was
+     *         compiled or the statistics were last reset; empty if rule statistics are disabled.
+     */
+    Optional<RuleStatsReport> getRuleStats();
+
+    /**
+     * Starts the rule statistics over.
+     *
+     * @return The statistics up to the reset; empty if rule statistics are disabled.
+     */
+    Optional<RuleStatsReport> resetRuleStats();
 
-}
\ No newline at end of file
+}
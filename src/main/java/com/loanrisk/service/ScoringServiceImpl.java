@@ -1,18 +1,37 @@
 package com.loanrisk.service;
 
+import com.loanrisk.audit.AuditLog;
+import com.loanrisk.config.RulesetSyncProperties;
+import com.loanrisk.dto.RuleStat;
+import com.loanrisk.dto.RuleStatsReport;
 import com.loanrisk.dto.ScoringResult;
-import com.loanrisk.model.Customer;
-import com.loanrisk.model.LoanApplication;
+import com.loanrisk.dto.ServedRuleset;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRule;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.CustomerPartialScore;
+import com.loanrisk.engine.EvaluationMode;
+import com.loanrisk.engine.FeatureQuantizer;
+import com.loanrisk.engine.RiskBandTable;
+import com.loanrisk.engine.RuleStats;
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.metrics.ScoringMetrics.ApplyStage;
+import com.loanrisk.model.RiskBand;
 import com.loanrisk.model.ScoringRule;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
@@ -20,185 +39,261 @@ import java.util.Objects;
 public class ScoringServiceImpl implements ScoringService {
 
     private final RuleLoadingService ruleLoadingService;
-    private static final int BASE_SCORE = 500; // Define a base score
+    private final ShadowScoringService shadowScoringService;
+    private final ScoringMetrics scoringMetrics;
+    private final CustomerScoreCache customerScoreCache;
+    private final DecisionCache decisionCache;
+    private final AuditLog auditLog;
+    private final RulesetSnapshotStore rulesetSnapshotStore;
+    private final RulesetSyncProperties rulesetSyncProperties;
+
+    // Reused while the active rules are unchanged, so bounds and parsed values are computed once
+    private volatile CompiledRuleset liveRuleset;
+    private volatile long liveRulesetLoadedAt; // System.nanoTime() of the last load
+    private volatile boolean servingFallback; // The database was unreachable at the last load
+    private volatile boolean bandsLoaded; // The live ruleset's bands were loaded from the database, not a snapshot or before an outage
+    private volatile long fallbackRetryAt; // System.nanoTime() before which a fallback ruleset is served without loading
+    private final ReentrantLock fallbackRetry = new ReentrantLock(); // Held by the one request retrying the database
+    private volatile long syncedVersion = -1; // ruleset_version value the live ruleset reflects; -1 until synced
+
+    @Value("${loanrisk.precheck.ruleset-max-age-ms:1000}")
+    private long preCheckRulesetMaxAgeMs; // How long pre-checks may use the live ruleset without reloading it
+
+    @Value("${loanrisk.rules.fallback-retry-interval-ms:5000}")
+    private long fallbackRetryIntervalMs; // While serving a fallback ruleset, how long to wait before loading rules again
+
+    @Value("${loanrisk.rule-stats.enabled:true}")
+    private boolean ruleStatsEnabled; // Count evaluations, matches and sampled cost of each live rule
+
+    @Override
+    public ScoringResult evaluate(ApplicationInput application, CustomerInput customer) {
+        return evaluate(application, customer, EvaluationMode.FULL);
+    }
 
     @Override
-    public ScoringResult evaluate(LoanApplication application, Customer customer) {
-        List<ScoringRule> activeRules = ruleLoadingService.getActiveRules();
-        int riskScore = BASE_SCORE; // Initialize with base score
-        List<String> explanation = new ArrayList<>();
-
-        log.info("Starting scoring evaluation for application ID: {} and customer ID: {}. Base score: {}", application.getId(), customer.getId(), BASE_SCORE);
-        log.debug("Found {} active rules.", activeRules.size());
-
-        for (ScoringRule rule : activeRules) {
-            log.debug("Evaluating rule: {}", rule.getName());
-            try {
-                Object actualValue = getValueFromField(customer, application, rule.getField());
-                String ruleValue = rule.getValue();
-                String operator = rule.getOperator();
-
-                if (actualValue == null) {
-                    log.warn("Actual value for field '{}' is null for rule '{}'. Skipping comparison.", rule.getField(), rule.getName());
-                    continue; // Skip rule if field value is null
-                }
-
-                log.debug("Rule '{}': Field='{}', Operator='{}', RuleValue='{}', ActualValue='{}'",
-                          rule.getName(), rule.getField(), operator, ruleValue, actualValue);
-
-                if (compareValues(actualValue, operator, ruleValue)) {
-                    riskScore += rule.getRiskPoints();
-                    explanation.add(rule.getName());
-                    log.debug("Rule '{}' matched. Added {} points. Current score: {}", rule.getName(), rule.getRiskPoints(), riskScore);
-                }
-            } catch (Exception e) {
-                // Log error and continue with the next rule
-                log.error("Error evaluating rule '{}' (ID: {}): {}. Field: '{}', Operator: '{}', Value: '{}'. Skipping rule.",
-                          rule.getName(), rule.getId(), e.getMessage(), rule.getField(), rule.getOperator(), rule.getValue(), e);
+    public ScoringResult evaluate(ApplicationInput application, CustomerInput customer, EvaluationMode mode) {
+        long start = System.nanoTime();
+        CompiledRuleset ruleset = isSynced() ? liveRuleset : loadLiveRuleset();
+        scoringMetrics.recordStage(ApplyStage.RULE_LOADING, start);
+
+        long evaluationStart = System.nanoTime();
+        log.info("Starting scoring evaluation for customer ID: {}. Base score: {}", customer.id(), CompiledRuleset.BASE_SCORE);
+        log.debug("Found {} active rules ({} compiled).", ruleset.getSourceRules().size(), ruleset.size());
+
+        // An application the rules cannot tell apart from an earlier one gets its complete result
+        FeatureQuantizer.Key key = decisionCache.key(ruleset, application, customer);
+        ScoringResult result = key != null ? decisionCache.get(key) : null;
+        if (result != null) {
+            log.debug("Decision cache hit for customer ID: {}.", customer.id());
+        } else if (mode == EvaluationMode.DECISION_ONLY) {
+            result = ruleset.evaluateDecision(application, customer);
+        } else {
+            // Customer-only rules come from the cache; only the application-dependent ones run here
+            CustomerPartialScore customerScore = customerScoreCache.get(ruleset, customer);
+            result = ruleset.evaluate(application, customer, customerScore);
+            if (key != null) {
+                decisionCache.put(key, result);
             }
         }
+        auditLog.append(ruleset, application, customer, result);
+        scoringMetrics.recordStage(ApplyStage.EVALUATION, evaluationStart);
 
-        String riskLevel = determineRiskLevel(riskScore);
-        String decision = determineDecision(riskLevel);
+        log.info("Scoring evaluation completed for customer ID: {}. Score: {}, Level: {}, Decision: {}, Partial: {}",
+                 customer.id(), result.getRiskScore(), result.getRiskLevel(), result.getDecision(), result.isPartial());
 
-        log.info("Scoring evaluation completed for application ID: {}. Score: {}, Level: {}, Decision: {}",
-                 application.getId(), riskScore, riskLevel, decision);
+        // Mirror the inputs to the candidate ruleset; never blocks the caller.
+        // Partial scores are not comparable, so only complete evaluations are shadowed.
+        if (!result.isPartial()) {
+            shadowScoringService.submit(application, customer, result);
+        }
 
-        return new ScoringResult(riskScore, riskLevel, decision, explanation);
+        scoringMetrics.recordEvaluation(start, result);
+        return result;
     }
 
-    /**
-     * Extracts the value of a specified field from either the Customer or LoanApplication object.
-     * Handles direct fields and potential derived fields.
-     */
-    private Object getValueFromField(Customer customer, LoanApplication application, String fieldName) {
-        if (fieldName == null || fieldName.trim().isEmpty()) {
-            log.warn("Field name is null or empty.");
-            return null;
+    @Override
+    public ScoringResult preCheck(ApplicationInput application, CustomerInput customer) {
+        long start = System.nanoTime();
+        CompiledRuleset ruleset = liveRuleset;
+        if (!isSynced() && (ruleset == null || start - liveRulesetLoadedAt > TimeUnit.MILLISECONDS.toNanos(preCheckRulesetMaxAgeMs))) {
+            ruleset = loadLiveRuleset();
         }
 
-        // Customer fields
-        if ("age".equalsIgnoreCase(fieldName)) return customer.getAge();
-        if ("annualIncome".equalsIgnoreCase(fieldName)) return customer.getAnnualIncome();
-        if ("creditScore".equalsIgnoreCase(fieldName)) return customer.getCreditScore();
-        if ("employmentStatus".equalsIgnoreCase(fieldName)) return customer.getEmploymentStatus();
-        if ("existingDebt".equalsIgnoreCase(fieldName)) return customer.getExistingDebt();
-        if ("name".equalsIgnoreCase(fieldName)) return customer.getName(); // Less likely for rules, but possible
-
-        // LoanApplication fields
-        if ("loanAmount".equalsIgnoreCase(fieldName)) return application.getLoanAmount();
-        if ("loanPurpose".equalsIgnoreCase(fieldName)) return application.getLoanPurpose();
-        if ("requestedTermMonths".equalsIgnoreCase(fieldName)) return application.getRequestedTermMonths();
-
-        // Derived fields (Example - implement calculation if needed)
-        if ("loanRatio".equalsIgnoreCase(fieldName)) {
-            // Example: loanAmount / annualIncome
-            if (customer.getAnnualIncome() != null && customer.getAnnualIncome().compareTo(BigDecimal.ZERO) > 0 && application.getLoanAmount() != null) {
-                return application.getLoanAmount().divide(customer.getAnnualIncome(), 4, RoundingMode.HALF_UP); // Use scale and rounding
-            } else {
-                log.warn("Cannot calculate derived field '{}': annualIncome or loanAmount is null or zero.", fieldName);
-                return null; // Or handle as appropriate (e.g., return BigDecimal.ZERO)
-            }
+        int riskScore = ruleset.score(application, customer);
+        RiskBandTable.Band band = ruleset.getBands().band(riskScore);
+        ScoringResult result = new ScoringResult(riskScore, band.levelLabel(), band.decisionName(), List.of());
+
+        scoringMetrics.recordPreCheck(start);
+        return result;
+    }
+
+    @Override
+    public synchronized void syncLiveRuleset(long version) {
+        if (version == syncedVersion && liveRuleset != null) {
+            return;
         }
-        if ("existingDebtRatio".equalsIgnoreCase(fieldName)) {
-            // Example: existingDebt / annualIncome
-             if (customer.getAnnualIncome() != null && customer.getAnnualIncome().compareTo(BigDecimal.ZERO) > 0 && customer.getExistingDebt() != null) {
-                return customer.getExistingDebt().divide(customer.getAnnualIncome(), 4, RoundingMode.HALF_UP); // Use scale and rounding
-            } else {
-                log.warn("Cannot calculate derived field '{}': annualIncome or existingDebt is null or zero.", fieldName);
-                return null; // Or handle as appropriate
-            }
+        CompiledRuleset ruleset = reloadLiveRuleset(true);
+        if (servingFallback) {
+            return; // Not reconciled with the database; the next poll tries again
         }
+        syncedVersion = version;
+        log.info("Serving live ruleset version {}: {}.", version, ruleset);
+    }
 
+    @Override
+    public ServedRuleset getServedRuleset() {
+        CompiledRuleset ruleset = liveRuleset;
+        long version = syncedVersion;
+        ServedRuleset served = new ServedRuleset();
+        served.setRuleset(ScoringRule.LIVE_RULESET);
+        served.setSyncEnabled(rulesetSyncProperties.isEnabled());
+        served.setVersion(rulesetSyncProperties.isEnabled() && version >= 0 ? version : null);
+        served.setRuleCount(ruleset != null ? ruleset.size() : 0);
+        served.setFallback(servingFallback);
+        return served;
+    }
 
-        log.warn("Field '{}' not found in Customer or LoanApplication or derived fields.", fieldName);
-        return null; // Field not found
+    @Override
+    public Optional<RuleStatsReport> getRuleStats() {
+        if (!ruleStatsEnabled) {
+            return Optional.empty();
+        }
+        CompiledRuleset ruleset = liveRuleset;
+        return Optional.of(ruleStatsReport(ruleset, ruleset != null ? ruleset.getStats() : null));
     }
 
-    /**
-     * Compares the actual value from the object with the rule's value string using the specified operator.
-     * Handles type conversions and different operators.
-     */
-    private boolean compareValues(Object actualValue, String operator, String ruleValueStr) {
-        if (actualValue == null || ruleValueStr == null || operator == null) {
-            log.warn("Cannot compare values: one or more inputs are null (actualValue={}, operator={}, ruleValueStr={})", actualValue, operator, ruleValueStr);
-            return false;
+    @Override
+    public Optional<RuleStatsReport> resetRuleStats() {
+        if (!ruleStatsEnabled) {
+            return Optional.empty();
         }
+        CompiledRuleset ruleset = liveRuleset;
+        return Optional.of(ruleStatsReport(ruleset, ruleset != null ? ruleset.collectStats() : null));
+    }
 
-        try {
-            // Handle String comparison first
-            if (actualValue instanceof String) {
-                String actualStr = (String) actualValue;
-                // Currently only supporting equality for strings
-                if ("==".equals(operator)) {
-                    return actualStr.equalsIgnoreCase(ruleValueStr.trim()); // Case-insensitive comparison for strings
-                } else if ("!=".equals(operator)) {
-                     return !actualStr.equalsIgnoreCase(ruleValueStr.trim());
-                } else {
-                    log.warn("Unsupported operator '{}' for String comparison. RuleValue: '{}'", operator, ruleValueStr);
-                    return false;
-                }
+    private RuleStatsReport ruleStatsReport(CompiledRuleset ruleset, RuleStats stats) {
+        long version = syncedVersion;
+        RuleStatsReport report = new RuleStatsReport();
+        report.setRuleset(ScoringRule.LIVE_RULESET);
+        report.setVersion(rulesetSyncProperties.isEnabled() && version >= 0 ? version : null);
+        report.setSampleInterval(RuleStats.SAMPLE_INTERVAL);
+        List<RuleStat> rules = new ArrayList<>();
+        if (stats != null) { // Null until the live ruleset is first loaded
+            report.setSince(stats.getSince());
+            for (int i = 0; i < stats.size(); i++) {
+                CompiledRule rule = ruleset.getRules().get(i);
+                RuleStat stat = new RuleStat();
+                stat.setRuleId(rule.getId());
+                stat.setName(rule.getName());
+                stat.setRiskPoints(rule.getRiskPoints());
+                stat.setEvaluations(stats.evaluations(i));
+                stat.setMatches(stats.matches(i));
+                stat.setErrors(stats.errors(i));
+                stat.setMatchRate(stat.getEvaluations() > 0 ? (double) stat.getMatches() / stat.getEvaluations() : 0.0);
+                stat.setSamples(stats.samples(i));
+                stat.setAverageNanos(stat.getSamples() > 0 ? (double) stats.sampledNanos(i) / stat.getSamples() : null);
+                rules.add(stat);
             }
+        }
+        report.setRules(rules);
+        return report;
+    }
 
-            // Handle Numeric comparison (Integer, BigDecimal)
-            if (actualValue instanceof Number) {
-                BigDecimal actualNum = BigDecimal.ZERO; // Initialize
-                 if (actualValue instanceof BigDecimal) {
-                    actualNum = (BigDecimal) actualValue;
-                } else if (actualValue instanceof Integer) {
-                    actualNum = new BigDecimal((Integer) actualValue);
-                } else {
-                     log.warn("Unsupported Number type: {}. RuleValue: '{}'", actualValue.getClass().getName(), ruleValueStr);
-                     return false; // Or handle other numeric types if necessary
-                }
-
-
-                BigDecimal ruleNum = new BigDecimal(ruleValueStr.trim());
-                int comparisonResult = actualNum.compareTo(ruleNum);
-
-                switch (operator) {
-                    case "<":  return comparisonResult < 0;
-                    case ">":  return comparisonResult > 0;
-                    case "==": return comparisonResult == 0;
-                    case "<=": return comparisonResult <= 0;
-                    case ">=": return comparisonResult >= 0;
-                    case "!=": return comparisonResult != 0; // Added not equals
-                    default:
-                        log.warn("Unsupported numeric operator: '{}'. RuleValue: '{}'", operator, ruleValueStr);
-                        return false;
-                }
+    /** Whether the live ruleset is kept current by the version poller, so requests need not load rules. */
+    private boolean isSynced() {
+        return rulesetSyncProperties.isEnabled() && syncedVersion >= 0 && liveRuleset != null;
+    }
+
+    /**
+     * Warm start: until the first load from the database, the live ruleset is the one in the local snapshot.
+     * It is not considered fresh, so the first evaluation or pre-check still reconciles it with the database.
+     */
+    @PostConstruct
+    void warmStart() {
+        rulesetSnapshotStore.load().ifPresent(ruleset -> {
+            if (ruleStatsEnabled) {
+                ruleset.collectStats();
             }
+            liveRuleset = ruleset;
+        });
+    }
 
-            log.warn("Unsupported type for comparison: {}. RuleValue: '{}'", actualValue.getClass().getName(), ruleValueStr);
-            return false;
-
-        } catch (NumberFormatException e) {
-            log.error("Error parsing rule value '{}' as a number for comparison against actual value '{}' ({}). Operator: '{}'",
-                      ruleValueStr, actualValue, actualValue.getClass().getSimpleName(), operator, e);
-            return false;
-        } catch (Exception e) {
-             log.error("Unexpected error during comparison. ActualValue: '{}' ({}), Operator: '{}', RuleValue: '{}'",
-                       actualValue, actualValue.getClass().getSimpleName(), operator, ruleValueStr, e);
-            return false;
+    /**
+     * Loads the live rules and bands for a request and returns their compiled ruleset. While a fallback ruleset is
+     * served, requests do not wait on the database: until the retry interval has passed they get the fallback
+     * ruleset without loading, and then one request at a time retries while the others keep getting it.
+     *
+     * @throws DataAccessException If the database cannot be reached and there is no ruleset to fall back to.
+     */
+    private CompiledRuleset loadLiveRuleset() {
+        if (!servingFallback) {
+            return reloadLiveRuleset(false);
+        }
+        if (System.nanoTime() - fallbackRetryAt < 0 || !fallbackRetry.tryLock()) {
+            scoringMetrics.recordRuleLoadingFallback();
+            return liveRuleset;
+        }
+        try {
+            return reloadLiveRuleset(false);
+        } finally {
+            fallbackRetry.unlock();
         }
     }
 
-    // Adjusted thresholds based on BASE_SCORE = 500
-    private String determineRiskLevel(int riskScore) {
-        if (riskScore < 450) return "High";    // Example: Score below 450 is High risk
-        if (riskScore < 650) return "Medium";  // Example: Score between 450 and 649 is Medium risk
-        return "Low";                          // Example: Score 650 and above is Low risk
+    /**
+     * Loads the live rules and returns their compiled ruleset. If the database cannot be reached, the last ruleset
+     * loaded (or the snapshot the instance started from) keeps being served.
+     * <p>
+     * Bands change far less often than they are read, so they are only loaded again with {@code reloadBands} (a new
+     * ruleset version), when the active rules changed, or when the bands served were not loaded from the database;
+     * otherwise the live ruleset's bands are reused, sparing a query per request.
+     *
+     * @throws DataAccessException If the database cannot be reached and there is no ruleset to fall back to.
+     */
+    private CompiledRuleset reloadLiveRuleset(boolean reloadBands) {
+        List<ScoringRule> activeRules;
+        List<RiskBand> riskBands;
+        try {
+            activeRules = ruleLoadingService.getActiveRules();
+            CompiledRuleset current = liveRuleset;
+            riskBands = reloadBands || !bandsLoaded || !current.getSourceRules().equals(activeRules)
+                    ? ruleLoadingService.getRiskBands() : current.getSourceBands();
+        } catch (DataAccessException | TransactionException e) {
+            CompiledRuleset fallback = liveRuleset;
+            if (fallback == null) {
+                throw e;
+            }
+            fallbackRetryAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(fallbackRetryIntervalMs);
+            bandsLoaded = false; // They may change during the outage
+            if (!servingFallback) {
+                servingFallback = true;
+                log.warn("Cannot load rules from the database ({}); serving ruleset {} until it is reachable again.", e.getMessage(), fallback);
+            }
+            scoringMetrics.recordRuleLoadingFallback();
+            return fallback;
+        }
+        if (servingFallback) {
+            servingFallback = false;
+            log.info("Database reachable again; reconciling the live ruleset with its rules.");
+        }
+        CompiledRuleset ruleset = compileLiveRuleset(activeRules, riskBands);
+        bandsLoaded = true;
+        return ruleset;
     }
 
-    // Decision logic might need adjustment based on risk levels
-    private String determineDecision(String riskLevel) {
-        switch (riskLevel) {
-            case "Low":    return "APPROVED"; // Consistent casing with tests
-            case "Medium": return "MANUAL_REVIEW"; // Consistent casing
-            case "High":   return "DECLINED"; // Consistent casing (or REJECTED)
-            default:
-                log.error("Unknown risk level encountered: {}", riskLevel);
-                return "ERROR"; // Should not happen
+    private CompiledRuleset compileLiveRuleset(List<ScoringRule> activeRules, List<RiskBand> riskBands) {
+        CompiledRuleset ruleset = liveRuleset;
+        if (ruleset == null || !ruleset.isCompiledFrom(activeRules, riskBands)) {
+            ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, activeRules, riskBands);
+            if (ruleStatsEnabled) {
+                ruleset.collectStats();
+            }
+            liveRuleset = ruleset;
+            customerScoreCache.invalidateAll(); // Entries of the previous version can no longer be hit
+            decisionCache.invalidateAll();
+            rulesetSnapshotStore.save(ruleset);
         }
+        liveRulesetLoadedAt = System.nanoTime();
+        return ruleset;
     }
-}
\ No newline at end of file
+}
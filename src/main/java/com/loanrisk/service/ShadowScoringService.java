@@ -0,0 +1,32 @@
+package com.loanrisk.service;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.dto.ShadowScoringReport;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+
+/**
+ * Service interface for scoring live traffic against a candidate ruleset without affecting the live decision.
+ */
+public interface ShadowScoringService {
+
+    /**
+     * Queues the inputs of a live evaluation for scoring against the candidate ruleset.
+     * Never blocks: if shadow scoring is disabled or its queue is full, the work is dropped.
+     *
+     * @param application The loan application that was scored.
+     * @param customer    The customer that was scored.
+     * @param liveResult  The result returned to the caller by the live ruleset.
+     */
+    void submit(ApplicationInput application, CustomerInput customer, ScoringResult liveResult);
+
+    /**
+     * Reloads the candidate ruleset from the database.
+     */
+    void refreshCandidate();
+
+    /**
+     * @return Aggregated divergence counters and the most recent divergent samples.
+     */
+    ShadowScoringReport getReport();
+}
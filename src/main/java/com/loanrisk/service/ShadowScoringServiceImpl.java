@@ -0,0 +1,188 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.ShadowScoringProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.dto.ShadowSample;
+import com.loanrisk.dto.ShadowScoringReport;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.RiskBandRepository;
+import com.loanrisk.repository.ScoringRuleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Scores live inputs against the candidate ruleset on a small, bounded executor.
+ * The request thread only offers a task with the (immutable) inputs to a bounded queue; when the
+ * queue is full the task is dropped and counted, so shadow work sheds itself under load.
+ */
+@Service
+@Slf4j
+public class ShadowScoringServiceImpl implements ShadowScoringService, DisposableBean {
+
+    private final ScoringRuleRepository scoringRuleRepository;
+    private final RiskBandRepository riskBandRepository;
+    private final ShadowScoringProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    private volatile CompiledRuleset candidate;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder scoreChanges = new LongAdder();
+    private final LongAdder decisionFlips = new LongAdder();
+    private final LongAdder scoreDeltaSum = new LongAdder();
+    private final LongAdder absScoreDeltaSum = new LongAdder();
+    private final LongAccumulator maxAbsScoreDelta = new LongAccumulator(Math::max, 0);
+    private final Map<String, LongAdder> flipsByTransition = new ConcurrentHashMap<>();
+
+    // Ring buffer of the most recent divergent samples
+    private final AtomicReferenceArray<ShadowSample> samples;
+    private final AtomicLong sampleCursor = new AtomicLong();
+
+    public ShadowScoringServiceImpl(ScoringRuleRepository scoringRuleRepository, RiskBandRepository riskBandRepository,
+                                    ShadowScoringProperties properties) {
+        this.scoringRuleRepository = scoringRuleRepository;
+        this.riskBandRepository = riskBandRepository;
+        this.properties = properties;
+        this.samples = new AtomicReferenceArray<>(Math.max(1, properties.getSampleSize()));
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(), properties.getThreads(), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "shadow-scoring-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.MIN_PRIORITY); // Yield to request threads
+                    return thread;
+                },
+                (runnable, pool) -> dropped.increment()); // Shed instead of blocking or running on the caller
+    }
+
+    @Override
+    public void submit(ApplicationInput application, CustomerInput customer, ScoringResult liveResult) {
+        CompiledRuleset ruleset = candidate;
+        if (!properties.isEnabled() || ruleset == null) {
+            return;
+        }
+        submitted.increment();
+
+        int liveScore = liveResult.getRiskScore();
+        String liveDecision = liveResult.getDecision();
+
+        executor.execute(() -> compare(ruleset, application, customer, liveScore, liveDecision));
+    }
+
+    private void compare(CompiledRuleset ruleset, ApplicationInput application, CustomerInput customer, int liveScore, String liveDecision) {
+        try {
+            ScoringResult shadowResult = ruleset.evaluate(application, customer);
+            int delta = shadowResult.getRiskScore() - liveScore;
+            boolean flipped = !shadowResult.getDecision().equals(liveDecision);
+
+            if (delta != 0) {
+                scoreChanges.increment();
+                scoreDeltaSum.add(delta);
+                absScoreDeltaSum.add(Math.abs(delta));
+                maxAbsScoreDelta.accumulate(Math.abs(delta));
+            }
+            if (flipped) {
+                decisionFlips.increment();
+                flipsByTransition.computeIfAbsent(liveDecision + "->" + shadowResult.getDecision(), k -> new LongAdder()).increment();
+            }
+            if (delta != 0 || flipped) {
+                ShadowSample sample = new ShadowSample(customer.id(), application.loanAmount(), application.loanPurpose(),
+                        application.requestedTermMonths(), liveScore, shadowResult.getRiskScore(),
+                        liveDecision, shadowResult.getDecision(), Instant.now());
+                samples.set((int) (sampleCursor.getAndIncrement() % samples.length()), sample);
+            }
+            completed.increment();
+        } catch (Exception e) {
+            failed.increment();
+            log.warn("Shadow evaluation against ruleset '{}' failed: {}", ruleset.getName(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${loanrisk.shadow.refresh-interval-ms:30000}")
+    public void refreshCandidate() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<ScoringRule> rules = scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc(properties.getRuleset());
+            if (rules.isEmpty()) {
+                log.warn("Shadow scoring is enabled but candidate ruleset '{}' has no enabled rules.", properties.getRuleset());
+                candidate = null;
+                return;
+            }
+            candidate = CompiledRuleset.compile(properties.getRuleset(), rules,
+                    riskBandRepository.findByRulesetOrderByMinScoreAsc(properties.getRuleset()));
+            log.debug("Loaded candidate ruleset '{}' with {} rules.", properties.getRuleset(), candidate.size());
+        } catch (Exception e) {
+            // Keep shadowing with the previous candidate
+            log.error("Failed to reload candidate ruleset '{}': {}", properties.getRuleset(), e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public ShadowScoringReport getReport() {
+        ShadowScoringReport report = new ShadowScoringReport();
+        CompiledRuleset ruleset = candidate;
+        report.setEnabled(properties.isEnabled());
+        report.setCandidateRuleset(properties.getRuleset());
+        report.setCandidateRuleCount(ruleset != null ? ruleset.size() : 0);
+
+        long completedCount = completed.sum();
+        report.setSubmitted(submitted.sum());
+        report.setDropped(dropped.sum());
+        report.setCompleted(completedCount);
+        report.setFailed(failed.sum());
+        report.setScoreChanges(scoreChanges.sum());
+        report.setDecisionFlips(decisionFlips.sum());
+        report.setMeanScoreDelta(completedCount > 0 ? (double) scoreDeltaSum.sum() / completedCount : 0.0);
+        report.setMeanAbsScoreDelta(completedCount > 0 ? (double) absScoreDeltaSum.sum() / completedCount : 0.0);
+        report.setMaxAbsScoreDelta(maxAbsScoreDelta.get());
+
+        Map<String, Long> transitions = new TreeMap<>();
+        flipsByTransition.forEach((transition, count) -> transitions.put(transition, count.sum()));
+        report.setFlipsByTransition(transitions);
+
+        List<ShadowSample> recent = new ArrayList<>();
+        long cursor = sampleCursor.get();
+        for (long i = cursor - 1; i >= 0 && i >= cursor - samples.length(); i--) {
+            ShadowSample sample = samples.get((int) (i % samples.length()));
+            if (sample != null) {
+                recent.add(sample);
+            }
+        }
+        report.setSamples(recent);
+        return report;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
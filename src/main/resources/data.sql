@@ -9,6 +9,21 @@ INSERT INTO SCORING_RULE (name, field, operator, rule_value, risk_points, priori
 -- Example disabled rule for testing GET /rules
 INSERT INTO SCORING_RULE (name, field, operator, rule_value, risk_points, priority, enabled) VALUES ('Old Disabled Rule', 'age', '>', '90', 5, 50, false);
 
+-- Example candidate rules for shadow scoring (loanrisk.shadow.enabled=true); never applied to live decisions
+INSERT INTO SCORING_RULE (name, field, operator, rule_value, risk_points, priority, enabled, ruleset) VALUES ('Credit too low', 'creditScore', '<', '620', 30, 10, true, 'candidate');
+INSERT INTO SCORING_RULE (name, field, operator, rule_value, risk_points, priority, enabled, ruleset) VALUES ('Too young', 'age', '<', '21', 20, 30, true, 'candidate');
+INSERT INTO SCORING_RULE (name, risk_points, priority, enabled, ruleset, rule_condition) VALUES ('Young with high loan ratio', 25, 35, true, 'candidate', 'age < 25 AND loanRatio > 0.4');
+
+-- Risk bands of the live ruleset: score >= min_score maps to the level and decision (lowest band covers all lower scores)
+INSERT INTO RISK_BAND (ruleset, min_score, risk_level, decision) VALUES ('live', NULL, 'HIGH', 'DECLINED');
+INSERT INTO RISK_BAND (ruleset, min_score, risk_level, decision) VALUES ('live', 450, 'MEDIUM', 'MANUAL_REVIEW');
+INSERT INTO RISK_BAND (ruleset, min_score, risk_level, decision) VALUES ('live', 650, 'LOW', 'APPROVED');
+
+-- Ruleset versions polled by every instance (loanrisk.ruleset-sync.enabled); bump them whenever rules or bands change.
+-- Inserted only if absent, so instances sharing one database do not reset them.
+INSERT INTO RULESET_VERSION (ruleset, version) SELECT 'live', 1 WHERE NOT EXISTS (SELECT 1 FROM RULESET_VERSION WHERE ruleset = 'live');
+INSERT INTO RULESET_VERSION (ruleset, version) SELECT 'candidate', 1 WHERE NOT EXISTS (SELECT 1 FROM RULESET_VERSION WHERE ruleset = 'candidate');
+
 -- (Optional) Seed data for CUSTOMER table
 -- Assuming columns: id, name, email, age, credit_score (Verify if needed)
 -- INSERT INTO CUSTOMER (name, email, age, credit_score) VALUES ('Alice Example', 'alice@example.com', 30, 750);
@@ -0,0 +1,139 @@
+package com.loanrisk.audit;
+
+import com.loanrisk.config.AuditLogProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+import com.loanrisk.model.ScoringRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the AuditLog, AuditLogReader and AuditLogReplayer.
+ */
+class AuditLogTest {
+
+    @TempDir
+    Path dir;
+
+    private AuditLogProperties properties;
+    private CompiledRuleset ruleset;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AuditLogProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(dir.toString());
+        properties.setFsyncPolicy(AuditLogProperties.FsyncPolicy.NONE);
+        ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, List.of(
+                new ScoringRule(1L, "Poor credit", "creditScore", "<", "600", -120, 1, true),
+                new ScoringRule(2L, "High loan ratio", "loanRatio", ">", "0.5", -60, 2, true),
+                new ScoringRule(3L, "Young and stretched", null, null, null, -35, 3, true, ScoringRule.LIVE_RULESET,
+                        "age < 30 AND loanAmount > 20000"),
+                new ScoringRule(4L, "Repeat applicant", "recentApplications", ">=", "3", -40, 4, true)),
+                List.of(new RiskBand(null, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+                        new RiskBand(null, ScoringRule.LIVE_RULESET, 480, RiskLevel.LOW, Decision.APPROVED)));
+    }
+
+    private void appendDecisions(AuditLog auditLog, CompiledRuleset ruleset, int count) {
+        for (int i = 0; i < count; i++) {
+            CustomerInput customer = new CustomerInput((long) i, null, "Customer " + i, 20 + i % 50, new BigDecimal("40000.50"),
+                    520 + i % 200, i % 3 == 0 ? null : "Employed", BigDecimal.ZERO);
+            ApplicationInput application = new ApplicationInput(new BigDecimal(5000 + 100 * i), "Car", 36,
+                    i % 7 == 0 ? null : i % 5, i % 7 == 0 ? null : new BigDecimal(1000 * (i % 5))); // Replayed only if recorded
+            ScoringResult result = i % 2 == 0 ? ruleset.evaluate(application, customer) : ruleset.evaluateDecision(application, customer);
+            auditLog.append(ruleset, application, customer, result);
+        }
+    }
+
+    @Test
+    void replay_recordedDecisions_areReproducedExactly() throws Exception {
+        properties.setSegmentSizeBytes(8192); // Forces several rollovers
+        AuditLog auditLog = new AuditLog(properties, new SimpleMeterRegistry());
+        appendDecisions(auditLog, ruleset, 300);
+        auditLog.destroy();
+
+        AuditLogReplayer.Report report = AuditLogReplayer.replay(dir);
+
+        assertTrue(report.isVerified(), () -> report.problems() + " " + report.mismatches());
+        assertEquals(300, report.decisions());
+        assertTrue(report.segments() > 1);
+        assertTrue(report.records() > 300); // Each segment repeats the ruleset definition
+    }
+
+    @Test
+    void replay_alteredOutcome_isReportedAsMismatch() throws Exception {
+        AuditLog auditLog = new AuditLog(properties, new SimpleMeterRegistry());
+        CustomerInput customer = new CustomerInput(7L, null, "Customer", 40, new BigDecimal("90000"), 720, "Employed", BigDecimal.ZERO);
+        ApplicationInput application = new ApplicationInput(new BigDecimal("10000"), "Car", 36);
+        auditLog.append(ruleset, application, customer, new ScoringResult(900, "Low", "APPROVED", List.of()));
+        auditLog.destroy();
+
+        AuditLogReplayer.Report report = AuditLogReplayer.replay(dir);
+
+        assertTrue(report.problems().isEmpty());
+        assertEquals(1, report.mismatchCount());
+        assertFalse(report.isVerified());
+    }
+
+    @Test
+    void read_tamperedRecord_breaksTheChain() throws Exception {
+        AuditLog auditLog = new AuditLog(properties, new SimpleMeterRegistry());
+        appendDecisions(auditLog, ruleset, 10);
+        auditLog.destroy();
+
+        try (RandomAccessFile file = new RandomAccessFile(AuditLogReader.segments(dir).get(0).toFile(), "rw")) {
+            long offset = AuditLogFormat.HEADER_SIZE + 8 + 20; // Inside the first record's body
+            file.seek(offset);
+            int original = file.read();
+            file.seek(offset);
+            file.write(original ^ 0x01);
+        }
+
+        AuditLogReader.Result result = AuditLogReader.read(dir, entry -> { });
+
+        assertFalse(result.isIntact());
+        assertEquals(0, result.records());
+    }
+
+    @Test
+    void restart_continuesTheChainInANewSegment() throws Exception {
+        AuditLog first = new AuditLog(properties, new SimpleMeterRegistry());
+        appendDecisions(first, ruleset, 5);
+        first.destroy();
+
+        CompiledRuleset recompiled = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, ruleset.getSourceRules());
+        AuditLog second = new AuditLog(properties, new SimpleMeterRegistry());
+        appendDecisions(second, recompiled, 5);
+        second.destroy();
+
+        AuditLogReplayer.Report report = AuditLogReplayer.replay(dir);
+
+        assertEquals(2, report.segments());
+        assertEquals(10, report.decisions());
+        assertTrue(report.isVerified(), () -> report.problems() + " " + report.mismatches());
+    }
+
+    @Test
+    void append_disabled_writesNothing() throws Exception {
+        properties.setEnabled(false);
+        AuditLog auditLog = new AuditLog(properties, new SimpleMeterRegistry());
+        appendDecisions(auditLog, ruleset, 3);
+        auditLog.destroy();
+
+        assertTrue(AuditLogReader.segments(dir).isEmpty());
+    }
+}
@@ -0,0 +1,143 @@
+package com.loanrisk.batch;
+
+import com.loanrisk.config.BulkScoringProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BulkScoringJob: every record must score exactly as the compiled ruleset scores it.
+ */
+class BulkScoringJobTest {
+
+    private static final String[] STATUSES = {"Employed", "Self-Employed", "Unemployed", ""};
+    private static final String[] PURPOSES = {"Car", "Home Renovation", "Debt Consolidation"};
+
+    @TempDir
+    Path dir;
+
+    private CompiledRuleset ruleset;
+    private BulkScoringProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, List.of(
+                new ScoringRule(1L, "Poor credit", "creditScore", "<", "600", -120, 1, true),
+                new ScoringRule(2L, "Excellent credit", "creditScore", ">", "750", 100, 2, true),
+                new ScoringRule(3L, "High loan ratio", "loanRatio", ">", "0.5", -60, 3, true),
+                new ScoringRule(4L, "Employed", "employmentStatus", "==", "Employed", 40, 4, true),
+                new ScoringRule(5L, "Young and stretched", null, null, null, -35, 5, true, ScoringRule.LIVE_RULESET,
+                        "age < 30 AND loanAmount > 20000")));
+        properties = new BulkScoringProperties();
+        properties.setChunkSizeBytes(256); // Many chunks, most ending mid-line before adjustment
+        properties.setThreads(3);
+        properties.setMaxChunksInFlight(2);
+    }
+
+    private static String expectedLine(CompiledRuleset ruleset, long id, int age, String income, int credit, String status,
+                                       String amount, String purpose) {
+        CustomerInput customer = new CustomerInput(id, null, null, age, new BigDecimal(income), credit, status.isEmpty() ? null : status, null);
+        ApplicationInput application = new ApplicationInput(new BigDecimal(amount), purpose, 36);
+        ScoringResult result = ruleset.evaluate(application, customer);
+        return id + "," + result.getRiskScore() + "," + result.getRiskLevel() + "," + result.getDecision();
+    }
+
+    @Test
+    void run_csv_scoresEveryRecordInInputOrder() throws Exception {
+        Random random = new Random(7);
+        StringBuilder input = new StringBuilder("id,age,annualIncome,creditScore,employmentStatus,loanAmount,loanPurpose,unused\n");
+        List<String> expected = new ArrayList<>();
+        expected.add(BulkScoringJob.OUTPUT_HEADER);
+        for (long id = 1; id <= 2000; id++) {
+            int age = 18 + random.nextInt(60);
+            String income = (20000 + random.nextInt(100000)) + "." + random.nextInt(10);
+            int credit = 450 + random.nextInt(400);
+            String status = STATUSES[random.nextInt(STATUSES.length)];
+            String amount = String.valueOf(1000 + random.nextInt(60000));
+            String purpose = PURPOSES[random.nextInt(PURPOSES.length)];
+            input.append(id).append(',').append(age).append(',').append(income).append(',').append(credit).append(',')
+                    .append(status).append(',').append(amount).append(',').append(purpose).append(",x")
+                    .append(id % 10 == 0 ? "\r\n" : "\n");
+            expected.add(expectedLine(ruleset, id, age, income, credit, status, amount, purpose));
+        }
+        Path in = Files.writeString(dir.resolve("in.csv"), input);
+        Path out = dir.resolve("out.csv");
+
+        BulkScoringJob.Result result = new BulkScoringJob(ruleset, properties).run(in, out);
+
+        assertEquals(2000, result.records());
+        assertEquals(0, result.invalid());
+        assertEquals(expected, Files.readAllLines(out));
+    }
+
+    @Test
+    void run_fixedWidth_readsConfiguredColumns() throws Exception {
+        properties.setFormat(BulkScoringProperties.Format.FIXED_WIDTH);
+        properties.setColumns("id:6,age:3,-:4,annualIncome:10,creditScore:4,employmentStatus:14,loanAmount:8,loanPurpose:20");
+        String input = String.format("%-6s%3d%-4s%10s%4d%-14s%8s%-20s%n", "A1", 25, "zz", "30000.00", 720, "Employed", "25000", "Car")
+                + String.format("%-6s%3d%-4s%10s%4d%-14s%8s%-20s%n", "A2", 45, "zz", "90000", 580, "Unemployed", "5000", "Home Renovation");
+        Path in = Files.writeString(dir.resolve("in.txt"), input);
+        Path out = dir.resolve("out.csv");
+
+        BulkScoringJob.Result result = new BulkScoringJob(ruleset, properties).run(in, out);
+
+        assertEquals(2, result.records());
+        assertEquals(List.of(BulkScoringJob.OUTPUT_HEADER,
+                        expectedLine(ruleset, 0, 25, "30000.00", 720, "Employed", "25000", "Car").replaceFirst("^0", "A1"),
+                        expectedLine(ruleset, 0, 45, "90000", 580, "Unemployed", "5000", "Home Renovation").replaceFirst("^0", "A2")),
+                Files.readAllLines(out));
+    }
+
+    @Test
+    void run_malformedNumber_marksRecordInvalidAndContinues() throws Exception {
+        Path in = Files.writeString(dir.resolve("in.csv"), "creditScore,id\n700,1\nseven hundred,2\n\n580,3");
+        Path out = dir.resolve("out.csv");
+
+        BulkScoringJob.Result result = new BulkScoringJob(ruleset, properties).run(in, out);
+
+        assertEquals(3, result.records());
+        assertEquals(1, result.invalid());
+        List<String> lines = Files.readAllLines(out);
+        assertEquals(4, lines.size());
+        assertTrue(lines.get(1).startsWith("1,"));
+        assertEquals("2,,," + BulkScoringJob.INVALID, lines.get(2));
+        assertEquals("3,380,High,DECLINED", lines.get(3));
+    }
+
+    @Test
+    void run_missingIdColumn_isRejected() throws Exception {
+        Path in = Files.writeString(dir.resolve("in.csv"), "age,creditScore\n30,700\n");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new BulkScoringJob(ruleset, properties).run(in, dir.resolve("out.csv")));
+    }
+
+    @Test
+    void run_rulesOnExposureWithoutItsColumns_areReported() throws Exception {
+        CompiledRuleset exposure = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, List.of(
+                new ScoringRule(1L, "Poor credit", "creditScore", "<", "600", -120, 1, true),
+                new ScoringRule(2L, "Many applications", "recentApplications", ">=", "3", -50, 2, true)));
+        Path without = Files.writeString(dir.resolve("without.csv"), "id,creditScore\n1,700\n");
+        Path with = Files.writeString(dir.resolve("with.csv"), "id,creditScore,recentApplications\n1,700,4\n");
+
+        List<String> warnings = new BulkScoringJob(exposure, properties).run(without, dir.resolve("out1.csv")).warnings();
+
+        assertEquals(1, warnings.size());
+        assertTrue(warnings.get(0).startsWith("Rule 'Many applications' reads recentApplications"), warnings.get(0));
+        assertEquals(List.of(), new BulkScoringJob(exposure, properties).run(with, dir.resolve("out2.csv")).warnings());
+    }
+}
@@ -0,0 +1,138 @@
+package com.loanrisk.controller;
+
+import com.loanrisk.dto.LoanApplicationRequest;
+import com.loanrisk.dto.LoanApplicationResponse;
+import com.loanrisk.model.Customer;
+import com.loanrisk.model.LoanApplication;
+import com.loanrisk.repository.CustomerRepository;
+import com.loanrisk.repository.LoanApplicationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the JDBC round trips (statement executions, batches and commits) of one POST /loan/apply,
+ * through a counting proxy around the application's DataSource. Saving the application through JPA took
+ * 6 + one per explanation line: customer select and commit, rules, bands, application insert, one insert
+ * per explanation line and commit.
+ */
+@SpringBootTest
+@Import(ApplyRoundTripTest.CountingDataSource.class)
+@DirtiesContext // The context's DataSource is wrapped
+class ApplyRoundTripTest {
+
+    @Autowired
+    private LoanController loanController;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        customer = customerRepository.save(new Customer(null, "Round Trip", 20, new BigDecimal("40000.00"), 550,
+                "Employed", new BigDecimal("1000.00")));
+    }
+
+    private LoanApplicationRequest request() {
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setCustomerId(customer.getId());
+        request.setLoanAmount(12000.0);
+        request.setLoanPurpose("vacation");
+        request.setRequestedTermMonths(24);
+        return request;
+    }
+
+    @Test
+    void applyForLoan_insertsInOneTransactionWithOneExplanationBatch() {
+        loanController.applyForLoan(request()); // The first request also loads the bands
+        CountingDataSource.ROUND_TRIPS.set(0);
+        LoanApplicationResponse response = loanController.applyForLoan(request()).getBody();
+        int roundTrips = CountingDataSource.ROUND_TRIPS.get();
+
+        assertThat(response.getExplanation()).hasSizeGreaterThan(1); // Seed rules, e.g. "Too young" and "Vacation loan"
+        LoanApplication saved = transactionTemplate.execute(status -> {
+            LoanApplication application = loanApplicationRepository.findById(response.getLoanId()).orElseThrow();
+            application.getExplanation().size(); // Initialize
+            return application;
+        });
+        assertThat(saved.getExplanation()).containsExactlyInAnyOrderElementsOf(response.getExplanation());
+        assertThat(saved.getCustomer().getId()).isEqualTo(customer.getId());
+        assertThat(saved.getCreatedAt()).isNotNull();
+        // Customer and rules selects (bands are reused while the rules are unchanged); application insert, explanation batch, commit
+        assertThat(roundTrips).as("JDBC round trips of POST /loan/apply").isEqualTo(5);
+    }
+
+    /** Wraps the DataSource so every statement execution, batch and commit is counted. */
+    @TestConfiguration
+    static class CountingDataSource {
+
+        static final AtomicInteger ROUND_TRIPS = new AtomicInteger();
+
+        @Bean
+        static BeanPostProcessor countingDataSourcePostProcessor() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+                }
+            };
+        }
+
+        private static <T> T proxy(Class<T> type, T target) {
+            InvocationHandler handler = (proxy, method, args) -> {
+                String name = method.getName();
+                if (name.startsWith("execute") || name.equals("commit")) {
+                    ROUND_TRIPS.incrementAndGet();
+                }
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection connection) {
+                    return proxy(Connection.class, connection);
+                }
+                if (result instanceof CallableStatement statement) {
+                    return proxy(CallableStatement.class, statement);
+                }
+                if (result instanceof PreparedStatement statement) {
+                    return proxy(PreparedStatement.class, statement);
+                }
+                if (result instanceof Statement statement) {
+                    return proxy(Statement.class, statement);
+                }
+                return result;
+            };
+            return type.cast(Proxy.newProxyInstance(ApplyRoundTripTest.class.getClassLoader(), new Class<?>[] {type}, handler));
+        }
+    }
+}
@@ -13,6 +13,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional; // Ensure tests run in transactions
 
+import java.math.BigDecimal;
+
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -94,6 +96,66 @@ class CustomerControllerTest {
                 .andExpect(status().isNotFound()); // Expect HTTP 404
     }
 
+    @Test
+    void searchCustomers_shouldPageThroughMatchesWithTheNextCursor() throws Exception {
+        int[] scores = {640, 590, 550, 590, 700};
+        Long[] ids = new Long[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            ids[i] = customerRepository.save(new Customer(null, "Search " + i, 30 + i, new BigDecimal("50000.00"), scores[i],
+                    "Search-Test", BigDecimal.ZERO)).getId();
+        }
+
+        MvcResult first = mockMvc.perform(get("/customers")
+                        .param("maxCreditScore", "600")
+                        .param("employmentStatus", "Search-Test")
+                        .param("sort", "creditScore")
+                        .param("limit", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.customers", hasSize(2)))
+                .andExpect(jsonPath("$.customers[0].id", is(ids[2].intValue())))
+                .andExpect(jsonPath("$.customers[0].creditScore", is(550)))
+                .andExpect(jsonPath("$.customers[1].id", is(ids[1].intValue())))
+                .andExpect(jsonPath("$.next", is("590," + ids[1])))
+                .andReturn();
+        String next = objectMapper.readTree(first.getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(get("/customers")
+                        .param("maxCreditScore", "600")
+                        .param("employmentStatus", "Search-Test")
+                        .param("sort", "creditScore")
+                        .param("limit", "2")
+                        .param("after", next))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", hasSize(1)))
+                .andExpect(jsonPath("$.customers[0].id", is(ids[3].intValue())))
+                .andExpect(jsonPath("$.next", nullValue())); // Last page
+    }
 
-    // Tests for GET /customers/{id} will be added next
+    @Test
+    void searchCustomers_byId_shouldReturnCustomersAfterTheCursor() throws Exception {
+        Long firstId = customerRepository.save(new Customer(null, "Search A", 61, BigDecimal.ONE, 700, "Search-Id", BigDecimal.ZERO)).getId();
+        Long secondId = customerRepository.save(new Customer(null, "Search B", 62, BigDecimal.ONE, 700, "Search-Id", BigDecimal.ZERO)).getId();
+
+        mockMvc.perform(get("/customers")
+                        .param("employmentStatus", "Search-Id")
+                        .param("minAge", "60")
+                        .param("after", String.valueOf(firstId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customers", hasSize(1)))
+                .andExpect(jsonPath("$.customers[0].id", is(secondId.intValue())))
+                .andExpect(jsonPath("$.customers[0].name", is("Search B")))
+                .andExpect(jsonPath("$.next", nullValue()));
+    }
+
+    @Test
+    void searchCustomers_invalidParameters_shouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/customers").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/customers").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/customers").param("sort", "creditScore").param("after", "17"))
+                .andExpect(status().isBadRequest());
+    }
 }
\ No newline at end of file
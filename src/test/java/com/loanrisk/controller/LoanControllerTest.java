@@ -154,6 +154,69 @@ class LoanControllerTest {
     }
 
 
+    @Test
+    void applyForLoan_RepeatApplications_ShouldSeeCustomerExposure() throws Exception {
+        scoringRuleRepository.save(new ScoringRule(null, "Repeat Applicant", "recentApplications", ">=", "2", 40, 3, true));
+        scoringRuleRepository.save(new ScoringRule(null, "High Outstanding Amount", "outstandingAmount", ">", "15000", 30, 4, true));
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setCustomerId(testCustomer.getId());
+        request.setLoanAmount(10000.0);
+        request.setLoanPurpose("Home Improvement");
+        request.setRequestedTermMonths(36);
+        String requestJson = objectMapper.writeValueAsString(request);
+
+        for (int i = 0; i < 2; i++) { // Nothing, then one application of 10000 before
+            mockMvc.perform(post("/loan/apply").contentType(MediaType.APPLICATION_JSON).content(requestJson))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.explanation").isEmpty());
+        }
+        mockMvc.perform(post("/loan/apply").contentType(MediaType.APPLICATION_JSON).content(requestJson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.riskScore").value(570)) // Base score 500 + 40 + 30
+                .andExpect(jsonPath("$.explanation[0]").value("Repeat Applicant"))
+                .andExpect(jsonPath("$.explanation[1]").value("High Outstanding Amount"));
+    }
+
+    @Test
+    void streamDecisions_ShouldPushNewDecisionsMatchingTheFilter() throws Exception {
+        MvcResult stream = mockMvc.perform(get("/loan/stream").param("decision", "manual_review"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setCustomerId(testCustomer.getId());
+        request.setLoanAmount(10000.0);
+        request.setLoanPurpose("Home Improvement");
+        request.setRequestedTermMonths(36);
+
+        MvcResult applied = mockMvc.perform(post("/loan/apply")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.decision").value("MANUAL_REVIEW"))
+                .andReturn();
+        Long loanId = objectMapper.readValue(applied.getResponse().getContentAsString(), LoanApplicationResponse.class).getLoanId();
+
+        try {
+            long deadline = System.currentTimeMillis() + 5000; // Written by a sender thread, not the request thread
+            while (!stream.getResponse().getContentAsString().contains("id:" + loanId + "\n")
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertThat(stream.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+            assertThat(stream.getResponse().getContentAsString())
+                    .contains("id:" + loanId + "\nevent:decision\ndata:{\"loanId\":" + loanId + ",\"customerId\":" + testCustomer.getId())
+                    .contains("\"riskScore\":500,\"riskLevel\":\"Medium\",\"decision\":\"MANUAL_REVIEW\"");
+        } finally {
+            stream.getRequest().getAsyncContext().complete(); // Unsubscribes
+        }
+    }
+
+    @Test
+    void streamDecisions_UnknownFilterValue_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/loan/stream").param("riskLevel", "Extreme"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void applyForLoan_CustomerNotFound_ShouldReturnNotFound() throws Exception {
         LoanApplicationRequest request = new LoanApplicationRequest();
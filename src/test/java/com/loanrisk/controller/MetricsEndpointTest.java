@@ -0,0 +1,76 @@
+package com.loanrisk.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.dto.LoanApplicationRequest;
+import com.loanrisk.model.Customer;
+import com.loanrisk.repository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability // Metrics export is disabled in tests unless requested
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void applyForLoan_RecordsStageTimersAndOutcomeCounters() throws Exception {
+        Customer customer = new Customer(null, "Metrics User", 40, BigDecimal.valueOf(80000), 720, "Employed", BigDecimal.ZERO);
+        customer = customerRepository.save(customer);
+
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setCustomerId(customer.getId());
+        request.setLoanAmount(10000.0);
+        request.setLoanPurpose("Car");
+        request.setRequestedTermMonths(24);
+
+        String created = mockMvc.perform(post("/loan/apply")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        Timer serialization = meterRegistry.get("loanrisk.apply.stage").tag("stage", "serialization").timer();
+        long serialized = serialization.count();
+        mockMvc.perform(get("/loan/{id}", objectMapper.readTree(created).get("loanId").asLong()))
+                .andExpect(status().isOk());
+        assertEquals(serialized, serialization.count(), "GET /loan/{id} is not part of the apply pipeline");
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("loanrisk_apply_stage_seconds_count{stage=\"customer_lookup\"}")))
+                .andExpect(content().string(containsString("loanrisk_apply_stage_seconds_count{stage=\"rule_loading\"}")))
+                .andExpect(content().string(containsString("loanrisk_apply_stage_seconds_count{stage=\"evaluation\"}")))
+                .andExpect(content().string(containsString("loanrisk_apply_stage_seconds_count{stage=\"persistence\"}")))
+                .andExpect(content().string(containsString("loanrisk_apply_stage_seconds_count{stage=\"serialization\"}")))
+                .andExpect(content().string(containsString("loanrisk_scoring_evaluate_seconds_bucket{le=")))
+                .andExpect(content().string(containsString("loanrisk_decisions_total{decision=")))
+                .andExpect(content().string(containsString("loanrisk_risk_levels_total{level=")));
+    }
+}
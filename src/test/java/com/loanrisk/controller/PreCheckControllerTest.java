@@ -0,0 +1,116 @@
+package com.loanrisk.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.dto.PreCheckRequest;
+import com.loanrisk.model.Customer;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.CustomerRepository;
+import com.loanrisk.repository.LoanApplicationRepository;
+import com.loanrisk.repository.ScoringRuleRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "loanrisk.precheck.ruleset-max-age-ms=0") // Always see the rules seeded by each test
+@AutoConfigureMockMvc
+@Transactional // Rollback transactions after each test
+class PreCheckControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Autowired
+    private ScoringRuleRepository scoringRuleRepository;
+
+    private Customer testCustomer;
+
+    @BeforeEach
+    void setUp() {
+        scoringRuleRepository.deleteAll();
+        scoringRuleRepository.save(new ScoringRule(null, "Credit too low", "creditScore", "<", "600", -100, 1, true));
+        scoringRuleRepository.save(new ScoringRule(null, "Vacation loan", "loanPurpose", "==", "vacation", -10, 2, true));
+
+        testCustomer = customerRepository.save(new Customer(null, "Pre Check", 30, BigDecimal.valueOf(50000),
+                                                            550, "Employed", BigDecimal.valueOf(1000)));
+    }
+
+    private PreCheckRequest loanRequest(String purpose) {
+        PreCheckRequest request = new PreCheckRequest();
+        request.setLoanAmount(10000.0);
+        request.setLoanPurpose(purpose);
+        request.setRequestedTermMonths(24);
+        return request;
+    }
+
+    @Test
+    void preCheck_InlineAttributes_ReturnsDecisionWithoutPersisting() throws Exception {
+        PreCheckRequest request = loanRequest("Vacation");
+        request.setCreditScore(720);
+        long applicationsBefore = loanApplicationRepository.count();
+
+        mockMvc.perform(post("/loan/precheck")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.riskScore").value(490)) // 500 - 10 (vacation)
+                .andExpect(jsonPath("$.riskLevel").value("Medium"))
+                .andExpect(jsonPath("$.decision").value("MANUAL_REVIEW"))
+                .andExpect(jsonPath("$.explanation").doesNotExist())
+                .andExpect(jsonPath("$.loanId").doesNotExist());
+
+        assertThat(loanApplicationRepository.count()).isEqualTo(applicationsBefore);
+    }
+
+    @Test
+    void preCheck_CustomerId_ScoresStoredCustomer() throws Exception {
+        PreCheckRequest request = loanRequest("Car");
+        request.setCustomerId(testCustomer.getId());
+
+        mockMvc.perform(post("/loan/precheck")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.riskScore").value(400)) // 500 - 100 (credit 550)
+                .andExpect(jsonPath("$.riskLevel").value("High"))
+                .andExpect(jsonPath("$.decision").value("DECLINED"));
+    }
+
+    @Test
+    void preCheck_UnknownCustomer_ShouldReturnNotFound() throws Exception {
+        PreCheckRequest request = loanRequest("Car");
+        request.setCustomerId(999999L);
+
+        mockMvc.perform(post("/loan/precheck")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void preCheck_NoCustomer_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/loan/precheck")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(loanRequest("Car"))))
+                .andExpect(status().isBadRequest());
+    }
+}
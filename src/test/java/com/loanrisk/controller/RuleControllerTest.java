@@ -1,8 +1,11 @@
 package com.loanrisk.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
 import com.loanrisk.model.ScoringRule;
 import com.loanrisk.repository.ScoringRuleRepository;
+import com.loanrisk.service.ScoringService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,11 +15,14 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -33,6 +39,9 @@ class RuleControllerTest {
     @Autowired
     private ScoringRuleRepository scoringRuleRepository;
 
+    @Autowired
+    private ScoringService scoringService;
+
     private ScoringRule rule1_enabled_prio5;
     private ScoringRule rule2_enabled_prio10;
     private ScoringRule rule3_disabled_prio20;
@@ -106,4 +115,50 @@ class RuleControllerTest {
         boolean disabledRuleFound = actualRules.stream().anyMatch(rule -> rule.getId().equals(disabledRuleId));
         assertEquals(false, disabledRuleFound, "Disabled rule should not be present in the response");
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetServedRuleset() throws Exception {
+        mockMvc.perform(get("/rules/version")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleset").value(ScoringRule.LIVE_RULESET))
+                .andExpect(jsonPath("$.syncEnabled").value(false)) // Off by default
+                .andExpect(jsonPath("$.version").value(nullValue()));
+    }
+
+    @Test
+    void testGetRuleStats() throws Exception {
+        // RuleA and RuleB name unknown fields and are not compiled
+        scoringRuleRepository.save(new ScoringRule(null, "Over 30", "age", ">", "30", 10, 30, true));
+        scoringRuleRepository.save(new ScoringRule(null, "Large loan", "loanAmount", ">", "50000", 20, 40, true));
+        mockMvc.perform(delete("/rules/stats")).andExpect(status().isOk());
+        CustomerInput customer = new CustomerInput(null, null, "Stats", 40, new BigDecimal("60000.00"), 700, "Employed",
+                BigDecimal.ZERO); // No id: never served from the customer score cache
+        scoringService.evaluate(new ApplicationInput(new BigDecimal("10000.00"), "car", 36), customer);
+        scoringService.evaluate(new ApplicationInput(new BigDecimal("60000.00"), "car", 36), customer);
+
+        mockMvc.perform(get("/rules/stats")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ruleset").value(ScoringRule.LIVE_RULESET))
+                .andExpect(jsonPath("$.version").value(nullValue())) // Ruleset sync is off by default
+                .andExpect(jsonPath("$.since").exists())
+                .andExpect(jsonPath("$.rules", hasSize(2)))
+                .andExpect(jsonPath("$.rules[0].name").value("Over 30"))
+                .andExpect(jsonPath("$.rules[0].evaluations").value(2))
+                .andExpect(jsonPath("$.rules[0].matches").value(2))
+                .andExpect(jsonPath("$.rules[1].name").value("Large loan"))
+                .andExpect(jsonPath("$.rules[1].evaluations").value(2))
+                .andExpect(jsonPath("$.rules[1].matches").value(1))
+                .andExpect(jsonPath("$.rules[1].matchRate").value(0.5))
+                .andExpect(jsonPath("$.rules[1].errors").value(0));
+
+        mockMvc.perform(delete("/rules/stats")) // Reports the counts up to the reset
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules[0].evaluations").value(2));
+        mockMvc.perform(get("/rules/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rules[0].evaluations").value(0))
+                .andExpect(jsonPath("$.rules[0].matchRate").value(0.0));
+    }
+}
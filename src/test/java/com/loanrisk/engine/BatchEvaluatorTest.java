@@ -0,0 +1,121 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BatchEvaluator: the columnar path must agree exactly with row-by-row evaluation.
+ */
+class BatchEvaluatorTest {
+
+    private static final String[] STATUSES = {"Employed", "employed", "Self-Employed", "Unemployed", null};
+    private static final String[] PURPOSES = {"Car", "Home Renovation", "Debt Consolidation", null};
+
+    private static CompiledRuleset ruleset() {
+        List<ScoringRule> rules = new ArrayList<>();
+        long id = 1;
+        rules.add(new ScoringRule(id++, "Young", "age", "<", "25", -30, 1, true));
+        rules.add(new ScoringRule(id++, "Senior", "age", ">=", "60.5", -10, 2, true)); // Fractional threshold on an int field
+        rules.add(new ScoringRule(id++, "Poor credit", "creditScore", "<=", "580", -120, 3, true));
+        rules.add(new ScoringRule(id++, "Excellent credit", "creditScore", ">", "760", 80, 4, true));
+        rules.add(new ScoringRule(id++, "Exact income", "annualIncome", "==", "50000.005", 5, 5, true)); // Never equal at scale 2
+        rules.add(new ScoringRule(id++, "Not round income", "annualIncome", "!=", "60000", 3, 6, true));
+        rules.add(new ScoringRule(id++, "High debt", "existingDebt", ">", "20000.5", -40, 7, true));
+        rules.add(new ScoringRule(id++, "Large loan", "loanAmount", ">=", "25000", -50, 8, true));
+        rules.add(new ScoringRule(id++, "Small loan", "loanAmount", "<", "5000.001", 20, 9, true));
+        rules.add(new ScoringRule(id++, "Long term", "requestedTermMonths", ">", "60", -15, 10, true));
+        rules.add(new ScoringRule(id++, "High loan ratio", "loanRatio", ">", "0.5", -60, 11, true));
+        rules.add(new ScoringRule(id++, "Low debt ratio", "existingDebtRatio", "<=", "0.1000", 25, 12, true));
+        rules.add(new ScoringRule(id++, "Employed", "employmentStatus", "==", "EMPLOYED", 40, 13, true));
+        rules.add(new ScoringRule(id++, "Not car", "loanPurpose", "!=", " car ", -5, 14, true));
+        rules.add(new ScoringRule(id++, "Young and stretched", null, null, null, -35, 15, true, ScoringRule.LIVE_RULESET,
+                "age < 30 AND (loanRatio > 0.3 OR loanPurpose IN ('car', 'Debt Consolidation'))"));
+        return CompiledRuleset.compile("test", rules);
+    }
+
+    private static BigDecimal amount(Random random, int maxUnits) {
+        if (random.nextInt(20) == 0) {
+            return null;
+        }
+        // Mixed scales (0 to 3 decimals) within one column
+        return BigDecimal.valueOf(random.nextInt(maxUnits * 1000), 3).setScale(random.nextInt(4), RoundingMode.DOWN);
+    }
+
+    @Test
+    void evaluate_randomBatch_matchesRowByRowEvaluation() {
+        CompiledRuleset ruleset = ruleset();
+        BatchEvaluator evaluator = new BatchEvaluator(ruleset);
+        Random random = new Random(42);
+        int rows = 5000;
+        ColumnarBatch batch = evaluator.newBatch(rows);
+        List<CustomerInput> customers = new ArrayList<>();
+        List<ApplicationInput> applications = new ArrayList<>();
+
+        for (int i = 0; i < rows; i++) {
+            CustomerInput customer = new CustomerInput((long) i, null, "Customer " + i,
+                    random.nextInt(15) == 0 ? null : 18 + random.nextInt(60),
+                    random.nextInt(10) == 0 ? BigDecimal.ZERO : amount(random, 150_000),
+                    random.nextInt(15) == 0 ? null : 300 + random.nextInt(551),
+                    STATUSES[random.nextInt(STATUSES.length)],
+                    amount(random, 40_000));
+            ApplicationInput application = new ApplicationInput(amount(random, 60_000),
+                    PURPOSES[random.nextInt(PURPOSES.length)],
+                    random.nextInt(15) == 0 ? null : 6 + random.nextInt(115));
+            customers.add(customer);
+            applications.add(application);
+            batch.add(customer, application);
+        }
+        batch.seal();
+
+        int[] scores = new int[rows];
+        long[] batchHits = new long[ruleset.size()];
+        evaluator.evaluate(batch, scores, batchHits);
+
+        long[] rowHits = new long[ruleset.size()];
+        for (int i = 0; i < rows; i++) {
+            ScoringResult expected = ruleset.evaluate(applications.get(i), customers.get(i), rowHits);
+            assertEquals(expected.getRiskScore(), scores[i], "row " + i);
+        }
+        assertArrayEquals(rowHits, batchHits);
+    }
+
+    @Test
+    void evaluate_valuesBeyondLongRange_fallBackToExactComparison() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("test", List.of(
+                new ScoringRule(1L, "Huge income", "annualIncome", ">", "1E+20", 10, 1, true)));
+        BatchEvaluator evaluator = new BatchEvaluator(ruleset);
+        ColumnarBatch batch = evaluator.newBatch(2);
+        CustomerInput rich = new CustomerInput(1L, null, "Rich", 40, new BigDecimal("1E+25"), 700, "Employed", BigDecimal.ZERO);
+        CustomerInput precise = new CustomerInput(2L, null, "Precise", 40, new BigDecimal("1.000000000000000000001"), 700, "Employed", BigDecimal.ZERO);
+        ApplicationInput empty = new ApplicationInput(null, null, null);
+        batch.add(rich, empty);
+        batch.add(precise, empty);
+        batch.seal();
+
+        int[] scores = new int[2];
+        evaluator.evaluate(batch, scores, null);
+
+        assertEquals(510, scores[0]);
+        assertEquals(500, scores[1]);
+    }
+
+    @Test
+    void range_fractionalThresholds_areExactOnIntegers() {
+        // value < 2.5 at scale 0 means value <= 2; value == 2.5 can never hold
+        assertArrayEquals(new long[] {Long.MIN_VALUE, 2, 0}, BatchEvaluator.range(RuleOperator.LT, new BigDecimal("2.5"), 0));
+        assertArrayEquals(new long[] {3, Long.MAX_VALUE, 0}, BatchEvaluator.range(RuleOperator.GE, new BigDecimal("2.5"), 0));
+        assertArrayEquals(new long[] {1, 0, 0}, BatchEvaluator.range(RuleOperator.EQ, new BigDecimal("2.5"), 0));
+        // At scale 2, 2.5 is exactly 250
+        assertArrayEquals(new long[] {250, 250, 1}, BatchEvaluator.range(RuleOperator.NE, new BigDecimal("2.5"), 2));
+        assertArrayEquals(new long[] {Long.MIN_VALUE, -251, 0}, BatchEvaluator.range(RuleOperator.LT, new BigDecimal("-2.5"), 2));
+    }
+}
@@ -0,0 +1,108 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for compound rule conditions.
+ */
+class ConditionCompilerTest {
+
+    private CustomerInput customer = new CustomerInput(1L, null, "Test Customer", 23, new BigDecimal("40000.00"),
+                                                       640, "Self-Employed", new BigDecimal("8000.00"));
+    private final ApplicationInput application = new ApplicationInput(new BigDecimal("20000.00"), "Car", 48);
+
+    private boolean test(String condition) {
+        return ConditionCompiler.compile(condition).predicate().test(customer, application);
+    }
+
+    @Test
+    void compile_booleanLogicAndComparisons() {
+        assertTrue(test("age < 25 AND loanRatio > 0.4"));             // loanRatio = 0.5
+        assertFalse(test("age < 25 and loanRatio > 0.6"));
+        assertTrue(test("creditScore >= 700 OR existingDebtRatio == 0.2"));
+        assertTrue(test("NOT (age > 30) AND NOT creditScore > 700"));
+        assertTrue(test("employmentStatus == 'self-employed'"));     // Strings ignore case, like single-field rules
+        assertTrue(test("loanPurpose != 'Vacation'"));
+    }
+
+    @Test
+    void compile_inListsRangesAndArithmetic() {
+        assertTrue(test("loanPurpose IN ('car', 'Home Renovation')"));
+        assertFalse(test("loanPurpose NOT IN ('car', 'Home Renovation')"));
+        assertTrue(test("requestedTermMonths IN (12, 24, 48)"));
+        assertTrue(test("creditScore BETWEEN 600 AND 650 AND age NOT BETWEEN 30 AND 40"));
+        assertTrue(test("(loanAmount + existingDebt) / annualIncome >= 0.7"));  // 28000 / 40000
+        assertTrue(test("loanAmount / requestedTermMonths * 12 > 4999.99"));
+        assertTrue(test("-age < -20"));
+    }
+
+    @Test
+    void compile_missingValues_neverMatch() {
+        customer = new CustomerInput(1L, null, "Test Customer", 23, BigDecimal.ZERO, null, "Self-Employed", new BigDecimal("8000.00"));
+
+        assertFalse(test("creditScore < 600"));
+        assertFalse(test("creditScore NOT IN (700)"));
+        assertFalse(test("loanAmount / annualIncome > 0"));        // Division by zero is a missing value
+        assertTrue(test("creditScore < 600 OR age < 25"));
+    }
+
+    @Test
+    void compile_notOverMissingValues_neverMatches() {
+        customer = new CustomerInput(1L, null, "Test Customer", 23, new BigDecimal("40000.00"), null, "Self-Employed", new BigDecimal("8000.00"));
+
+        assertFalse(test("NOT creditScore BETWEEN 600 AND 700"));
+        assertFalse(test("creditScore NOT BETWEEN 600 AND 700"));
+        assertFalse(test("NOT creditScore IN (700)"));
+        assertFalse(test("creditScore NOT IN (700)"));
+        assertFalse(test("NOT recentApplications >= 3"));           // No exposure: the field is missing
+        assertFalse(test("NOT (creditScore < 600 AND age < 25)"));  // NOT unknown AND true is unknown
+        assertTrue(test("NOT (creditScore < 600 AND age > 25)"));   // NOT (unknown AND false) is true
+        assertTrue(test("NOT NOT age < 25"));
+        assertFalse(test("NOT NOT creditScore < 600"));
+    }
+
+    @Test
+    void compile_reportsReferencedFields() {
+        assertEquals(java.util.Set.of(RuleField.AGE, RuleField.LOAN_RATIO),
+                ConditionCompiler.compile("age < 25 AND loanRatio > 0.4").fields());
+    }
+
+    @Test
+    void compile_invalidConditions_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("age <"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("salary > 3"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("age + 1"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("employmentStatus < 'b'"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("age > 'x'"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("age < 25 AND creditScore"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("NOT age"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("NOT (age < 25 OR creditScore)"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("loanPurpose IN ('car', 3)"));
+        assertThrows(IllegalArgumentException.class, () -> ConditionCompiler.compile("name == 'unterminated"));
+    }
+
+    @Test
+    void compiledRuleset_mixesConditionAndSingleFieldRules() {
+        ScoringRule young = new ScoringRule(1L, "Young with high loan ratio", null, null, null, -60, 1, true,
+                ScoringRule.LIVE_RULESET, "age < 25 AND loanRatio > 0.4");
+        ScoringRule credit = new ScoringRule(2L, "Average credit", "creditScore", "<", "700", -15, 2, true);
+        ScoringRule broken = new ScoringRule(3L, "Broken", null, null, null, -100, 3, true,
+                ScoringRule.LIVE_RULESET, "age <");
+        CompiledRuleset ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, List.of(young, credit, broken));
+
+        ScoringResult result = ruleset.evaluate(application, customer);
+
+        assertEquals(2, ruleset.size()); // The broken condition is skipped
+        assertFalse(ruleset.getRules().get(0).isCustomerOnly());
+        assertEquals(425, result.getRiskScore());
+        assertEquals(List.of("Young with high loan ratio", "Average credit"), result.getExplanation());
+        assertEquals(425, ruleset.score(application, customer));
+    }
+}
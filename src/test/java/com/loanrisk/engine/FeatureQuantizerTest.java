@@ -0,0 +1,98 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FeatureQuantizer: keys tell apart exactly what the rules tell apart.
+ */
+class FeatureQuantizerTest {
+
+    private static final List<ScoringRule> RULES = List.of(
+            new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", 30, 10, true),
+            new ScoringRule(2L, "Credit average", "creditScore", "<=", "700", 15, 20, true),
+            new ScoringRule(3L, "High ratio", "loanRatio", ">", "0.5", 20, 30, true),
+            new ScoringRule(4L, "Vacation loan", "loanPurpose", "==", "vacation", 10, 40, true),
+            new ScoringRule(5L, "Not a car", "loanPurpose", "!=", "Car", 5, 50, true),
+            new ScoringRule(6L, "Young and indebted", null, null, null, 25, 60, true, ScoringRule.LIVE_RULESET,
+                    "age < 25 AND existingDebt > 10000"));
+
+    private static CustomerInput customer(int age, int creditScore, String existingDebt) {
+        return new CustomerInput(1L, 0L, "Customer", age, new BigDecimal("50000.00"), creditScore, "Employed",
+                new BigDecimal(existingDebt));
+    }
+
+    private static ApplicationInput application(String loanAmount, String purpose) {
+        return new ApplicationInput(new BigDecimal(loanAmount), purpose, 36);
+    }
+
+    @Test
+    void key_valuesOnTheSameSideOfEveryThreshold_areEqual() {
+        FeatureQuantizer quantizer = FeatureQuantizer.of(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES));
+
+        assertEquals(quantizer.key(customer(30, 640, "500"), application("10000", "vacation")),
+                quantizer.key(customer(30, 690, "500"), application("20000", "VACATION")));
+        assertNotEquals(quantizer.key(customer(30, 700, "500"), application("10000", "vacation")), // On the threshold
+                quantizer.key(customer(30, 701, "500"), application("10000", "vacation")));
+        assertNotEquals(quantizer.key(customer(30, 640, "500"), application("10000", "vacation")),
+                quantizer.key(customer(30, 640, "500"), application("10000", "car")));
+        assertEquals(quantizer.key(customer(30, 640, "500"), application("10000", "home")),
+                quantizer.key(customer(30, 640, "500"), application("10000", "boat"))); // Equal to no rule value
+    }
+
+    @Test
+    void key_fieldsReadByConditions_areKeptExactly() {
+        FeatureQuantizer quantizer = FeatureQuantizer.of(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES));
+
+        assertNotEquals(quantizer.key(customer(30, 640, "500"), application("10000", "car")),
+                quantizer.key(customer(31, 640, "500"), application("10000", "car")));
+        assertNotEquals(quantizer.key(customer(30, 640, "500"), application("10000", "car")),
+                quantizer.key(customer(30, 640, "501"), application("10000", "car")));
+    }
+
+    @Test
+    void key_missingValue_differsFromEveryValue() {
+        FeatureQuantizer quantizer = FeatureQuantizer.of(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES));
+
+        assertNotEquals(quantizer.key(customer(30, 640, "500"), application("10000", null)),
+                quantizer.key(customer(30, 640, "500"), application("10000", "home")));
+    }
+
+    @Test
+    void key_differentRulesetVersions_areNotEqual() {
+        FeatureQuantizer first = FeatureQuantizer.of(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES));
+        FeatureQuantizer second = FeatureQuantizer.of(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES));
+
+        assertNotEquals(first.key(customer(30, 640, "500"), application("10000", "car")),
+                second.key(customer(30, 640, "500"), application("10000", "car")));
+    }
+
+    @Test
+    void key_equalKeys_haveEqualResults() {
+        CompiledRuleset ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, RULES);
+        FeatureQuantizer quantizer = FeatureQuantizer.of(ruleset);
+        String[] purposes = {"car", "Car", "vacation", "home", null};
+        Random random = new Random(42);
+        Map<FeatureQuantizer.Key, ScoringResult> results = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            CustomerInput customer = customer(22 + random.nextInt(5), 550 + random.nextInt(200), String.valueOf(9_995 + random.nextInt(10)));
+            ApplicationInput application = application(String.valueOf(20_000 + random.nextInt(10_000)), purposes[random.nextInt(purposes.length)]);
+            ScoringResult result = ruleset.evaluate(application, customer);
+            ScoringResult previous = results.putIfAbsent(quantizer.key(customer, application), result);
+            if (previous != null) {
+                assertEquals(previous, result, () -> customer + " " + application);
+            }
+        }
+        assertTrue(results.size() < 20_000 / 2, "Keys should collapse equivalent applications: " + results.size());
+    }
+}
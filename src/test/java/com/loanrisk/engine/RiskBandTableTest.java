@@ -0,0 +1,98 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RiskBandTable.
+ */
+class RiskBandTableTest {
+
+    @Test
+    void defaultBands_matchTheOriginalThresholds() {
+        RiskBandTable bands = RiskBandTable.DEFAULT;
+
+        assertEquals(RiskLevel.HIGH, bands.band(Integer.MIN_VALUE).level());
+        assertEquals(RiskLevel.HIGH, bands.band(449).level());
+        assertEquals(RiskLevel.MEDIUM, bands.band(450).level());
+        assertEquals(Decision.MANUAL_REVIEW, bands.band(649).decision());
+        assertEquals(RiskLevel.LOW, bands.band(650).level());
+        assertEquals("Low", bands.band(Integer.MAX_VALUE).levelLabel());
+        assertEquals("APPROVED", bands.band(700).decisionName());
+    }
+
+    @Test
+    void compile_unsortedRows_lowestBandCoversEverythingBelow() {
+        RiskBandTable bands = RiskBandTable.compile(List.of(
+                new RiskBand(1L, "candidate", 700, RiskLevel.LOW, Decision.APPROVED),
+                new RiskBand(2L, "candidate", 400, RiskLevel.HIGH, Decision.DECLINED),
+                new RiskBand(3L, "candidate", 550, RiskLevel.MEDIUM, Decision.MANUAL_REVIEW)));
+
+        assertEquals(3, bands.size());
+        assertEquals(Decision.DECLINED, bands.band(0).decision());
+        assertEquals(Decision.DECLINED, bands.band(549).decision());
+        assertEquals(Decision.MANUAL_REVIEW, bands.band(550).decision());
+        assertEquals(Decision.MANUAL_REVIEW, bands.band(699).decision());
+        assertEquals(Decision.APPROVED, bands.band(700).decision());
+    }
+
+    @Test
+    void compile_noRows_usesDefaultBands() {
+        assertSame(RiskBandTable.DEFAULT, RiskBandTable.compile(List.of()));
+    }
+
+    @Test
+    void compile_invalidRows_areRejected() {
+        assertThrows(IllegalArgumentException.class, () -> RiskBandTable.compile(List.of(
+                new RiskBand(1L, "live", 450, RiskLevel.MEDIUM, Decision.MANUAL_REVIEW),
+                new RiskBand(2L, "live", 450, RiskLevel.LOW, Decision.APPROVED))));
+        assertThrows(IllegalArgumentException.class, () -> RiskBandTable.compile(List.of(
+                new RiskBand(1L, "live", 450, RiskLevel.MEDIUM, null))));
+    }
+
+    @Test
+    void compile_repeatedNonAdjacentOutcome_staysSeparateBands() {
+        RiskBandTable bands = RiskBandTable.compile(List.of(
+                new RiskBand(1L, "live", 0, RiskLevel.HIGH, Decision.DECLINED),
+                new RiskBand(2L, "live", 450, RiskLevel.LOW, Decision.APPROVED),
+                new RiskBand(3L, "live", 500, RiskLevel.HIGH, Decision.DECLINED),
+                new RiskBand(4L, "live", 550, RiskLevel.HIGH, Decision.DECLINED))); // Merged with the band below
+
+        assertEquals(3, bands.size());
+        assertEquals(bands.band(400), bands.band(600)); // Same outcome...
+        assertNotEquals(bands.indexOf(400), bands.indexOf(600)); // ...in separate bands
+        assertEquals(bands.indexOf(500), bands.indexOf(600));
+        assertEquals(Decision.APPROVED, bands.band(475).decision());
+    }
+
+    @Test
+    void evaluateDecision_reachableRangeSpanningAnotherBand_doesNotSettleEarly() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("live", List.of(
+                new ScoringRule(1L, "Old", "age", ">", "60", -100, 1, true),
+                new ScoringRule(2L, "Good credit", "creditScore", ">", "700", -25, 2, true),
+                new ScoringRule(3L, "Large loan", "loanAmount", ">", "50000", 100, 3, true)),
+                List.of(new RiskBand(1L, "live", 0, RiskLevel.HIGH, Decision.DECLINED),
+                        new RiskBand(2L, "live", 450, RiskLevel.LOW, Decision.APPROVED),
+                        new RiskBand(3L, "live", 500, RiskLevel.HIGH, Decision.DECLINED)));
+        // Reachable scores start at [400, 600], both DECLINED; the full score is 475, APPROVED
+        CustomerInput customer = new CustomerInput(1L, null, "Old", 70, new BigDecimal("50000"), 750, "Employed", BigDecimal.ZERO);
+        ApplicationInput application = new ApplicationInput(new BigDecimal("60000"), "car", 36);
+
+        ScoringResult full = ruleset.evaluate(application, customer);
+        ScoringResult decision = ruleset.evaluateDecision(application, customer);
+
+        assertEquals(475, full.getRiskScore());
+        assertEquals("APPROVED", full.getDecision());
+        assertEquals(full.getDecision(), decision.getDecision());
+        assertEquals(full.getRiskLevel(), decision.getRiskLevel());
+    }
+}
@@ -0,0 +1,128 @@
+package com.loanrisk.engine;
+
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RuleStats collected by a CompiledRuleset, against counts taken from the results themselves.
+ */
+class RuleStatsTest {
+
+    private static final int INPUTS = 20_000;
+
+    private static List<ScoringRule> rules() {
+        List<ScoringRule> rules = new ArrayList<>();
+        long id = 1;
+        rules.add(new ScoringRule(id++, "Young", "age", "<", "25", -30, 1, true));
+        rules.add(new ScoringRule(id++, "Poor credit", "creditScore", "<=", "580", -120, 2, true));
+        rules.add(new ScoringRule(id++, "Excellent credit", "creditScore", ">", "760", 80, 3, true));
+        rules.add(new ScoringRule(id++, "Large loan", "loanAmount", ">=", "25000", -50, 4, true));
+        rules.add(new ScoringRule(id++, "Employed", "employmentStatus", "==", "Employed", 40, 5, true));
+        rules.add(new ScoringRule(id++, "Never", "age", ">", "200", -5, 6, true));
+        rules.add(new ScoringRule(id++, "Stretched", null, null, null, -35, 7, true, ScoringRule.LIVE_RULESET,
+                "loanRatio > 0.3 AND requestedTermMonths > 48"));
+        return rules;
+    }
+
+    private static CustomerInput customer(Random random) {
+        return new CustomerInput(null, null, "Customer", random.nextInt(10) == 0 ? null : 18 + random.nextInt(60),
+                BigDecimal.valueOf(20_000 + random.nextInt(130_000)), 300 + random.nextInt(551),
+                random.nextBoolean() ? "Employed" : "Unemployed", BigDecimal.valueOf(random.nextInt(30_000)));
+    }
+
+    private static ApplicationInput application(Random random) {
+        return new ApplicationInput(BigDecimal.valueOf(1_000 + random.nextInt(59_000)), "car", 6 + random.nextInt(115));
+    }
+
+    @Test
+    void evaluate_countsEveryRuleOnceAndItsMatches() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("test", rules());
+        ruleset.collectStats();
+        long[] hits = new long[ruleset.size()];
+        Random random = new Random(7);
+
+        for (int i = 0; i < INPUTS; i++) {
+            ruleset.evaluate(application(random), customer(random), hits);
+        }
+
+        RuleStats stats = ruleset.getStats();
+        for (int i = 0; i < ruleset.size(); i++) {
+            assertEquals(INPUTS, stats.evaluations(i));
+            assertEquals(hits[i], stats.matches(i), ruleset.getRules().get(i).getName());
+            assertEquals(0, stats.errors(i));
+            assertTrue(stats.samples(i) > 0, "One evaluation in " + RuleStats.SAMPLE_INTERVAL + " is timed");
+            assertTrue(stats.samples(i) < INPUTS / 100);
+        }
+        assertEquals(0, stats.matches(5)); // "Never"
+    }
+
+    @Test
+    void evaluateWithPartialScore_countsCustomerRulesOncePerCustomer() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("test", rules());
+        ruleset.collectStats();
+        Random random = new Random(11);
+        CustomerInput customer = customer(random);
+        CustomerPartialScore customerScore = ruleset.evaluateCustomer(customer);
+
+        for (int i = 0; i < 100; i++) {
+            ruleset.evaluate(application(random), customer, customerScore);
+        }
+
+        RuleStats stats = ruleset.getStats();
+        for (int i = 0; i < ruleset.size(); i++) {
+            assertEquals(ruleset.getRules().get(i).isCustomerOnly() ? 1 : 100, stats.evaluations(i),
+                    ruleset.getRules().get(i).getName());
+        }
+    }
+
+    @Test
+    void evaluateDecision_countsOnlyTheRulesItRan() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("test", rules());
+        ruleset.collectStats();
+        long[] matches = new long[ruleset.size()];
+        Random random = new Random(13);
+
+        int partial = 0;
+        for (int i = 0; i < INPUTS; i++) {
+            ScoringResult result = ruleset.evaluateDecision(application(random), customer(random));
+            partial += result.isPartial() ? 1 : 0;
+            for (int r = 0; r < ruleset.size(); r++) {
+                matches[r] += result.getExplanation().contains(ruleset.getRules().get(r).getName()) ? 1 : 0;
+            }
+        }
+
+        RuleStats stats = ruleset.getStats();
+        assertTrue(partial > 0, "Some decisions should settle early");
+        long smallest = stats.evaluations(5); // "Never", tried last: 5 points
+        assertTrue(smallest < INPUTS);
+        for (int r = 0; r < ruleset.size(); r++) {
+            assertEquals(matches[r], stats.matches(r), ruleset.getRules().get(r).getName());
+            assertTrue(stats.evaluations(r) >= smallest && stats.evaluations(r) <= INPUTS);
+        }
+        assertEquals(INPUTS, stats.evaluations(1)); // "Poor credit", tried first: 120 points
+    }
+
+    @Test
+    void collectStats_startsOver() {
+        CompiledRuleset ruleset = CompiledRuleset.compile("test", rules());
+        assertNull(ruleset.getStats());
+        Random random = new Random(17);
+        ruleset.score(application(random), customer(random)); // Not counted
+
+        assertNull(ruleset.collectStats());
+        ruleset.score(application(random), customer(random));
+        RuleStats previous = ruleset.collectStats();
+
+        assertEquals(1, previous.evaluations(0));
+        assertEquals(0, ruleset.getStats().evaluations(0));
+        assertFalse(ruleset.getStats().getSince().isBefore(previous.getSince()));
+    }
+}
@@ -0,0 +1,71 @@
+package com.loanrisk.performance;
+
+import ch.qos.logback.classic.Level;
+import com.loanrisk.controller.LoanController;
+import com.loanrisk.dto.LoanApplicationRequest;
+import com.loanrisk.model.Customer;
+import com.loanrisk.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Allocation and throughput budget of {@link LoanController#applyForLoan}: customer lookup, rule loading,
+ * evaluation and persistence against the in-memory database, called directly so HTTP handling and JSON
+ * binding, which do not depend on the application's code, stay out of the measurement.
+ */
+@Tag("performance")
+@SpringBootTest
+@DirtiesContext // Leaves thousands of loan applications behind
+class ApplyPathPerformanceTest {
+
+    private static final int CUSTOMERS = 64;
+    private static final String[] PURPOSES = {"car", "vacation", "Home Renovation", "Debt Consolidation"};
+
+    @Autowired
+    private LoanController loanController;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    private Level previousLogLevel;
+    private LoanApplicationRequest[] requests;
+
+    @BeforeEach
+    void setUp() {
+        previousLogLevel = HotPathMeter.quietApplicationLogs();
+        Random random = new Random(42);
+        requests = new LoanApplicationRequest[CUSTOMERS];
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = customerRepository.save(new Customer(null, "Customer " + i, 18 + random.nextInt(60),
+                    BigDecimal.valueOf(15_000 + random.nextInt(150_000)), 480 + random.nextInt(370), "Employed",
+                    BigDecimal.valueOf(random.nextInt(40_000))));
+            LoanApplicationRequest request = new LoanApplicationRequest();
+            request.setCustomerId(customer.getId());
+            request.setLoanAmount((double) (1_000 + random.nextInt(60_000)));
+            request.setLoanPurpose(PURPOSES[random.nextInt(PURPOSES.length)]);
+            request.setRequestedTermMonths(12 + random.nextInt(60));
+            requests[i] = request;
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        HotPathMeter.restoreApplicationLogs(previousLogLevel);
+    }
+
+    @Test
+    void applyForLoan_withinBudget() {
+        HotPathMeter.Measurement measurement = HotPathMeter.measure("LoanController.applyForLoan", 2_000, 5_000, 3,
+                i -> loanController.applyForLoan(requests[i & (CUSTOMERS - 1)]).getBody().getRiskScore());
+
+        PerformanceBudget.assertWithinBudget("controller.apply", measurement);
+    }
+}
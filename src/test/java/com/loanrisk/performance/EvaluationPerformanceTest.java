@@ -0,0 +1,205 @@
+package com.loanrisk.performance;
+
+import ch.qos.logback.classic.Level;
+import com.loanrisk.audit.AuditLog;
+import com.loanrisk.config.AuditLogProperties;
+import com.loanrisk.config.CustomerScoreCacheProperties;
+import com.loanrisk.config.DecisionCacheProperties;
+import com.loanrisk.config.RulesetSnapshotProperties;
+import com.loanrisk.config.RulesetSyncProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.dto.ShadowScoringReport;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.service.CustomerScoreCache;
+import com.loanrisk.service.DecisionCache;
+import com.loanrisk.service.RuleLoadingService;
+import com.loanrisk.service.RulesetSnapshotStore;
+import com.loanrisk.service.ScoringServiceImpl;
+import com.loanrisk.service.ShadowScoringService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Allocation and throughput budgets of scoring one application: the compiled ruleset alone, for the seed rules
+ * and for a large ruleset, and {@link ScoringServiceImpl#evaluate} with its real collaborators (metrics, customer
+ * score cache, disabled audit log and snapshot store) and the rules already loaded, also for the large ruleset
+ * kept current by ruleset sync with every input a decision cache hit.
+ */
+@Tag("performance")
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class EvaluationPerformanceTest {
+
+    private static final int INPUTS = 64; // Rotated through, so no single input can be constant-folded
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+    private static final int ROUNDS = 3;
+
+    private static final String[] STATUSES = {"Employed", "Self-Employed", "Unemployed", "Student"};
+    private static final String[] PURPOSES = {"car", "vacation", "Home Renovation", "Debt Consolidation"};
+
+    private static final List<RiskBand> SEED_BANDS = List.of(
+            new RiskBand(1L, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+            new RiskBand(2L, ScoringRule.LIVE_RULESET, 450, RiskLevel.MEDIUM, Decision.MANUAL_REVIEW),
+            new RiskBand(3L, ScoringRule.LIVE_RULESET, 650, RiskLevel.LOW, Decision.APPROVED));
+
+    private static Level previousLogLevel;
+    private static CustomerInput[] customers;
+    private static ApplicationInput[] applications;
+
+    @BeforeAll
+    static void setUp() {
+        previousLogLevel = HotPathMeter.quietApplicationLogs();
+        Random random = new Random(42);
+        customers = new CustomerInput[INPUTS];
+        applications = new ApplicationInput[INPUTS];
+        for (int i = 0; i < INPUTS; i++) {
+            // With a version, as loaded from the database, so the customer score cache applies
+            customers[i] = new CustomerInput((long) i + 1, 0L, "Customer " + i, 18 + random.nextInt(60),
+                    BigDecimal.valueOf(15_000 + random.nextInt(150_000)).setScale(2), 480 + random.nextInt(370),
+                    STATUSES[random.nextInt(STATUSES.length)], BigDecimal.valueOf(random.nextInt(40_000)).setScale(2));
+            applications[i] = new ApplicationInput(BigDecimal.valueOf(1_000 + random.nextInt(60_000)).setScale(2),
+                    PURPOSES[random.nextInt(PURPOSES.length)], 12 + random.nextInt(60));
+        }
+    }
+
+    @AfterAll
+    static void tearDown() {
+        HotPathMeter.restoreApplicationLogs(previousLogLevel);
+    }
+
+    /** The enabled live rules of {@code data.sql}. */
+    private static List<ScoringRule> seedRules() {
+        return List.of(
+                new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", 30, 10, true),
+                new ScoringRule(2L, "Credit average", "creditScore", "<", "700", 15, 20, true),
+                new ScoringRule(3L, "Too young", "age", "<", "21", 20, 30, true),
+                new ScoringRule(4L, "Vacation loan", "loanPurpose", "==", "vacation", 10, 40, true));
+    }
+
+    /** 200 simple rules over every field and 20 condition rules. */
+    private static List<ScoringRule> largeRules() {
+        String[][] templates = {
+                {"age", "<", "25"}, {"age", ">=", "60"}, {"creditScore", "<", "620"}, {"creditScore", ">", "760"},
+                {"annualIncome", "<", "30000"}, {"existingDebt", ">", "20000"}, {"loanAmount", ">=", "25000"},
+                {"requestedTermMonths", ">", "48"}, {"loanRatio", ">", "0.5"}, {"existingDebtRatio", "<=", "0.1"},
+                {"employmentStatus", "==", "Unemployed"}, {"loanPurpose", "!=", "car"}};
+        List<ScoringRule> rules = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String[] template = templates[i % templates.length];
+            rules.add(new ScoringRule((long) i + 1, "Rule " + i, template[0], template[1], template[2],
+                    (i % 7) * 5 - 15, i, true));
+        }
+        for (int i = 0; i < 20; i++) {
+            rules.add(new ScoringRule(1_000L + i, "Condition " + i, null, null, null, -10, 200 + i, true,
+                    ScoringRule.LIVE_RULESET, "age < " + (25 + i) + " AND (loanRatio > 0.3 OR loanPurpose IN ('car', 'vacation'))"));
+        }
+        return rules;
+    }
+
+    private static HotPathMeter.Measurement measureRuleset(String name, CompiledRuleset ruleset) {
+        return HotPathMeter.measure(name, WARMUP, ITERATIONS, ROUNDS, i -> {
+            int input = i & (INPUTS - 1);
+            return ruleset.evaluate(applications[input], customers[input]).getRiskScore();
+        });
+    }
+
+    @Test
+    void compiledRuleset_seedRules_withinBudget() {
+        CompiledRuleset ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, seedRules(), SEED_BANDS);
+
+        PerformanceBudget.assertWithinBudget("engine.seed", measureRuleset("CompiledRuleset.evaluate, seed rules", ruleset));
+    }
+
+    @Test
+    void compiledRuleset_largeRuleset_withinBudget() {
+        CompiledRuleset ruleset = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, largeRules(), SEED_BANDS);
+
+        PerformanceBudget.assertWithinBudget("engine.large", measureRuleset("CompiledRuleset.evaluate, 220 rules", ruleset));
+    }
+
+    @Test
+    void scoringService_evaluate_withinBudget() throws Exception {
+        measureService("service.evaluate", "ScoringServiceImpl.evaluate, seed rules", seedRules(), false);
+    }
+
+    @Test
+    @Order(Integer.MAX_VALUE) // Last: its condition rules reaching the service would skew the profile of the others
+    void scoringService_decisionCacheHits_withinBudget() throws Exception {
+        measureService("service.cached", "ScoringServiceImpl.evaluate, 220 rules, decision cache hits", largeRules(), true);
+    }
+
+    private static void measureService(String budget, String name, List<ScoringRule> rules, boolean decisionCache) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        AuditLog auditLog = new AuditLog(new AuditLogProperties(), registry); // Disabled, as by default
+        DecisionCacheProperties decisionCacheProperties = new DecisionCacheProperties();
+        decisionCacheProperties.setEnabled(decisionCache);
+        RulesetSyncProperties rulesetSyncProperties = new RulesetSyncProperties();
+        rulesetSyncProperties.setEnabled(decisionCache); // With the cache, rules are not compared with the compiled ones per call
+        ScoringServiceImpl scoringService = new ScoringServiceImpl(new FixedRules(rules, SEED_BANDS), new NoShadowScoring(),
+                new ScoringMetrics(registry), new CustomerScoreCache(new CustomerScoreCacheProperties(), registry),
+                new DecisionCache(decisionCacheProperties, registry), auditLog,
+                new RulesetSnapshotStore(new RulesetSnapshotProperties()), rulesetSyncProperties);
+        ReflectionTestUtils.setField(scoringService, "ruleStatsEnabled", true); // As by default
+        scoringService.syncLiveRuleset(1);
+        try {
+            HotPathMeter.Measurement measurement = HotPathMeter.measure(name, WARMUP, ITERATIONS, ROUNDS, i -> {
+                int input = i & (INPUTS - 1);
+                return scoringService.evaluate(applications[input], customers[input]).getRiskScore();
+            });
+
+            PerformanceBudget.assertWithinBudget(budget, measurement);
+        } finally {
+            auditLog.destroy();
+        }
+    }
+
+    /** The rule loading service with its cache warm: the same rows on every call. */
+    private record FixedRules(List<ScoringRule> rules, List<RiskBand> bands) implements RuleLoadingService {
+
+        @Override
+        public List<ScoringRule> getActiveRules() {
+            return rules;
+        }
+
+        @Override
+        public List<RiskBand> getRiskBands() {
+            return bands;
+        }
+    }
+
+    /** Shadow scoring disabled, as by default. */
+    private static final class NoShadowScoring implements ShadowScoringService {
+
+        @Override
+        public void submit(ApplicationInput application, CustomerInput customer, ScoringResult liveResult) {
+        }
+
+        @Override
+        public void refreshCandidate() {
+        }
+
+        @Override
+        public ShadowScoringReport getReport() {
+            return null;
+        }
+    }
+}
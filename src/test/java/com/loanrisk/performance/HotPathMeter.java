@@ -0,0 +1,83 @@
+package com.loanrisk.performance;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Measures an operation on the calling thread: bytes allocated per call, from the JVM's per-thread allocation
+ * counter, and calls per second. Each round is preceded by a warmup so the JIT has compiled the path (and escape
+ * analysis removed what it can); the best of the rounds is reported, which keeps GC pauses and other noise
+ * from a shared machine out of the result.
+ */
+final class HotPathMeter {
+
+    /** The result of measuring one operation. */
+    record Measurement(String name, double bytesPerOp, double opsPerSecond) {
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s: %.0f bytes/op, %.0f ops/s", name, bytesPerOp, opsPerSecond);
+        }
+    }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private static volatile long blackhole;
+
+    private HotPathMeter() {
+    }
+
+    static Measurement measure(String name, int warmupIterations, int iterations, int rounds, Operation operation) {
+        assumeTrue(THREADS.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported by this JVM");
+        THREADS.setThreadAllocatedMemoryEnabled(true);
+
+        double bestBytes = Double.MAX_VALUE;
+        double bestOpsPerSecond = 0;
+        long sink = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (int i = 0; i < warmupIterations; i++) {
+                sink += operation.run(i);
+            }
+            long bytesBefore = THREADS.getCurrentThreadAllocatedBytes();
+            long start = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                sink += operation.run(i);
+            }
+            long elapsed = System.nanoTime() - start;
+            long bytes = THREADS.getCurrentThreadAllocatedBytes() - bytesBefore;
+            bestBytes = Math.min(bestBytes, (double) bytes / iterations);
+            bestOpsPerSecond = Math.max(bestOpsPerSecond, iterations / (elapsed / 1e9));
+        }
+        blackhole = sink; // Keeps the results live, so the JIT cannot drop the operation
+        return new Measurement(name, bestBytes, bestOpsPerSecond);
+    }
+
+    /**
+     * Raises the level of the application's loggers to WARN and returns the previous level.
+     * Log statements on the hot path then cost what they cost when disabled (argument arrays, boxing)
+     * rather than console I/O, which would dominate the measurement.
+     */
+    static Level quietApplicationLogs() {
+        Logger logger = (Logger) LoggerFactory.getLogger("com.loanrisk");
+        Level previous = logger.getLevel();
+        logger.setLevel(Level.WARN);
+        return previous;
+    }
+
+    static void restoreApplicationLogs(Level previous) {
+        ((Logger) LoggerFactory.getLogger("com.loanrisk")).setLevel(previous);
+    }
+
+    /** One call of the measured operation; returns a value derived from its result so the call is not elided. */
+    @FunctionalInterface
+    interface Operation {
+        long run(int iteration);
+    }
+}
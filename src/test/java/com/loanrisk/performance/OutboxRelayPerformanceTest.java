@@ -0,0 +1,61 @@
+package com.loanrisk.performance;
+
+import com.loanrisk.config.OutboxProperties;
+import com.loanrisk.service.OutboxRelay;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Throughput budget of {@link OutboxRelay}, in events per second, against an in-memory outbox and a sink that
+ * discards the events: it has to stay well above the apply path's own rate ({@code controller.apply}), so the
+ * outbox cannot grow at peak load. Each measured operation relays one full batch; results are per event.
+ */
+@Tag("performance")
+class OutboxRelayPerformanceTest {
+
+    private static final int BATCH_SIZE = 500;
+    private static final int WARMUP_BATCHES = 20;
+    private static final int MEASURED_BATCHES = 40;
+    private static final int ROUNDS = 3;
+
+    @Test
+    void relayBatch_withinBudget() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outboxperf;DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS decision_outbox");
+        jdbcTemplate.execute("CREATE TABLE decision_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, loan_application_id BIGINT NOT NULL, "
+                + "customer_id BIGINT, risk_score INTEGER, risk_level VARCHAR(255), decision VARCHAR(255), created_at TIMESTAMP)");
+        int events = (WARMUP_BATCHES + MEASURED_BATCHES) * ROUNDS * BATCH_SIZE;
+        List<Object[]> rows = new ArrayList<>(events);
+        Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2025, 10, 1, 12, 0));
+        for (long loanId = 1; loanId <= events; loanId++) {
+            rows.add(new Object[] {loanId, loanId % 997, 500, "Medium", "MANUAL_REVIEW", createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO decision_outbox (loan_application_id, customer_id, risk_score, risk_level, "
+                + "decision, created_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+
+        OutboxProperties properties = new OutboxProperties();
+        properties.setEnabled(true);
+        properties.setBatchSize(BATCH_SIZE);
+        OutboxRelay relay = new OutboxRelay(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                delivered -> { }, properties, new SimpleMeterRegistry());
+
+        HotPathMeter.Measurement batches = HotPathMeter.measure("OutboxRelay.relayBatch", WARMUP_BATCHES, MEASURED_BATCHES,
+                ROUNDS, i -> relay.relayBatch());
+        HotPathMeter.Measurement perEvent = new HotPathMeter.Measurement("OutboxRelay, per event",
+                batches.bytesPerOp() / BATCH_SIZE, batches.opsPerSecond() * BATCH_SIZE);
+
+        PerformanceBudget.assertWithinBudget("outbox.relay", perEvent);
+    }
+}
@@ -0,0 +1,59 @@
+package com.loanrisk.performance;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Budgets of the performance tests, from {@code performance-budget.properties}.
+ * Any budget can be overridden with a system property of the same name prefixed with {@code perf.},
+ * e.g. {@code -Dperf.service.evaluate.max-bytes-per-op=2048}.
+ */
+final class PerformanceBudget {
+
+    private static final String RESOURCE = "/performance-budget.properties";
+    private static final Properties DEFAULTS = load();
+
+    private PerformanceBudget() {
+    }
+
+    /**
+     * Fails unless the measurement is within the {@code <key>.max-bytes-per-op} and {@code <key>.min-ops-per-second}
+     * budgets; the failure message carries the measurement. Nothing is logged: logging between measurements in the
+     * same JVM changes what the JIT compiles and shows up in the allocation of the next one.
+     */
+    static void assertWithinBudget(String key, HotPathMeter.Measurement measurement) {
+        double maxBytes = get(key + ".max-bytes-per-op");
+        double minOpsPerSecond = get(key + ".min-ops-per-second");
+        assertAll(
+                () -> assertTrue(measurement.bytesPerOp() <= maxBytes,
+                        () -> measurement + " allocates more than the budget of " + (long) maxBytes + " bytes/op"),
+                () -> assertTrue(measurement.opsPerSecond() >= minOpsPerSecond,
+                        () -> measurement + " is below the budget of " + (long) minOpsPerSecond + " ops/s"));
+    }
+
+    static double get(String key) {
+        String value = System.getProperty("perf." + key, DEFAULTS.getProperty(key));
+        if (value == null) {
+            throw new IllegalStateException("No budget " + key + " in " + RESOURCE);
+        }
+        return Double.parseDouble(value.trim());
+    }
+
+    private static Properties load() {
+        Properties properties = new Properties();
+        try (InputStream in = PerformanceBudget.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException(RESOURCE + " is not on the test classpath");
+            }
+            properties.load(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return properties;
+    }
+}
@@ -1,12 +1,15 @@
 package com.loanrisk.repository;
 
+import com.loanrisk.dto.CustomerSearchCriteria;
 import com.loanrisk.model.Customer;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.math.BigDecimal; // Import BigDecimal
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +24,9 @@ public class CustomerRepositoryTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     private Customer createTestCustomer(String name, int age, String income, int score, String status, String debt) {
         Customer customer = new Customer();
         customer.setName(name);
@@ -79,4 +85,63 @@ public class CustomerRepositoryTest {
 
         assertThat(foundCustomerOpt).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenSearchPageByPage_thenEachMatchingCustomerOnceInOrder() {
+        int[] scores = {640, 590, 550, 590, 600, 700, 590, 520};
+        for (int i = 0; i < scores.length; i++) {
+            entityManager.persist(createTestCustomer("Customer " + i, 30 + i, "50000.00", scores[i], "Employed", "0.00"));
+        }
+        entityManager.persist(createTestCustomer("Other status", 30, "50000.00", 500, "Unemployed", "0.00"));
+        entityManager.flush();
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria();
+        criteria.setMaxCreditScore(600);
+        criteria.setEmploymentStatuses(List.of("Employed"));
+        criteria.setSort(CustomerSearchCriteria.Sort.CREDIT_SCORE);
+        criteria.setLimit(2);
+
+        List<Customer> found = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        int count;
+        do {
+            List<Customer> page = new ArrayList<>();
+            count = customerRepository.search(criteria, page::add);
+            pageSizes.add(count);
+            found.addAll(page);
+            if (!page.isEmpty()) {
+                Customer last = page.get(page.size() - 1);
+                criteria.setAfterValue(last.getCreditScore());
+                criteria.setAfterId(last.getId());
+            }
+        } while (count == criteria.getLimit());
+
+        assertThat(pageSizes).containsExactly(2, 2, 2, 0); // Ties at 590 span a page boundary
+        assertThat(found).extracting(Customer::getCreditScore).containsExactly(520, 550, 590, 590, 590, 600);
+        assertThat(found.subList(2, 5)).extracting(Customer::getId).isSorted();
+        assertThat(found.get(0).getVersion()).isNotNull();
+    }
+
+    @Test
+    public void whenSearchSortedByAFilteredColumn_thenThePageIsAnIndexRangeScan() {
+        CustomerSearchCriteria criteria = new CustomerSearchCriteria();
+        criteria.setMaxCreditScore(599);
+        criteria.setMinAge(40);
+        criteria.setSort(CustomerSearchCriteria.Sort.CREDIT_SCORE);
+        criteria.setAfterValue(480);
+        criteria.setAfterId(12345L);
+        List<Object> args = new ArrayList<>();
+        String sql = CustomerSearchImpl.sql(criteria, args);
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, args.toArray());
+
+        assertThat(plan).containsIgnoringCase("idx_customer_credit_score");
+        assertThat(plan).doesNotContainIgnoringCase("tableScan");
+
+        CustomerSearchCriteria byStatus = new CustomerSearchCriteria();
+        byStatus.setEmploymentStatuses(List.of("Unemployed"));
+        byStatus.setAfterId(12345L);
+        args.clear();
+        assertThat(jdbcTemplate.queryForObject("EXPLAIN " + CustomerSearchImpl.sql(byStatus, args), String.class, args.toArray()))
+                .containsIgnoringCase("idx_customer_employment_status");
+    }
+}
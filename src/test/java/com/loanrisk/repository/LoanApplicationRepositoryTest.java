@@ -1,5 +1,6 @@
 package com.loanrisk.repository;
 
+import com.loanrisk.dto.BacktestRow;
 import com.loanrisk.model.Customer;
 import com.loanrisk.model.LoanApplication;
 import org.junit.jupiter.api.BeforeEach;
@@ -7,6 +8,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime; // Removed unused LocalDate import
@@ -125,4 +127,33 @@ public class LoanApplicationRepositoryTest {
 
         assertThat(foundLoanAppOpt).isNotPresent();
     }
-}
\ No newline at end of file
+
+    @Test
+    public void whenFindBacktestChunk_thenReturnKeysetPagedProjections() {
+        for (int i = 0; i < 3; i++) {
+            LoanApplication loanApp = new LoanApplication();
+            loanApp.setCustomer(testCustomer);
+            loanApp.setLoanAmount(new BigDecimal("1000.00").multiply(BigDecimal.valueOf(i + 1)));
+            loanApp.setLoanPurpose("Purpose " + i);
+            loanApp.setRequestedTermMonths(12);
+            loanApp.setRiskScore(500);
+            loanApp.setDecision("MANUAL_REVIEW");
+            entityManager.persist(loanApp);
+        }
+        entityManager.flush();
+        LocalDateTime from = LocalDateTime.now().minusDays(1);
+        LocalDateTime to = LocalDateTime.now().plusDays(1);
+
+        List<BacktestRow> firstChunk = loanApplicationRepository.findBacktestChunk(0L, from, to, Limit.of(2));
+        List<BacktestRow> secondChunk = loanApplicationRepository.findBacktestChunk(
+                firstChunk.get(1).getApplicationId(), from, to, Limit.of(2));
+
+        assertThat(firstChunk).hasSize(2);
+        assertThat(secondChunk).hasSize(1);
+        assertThat(firstChunk.get(0).getApplicationId()).isLessThan(firstChunk.get(1).getApplicationId());
+        assertThat(secondChunk.get(0).getLoanPurpose()).isEqualTo("Purpose 2");
+        assertThat(secondChunk.get(0).getCreditScore()).isEqualTo(780);
+        assertThat(secondChunk.get(0).getStoredDecision()).isEqualTo("MANUAL_REVIEW");
+        assertThat(loanApplicationRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(from, to)).isEqualTo(3);
+    }
+}
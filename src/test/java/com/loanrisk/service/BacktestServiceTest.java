@@ -0,0 +1,140 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.BacktestProperties;
+import com.loanrisk.dto.BacktestReport;
+import com.loanrisk.dto.BacktestRequest;
+import com.loanrisk.dto.BacktestRow;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.LoanApplicationRepository;
+import com.loanrisk.repository.RiskBandRepository;
+import com.loanrisk.repository.ScoringRuleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the BacktestServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class BacktestServiceTest {
+
+    @Mock
+    private LoanApplicationRepository loanApplicationRepository;
+
+    @Mock
+    private ScoringRuleRepository scoringRuleRepository;
+
+    @Mock
+    private RiskBandRepository riskBandRepository;
+
+    private BacktestServiceImpl backtestService;
+    private List<BacktestRow> storedRows;
+
+    @BeforeEach
+    void setUp() {
+        BacktestProperties properties = new BacktestProperties();
+        properties.setChunkSize(2);
+        properties.setThreads(2);
+        properties.setMaxChunksInFlight(1);
+        backtestService = new BacktestServiceImpl(loanApplicationRepository, scoringRuleRepository, riskBandRepository, properties);
+
+        storedRows = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            int creditScore = id <= 2 ? 550 : 720; // Two customers below 600
+            storedRows.add(new BacktestRow(id, id, "Customer " + id, 30, new BigDecimal("60000.00"), creditScore,
+                    "Employed", new BigDecimal("5000.00"), new BigDecimal("10000.00"), "Car", 36, 500, "MANUAL_REVIEW"));
+        }
+        // Serve the rows with keyset semantics: id > afterId, ordered, limited
+        lenient().when(loanApplicationRepository.findBacktestChunk(anyLong(), any(), any(), any(Limit.class))).thenAnswer(invocation -> {
+            long afterId = invocation.getArgument(0);
+            Limit limit = invocation.getArgument(3);
+            return storedRows.stream().filter(r -> r.getApplicationId() > afterId).limit(limit.max()).toList();
+        });
+        lenient().when(loanApplicationRepository.countByCreatedAtGreaterThanEqualAndCreatedAtLessThan(any(), any())).thenReturn(5L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        backtestService.destroy();
+    }
+
+    private BacktestReport awaitFinished(long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        BacktestReport report = backtestService.getBacktest(id).orElseThrow();
+        while (report.getFinishedAt() == null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            report = backtestService.getBacktest(id).orElseThrow();
+        }
+        return report;
+    }
+
+    @Test
+    void startBacktest_rescoresAllRowsAndReportsChanges() throws Exception {
+        // Proposed: credit < 600 costs 100 points -> 400 (High, DECLINED) for two of the five rows
+        when(scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc("candidate")).thenReturn(List.of(
+                new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", -100, 1, true, "candidate"),
+                new ScoringRule(2L, "Never fires", "age", ">", "90", 10, 2, true, "candidate")));
+        BacktestRequest request = new BacktestRequest();
+        request.setRuleset("candidate");
+
+        BacktestReport report = awaitFinished(backtestService.startBacktest(request).getId());
+
+        assertEquals(BacktestReport.State.COMPLETED, report.getState());
+        assertEquals(5, report.getProcessedRows());
+        assertEquals(100.0, report.getProgressPercent());
+        assertEquals(2, report.getDecisionChanges());
+        assertEquals(2L, report.getDecisionTransitions().get("MANUAL_REVIEW->DECLINED"));
+        assertEquals(5L, report.getStoredScoreHistogram().get(500));
+        assertEquals(2L, report.getProposedScoreHistogram().get(400));
+        assertEquals(3L, report.getProposedScoreHistogram().get(500));
+        assertEquals(2, report.getRuleHits().get(0).getHits());
+        assertEquals(0.4, report.getRuleHits().get(0).getHitRate(), 1e-9);
+        assertEquals(0, report.getRuleHits().get(1).getHits());
+        assertEquals(List.of(), report.getWarnings());
+        assertEquals(List.of(), report.getRuleHits().get(0).getMissingFields());
+    }
+
+    @Test
+    void startBacktest_rulesOnExposure_areFlagged() throws Exception {
+        when(scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc("candidate")).thenReturn(List.of(
+                new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", -100, 1, true, "candidate"),
+                new ScoringRule(2L, "Many applications", "recentApplications", ">=", "3", -50, 2, true, "candidate"),
+                new ScoringRule(3L, "Stacking", null, null, null, -50, 3, true, "candidate",
+                        "outstandingAmount > 20000 OR creditScore < 600")));
+        BacktestRequest request = new BacktestRequest();
+        request.setRuleset("candidate");
+
+        BacktestReport report = awaitFinished(backtestService.startBacktest(request).getId());
+
+        assertEquals(BacktestReport.State.COMPLETED, report.getState());
+        assertEquals(List.of(), report.getRuleHits().get(0).getMissingFields());
+        assertEquals(List.of("recentApplications"), report.getRuleHits().get(1).getMissingFields());
+        assertEquals(List.of("outstandingAmount"), report.getRuleHits().get(2).getMissingFields());
+        assertEquals(0, report.getRuleHits().get(1).getHits());
+        assertEquals(2, report.getRuleHits().get(2).getHits()); // Through its credit score test
+        assertEquals(1, report.getWarnings().size());
+        assertTrue(report.getWarnings().get(0).contains("'Many applications', 'Stacking'"), report.getWarnings().get(0));
+    }
+
+    @Test
+    void startBacktest_unknownRuleset_isRejected() {
+        when(scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc("missing")).thenReturn(List.of());
+        BacktestRequest request = new BacktestRequest();
+        request.setRuleset("missing");
+
+        assertThrows(IllegalArgumentException.class, () -> backtestService.startBacktest(request));
+    }
+}
@@ -0,0 +1,161 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.CustomerExposureProperties;
+import com.loanrisk.service.CustomerExposureTracker.Exposure;
+import com.loanrisk.service.CustomerExposureTracker.Reservation;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CustomerExposureTracker, against a loan_application table of its own.
+ */
+class CustomerExposureTrackerTest {
+
+    private static final long DAY = TimeUnit.DAYS.toMillis(1);
+    private static final long NOW = 1_000 * DAY;
+
+    private JdbcTemplate jdbcTemplate;
+    private CustomerExposureProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:exposure;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS loan_application");
+        jdbcTemplate.execute("CREATE TABLE loan_application (id BIGINT AUTO_INCREMENT PRIMARY KEY, customer_id BIGINT, "
+                + "created_at TIMESTAMP, loan_amount DECIMAL(38, 2), decision VARCHAR(255))");
+        properties = new CustomerExposureProperties();
+        properties.setStripes(4);
+    }
+
+    private void store(long customerId, long createdAt, String loanAmount, String decision) {
+        jdbcTemplate.update("INSERT INTO loan_application (customer_id, created_at, loan_amount, decision) VALUES (?, ?, ?, ?)",
+                customerId, new Timestamp(createdAt), new BigDecimal(loanAmount), decision);
+    }
+
+    private CustomerExposureTracker rebuiltTracker() {
+        CustomerExposureTracker tracker = new CustomerExposureTracker(jdbcTemplate, properties);
+        tracker.rebuild(NOW);
+        return tracker;
+    }
+
+    @Test
+    void rebuild_countsStoredApplicationsInTheWindow() {
+        store(1, NOW - 31 * DAY, "50000.00", "APPROVED"); // Left the window
+        store(1, NOW - 20 * DAY, "10000.00", "APPROVED");
+        store(1, NOW - 10 * DAY, "7000.00", "DECLINED"); // Counted, but not outstanding
+        store(1, NOW - DAY, "2500.50", "MANUAL_REVIEW");
+        store(2, NOW - DAY, "1000.00", "APPROVED");
+
+        CustomerExposureTracker tracker = rebuiltTracker();
+
+        assertEquals(new Exposure(3, new BigDecimal("12500.50")), tracker.current(1, NOW));
+        assertEquals(new Exposure(1, new BigDecimal("1000.00")), tracker.current(2, NOW));
+        assertEquals(new Exposure(0, new BigDecimal("0.00")), tracker.current(3, NOW));
+        assertEquals(2, tracker.customers());
+    }
+
+    @Test
+    void reserve_seesEarlierApplicationsUntilTheyLeaveTheWindow() {
+        CustomerExposureTracker tracker = rebuiltTracker();
+
+        Reservation first = tracker.reserve(1, new BigDecimal("10000"), NOW);
+        tracker.confirm(first, "APPROVED");
+        Reservation second = tracker.reserve(1, new BigDecimal("4000"), NOW + DAY);
+        tracker.confirm(second, "DECLINED");
+        Reservation third = tracker.reserve(1, new BigDecimal("1000"), NOW + 30 * DAY + 1); // The first one has left
+        tracker.confirm(third, "APPROVED");
+
+        assertEquals(new Exposure(0, new BigDecimal("0.00")), first.exposure());
+        assertEquals(new Exposure(1, new BigDecimal("10000.00")), second.exposure());
+        assertEquals(new Exposure(1, new BigDecimal("0.00")), third.exposure()); // The second was declined
+        assertEquals(new Exposure(2, new BigDecimal("1000.00")), tracker.current(1, NOW + 30 * DAY + 1));
+    }
+
+    @Test
+    void release_removesAnApplicationThatWasNotPersisted() {
+        CustomerExposureTracker tracker = rebuiltTracker();
+
+        Reservation failed = tracker.reserve(1, new BigDecimal("10000"), NOW);
+        tracker.release(failed);
+        Reservation next = tracker.reserve(1, new BigDecimal("2000"), NOW);
+
+        assertEquals(new Exposure(0, new BigDecimal("0.00")), next.exposure());
+    }
+
+    @Test
+    void sweep_dropsCustomersWithoutApplicationsInTheWindow() {
+        store(1, System.currentTimeMillis() - 31 * DAY, "1000.00", "APPROVED");
+        store(2, System.currentTimeMillis(), "1000.00", "APPROVED");
+        CustomerExposureTracker tracker = new CustomerExposureTracker(jdbcTemplate, properties);
+        tracker.rebuild(System.currentTimeMillis() - 2 * DAY); // Both were in the window then
+
+        tracker.sweep();
+
+        assertEquals(1, tracker.customers());
+    }
+
+    @Test
+    void reserve_concurrentApplicationsOfOneCustomer_eachSeesAllEarlierOnes() throws Exception {
+        CustomerExposureTracker tracker = rebuiltTracker();
+        int threads = 8;
+        int perThread = 1_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        Reservation reservation = tracker.reserve(1, BigDecimal.ONE, NOW);
+                        assertTrue(seen.add(reservation.exposure().recentApplications()));
+                        tracker.confirm(reservation, "APPROVED");
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = threads * perThread;
+        assertEquals(total, seen.size()); // 0 to total - 1, each seen by exactly one application
+        assertEquals(new Exposure(total, new BigDecimal(total + ".00")), tracker.current(1, NOW));
+    }
+
+    @Test
+    void disabled_exposureIsMissing() {
+        properties.setEnabled(false);
+        CustomerExposureTracker tracker = new CustomerExposureTracker(jdbcTemplate, properties);
+        tracker.afterSingletonsInstantiated();
+
+        Reservation reservation = tracker.reserve(1, new BigDecimal("1000"), NOW);
+        tracker.confirm(reservation, "APPROVED");
+
+        assertNull(reservation.exposure());
+        assertNull(tracker.current(1, NOW));
+    }
+}
@@ -0,0 +1,203 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.AnalyticsProperties;
+import com.loanrisk.dto.DecisionAnalyticsRow;
+import com.loanrisk.model.LoanApplication;
+import com.loanrisk.service.DecisionAnalytics.Dimension;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DecisionAnalytics, against decision_summary and loan_application tables of their own.
+ */
+class DecisionAnalyticsTest {
+
+    private static final LocalDate DAY_1 = LocalDate.of(2025, 10, 1);
+    private static final LocalDate DAY_2 = LocalDate.of(2025, 10, 2);
+
+    private JdbcTemplate jdbcTemplate;
+    private DecisionAnalytics analytics;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:analytics;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS decision_summary");
+        createSummaryTable();
+        jdbcTemplate.execute("DROP TABLE IF EXISTS loan_application");
+        jdbcTemplate.execute("CREATE TABLE loan_application (id BIGINT AUTO_INCREMENT PRIMARY KEY, created_at TIMESTAMP, "
+                + "risk_level VARCHAR(255), loan_purpose VARCHAR(255), decision VARCHAR(255), risk_score INTEGER)");
+        AnalyticsProperties properties = new AnalyticsProperties();
+        properties.setEnabled(true);
+        analytics = new DecisionAnalytics(jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                properties);
+    }
+
+    private void createSummaryTable() {
+        jdbcTemplate.execute("CREATE TABLE decision_summary (id BIGINT AUTO_INCREMENT PRIMARY KEY, decision_date DATE NOT NULL, "
+                + "risk_level VARCHAR(255) NOT NULL, loan_purpose VARCHAR(255) NOT NULL, applications BIGINT NOT NULL, "
+                + "approved BIGINT NOT NULL, manual_review BIGINT NOT NULL, declined BIGINT NOT NULL, score_sum BIGINT NOT NULL, "
+                + "CONSTRAINT uk_decision_summary_key UNIQUE (decision_date, risk_level, loan_purpose))");
+    }
+
+    private static LoanApplication application(LocalDate day, String riskLevel, String purpose, String decision, int score) {
+        LoanApplication application = new LoanApplication();
+        application.setCreatedAt(day.atTime(12, 0));
+        application.setRiskLevel(riskLevel);
+        application.setLoanPurpose(purpose);
+        application.setDecision(decision);
+        application.setRiskScore(score);
+        return application;
+    }
+
+    private void recordSample() {
+        analytics.record(application(DAY_1, "Low", "car", "APPROVED", 700));
+        analytics.record(application(DAY_1, "Low", " Car ", "APPROVED", 680)); // Same purpose
+        analytics.record(application(DAY_1, "High", "vacation", "DECLINED", 300));
+        analytics.record(application(DAY_2, "Medium", "car", "MANUAL_REVIEW", 500));
+    }
+
+    private static DecisionAnalyticsRow only(List<DecisionAnalyticsRow> rows) {
+        assertEquals(1, rows.size(), () -> rows.toString());
+        return rows.get(0);
+    }
+
+    @Test
+    void report_byDay_includesFlushedAndPendingCounts() {
+        recordSample();
+        analytics.flush();
+        analytics.record(application(DAY_1, "Low", "car", "MANUAL_REVIEW", 560)); // Not flushed yet
+
+        List<DecisionAnalyticsRow> rows = analytics.report(DAY_1, DAY_2, EnumSet.of(Dimension.DAY));
+
+        assertEquals(2, rows.size());
+        DecisionAnalyticsRow day1 = rows.get(0);
+        assertEquals(DAY_1, day1.getDay());
+        assertNull(day1.getRiskLevel());
+        assertEquals(4, day1.getApplications());
+        assertEquals(2, day1.getApproved());
+        assertEquals(1, day1.getManualReview());
+        assertEquals(1, day1.getDeclined());
+        assertEquals(0.5, day1.getApprovalRate());
+        assertEquals(560.0, day1.getAverageScore());
+        assertEquals(1, rows.get(1).getApplications());
+    }
+
+    @Test
+    void flush_repeatedly_addsToTheSummaryRows() {
+        recordSample();
+        analytics.flush();
+        recordSample();
+        analytics.flush();
+        analytics.flush(); // Nothing new
+
+        assertEquals(3, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM decision_summary", Integer.class));
+        assertEquals(8, only(analytics.report(DAY_1, DAY_2, Set.of())).getApplications());
+    }
+
+    @Test
+    void report_byPurposeAndRiskLevel_groupsNormalizedValues() {
+        recordSample();
+
+        List<DecisionAnalyticsRow> byPurpose = analytics.report(DAY_1, DAY_2, EnumSet.of(Dimension.LOAN_PURPOSE));
+        List<DecisionAnalyticsRow> lowCars = analytics.report(DAY_1, DAY_1, EnumSet.of(Dimension.RISK_LEVEL, Dimension.LOAN_PURPOSE));
+
+        assertEquals(2, byPurpose.size());
+        assertEquals("car", byPurpose.get(0).getLoanPurpose());
+        assertEquals(3, byPurpose.get(0).getApplications());
+        assertEquals(2, lowCars.size()); // High vacation, Low car
+        assertEquals("Low", lowCars.get(1).getRiskLevel());
+        assertEquals(2, lowCars.get(1).getApplications());
+        assertEquals(1.0, lowCars.get(1).getApprovalRate());
+        assertEquals(0, analytics.report(DAY_2.plusDays(1), DAY_2.plusDays(9), Set.of()).size());
+    }
+
+    @Test
+    void rebuild_recomputesTheSummaryFromStoredApplications() {
+        analytics.record(application(DAY_1, "Low", "boat", "APPROVED", 999)); // Replaced by the rebuild
+        analytics.flush();
+        List<Object[]> stored = List.of(
+                new Object[] {Timestamp.valueOf(DAY_1.atTime(9, 0)), "Low", "car", "APPROVED", 700},
+                new Object[] {Timestamp.valueOf(DAY_1.atTime(23, 59)), "Low", "Car", "APPROVED", 680},
+                new Object[] {Timestamp.valueOf(DAY_1.atTime(10, 0)), "High", "vacation", "DECLINED", 300},
+                new Object[] {Timestamp.valueOf(DAY_2.atTime(0, 0)), "Medium", "car", "MANUAL_REVIEW", 500});
+        jdbcTemplate.batchUpdate("INSERT INTO loan_application (created_at, risk_level, loan_purpose, decision, risk_score) "
+                + "VALUES (?, ?, ?, ?, ?)", stored);
+
+        assertEquals(4, analytics.rebuild());
+
+        DecisionAnalyticsRow total = only(analytics.report(DAY_1, DAY_2, Set.of()));
+        assertEquals(4, total.getApplications());
+        assertEquals(2, total.getApproved());
+        assertEquals(545.0, total.getAverageScore());
+        assertEquals(0, analytics.report(DAY_1, DAY_2, EnumSet.of(Dimension.LOAN_PURPOSE)).stream()
+                .filter(row -> "boat".equals(row.getLoanPurpose())).count());
+    }
+
+    @Test
+    void flush_databaseUnavailable_keepsTheCountsForTheNextFlush() {
+        recordSample();
+        jdbcTemplate.execute("DROP TABLE decision_summary");
+
+        analytics.flush();
+        createSummaryTable();
+        analytics.flush();
+
+        assertEquals(4, jdbcTemplate.queryForObject("SELECT SUM(applications) FROM decision_summary", Long.class));
+    }
+
+    @Test
+    void record_concurrentlyWithFlushes_losesNothing() throws Exception {
+        int threads = 8;
+        int perThread = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String purpose = "purpose " + (t % 3);
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        analytics.record(application(DAY_1, "Low", purpose, "APPROVED", 1));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            while (!futures.stream().allMatch(Future::isDone)) {
+                analytics.flush();
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        analytics.flush();
+
+        assertEquals(threads * perThread, jdbcTemplate.queryForObject("SELECT SUM(applications) FROM decision_summary", Long.class));
+        assertEquals(threads * perThread, jdbcTemplate.queryForObject("SELECT SUM(score_sum) FROM decision_summary", Long.class));
+        DecisionAnalyticsRow total = only(analytics.report(DAY_1, DAY_1, Set.of()));
+        assertEquals(threads * perThread, total.getApplications());
+    }
+}
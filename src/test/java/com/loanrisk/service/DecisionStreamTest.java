@@ -0,0 +1,149 @@
+package com.loanrisk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.loanrisk.config.DecisionStreamProperties;
+import com.loanrisk.config.DecisionStreamProperties.OverflowPolicy;
+import com.loanrisk.model.LoanApplication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the DecisionStream: publishing never waits for subscribers, and their buffers stay bounded.
+ */
+class DecisionStreamTest {
+
+    /** Records the events sent to it; each send waits until the client is released, like one that stopped reading. */
+    private static final class RecordingEmitter extends SseEmitter {
+
+        final CountDownLatch reading;
+        final List<String> sent = new CopyOnWriteArrayList<>();
+        volatile boolean completed;
+
+        RecordingEmitter(boolean reading) {
+            this.reading = new CountDownLatch(reading ? 0 : 1);
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                reading.await();
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            sent.add(builder.build().stream().map(data -> String.valueOf(data.getData())).collect(Collectors.joining()));
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+            super.complete();
+        }
+
+        boolean received(long loanId) {
+            return sent.stream().anyMatch(event -> event.startsWith("id:" + loanId + "\n"));
+        }
+    }
+
+    private DecisionStreamProperties properties;
+    private SimpleMeterRegistry registry;
+    private DecisionStream stream;
+
+    @BeforeEach
+    void setUp() {
+        properties = new DecisionStreamProperties();
+        properties.setBufferSize(8);
+        registry = new SimpleMeterRegistry();
+        stream = new DecisionStream(properties, new ObjectMapper().findAndRegisterModules(), registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stream.destroy();
+    }
+
+    private static LoanApplication application(long id, String decision) {
+        LoanApplication application = new LoanApplication();
+        application.setId(id);
+        application.setRiskScore(500);
+        application.setRiskLevel("Medium");
+        application.setDecision(decision);
+        return application;
+    }
+
+    @Test
+    void publish_slowSubscriber_dropsItsOldestDecisionsWithoutDelayingOthers() {
+        RecordingEmitter slow = new RecordingEmitter(false);
+        RecordingEmitter declinedOnly = new RecordingEmitter(true);
+        stream.register(slow, DecisionStream.Filter.ALL);
+        stream.register(declinedOnly, new DecisionStream.Filter(Set.of("DECLINED"), Set.of()));
+
+        for (long id = 1; id <= 1_000; id++) { // Returns although the slow subscriber reads nothing
+            stream.publish(application(id, id % 2 == 0 ? "DECLINED" : "APPROVED"), 7L);
+            long published = id;
+            if (published % 2 == 0) {
+                await(() -> declinedOnly.received(published)); // The other subscriber keeps up meanwhile
+            }
+        }
+        slow.reading.countDown();
+        await(() -> slow.received(1_000));
+
+        assertEquals(500, declinedOnly.sent.size()); // Every declined one, nothing else, nothing dropped
+        assertTrue(declinedOnly.sent.get(0).contains("\"loanId\":2,\"customerId\":7,\"riskScore\":500"));
+        assertTrue(slow.sent.size() <= properties.getBufferSize() + 2, "At most one in flight, one dropped event and the buffer");
+        assertTrue(slow.sent.stream().anyMatch(event -> event.startsWith("event:dropped\ndata:")));
+        assertTrue(registry.get("loanrisk.decision.stream.dropped").counter().count() >= 1_000 - properties.getBufferSize() - 1);
+        assertEquals(2, stream.subscribers());
+    }
+
+    @Test
+    void publish_fullBufferWithDisconnectPolicy_disconnectsTheSubscriber() {
+        properties.setOverflowPolicy(OverflowPolicy.DISCONNECT);
+        RecordingEmitter slow = new RecordingEmitter(false);
+        stream.register(slow, DecisionStream.Filter.ALL);
+
+        for (long id = 1; id <= 100; id++) {
+            stream.publish(application(id, "APPROVED"), 7L);
+        }
+
+        assertEquals(0, stream.subscribers());
+        assertEquals(1, registry.get("loanrisk.decision.stream.disconnects").counter().count());
+        slow.reading.countDown();
+        await(() -> slow.completed);
+        assertFalse(slow.received(100));
+    }
+
+    @Test
+    void register_maxSubscribersReached_isRefused() {
+        properties.setMaxSubscribers(1);
+        stream.register(new RecordingEmitter(true), DecisionStream.Filter.ALL);
+
+        assertThrows(IllegalStateException.class, () -> stream.register(new RecordingEmitter(true), DecisionStream.Filter.ALL));
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted");
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.loanrisk.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.loanrisk.dto.DecisionEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the FileDecisionSink.
+ */
+class FileDecisionSinkTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void deliver_appendsOneJsonLinePerEventAcrossBatchesAndRestarts() throws Exception {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        Path file = directory.resolve("outbox/decisions.jsonl");
+
+        try (FileDecisionSink sink = new FileDecisionSink(file, objectMapper)) {
+            sink.deliver(List.of(new DecisionEvent(1L, 7L, 500, "Medium", "MANUAL_REVIEW", CREATED_AT),
+                    new DecisionEvent(2L, 7L, 700, "Low", "APPROVED", CREATED_AT)));
+        }
+        try (FileDecisionSink sink = new FileDecisionSink(file, objectMapper)) { // As after a restart
+            sink.deliver(List.of(new DecisionEvent(3L, 8L, 300, "High", "DECLINED", CREATED_AT)));
+        }
+
+        List<String> lines = Files.readAllLines(file);
+        assertEquals(3, lines.size());
+        assertEquals(new DecisionEvent(1L, 7L, 500, "Medium", "MANUAL_REVIEW", CREATED_AT),
+                objectMapper.readValue(lines.get(0), DecisionEvent.class));
+        assertEquals(3L, objectMapper.readValue(lines.get(2), DecisionEvent.class).getLoanId());
+    }
+}
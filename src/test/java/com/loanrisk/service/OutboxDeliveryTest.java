@@ -0,0 +1,91 @@
+package com.loanrisk.service;
+
+import com.loanrisk.controller.LoanController;
+import com.loanrisk.dto.DecisionEvent;
+import com.loanrisk.dto.LoanApplicationRequest;
+import com.loanrisk.dto.LoanApplicationResponse;
+import com.loanrisk.model.Customer;
+import com.loanrisk.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * An application's decision event goes through the outbox to a sink the application declares, replacing the file sink.
+ */
+@SpringBootTest(properties = {"loanrisk.outbox.enabled=true", "loanrisk.outbox.poll-interval-ms=50"})
+@Import(OutboxDeliveryTest.RecordingSinkConfig.class)
+@DirtiesContext // Relays on a schedule
+class OutboxDeliveryTest {
+
+    @TestConfiguration
+    static class RecordingSinkConfig {
+
+        @Bean
+        RecordingSink recordingSink() {
+            return new RecordingSink();
+        }
+    }
+
+    static class RecordingSink implements DecisionSink {
+
+        final List<DecisionEvent> delivered = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void deliver(List<DecisionEvent> events) {
+            delivered.addAll(events);
+        }
+    }
+
+    @Autowired
+    private LoanController loanController;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private RecordingSink sink;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void applyForLoan_decisionEventIsDeliveredAndRemovedFromTheOutbox() throws InterruptedException {
+        Customer customer = customerRepository.save(new Customer(null, "Outbox", 40, new BigDecimal("80000.00"), 720,
+                "Employed", new BigDecimal("1000.00")));
+        LoanApplicationRequest request = new LoanApplicationRequest();
+        request.setCustomerId(customer.getId());
+        request.setLoanAmount(10000.0);
+        request.setLoanPurpose("car");
+        request.setRequestedTermMonths(36);
+
+        LoanApplicationResponse response = loanController.applyForLoan(request).getBody();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sink.delivered.stream().noneMatch(event -> event.getLoanId().equals(response.getLoanId()))
+                && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        DecisionEvent event = sink.delivered.stream()
+                .filter(delivered -> delivered.getLoanId().equals(response.getLoanId()))
+                .findFirst().orElseThrow();
+        assertThat(event.getCustomerId()).isEqualTo(customer.getId());
+        assertThat(event.getRiskScore()).isEqualTo(response.getRiskScore());
+        assertThat(event.getDecision()).isEqualTo(response.getDecision());
+        assertThat(event.getCreatedAt()).isNotNull();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM decision_outbox WHERE loan_application_id = ?",
+                Integer.class, response.getLoanId())).isZero();
+    }
+}
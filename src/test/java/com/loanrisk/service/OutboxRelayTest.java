@@ -0,0 +1,153 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.OutboxProperties;
+import com.loanrisk.dto.DecisionEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the OutboxRelay, against a decision_outbox table of its own.
+ */
+class OutboxRelayTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 10, 1, 12, 0);
+
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private OutboxProperties properties;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS decision_outbox");
+        jdbcTemplate.execute("CREATE TABLE decision_outbox (id BIGINT AUTO_INCREMENT PRIMARY KEY, loan_application_id BIGINT NOT NULL, "
+                + "customer_id BIGINT, risk_score INTEGER, risk_level VARCHAR(255), decision VARCHAR(255), created_at TIMESTAMP)");
+        properties = new OutboxProperties();
+        properties.setEnabled(true);
+        properties.setBatchSize(50);
+        registry = new SimpleMeterRegistry();
+    }
+
+    private void store(int events) {
+        List<Object[]> rows = new ArrayList<>();
+        for (long loanId = 1; loanId <= events; loanId++) {
+            rows.add(new Object[] {loanId, 7L, 500, "Medium", "MANUAL_REVIEW", Timestamp.valueOf(CREATED_AT)});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO decision_outbox (loan_application_id, customer_id, risk_score, risk_level, "
+                + "decision, created_at) VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private int pending() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM decision_outbox", Integer.class);
+    }
+
+    private OutboxRelay relay(DecisionSink sink) {
+        return new OutboxRelay(jdbcTemplate, transactionTemplate, sink, properties, registry);
+    }
+
+    @Test
+    void relay_deliversEveryEventInOrderAndDeletesIt() {
+        store(120);
+        List<DecisionEvent> received = new ArrayList<>();
+        List<Integer> batches = new ArrayList<>();
+
+        relay(events -> {
+            batches.add(events.size());
+            received.addAll(events);
+        }).relay();
+
+        assertEquals(List.of(50, 50, 20), batches); // Drained without waiting for further polls
+        assertEquals(120, received.size());
+        for (int i = 0; i < received.size(); i++) {
+            assertEquals(i + 1, received.get(i).getLoanId());
+        }
+        assertEquals(new DecisionEvent(1L, 7L, 500, "Medium", "MANUAL_REVIEW", CREATED_AT), received.get(0));
+        assertEquals(0, pending());
+        assertEquals(120, registry.get("loanrisk.outbox.delivered").counter().count());
+    }
+
+    @Test
+    void relay_sinkFailure_keepsTheBatchForTheNextPoll() {
+        store(10);
+        AtomicInteger attempts = new AtomicInteger();
+        List<DecisionEvent> received = new ArrayList<>();
+        OutboxRelay relay = relay(events -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IOException("Sink unavailable");
+            }
+            received.addAll(events);
+        });
+
+        relay.relay();
+        assertEquals(10, pending());
+        assertEquals(1, registry.get("loanrisk.outbox.failures").counter().count());
+
+        relay.relay();
+        assertEquals(0, pending());
+        assertEquals(10, received.size());
+    }
+
+    @Test
+    void relay_concurrentRelays_deliverEachEventOnce() throws Exception {
+        store(5_000);
+        Map<Long, Integer> deliveries = new ConcurrentHashMap<>();
+        DecisionSink sink = events -> events.forEach(event -> deliveries.merge(event.getLoanId(), 1, Integer::sum));
+        int relays = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(relays);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int r = 0; r < relays; r++) {
+                OutboxRelay relay = relay(sink); // As on separate instances
+                futures.add(executor.submit(() -> {
+                    while (relay.relayBatch() > 0) {
+                        // Until this relay finds nothing left to claim
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(5_000, deliveries.size());
+        assertTrue(deliveries.values().stream().allMatch(count -> count == 1), "An event was delivered twice");
+        assertEquals(0, pending());
+    }
+
+    @Test
+    void relay_disabled_leavesTheOutboxAlone() {
+        store(5);
+        properties.setEnabled(false);
+
+        relay(events -> fail("Nothing should be delivered")).relay();
+
+        assertEquals(5, pending());
+    }
+}
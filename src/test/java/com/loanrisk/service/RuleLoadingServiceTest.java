@@ -1,6 +1,10 @@
 package com.loanrisk.service;
 
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
 import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.RiskBandRepository;
 import com.loanrisk.repository.ScoringRuleRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +27,9 @@ class RuleLoadingServiceTest {
     @Mock
     private ScoringRuleRepository scoringRuleRepository;
 
+    @Mock
+    private RiskBandRepository riskBandRepository;
+
     @InjectMocks
     private RuleLoadingServiceImpl ruleLoadingService;
 
@@ -46,4 +53,12 @@ class RuleLoadingServiceTest {
         // Verify the returned list is the same as the mocked list
         assertEquals(sampleRules, activeRules, "The returned list of active rules should match the sample rules.");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getRiskBands_shouldReturnBandsOfTheLiveRuleset() {
+        List<RiskBand> bands = List.of(new RiskBand(1L, "live", null, RiskLevel.HIGH, Decision.DECLINED));
+        when(riskBandRepository.findByRulesetOrderByMinScoreAsc("live")).thenReturn(bands);
+
+        assertEquals(bands, ruleLoadingService.getRiskBands());
+    }
+}
@@ -0,0 +1,95 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.RulesetSnapshotProperties;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
+import com.loanrisk.model.ScoringRule;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RulesetSnapshotStore.
+ */
+class RulesetSnapshotStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private RulesetSnapshotProperties properties;
+    private List<ScoringRule> rules;
+    private List<RiskBand> bands;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RulesetSnapshotProperties();
+        properties.setEnabled(true);
+        properties.setPath(dir.resolve("snapshots/live.bin").toString());
+        rules = List.of(
+                new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", 30, 10, true),
+                new ScoringRule(2L, "Young and stretched", null, null, null, 25, 20, true, ScoringRule.LIVE_RULESET,
+                        "age < 25 AND loanRatio > 0.4"),
+                new ScoringRule(3L, "Broken", "unknownField", "<", "1", 5, 30, true));
+        bands = List.of(
+                new RiskBand(1L, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+                new RiskBand(2L, ScoringRule.LIVE_RULESET, 600, RiskLevel.LOW, Decision.APPROVED));
+    }
+
+    @Test
+    void load_afterSave_returnsRulesetCompiledFromTheSameRows() {
+        RulesetSnapshotStore store = new RulesetSnapshotStore(properties);
+        CompiledRuleset saved = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, rules, bands);
+        store.save(saved);
+
+        CompiledRuleset loaded = new RulesetSnapshotStore(properties).load().orElseThrow();
+
+        assertTrue(loaded.isCompiledFrom(rules, bands)); // Reconciles with the database without recompiling
+        assertEquals(saved.size(), loaded.size());
+        assertEquals(saved.getName(), loaded.getName());
+        assertEquals(saved.getBands().band(650), loaded.getBands().band(650));
+    }
+
+    @Test
+    void load_corruptSnapshot_isIgnored() throws Exception {
+        RulesetSnapshotStore store = new RulesetSnapshotStore(properties);
+        store.save(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, rules, bands));
+        Path file = Path.of(properties.getPath());
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[bytes.length - 3] ^= 0x40;
+        Files.write(file, bytes);
+
+        assertEquals(Optional.empty(), store.load());
+    }
+
+    @Test
+    void save_failingMove_leavesNoTemporaryFile() throws Exception {
+        Path file = Path.of(properties.getPath());
+        Files.createDirectories(file.resolve("occupied")); // A non-empty directory cannot be replaced
+
+        new RulesetSnapshotStore(properties).save(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, rules, bands));
+
+        try (Stream<Path> files = Files.list(file.getParent())) {
+            assertEquals(List.of(file), files.toList());
+        }
+    }
+
+    @Test
+    void load_disabledOrMissing_isEmpty() {
+        assertEquals(Optional.empty(), new RulesetSnapshotStore(properties).load());
+
+        properties.setEnabled(false);
+        RulesetSnapshotStore disabled = new RulesetSnapshotStore(properties);
+        disabled.save(CompiledRuleset.compile(ScoringRule.LIVE_RULESET, rules, bands));
+        assertFalse(Files.exists(Path.of(properties.getPath())));
+    }
+}
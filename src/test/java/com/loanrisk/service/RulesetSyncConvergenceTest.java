@@ -0,0 +1,109 @@
+package com.loanrisk.service;
+
+import com.loanrisk.LoanRiskApplication;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Two instances sharing one database with ruleset sync enabled: a rule change committed through one instance,
+ * with its ruleset version bump, is served by both within the poll interval plus the reload time.
+ */
+class RulesetSyncConvergenceTest {
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long CONVERGENCE_BOUND_MS = 5_000; // Poll interval plus reload, with room for slow machines
+
+    private static final CustomerInput YOUNG_CUSTOMER = new CustomerInput(1L, null, "Young Customer", 20,
+            new BigDecimal("50000.00"), 750, "Employed", new BigDecimal("1000.00"));
+    private static final ApplicationInput CAR_LOAN = new ApplicationInput(new BigDecimal("10000.00"), "car", 36);
+
+    private ConfigurableApplicationContext node1;
+    private ConfigurableApplicationContext node2;
+
+    @BeforeEach
+    void startNodes() {
+        node1 = startNode(true);
+        node2 = startNode(false); // Schema and seed data already there
+    }
+
+    @AfterEach
+    void stopNodes() {
+        if (node2 != null) {
+            node2.close();
+        }
+        if (node1 != null) {
+            node1.close();
+        }
+    }
+
+    private static ConfigurableApplicationContext startNode(boolean initializeDatabase) {
+        return new SpringApplicationBuilder(LoanRiskApplication.class)
+                .web(WebApplicationType.NONE)
+                .run( // Arguments, so they override application.properties
+                        "--spring.datasource.url=jdbc:h2:mem:rulesetsync;DB_CLOSE_DELAY=-1",
+                        "--spring.sql.init.mode=" + (initializeDatabase ? "always" : "never"),
+                        "--loanrisk.ruleset-sync.enabled=true",
+                        "--loanrisk.ruleset-sync.poll-interval-ms=" + POLL_INTERVAL_MS,
+                        "--loanrisk.snapshot.enabled=false");
+    }
+
+    @Test
+    void ruleChange_servedByEveryNodeWithinBound() {
+        List<ScoringService> nodes = List.of(node1.getBean(ScoringService.class), node2.getBean(ScoringService.class));
+        awaitVersion(nodes, 1);
+        int before = nodes.get(0).evaluate(CAR_LOAN, YOUNG_CUSTOMER).getRiskScore();
+        assertEquals(before, nodes.get(1).evaluate(CAR_LOAN, YOUNG_CUSTOMER).getRiskScore());
+
+        JdbcTemplate jdbcTemplate = node1.getBean(JdbcTemplate.class);
+        node1.getBean(TransactionTemplate.class).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE scoring_rule SET risk_points = risk_points + 25 WHERE name = 'Too young' AND ruleset = 'live'");
+            jdbcTemplate.update("UPDATE ruleset_version SET version = version + 1 WHERE ruleset = 'live'");
+        });
+        long changedAt = System.nanoTime();
+
+        awaitVersion(nodes, 2);
+        long convergedMs = (System.nanoTime() - changedAt) / 1_000_000;
+
+        assertTrue(convergedMs <= CONVERGENCE_BOUND_MS,
+                () -> "Ruleset version 2 served by both nodes after " + convergedMs + " ms");
+        for (ScoringService node : nodes) {
+            assertEquals(before + 25, node.evaluate(CAR_LOAN, YOUNG_CUSTOMER).getRiskScore());
+        }
+    }
+
+    private static void awaitVersion(List<ScoringService> nodes, long version) {
+        await(() -> nodes.stream().allMatch(node -> Long.valueOf(version).equals(node.getServedRuleset().getVersion())),
+                "every node to serve ruleset version " + version);
+    }
+
+    private static void await(BooleanSupplier condition, String description) {
+        long deadline = System.nanoTime() + CONVERGENCE_BOUND_MS * 1_000_000;
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for " + description);
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted waiting for " + description);
+            }
+        }
+    }
+}
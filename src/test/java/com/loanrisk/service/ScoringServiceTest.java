@@ -1,24 +1,45 @@
 package com.loanrisk.service;
 
+import com.loanrisk.audit.AuditLog;
+import com.loanrisk.config.CustomerScoreCacheProperties;
+import com.loanrisk.config.DecisionCacheProperties;
+import com.loanrisk.config.RulesetSyncProperties;
 import com.loanrisk.dto.ScoringResult;
-import com.loanrisk.model.Customer;
-import com.loanrisk.model.LoanApplication;
+import com.loanrisk.dto.ServedRuleset;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CompiledRuleset;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.engine.EvaluationMode;
+import com.loanrisk.metrics.ScoringMetrics;
+import com.loanrisk.model.Decision;
+import com.loanrisk.model.RiskBand;
+import com.loanrisk.model.RiskLevel;
 import com.loanrisk.model.ScoringRule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,19 +48,46 @@ class ScoringServiceTest {
     @Mock
     private RuleLoadingService ruleLoadingService;
 
+    @Mock
+    private ShadowScoringService shadowScoringService;
+
+    @Mock
+    private ScoringMetrics scoringMetrics;
+
+    @Mock
+    private AuditLog auditLog;
+
+    @Mock
+    private RulesetSnapshotStore rulesetSnapshotStore;
+
+    @Spy
+    private CustomerScoreCache customerScoreCache = new CustomerScoreCache(new CustomerScoreCacheProperties(), new SimpleMeterRegistry());
+
+    private final DecisionCacheProperties decisionCacheProperties = new DecisionCacheProperties();
+
+    @Spy
+    private DecisionCache decisionCache = new DecisionCache(decisionCacheProperties, new SimpleMeterRegistry());
+
+    @Spy
+    private RulesetSyncProperties rulesetSyncProperties = new RulesetSyncProperties();
+
     @InjectMocks
     private ScoringServiceImpl scoringService; // Test the implementation
 
-    private Customer testCustomer;
-    private LoanApplication testApplication;
+    private CustomerInput testCustomer;
+    private ApplicationInput testApplication;
 
     @BeforeEach
     void setUp() {
         // Create common test data
-        testCustomer = new Customer(1L, "Test Customer", 35, new BigDecimal("60000.00"),
-                                    700, "Employed", new BigDecimal("5000.00"));
-        testApplication = new LoanApplication(1L, testCustomer, new BigDecimal("10000.00"),
-                                              "Car Purchase", 36, null, null, null, null, null);
+        testCustomer = customer(null, 700, "Employed");
+        testApplication = new ApplicationInput(new BigDecimal("10000.00"), "Car Purchase", 36);
+    }
+
+    /** The test customer with the given version, credit score and employment status. */
+    private static CustomerInput customer(Long version, Integer creditScore, String employmentStatus) {
+        return new CustomerInput(1L, version, "Test Customer", 35, new BigDecimal("60000.00"),
+                                 creditScore, employmentStatus, new BigDecimal("5000.00"));
     }
 
     private ScoringRule createRule(Long id, String name, String field, String operator, String value, int points, int priority, boolean enabled) {
@@ -295,7 +343,7 @@ class ScoringServiceTest {
     @DisplayName("Evaluate with Null Actual Value for Field")
     void evaluate_nullActualValue_skipsRuleAndLogsWarning() {
         // Set a field to null that a rule will target
-        testCustomer.setEmploymentStatus(null);
+        testCustomer = customer(null, 700, null);
         ScoringRule nullTargetRule = createRule(1L, "Null Target", "employmentStatus", "==", "Employed", 100, 1, true);
         ScoringRule validRule = createRule(2L, "Valid Rule", "age", ">", "30", 10, 2, true);
         when(ruleLoadingService.getActiveRules()).thenReturn(Arrays.asList(nullTargetRule, validRule));
@@ -308,4 +356,254 @@ class ScoringServiceTest {
         assertEquals(Collections.singletonList("Valid Rule"), result.getExplanation());
          // Verification of logging would require a logging framework test appender
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Decision-Only Mode Stops Once the Decision is Settled")
+    void evaluateDecisionOnly_settledEarly_returnsPartialResultWithSameDecision() {
+        // Largest rule first: 500 + 200 = 700 (Low); the rest can only move the score within [680, 710]
+        ScoringRule smallPenalty = createRule(1L, "Small penalty", "age", ">", "30", -20, 1, true);
+        ScoringRule bigBonus = createRule(2L, "Big bonus", "creditScore", ">", "600", 200, 2, true);
+        ScoringRule smallBonus = createRule(3L, "Small bonus", "loanAmount", ">", "5000", 10, 3, true);
+        when(ruleLoadingService.getActiveRules()).thenReturn(Arrays.asList(smallPenalty, bigBonus, smallBonus));
+
+        ScoringResult partial = scoringService.evaluate(testApplication, testCustomer, EvaluationMode.DECISION_ONLY);
+        ScoringResult full = scoringService.evaluate(testApplication, testCustomer, EvaluationMode.FULL);
+
+        assertTrue(partial.isPartial());
+        assertEquals(Collections.singletonList("Big bonus"), partial.getExplanation());
+        assertEquals(full.getRiskLevel(), partial.getRiskLevel());
+        assertEquals("APPROVED", partial.getDecision());
+        assertFalse(full.isPartial());
+        assertEquals(690, full.getRiskScore());
+    }
+
+    @Test
+    @DisplayName("Decision-Only Mode Evaluates Every Rule When the Decision Stays Open")
+    void evaluateDecisionOnly_neverSettled_matchesFullEvaluation() {
+        // 500 -> 460 is still Medium, but a further -20 would cross into High, so all rules run
+        ScoringRule ruleA = createRule(1L, "A", "age", ">", "30", -40, 1, true);
+        ScoringRule ruleB = createRule(2L, "B", "creditScore", ">", "800", -20, 2, true); // No match (700)
+        when(ruleLoadingService.getActiveRules()).thenReturn(Arrays.asList(ruleA, ruleB));
+
+        ScoringResult result = scoringService.evaluate(testApplication, testCustomer, EvaluationMode.DECISION_ONLY);
+
+        assertFalse(result.isPartial());
+        assertEquals(460, result.getRiskScore());
+        assertEquals("MANUAL_REVIEW", result.getDecision());
+        assertEquals(Collections.singletonList("A"), result.getExplanation());
+    }
+
+    @Test
+    @DisplayName("Repeat Applications Reuse the Customer's Cached Partial Score")
+    void evaluate_repeatApplication_reusesCustomerPartialScore() {
+        testCustomer = customer(0L, 700, "Employed"); // Loaded through JPA
+        ScoringRule ageRule = createRule(1L, "Age over 30", "age", ">", "30", 10, 1, true);
+        ScoringRule amountRule = createRule(2L, "Large loan", "loanAmount", ">", "15000", -50, 2, true);
+        ScoringRule creditRule = createRule(3L, "Good credit", "creditScore", ">", "650", 40, 3, true);
+        when(ruleLoadingService.getActiveRules()).thenReturn(Arrays.asList(ageRule, amountRule, creditRule));
+        ApplicationInput largeApplication = new ApplicationInput(new BigDecimal("20000.00"), "Renovation", 48);
+
+        ScoringResult first = scoringService.evaluate(testApplication, testCustomer);
+        ScoringResult second = scoringService.evaluate(largeApplication, testCustomer);
+
+        assertEquals(550, first.getRiskScore());
+        assertEquals(Arrays.asList("Age over 30", "Good credit"), first.getExplanation());
+        assertEquals(500, second.getRiskScore());
+        assertEquals(Arrays.asList("Age over 30", "Large loan", "Good credit"), second.getExplanation()); // Priority order
+        assertEquals(1, customerScoreCache.size());
+    }
+
+    @Test
+    @DisplayName("Cached Partial Scores are Not Reused After the Customer or the Rules Change")
+    void evaluate_customerOrRulesChanged_recomputesCustomerPartialScore() {
+        testCustomer = customer(0L, 700, "Employed");
+        ScoringRule creditRule = createRule(1L, "Good credit", "creditScore", ">", "650", 40, 1, true);
+        when(ruleLoadingService.getActiveRules()).thenReturn(Collections.singletonList(creditRule));
+        assertEquals(540, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+
+        // Customer updated: JPA bumps the version
+        testCustomer = customer(1L, 600, "Employed");
+        assertEquals(500, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+
+        // Rule changed: a new ruleset version is compiled
+        ScoringRule loweredRule = createRule(1L, "Good credit", "creditScore", ">", "550", 40, 1, true);
+        when(ruleLoadingService.getActiveRules()).thenReturn(Collections.singletonList(loweredRule));
+        assertEquals(540, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+    }
+
+    @Test
+    @DisplayName("Scores are Mapped with the Ruleset's Own Risk Bands")
+    void evaluate_rulesetBands_overrideDefaultThresholds() {
+        ScoringRule creditRule = createRule(1L, "Good credit", "creditScore", ">", "650", 40, 1, true);
+        when(ruleLoadingService.getActiveRules()).thenReturn(Collections.singletonList(creditRule));
+        when(ruleLoadingService.getRiskBands()).thenReturn(Arrays.asList(
+                new RiskBand(1L, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+                new RiskBand(2L, ScoringRule.LIVE_RULESET, 520, RiskLevel.LOW, Decision.APPROVED)));
+
+        ScoringResult result = scoringService.evaluate(testApplication, testCustomer);
+
+        assertEquals(540, result.getRiskScore()); // Medium under the default bands
+        assertEquals("Low", result.getRiskLevel());
+        assertEquals("APPROVED", result.getDecision());
+    }
+
+    @Test
+    @DisplayName("Bands Are Loaded Again Only When the Rules Change")
+    void evaluate_unchangedRules_reusesBandsWithoutLoadingThem() {
+        ScoringRule creditRule = createRule(1L, "Good credit", "creditScore", ">", "650", 40, 1, true);
+        ScoringRule changedRule = createRule(1L, "Good credit", "creditScore", ">", "650", 10, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(Collections.singletonList(creditRule))
+                .thenReturn(Collections.singletonList(creditRule))
+                .thenReturn(Collections.singletonList(changedRule));
+        when(ruleLoadingService.getRiskBands())
+                .thenReturn(Arrays.asList(
+                        new RiskBand(1L, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+                        new RiskBand(2L, ScoringRule.LIVE_RULESET, 520, RiskLevel.LOW, Decision.APPROVED)))
+                .thenReturn(Arrays.asList(
+                        new RiskBand(1L, ScoringRule.LIVE_RULESET, null, RiskLevel.HIGH, Decision.DECLINED),
+                        new RiskBand(2L, ScoringRule.LIVE_RULESET, 500, RiskLevel.LOW, Decision.APPROVED)));
+
+        assertEquals("Low", scoringService.evaluate(testApplication, testCustomer).getRiskLevel());
+        assertEquals("Low", scoringService.evaluate(testApplication, testCustomer).getRiskLevel());
+        verify(ruleLoadingService, times(1)).getRiskBands();
+
+        ScoringResult changed = scoringService.evaluate(testApplication, testCustomer);
+        assertEquals(510, changed.getRiskScore());
+        assertEquals("Low", changed.getRiskLevel()); // High under the bands loaded first
+        verify(ruleLoadingService, times(2)).getRiskBands();
+    }
+
+    @Test
+    @DisplayName("Database Outage Serves the Last Loaded Ruleset")
+    void evaluate_databaseUnavailable_servesLastLoadedRuleset() {
+        ScoringRule ageRule = createRule(1L, "Age > 30", "age", ">", "30", 10, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(Collections.singletonList(ageRule))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+        ScoringResult duringOutage = scoringService.evaluate(testApplication, testCustomer);
+
+        assertEquals(510, duringOutage.getRiskScore());
+        assertEquals(Collections.singletonList("Age > 30"), duringOutage.getExplanation());
+        verify(scoringMetrics).recordRuleLoadingFallback();
+        verify(rulesetSnapshotStore).save(any(CompiledRuleset.class));
+    }
+
+    @Test
+    @DisplayName("Database Outage Is Not Retried by Every Request Until the Retry Interval Has Passed")
+    void evaluate_databaseUnavailable_servesFallbackWithoutLoadingUntilRetry() {
+        ReflectionTestUtils.setField(scoringService, "fallbackRetryIntervalMs", 60_000L);
+        ScoringRule ageRule = createRule(1L, "Age > 30", "age", ">", "30", 10, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(Collections.singletonList(ageRule))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        scoringService.evaluate(testApplication, testCustomer);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+            assertEquals(510, scoringService.preCheck(testApplication, testCustomer).getRiskScore());
+        }
+
+        verify(ruleLoadingService, times(2)).getActiveRules(); // The first load and the one that failed
+        verify(scoringMetrics, times(6)).recordRuleLoadingFallback();
+    }
+
+    @Test
+    @DisplayName("Warm Start Serves the Snapshot Until the Database Is Reachable, Then Reconciles")
+    void evaluate_warmStartedFromSnapshot_servesSnapshotThenReconciles() {
+        ScoringRule ageRule = createRule(1L, "Age > 30", "age", ">", "30", 10, 1, true);
+        CompiledRuleset snapshot = CompiledRuleset.compile(ScoringRule.LIVE_RULESET, List.of(ageRule));
+        when(rulesetSnapshotStore.load()).thenReturn(Optional.of(snapshot));
+        scoringService.warmStart();
+
+        ScoringRule changedRule = createRule(1L, "Age > 30", "age", ">", "30", 25, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager"))
+                .thenReturn(Collections.singletonList(ageRule))
+                .thenReturn(Collections.singletonList(changedRule));
+
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore()); // From the snapshot
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore()); // Same rules in the database
+        verify(rulesetSnapshotStore, never()).save(any(CompiledRuleset.class)); // Nothing recompiled
+
+        assertEquals(525, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+        verify(rulesetSnapshotStore).save(any(CompiledRuleset.class));
+    }
+
+    @Test
+    @DisplayName("Database Outage Without Any Ruleset Fails")
+    void evaluate_databaseUnavailableWithoutRuleset_throws() {
+        when(ruleLoadingService.getActiveRules()).thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        assertThrows(DataAccessResourceFailureException.class, () -> scoringService.evaluate(testApplication, testCustomer));
+    }
+
+    @Test
+    @DisplayName("Synced Ruleset Is Served Without Loading Rules Until the Version Changes")
+    void evaluate_synced_loadsRulesOnlyOnVersionChange() {
+        rulesetSyncProperties.setEnabled(true);
+        ScoringRule ageRule = createRule(1L, "Age > 30", "age", ">", "30", 10, 1, true);
+        ScoringRule changedRule = createRule(1L, "Age > 30", "age", ">", "30", 25, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(Collections.singletonList(ageRule))
+                .thenReturn(Collections.singletonList(changedRule));
+
+        scoringService.syncLiveRuleset(1);
+        scoringService.syncLiveRuleset(1); // Same version: nothing reloaded
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+        verify(ruleLoadingService, times(1)).getActiveRules();
+
+        scoringService.syncLiveRuleset(2);
+        assertEquals(525, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+        verify(ruleLoadingService, times(2)).getActiveRules();
+
+        ServedRuleset served = scoringService.getServedRuleset();
+        assertTrue(served.isSyncEnabled());
+        assertEquals(2L, served.getVersion());
+        assertEquals(1, served.getRuleCount());
+        assertFalse(served.isFallback());
+    }
+
+    @Test
+    @DisplayName("Sync During a Database Outage Keeps the Previous Version")
+    void syncLiveRuleset_databaseUnavailable_keepsPreviousVersion() {
+        rulesetSyncProperties.setEnabled(true);
+        ScoringRule ageRule = createRule(1L, "Age > 30", "age", ">", "30", 10, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(Collections.singletonList(ageRule))
+                .thenThrow(new DataAccessResourceFailureException("Connection refused"));
+
+        scoringService.syncLiveRuleset(1);
+        scoringService.syncLiveRuleset(2);
+
+        assertEquals(1L, scoringService.getServedRuleset().getVersion());
+        assertTrue(scoringService.getServedRuleset().isFallback());
+        assertEquals(510, scoringService.evaluate(testApplication, testCustomer).getRiskScore());
+    }
+
+    @Test
+    @DisplayName("Decision Cache Serves Applications the Rules Cannot Tell Apart, Never Under a Stale Ruleset")
+    void evaluate_decisionCacheEnabled_reusesResultsOfTheSameRuleset() {
+        decisionCacheProperties.setEnabled(true);
+        ScoringRule creditRule = createRule(1L, "Credit < 650", "creditScore", "<", "650", 20, 1, true);
+        ScoringRule changedRule = createRule(1L, "Credit < 650", "creditScore", "<", "650", 35, 1, true);
+        when(ruleLoadingService.getActiveRules())
+                .thenReturn(List.of(creditRule))
+                .thenReturn(List.of(creditRule))
+                .thenReturn(List.of(changedRule));
+
+        ScoringResult first = scoringService.evaluate(testApplication, customer(null, 600, "Employed"));
+        ScoringResult second = scoringService.evaluate(testApplication, customer(null, 620, "Employed")); // Same side of 650
+        ScoringResult afterChange = scoringService.evaluate(testApplication, customer(null, 620, "Employed"));
+
+        assertEquals(520, first.getRiskScore());
+        assertEquals(first, second);
+        assertNotSame(first, second); // Callers get their own copy
+        verify(customerScoreCache, times(2)).get(any(CompiledRuleset.class), any(CustomerInput.class)); // Only the second was a hit
+        assertEquals(535, afterChange.getRiskScore());
+        assertEquals(Collections.singletonList("Credit < 650"), afterChange.getExplanation());
+    }
+}
@@ -0,0 +1,140 @@
+package com.loanrisk.service;
+
+import com.loanrisk.config.ShadowScoringProperties;
+import com.loanrisk.dto.ScoringResult;
+import com.loanrisk.dto.ShadowScoringReport;
+import com.loanrisk.engine.ApplicationInput;
+import com.loanrisk.engine.CustomerInput;
+import com.loanrisk.model.ScoringRule;
+import com.loanrisk.repository.RiskBandRepository;
+import com.loanrisk.repository.ScoringRuleRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for the ShadowScoringServiceImpl.
+ */
+@ExtendWith(MockitoExtension.class)
+class ShadowScoringServiceTest {
+
+    @Mock
+    private ScoringRuleRepository scoringRuleRepository;
+
+    @Mock
+    private RiskBandRepository riskBandRepository;
+
+    private ShadowScoringProperties properties;
+    private ShadowScoringServiceImpl shadowScoringService;
+
+    private CustomerInput testCustomer;
+    private ApplicationInput testApplication;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ShadowScoringProperties();
+        properties.setEnabled(true);
+
+        testCustomer = new CustomerInput(1L, null, "Test Customer", 35, new BigDecimal("60000.00"),
+                                         700, "Employed", new BigDecimal("5000.00"));
+        testApplication = new ApplicationInput(new BigDecimal("10000.00"), "Car Purchase", 36);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (shadowScoringService != null) {
+            shadowScoringService.destroy();
+        }
+    }
+
+    private void givenCandidateRules(ScoringRule... rules) {
+        when(scoringRuleRepository.findByRulesetAndEnabledTrueOrderByPriorityAsc("candidate")).thenReturn(List.of(rules));
+        shadowScoringService = new ShadowScoringServiceImpl(scoringRuleRepository, riskBandRepository, properties);
+        shadowScoringService.refreshCandidate();
+    }
+
+    private ShadowScoringReport awaitProcessed(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        ShadowScoringReport report = shadowScoringService.getReport();
+        while (report.getCompleted() + report.getDropped() + report.getFailed() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            report = shadowScoringService.getReport();
+        }
+        return report;
+    }
+
+    @Test
+    void submit_divergingCandidate_recordsDeltaFlipAndSample() throws Exception {
+        // Candidate penalises the customer (credit 700 < 750) by 100 points: 500 -> 400 (High)
+        givenCandidateRules(new ScoringRule(1L, "Stricter credit", "creditScore", "<", "750", -100, 1, true, "candidate"));
+        ScoringResult live = new ScoringResult(500, "Medium", "MANUAL_REVIEW", List.of());
+
+        shadowScoringService.submit(testApplication, testCustomer, live);
+        ShadowScoringReport report = awaitProcessed(1);
+
+        assertEquals(1, report.getSubmitted());
+        assertEquals(1, report.getCompleted());
+        assertEquals(1, report.getScoreChanges());
+        assertEquals(1, report.getDecisionFlips());
+        assertEquals(-100.0, report.getMeanScoreDelta());
+        assertEquals(100, report.getMaxAbsScoreDelta());
+        assertEquals(1L, report.getFlipsByTransition().get("MANUAL_REVIEW->DECLINED"));
+        assertEquals(1, report.getSamples().size());
+        assertEquals(400, report.getSamples().get(0).getShadowScore());
+        assertEquals("DECLINED", report.getSamples().get(0).getShadowDecision());
+    }
+
+    @Test
+    void submit_matchingCandidate_recordsNoDivergence() throws Exception {
+        givenCandidateRules(new ScoringRule(1L, "Credit too low", "creditScore", "<", "600", 30, 1, true, "candidate"));
+        ScoringResult live = new ScoringResult(500, "Medium", "MANUAL_REVIEW", List.of());
+
+        shadowScoringService.submit(testApplication, testCustomer, live);
+        ShadowScoringReport report = awaitProcessed(1);
+
+        assertEquals(1, report.getCompleted());
+        assertEquals(0, report.getScoreChanges());
+        assertEquals(0, report.getDecisionFlips());
+        assertTrue(report.getSamples().isEmpty());
+    }
+
+    @Test
+    void submit_queueFull_shedsWorkWithoutBlocking() throws Exception {
+        properties.setQueueCapacity(1);
+        givenCandidateRules(new ScoringRule(1L, "Stricter credit", "creditScore", "<", "750", -100, 1, true, "candidate"));
+        ScoringResult live = new ScoringResult(500, "Medium", "MANUAL_REVIEW", List.of());
+
+        int submissions = 10_000;
+        for (int i = 0; i < submissions; i++) {
+            shadowScoringService.submit(testApplication, testCustomer, live);
+        }
+        ShadowScoringReport report = awaitProcessed(submissions);
+
+        // Every submission is either scored or shed; none is lost or run on the caller
+        assertEquals(submissions, report.getSubmitted());
+        assertEquals(submissions, report.getCompleted() + report.getDropped() + report.getFailed());
+        assertTrue(report.getSamples().size() <= properties.getSampleSize());
+    }
+
+    @Test
+    void submit_disabled_doesNothing() {
+        properties.setEnabled(false);
+        shadowScoringService = new ShadowScoringServiceImpl(scoringRuleRepository, riskBandRepository, properties);
+        shadowScoringService.refreshCandidate();
+
+        shadowScoringService.submit(testApplication, testCustomer, new ScoringResult(500, "Medium", "MANUAL_REVIEW", List.of()));
+
+        assertEquals(0, shadowScoringService.getReport().getSubmitted());
+        verifyNoInteractions(scoringRuleRepository);
+    }
+}